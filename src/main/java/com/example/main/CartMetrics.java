@@ -0,0 +1,129 @@
+package com.example.main;
+
+import com.example.model.Product;
+import com.example.model.DigitalProduct;
+import com.example.metrics.Counter;
+import com.example.metrics.LatencyRecorder;
+import com.example.metrics.MetricsRegistry;
+
+/**
+ * CartMetrics class - The counters and latency recorders for cart processing:
+ * per-item processing, rendering the whole cart and totaling it, with items and
+ * item latency broken down into physical and digital products.
+ *
+ * All metrics are registered in the constructor, so recording only touches fields.
+ * Create it with a disabled registry to leave the instrumentation in place at the
+ * cost of one branch per call.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public class CartMetrics {
+    private static final int PHYSICAL = 0;
+    private static final int DIGITAL = 1;
+
+    private final MetricsRegistry registry;
+    private final Counter[] itemsProcessed = new Counter[2];
+    private final LatencyRecorder[] itemLatency = new LatencyRecorder[2];
+    private final Counter[] valueCents = new Counter[2];
+    private final Counter cartsRendered;
+    private final LatencyRecorder renderLatency;
+    private final Counter cartsTotaled;
+    private final LatencyRecorder totalLatency;
+
+    /**
+     * Constructor for CartMetrics.
+     *
+     * @param registry The registry to create the metrics in.
+     */
+    public CartMetrics(MetricsRegistry registry) {
+        this.registry = registry;
+        String[] types = {"physical", "digital"};
+        for (int type = 0; type < types.length; type++) {
+            itemsProcessed[type] = registry.counter("cart_items_processed_total",
+                                                    "Cart items processed.", "type", types[type]);
+            itemLatency[type] = registry.latency("cart_item_processing_seconds",
+                                                 "Time to process one cart item.", "type", types[type]);
+            valueCents[type] = registry.counter("cart_value_cents_total",
+                                                "Value of the cart items totaled, in cents.", "type", types[type]);
+        }
+        this.cartsRendered = registry.counter("carts_rendered_total", "Carts rendered.");
+        this.renderLatency = registry.latency("cart_render_seconds", "Time to render a whole cart.");
+        this.cartsTotaled = registry.counter("carts_totaled_total", "Carts totaled.");
+        this.totalLatency = registry.latency("cart_total_seconds", "Time to total a whole cart.");
+    }
+
+    /**
+     * Gets the registry, e.g. to export the metrics.
+     *
+     * @return The registry.
+     */
+    public MetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Checks whether anything is being recorded, so callers can skip timing work.
+     *
+     * @return true if enabled.
+     */
+    public boolean isEnabled() {
+        return registry.isEnabled();
+    }
+
+    /**
+     * Starts timing an operation.
+     *
+     * @return The start time to pass to a record method, or 0 while disabled.
+     */
+    public long startTimer() {
+        return registry.isEnabled() ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records one processed item.
+     *
+     * @param item The item.
+     * @param startNanos The value returned by startTimer() before processing it.
+     */
+    public void recordItem(Product item, long startNanos) {
+        int type = typeOf(item);
+        itemsProcessed[type].increment();
+        itemLatency[type].stopTimer(startNanos);
+    }
+
+    /**
+     * Records one rendered cart.
+     *
+     * @param startNanos The value returned by startTimer() before rendering it.
+     */
+    public void recordRender(long startNanos) {
+        cartsRendered.increment();
+        renderLatency.stopTimer(startNanos);
+    }
+
+    /**
+     * Records the value of one totaled item.
+     *
+     * @param item The item.
+     */
+    public void recordItemValue(Product item) {
+        if (registry.isEnabled()) {
+            valueCents[typeOf(item)].add(item.getPriceCents());
+        }
+    }
+
+    /**
+     * Records one totaled cart.
+     *
+     * @param startNanos The value returned by startTimer() before totaling it.
+     */
+    public void recordTotal(long startNanos) {
+        cartsTotaled.increment();
+        totalLatency.stopTimer(startNanos);
+    }
+
+    private static int typeOf(Product item) {
+        return item instanceof DigitalProduct ? DIGITAL : PHYSICAL;
+    }
+}
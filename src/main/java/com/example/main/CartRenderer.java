@@ -0,0 +1,117 @@
+package com.example.main;
+
+import com.example.model.Product;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * CartRenderer class - Renders a whole cart into one buffer and writes it out in
+ * as few calls as possible. Each item is rendered with Product.appendInfo(), so no
+ * intermediate strings are built, and the buffer is reused per thread, so rendering
+ * large order manifests does not keep allocating new ones.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public class CartRenderer {
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+    private static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFERS =
+            ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUFFER_SIZE));
+
+    private final int flushThreshold;
+    private final CartMetrics metrics; // Null when not instrumented
+
+    /**
+     * Default constructor for CartRenderer. Writes the cart out with one call.
+     */
+    public CartRenderer() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructor for CartRenderer that flushes whenever the buffer grows past a
+     * threshold, which keeps memory bounded for very large manifests.
+     *
+     * @param flushThreshold The buffer length, in characters, that triggers a write.
+     */
+    public CartRenderer(int flushThreshold) {
+        this(flushThreshold, null);
+    }
+
+    /**
+     * Constructor for CartRenderer that records per-item and per-cart timings.
+     *
+     * @param flushThreshold The buffer length, in characters, that triggers a write.
+     * @param metrics Where to record timings, or null for none.
+     */
+    public CartRenderer(int flushThreshold, CartMetrics metrics) {
+        if (flushThreshold < 1) {
+            throw new IllegalArgumentException("flushThreshold must be positive");
+        }
+        this.flushThreshold = flushThreshold;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Renders every item in the cart, numbered from 1, and writes the result to out.
+     *
+     * @param cart The products to render.
+     * @param out Where to write the rendered cart, e.g. System.out or a Writer.
+     * @throws UncheckedIOException if writing to out fails.
+     */
+    public void render(List<? extends Product> cart, Appendable out) {
+        boolean timed = metrics != null && metrics.isEnabled();
+        long renderStart = timed ? metrics.startTimer() : 0;
+        StringBuilder buffer = BUFFERS.get();
+        buffer.setLength(0);
+        try {
+            int itemNumber = 1;
+            for (Product item : cart) {
+                long itemStart = timed ? metrics.startTimer() : 0;
+                buffer.append("--- Shopping Cart Item ").append(itemNumber++).append(" ---").append(LINE_SEPARATOR);
+                item.appendInfo(buffer); // Polymorphism in action!
+                buffer.append(LINE_SEPARATOR);
+                if (buffer.length() >= flushThreshold) {
+                    out.append(buffer);
+                    buffer.setLength(0);
+                }
+                if (timed) {
+                    metrics.recordItem(item, itemStart);
+                }
+            }
+            if (buffer.length() > 0) {
+                out.append(buffer);
+            }
+            if (timed) {
+                metrics.recordRender(renderStart);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write rendered cart", e);
+        } finally {
+            releaseBuffer(buffer);
+        }
+    }
+
+    /**
+     * Renders the cart into a new String.
+     *
+     * @param cart The products to render.
+     * @return The rendered cart.
+     */
+    public String renderToString(List<? extends Product> cart) {
+        StringBuilder result = new StringBuilder();
+        render(cart, result);
+        return result.toString();
+    }
+
+    private static void releaseBuffer(StringBuilder buffer) {
+        buffer.setLength(0);
+        // Do not keep a huge buffer alive just because one manifest was large
+        if (buffer.capacity() > MAX_POOLED_BUFFER_SIZE) {
+            BUFFERS.remove();
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.main;
+
+import com.example.model.Product;
+import com.example.model.DigitalProduct;
+import com.example.model.Money;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * CatalogAnalytics class - Computes cart and catalog aggregates in parallel.
+ * The product list is split into ranges with fork-join; each range is summarised
+ * into its own Report, and Reports are merged pairwise on the way back up. No
+ * state is shared between workers, so the work scales with the number of cores.
+ * Totals are kept in cents, so a parallel run gives exactly the same numbers as a
+ * sequential one.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public class CatalogAnalytics {
+    /** Number of buckets in the file size histogram. */
+    public static final int HISTOGRAM_BUCKETS = 24;
+
+    /** The file type that revenue of digital products without a file type is reported under. */
+    public static final String UNKNOWN_FILE_TYPE = "UNKNOWN";
+
+    private static final int DEFAULT_THRESHOLD = 8_192;
+
+    /** Most expensive first; SKU breaks ties so results do not depend on the split. */
+    private static final Comparator<Product> BY_PRICE_DESCENDING =
+            Comparator.comparingLong(Product::getPriceCents).reversed()
+                      .thenComparing(Product::getSku, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final ForkJoinPool pool;
+    private final int topN;
+    private final int threshold;
+
+    /**
+     * Constructor for CatalogAnalytics using the common fork-join pool.
+     *
+     * @param topN The number of most expensive products to report.
+     */
+    public CatalogAnalytics(int topN) {
+        this(ForkJoinPool.commonPool(), topN, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Constructor for CatalogAnalytics with a specific pool and split threshold.
+     *
+     * @param pool The pool to run on.
+     * @param topN The number of most expensive products to report.
+     * @param threshold The range size below which a task stops splitting.
+     */
+    public CatalogAnalytics(ForkJoinPool pool, int topN, int threshold) {
+        if (topN < 0) {
+            throw new IllegalArgumentException("topN must not be negative");
+        }
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive");
+        }
+        this.pool = pool;
+        this.topN = topN;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Analyzes the products in parallel.
+     *
+     * @param products The products to analyze.
+     * @return The merged report.
+     */
+    public Report analyze(List<? extends Product> products) {
+        List<? extends Product> source = products instanceof RandomAccess ? products : new ArrayList<>(products);
+        return pool.invoke(new AnalyzeTask(source, 0, source.size()));
+    }
+
+    /**
+     * Analyzes the products on the calling thread. Gives the same result as analyze().
+     *
+     * @param products The products to analyze.
+     * @return The report.
+     */
+    public Report analyzeSequentially(List<? extends Product> products) {
+        Report report = new Report(topN);
+        for (Product product : products) {
+            report.add(product);
+        }
+        return report;
+    }
+
+    /**
+     * Gets the histogram bucket for a file size. Bucket 0 holds files under 1 MB and
+     * bucket i holds files from 2^(i-1) MB up to 2^i MB; the last bucket holds everything larger.
+     *
+     * @param fileSizeMB The file size in megabytes.
+     * @return The bucket index.
+     */
+    public static int histogramBucket(double fileSizeMB) {
+        if (!(fileSizeMB >= 1)) {
+            return 0;
+        }
+        int bucket = Math.getExponent(fileSizeMB) + 1;
+        return Math.min(bucket, HISTOGRAM_BUCKETS - 1);
+    }
+
+    /**
+     * Fork-join task that summarises the range [from, to) of the product list.
+     */
+    private class AnalyzeTask extends RecursiveTask<Report> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<? extends Product> products;
+        private final int from;
+        private final int to;
+
+        AnalyzeTask(List<? extends Product> products, int from, int to) {
+            this.products = products;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Report compute() {
+            if (to - from <= threshold) {
+                Report report = new Report(topN);
+                for (int i = from; i < to; i++) {
+                    report.add(products.get(i));
+                }
+                return report;
+            }
+            int middle = (from + to) >>> 1;
+            AnalyzeTask left = new AnalyzeTask(products, from, middle);
+            left.fork();
+            Report right = new AnalyzeTask(products, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Report class - A mergeable summary of a set of products.
+     * Each worker fills its own Report; merge() combines two of them.
+     */
+    public static class Report {
+        private final int topN;
+        private long totalCents;
+        private long physicalCount;
+        private long digitalCount;
+        private final Map<String, Long> revenueCentsByFileType;
+        private final long[] sizeHistogram;
+        private final PriorityQueue<Product> mostExpensive; // Min-heap: cheapest of the top N at the head
+
+        Report(int topN) {
+            this.topN = topN;
+            this.revenueCentsByFileType = new HashMap<>();
+            this.sizeHistogram = new long[HISTOGRAM_BUCKETS];
+            this.mostExpensive = new PriorityQueue<>(Math.max(topN, 1), BY_PRICE_DESCENDING.reversed());
+        }
+
+        void add(Product product) {
+            long cents = product.getPriceCents();
+            totalCents = Money.addCents(totalCents, cents);
+            if (product instanceof DigitalProduct) {
+                DigitalProduct digitalProduct = (DigitalProduct) product;
+                digitalCount++;
+                String fileType = digitalProduct.getFileType() == null ? UNKNOWN_FILE_TYPE : digitalProduct.getFileType();
+                revenueCentsByFileType.merge(fileType, cents, Money::addCents);
+                sizeHistogram[histogramBucket(digitalProduct.getFileSizeMB())]++;
+            } else {
+                physicalCount++;
+            }
+            offer(product);
+        }
+
+        private void offer(Product product) {
+            if (topN == 0) {
+                return;
+            }
+            if (mostExpensive.size() < topN) {
+                mostExpensive.add(product);
+            } else if (BY_PRICE_DESCENDING.compare(product, mostExpensive.peek()) < 0) {
+                mostExpensive.poll();
+                mostExpensive.add(product);
+            }
+        }
+
+        Report merge(Report other) {
+            totalCents = Money.addCents(totalCents, other.totalCents);
+            physicalCount += other.physicalCount;
+            digitalCount += other.digitalCount;
+            for (Map.Entry<String, Long> entry : other.revenueCentsByFileType.entrySet()) {
+                revenueCentsByFileType.merge(entry.getKey(), entry.getValue(), Money::addCents);
+            }
+            for (int i = 0; i < sizeHistogram.length; i++) {
+                sizeHistogram[i] += other.sizeHistogram[i];
+            }
+            for (Product product : other.mostExpensive) {
+                offer(product);
+            }
+            return this;
+        }
+
+        // Getters
+        public Money getTotalValue() {
+            return Money.ofCents(totalCents);
+        }
+
+        public long getPhysicalCount() {
+            return physicalCount;
+        }
+
+        public long getDigitalCount() {
+            return digitalCount;
+        }
+
+        public long getTotalCount() {
+            return physicalCount + digitalCount;
+        }
+
+        /**
+         * Gets the revenue of digital products grouped by file type. Products without a
+         * file type are grouped under UNKNOWN_FILE_TYPE.
+         *
+         * @return A map from file type to revenue.
+         */
+        public Map<String, Money> getRevenueByFileType() {
+            Map<String, Money> result = new HashMap<>();
+            for (Map.Entry<String, Long> entry : revenueCentsByFileType.entrySet()) {
+                result.put(entry.getKey(), Money.ofCents(entry.getValue()));
+            }
+            return result;
+        }
+
+        /**
+         * Gets the number of digital products in each file size bucket.
+         *
+         * @return A copy of the histogram; see CatalogAnalytics.histogramBucket().
+         */
+        public long[] getSizeHistogram() {
+            return Arrays.copyOf(sizeHistogram, sizeHistogram.length);
+        }
+
+        /**
+         * Gets the most expensive products, most expensive first.
+         *
+         * @return Up to topN products.
+         */
+        public List<Product> getMostExpensive() {
+            List<Product> result = new ArrayList<>(mostExpensive);
+            result.sort(BY_PRICE_DESCENDING);
+            return Collections.unmodifiableList(result);
+        }
+    }
+}
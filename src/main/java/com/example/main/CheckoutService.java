@@ -0,0 +1,450 @@
+package com.example.main;
+
+import com.example.model.Product;
+import com.example.model.DigitalProduct;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * CheckoutService class - Processes a shopping cart asynchronously.
+ * For each cart line the price lookup, inventory reservation and (for digital
+ * products) download-link generation run concurrently, and tax is applied as soon
+ * as the price is known. At most maxConcurrency lines are in flight at once, every
+ * step has its own timeout, and cancelling the returned future cancels the lines
+ * that are still running. A step that times out or is cancelled has its thread
+ * interrupted, so steps that block should respond to interruption. When a checkout
+ * fails or is cancelled, every unit reserved for it is handed to the inventory
+ * release step; a successful checkout leaves its reservations to the caller.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public class CheckoutService implements AutoCloseable {
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final int maxConcurrency;
+    private final long stepTimeoutMillis;
+    private final double taxRate;
+    private final ToDoubleFunction<Product> priceLookup;
+    private final Predicate<Product> inventoryReservation;
+    private final Consumer<Product> inventoryRelease;
+    private final Function<DigitalProduct, String> linkGenerator;
+
+    /**
+     * Constructor for CheckoutService with default steps: the price comes from
+     * getPrice(), every reservation succeeds and the download link is the product's
+     * download URL. Uses its own executor, which close() shuts down.
+     *
+     * @param taxRate The tax rate to apply, e.g. 0.08 for 8%.
+     */
+    public CheckoutService(double taxRate) {
+        this(newDefaultExecutor(), true, 64, 5_000, taxRate,
+             Product::getPrice, product -> true, product -> { }, DigitalProduct::getDownloadUrl);
+    }
+
+    /**
+     * Constructor for CheckoutService with custom steps and reservations that are
+     * never handed back. Use it when reserving has nothing to undo; otherwise pass
+     * an inventory release step. The executor belongs to the caller and is not shut
+     * down by close().
+     *
+     * @param executor The executor the pipeline steps run on.
+     * @param maxConcurrency The maximum number of cart lines processed at once.
+     * @param stepTimeoutMillis The timeout for each individual step, in milliseconds.
+     * @param taxRate The tax rate to apply, e.g. 0.08 for 8%.
+     * @param priceLookup Looks up the current price of a product.
+     * @param inventoryReservation Reserves stock for a product, returning false if none is left.
+     * @param linkGenerator Creates the download link for a digital product.
+     */
+    public CheckoutService(ExecutorService executor, int maxConcurrency, long stepTimeoutMillis, double taxRate,
+                           ToDoubleFunction<Product> priceLookup, Predicate<Product> inventoryReservation,
+                           Function<DigitalProduct, String> linkGenerator) {
+        this(executor, maxConcurrency, stepTimeoutMillis, taxRate, priceLookup, inventoryReservation,
+             product -> { }, linkGenerator);
+    }
+
+    /**
+     * Constructor for CheckoutService with custom steps. The executor belongs to the
+     * caller and is not shut down by close().
+     *
+     * @param executor The executor the pipeline steps run on.
+     * @param maxConcurrency The maximum number of cart lines processed at once.
+     * @param stepTimeoutMillis The timeout for each individual step, in milliseconds.
+     * @param taxRate The tax rate to apply, e.g. 0.08 for 8%.
+     * @param priceLookup Looks up the current price of a product.
+     * @param inventoryReservation Reserves stock for a product, returning false if none is left.
+     * @param inventoryRelease Hands back one unit that inventoryReservation reserved,
+     *                         called once for each reservation of a checkout that fails.
+     * @param linkGenerator Creates the download link for a digital product.
+     */
+    public CheckoutService(ExecutorService executor, int maxConcurrency, long stepTimeoutMillis, double taxRate,
+                           ToDoubleFunction<Product> priceLookup, Predicate<Product> inventoryReservation,
+                           Consumer<Product> inventoryRelease, Function<DigitalProduct, String> linkGenerator) {
+        this(executor, false, maxConcurrency, stepTimeoutMillis, taxRate, priceLookup, inventoryReservation,
+             inventoryRelease, linkGenerator);
+    }
+
+    private CheckoutService(ExecutorService executor, boolean ownsExecutor, int maxConcurrency, long stepTimeoutMillis,
+                            double taxRate, ToDoubleFunction<Product> priceLookup, Predicate<Product> inventoryReservation,
+                            Consumer<Product> inventoryRelease, Function<DigitalProduct, String> linkGenerator) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        if (stepTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("stepTimeoutMillis must be positive");
+        }
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.maxConcurrency = maxConcurrency;
+        this.stepTimeoutMillis = stepTimeoutMillis;
+        this.taxRate = taxRate;
+        this.priceLookup = priceLookup;
+        this.inventoryReservation = inventoryReservation;
+        this.inventoryRelease = inventoryRelease;
+        this.linkGenerator = linkGenerator;
+    }
+
+    /**
+     * Creates a virtual-thread-per-task executor when the JVM supports virtual
+     * threads (Java 21+), and a cached thread pool of daemon threads otherwise.
+     *
+     * @return A new executor for checkout steps.
+     */
+    public static ExecutorService newDefaultExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "checkout-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Starts checking out a cart.
+     * The returned future completes with a Receipt once every line is done, or
+     * exceptionally as soon as any step fails or times out, or with a
+     * RejectedExecutionException once the executor is shut down. Cancelling it stops
+     * lines that have not started and interrupts the steps of those in flight. If it
+     * does not complete with a receipt, every unit reserved for it is released.
+     *
+     * @param cart The products in the cart.
+     * @return A future for the receipt.
+     */
+    public CompletableFuture<Receipt> checkout(List<? extends Product> cart) {
+        List<Product> items = new ArrayList<>(cart);
+        if (items.isEmpty()) {
+            return CompletableFuture.completedFuture(new Receipt(Collections.emptyList()));
+        }
+        Checkout checkout = new Checkout(items);
+        int initial = Math.min(maxConcurrency, items.size());
+        for (int i = 0; i < initial; i++) {
+            checkout.launch();
+        }
+        return checkout.result;
+    }
+
+    /**
+     * Builds the asynchronous pipeline for one cart line.
+     *
+     * @param product The product on the line.
+     * @return A future for the processed line.
+     */
+    private CompletableFuture<LineItem> processLine(Product product) {
+        CompletableFuture<Double> price = step(() -> priceLookup.applyAsDouble(product));
+        // A reservation that finishes after its step timed out or was cancelled is handed straight back
+        CompletableFuture<Boolean> reserved = step(() -> inventoryReservation.test(product), done -> {
+            if (done) {
+                inventoryRelease.accept(product);
+            }
+        });
+        CompletableFuture<String> link;
+        if (product instanceof DigitalProduct) {
+            link = step(() -> linkGenerator.apply((DigitalProduct) product));
+        } else {
+            link = CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Double> tax = price.thenApply(unitPrice -> unitPrice * taxRate);
+
+        CompletableFuture<LineItem> line = CompletableFuture.allOf(tax, reserved, link)
+                .thenApply(done -> new LineItem(product, price.join(), tax.join(), reserved.join(), link.join()));
+        // Cancelling line only cancels this last stage, so pass it on to the steps themselves
+        line.whenComplete((item, error) -> {
+            if (error != null) {
+                price.cancel(true);
+                // If the reservation already succeeded, this failed line hands it back
+                if (!reserved.cancel(true) && !reserved.isCompletedExceptionally() && reserved.join()) {
+                    inventoryRelease.accept(product);
+                }
+                link.cancel(true);
+            }
+        });
+        return line;
+    }
+
+    private <T> CompletableFuture<T> step(Supplier<T> work) {
+        return step(work, value -> { });
+    }
+
+    /**
+     * Runs one step on the executor with the step timeout. Unlike supplyAsync, the
+     * step's thread is interrupted when the returned future times out or is cancelled.
+     * If the executor rejects the step, the returned future fails with the rejection.
+     *
+     * @param work The step to run.
+     * @param discarded Receives a result that arrived after the future had already
+     *                  timed out or been cancelled.
+     * @return A future for the step's result.
+     */
+    private <T> CompletableFuture<T> step(Supplier<T> work, Consumer<? super T> discarded) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                T value;
+                try {
+                    value = work.get();
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                    return;
+                }
+                if (!result.complete(value)) {
+                    discarded.accept(value);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+        result.orTimeout(stepTimeoutMillis, TimeUnit.MILLISECONDS).whenComplete((value, error) -> {
+            if (error instanceof CancellationException || error instanceof TimeoutException) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Shuts down the executor if this service created it.
+     */
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * The state of one checkout: which lines have been launched, which are running,
+     * and which reservations to hand back if the checkout fails.
+     */
+    private final class Checkout {
+        private final List<Product> items;
+        private final LineItem[] lines;
+        private final CompletableFuture<Receipt> result = new CompletableFuture<>();
+        private final AtomicInteger nextIndex = new AtomicInteger();
+        private final AtomicInteger remaining;
+        private final AtomicInteger launchRequests = new AtomicInteger();
+        private final List<CompletableFuture<LineItem>> inFlight = new ArrayList<>(); // Guarded by this
+        private final List<Product> held = new ArrayList<>(); // Reserved products of finished lines; guarded by this
+        private boolean failed; // Guarded by this
+
+        Checkout(List<Product> items) {
+            this.items = items;
+            this.lines = new LineItem[items.size()];
+            this.remaining = new AtomicInteger(items.size());
+            // When the caller cancels, or a line fails, cancel everything still running
+            result.whenComplete((receipt, error) -> {
+                if (error != null) {
+                    fail();
+                }
+            });
+        }
+
+        /**
+         * Launches the next line. Lines finish inside this call when the executor runs
+         * steps synchronously, and their follow-up launches would then nest one stack
+         * frame chain per line; instead, a launch requested while another thread or an
+         * outer call is already launching is counted, and that loop runs it.
+         */
+        void launch() {
+            if (launchRequests.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                launchOne();
+            } while (launchRequests.decrementAndGet() != 0);
+        }
+
+        private void launchOne() {
+            int index = nextIndex.getAndIncrement();
+            if (index >= items.size() || result.isDone()) {
+                return;
+            }
+            if (executor.isShutdown()) {
+                result.completeExceptionally(new RejectedExecutionException("Checkout executor is shut down"));
+                return;
+            }
+            CompletableFuture<LineItem> line = processLine(items.get(index));
+            synchronized (this) {
+                inFlight.add(line);
+            }
+            if (result.isDone()) {
+                line.cancel(true); // The checkout failed after the check above, so fail() may have missed this line
+            }
+            line.whenComplete((item, error) -> finished(index, line, item, error));
+        }
+
+        private void finished(int index, CompletableFuture<LineItem> line, LineItem item, Throwable error) {
+            boolean release = false;
+            synchronized (this) {
+                inFlight.remove(line);
+                if (error == null && item.isReserved()) {
+                    if (failed) {
+                        release = true;
+                    } else {
+                        held.add(item.getProduct());
+                    }
+                }
+            }
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+            if (release) {
+                inventoryRelease.accept(item.getProduct());
+                return;
+            }
+            lines[index] = item;
+            if (remaining.decrementAndGet() == 0) {
+                result.complete(new Receipt(Arrays.asList(lines)));
+            } else {
+                launch();
+            }
+        }
+
+        private void fail() {
+            List<CompletableFuture<LineItem>> running;
+            List<Product> reserved;
+            synchronized (this) {
+                failed = true;
+                running = new ArrayList<>(inFlight); // A cancelled line removes itself from inFlight
+                reserved = new ArrayList<>(held);
+                held.clear();
+            }
+            for (CompletableFuture<LineItem> line : running) {
+                line.cancel(true);
+            }
+            for (Product product : reserved) {
+                inventoryRelease.accept(product);
+            }
+        }
+    }
+
+    /**
+     * LineItem class - The result of checking out one cart line.
+     */
+    public static class LineItem {
+        private final Product product;
+        private final double price;
+        private final double tax;
+        private final boolean reserved;
+        private final String downloadLink;
+
+        LineItem(Product product, double price, double tax, boolean reserved, String downloadLink) {
+            this.product = product;
+            this.price = price;
+            this.tax = tax;
+            this.reserved = reserved;
+            this.downloadLink = downloadLink;
+        }
+
+        // Getters
+        public Product getProduct() {
+            return product;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        public double getTax() {
+            return tax;
+        }
+
+        public boolean isReserved() {
+            return reserved;
+        }
+
+        public String getDownloadLink() {
+            return downloadLink;
+        }
+    }
+
+    /**
+     * Receipt class - The processed lines of a cart and their totals, in cart order.
+     */
+    public static class Receipt {
+        private final List<LineItem> lines;
+        private final double subtotal;
+        private final double tax;
+        private final boolean allReserved;
+
+        Receipt(List<LineItem> lines) {
+            this.lines = Collections.unmodifiableList(lines);
+            double subtotalSum = 0;
+            double taxSum = 0;
+            boolean reserved = true;
+            for (LineItem line : lines) {
+                subtotalSum += line.getPrice();
+                taxSum += line.getTax();
+                reserved &= line.isReserved();
+            }
+            this.subtotal = subtotalSum;
+            this.tax = taxSum;
+            this.allReserved = reserved;
+        }
+
+        // Getters
+        public List<LineItem> getLines() {
+            return lines;
+        }
+
+        public double getSubtotal() {
+            return subtotal;
+        }
+
+        public double getTax() {
+            return tax;
+        }
+
+        public double getTotal() {
+            return subtotal + tax;
+        }
+
+        public boolean isAllReserved() {
+            return allReserved;
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package com.example.main;
+
+import com.example.model.DigitalProduct;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * DownloadLinkService class - Issues signed, expiring, per-customer download links
+ * for digital products and verifies them.
+ *
+ * A link is the product's download URL with the customer id, the expiry time in epoch
+ * seconds and an HMAC-SHA256 signature of everything before it appended:
+ * {@code https://cdn.example.com/ebook.pdf?c=alice&e=1767225600&s=<43 base64url chars>}.
+ * Changing any character of the URL, customer or expiry invalidates the signature.
+ *
+ * Each thread gets its own initialized Mac and scratch buffers, so issuing and
+ * verifying never call Mac.getInstance() or lock. Verification reads the link as a
+ * CharSequence and allocates nothing of its own; only the JDK's Mac allocates its
+ * 32-byte result. Signatures are compared in constant time.
+ *
+ * Revoked links are kept as a sorted array of signature fingerprints that readers
+ * binary-search without locking and that revoke() replaces as a whole. A revocation
+ * is dropped once its link has expired, since the expiry check rejects it anyway.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public class DownloadLinkService {
+    /** Possible outcomes of verifying a link. */
+    public enum Verdict {
+        VALID,
+        MALFORMED,
+        BAD_SIGNATURE,
+        EXPIRED,
+        REVOKED
+    }
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_BYTES = 32;
+    private static final int SIGNATURE_CHARS = 43; // 32 bytes in unpadded base64
+    private static final String SIGNATURE_PARAM = "&s=";
+    private static final String EXPIRY_PARAM = "&e=";
+    private static final int MIN_KEY_BYTES = 16;
+    private static final int SCRATCH_BYTES = 256;
+
+    private static final char[] BASE64_URL =
+        "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+    private static final byte[] BASE64_URL_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(BASE64_URL_VALUES, (byte) -1);
+        for (int i = 0; i < BASE64_URL.length; i++) {
+            BASE64_URL_VALUES[BASE64_URL[i]] = (byte) i;
+        }
+    }
+
+    private final long ttlMillis;
+    private final ThreadLocal<Signer> signers;
+    private volatile Revocations revocations = new Revocations(new long[0], new long[0], 0);
+
+    /**
+     * Constructor for DownloadLinkService.
+     *
+     * @param secretKey The HMAC key, at least 16 bytes; it is copied.
+     * @param ttlMillis How long issued links stay valid, in milliseconds.
+     */
+    public DownloadLinkService(byte[] secretKey, long ttlMillis) {
+        if (secretKey == null || secretKey.length < MIN_KEY_BYTES) {
+            throw new IllegalArgumentException("Secret key must be at least " + MIN_KEY_BYTES + " bytes");
+        }
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("ttlMillis must be positive");
+        }
+        this.ttlMillis = ttlMillis;
+        SecretKeySpec key = new SecretKeySpec(secretKey.clone(), ALGORITHM);
+        this.signers = ThreadLocal.withInitial(() -> new Signer(key));
+        signers.get(); // Fail now, not on the first request, if HmacSHA256 is unavailable
+    }
+
+    /**
+     * Issues a link that expires ttlMillis from now.
+     *
+     * @param product The product to link to.
+     * @param customerId The customer, made of letters, digits, '.', '_' and '-'.
+     * @return The signed link.
+     */
+    public String issue(DigitalProduct product, String customerId) {
+        return issue(product, customerId, System.currentTimeMillis());
+    }
+
+    /**
+     * Issues a link that expires ttlMillis after the given time.
+     *
+     * @param product The product to link to.
+     * @param customerId The customer, made of letters, digits, '.', '_' and '-'.
+     * @param nowMillis The current time in epoch milliseconds.
+     * @return The signed link.
+     */
+    public String issue(DigitalProduct product, String customerId, long nowMillis) {
+        String url = product.getDownloadUrl();
+        if (url == null || url.isEmpty()) {
+            throw new IllegalArgumentException("Product " + product.getSku() + " has no download URL");
+        }
+        for (int i = 0; i < url.length(); i++) {
+            if (url.charAt(i) > 127 || url.charAt(i) == '#') {
+                throw new IllegalArgumentException("Download URL must be ASCII without a fragment: " + url);
+            }
+        }
+        if (customerId == null || customerId.isEmpty() || !isSafe(customerId)) {
+            throw new IllegalArgumentException("Invalid customer id: " + customerId);
+        }
+        long expiresSeconds = Math.floorDiv(nowMillis + ttlMillis, 1000);
+
+        StringBuilder link = new StringBuilder(url.length() + customerId.length() + 80);
+        link.append(url).append(url.indexOf('?') < 0 ? '?' : '&').append("c=").append(customerId)
+            .append(EXPIRY_PARAM).append(expiresSeconds);
+        byte[] signature = signers.get().sign(link, link.length());
+        link.append(SIGNATURE_PARAM);
+        appendBase64(link, signature);
+        return link.toString();
+    }
+
+    /**
+     * Verifies a link at the current time.
+     *
+     * @param link The link, as received.
+     * @return VALID, or why the link is rejected.
+     */
+    public Verdict verify(CharSequence link) {
+        return verify(link, System.currentTimeMillis());
+    }
+
+    /**
+     * Verifies a link at the given time.
+     *
+     * @param link The link, as received.
+     * @param nowMillis The current time in epoch milliseconds.
+     * @return VALID, or why the link is rejected.
+     */
+    public Verdict verify(CharSequence link, long nowMillis) {
+        int signatureStart = link.length() - SIGNATURE_CHARS;
+        int signedLength = signatureStart - SIGNATURE_PARAM.length();
+        if (signedLength <= 0 || !regionMatches(link, signedLength, SIGNATURE_PARAM)) {
+            return Verdict.MALFORMED;
+        }
+        long expiresSeconds = parseExpiry(link, signedLength);
+        if (expiresSeconds < 0) {
+            return Verdict.MALFORMED;
+        }
+
+        Signer signer = signers.get();
+        byte[] presented = signer.presented;
+        if (!decodeBase64(link, signatureStart, presented)) {
+            return Verdict.MALFORMED;
+        }
+        for (int i = 0; i < signedLength; i++) {
+            if (link.charAt(i) > 127) {
+                return Verdict.MALFORMED;
+            }
+        }
+        if (!MessageDigest.isEqual(signer.sign(link, signedLength), presented)) {
+            return Verdict.BAD_SIGNATURE;
+        }
+        if (nowMillis >= expiresSeconds * 1000) {
+            return Verdict.EXPIRED;
+        }
+        if (isRevoked(fingerprint(presented), expiresSeconds)) {
+            return Verdict.REVOKED;
+        }
+        return Verdict.VALID;
+    }
+
+    /**
+     * Revokes a link before it expires. Links that do not verify are ignored.
+     *
+     * @param link The link to revoke.
+     * @return true if the link was valid and is now revoked.
+     */
+    public boolean revoke(CharSequence link) {
+        return revoke(link, System.currentTimeMillis());
+    }
+
+    /**
+     * Revokes a link at the given time, dropping revocations that have expired.
+     *
+     * @param link The link to revoke.
+     * @param nowMillis The current time in epoch milliseconds.
+     * @return true if the link was valid and is now revoked.
+     */
+    public synchronized boolean revoke(CharSequence link, long nowMillis) {
+        if (verify(link, nowMillis) != Verdict.VALID) {
+            return false;
+        }
+        byte[] presented = new byte[SIGNATURE_BYTES];
+        int signatureStart = link.length() - SIGNATURE_CHARS;
+        decodeBase64(link, signatureStart, presented);
+        long fingerprint = fingerprint(presented);
+        long expiresSeconds = parseExpiry(link, signatureStart - SIGNATURE_PARAM.length());
+
+        Revocations current = revocations;
+        long nowSeconds = Math.floorDiv(nowMillis, 1000);
+        int length = current.count;
+        long[] fingerprints = new long[length + 1];
+        long[] expiries = new long[length + 1];
+        int count = 0;
+        boolean inserted = false;
+        for (int i = 0; i <= length; i++) {
+            if (!inserted && (i == length || current.fingerprints[i] > fingerprint)) {
+                fingerprints[count] = fingerprint;
+                expiries[count++] = expiresSeconds;
+                inserted = true;
+            }
+            if (i < length && current.expiries[i] > nowSeconds) {
+                fingerprints[count] = current.fingerprints[i];
+                expiries[count++] = current.expiries[i];
+            }
+        }
+        revocations = new Revocations(fingerprints, expiries, count);
+        return true;
+    }
+
+    /**
+     * Drops revocations whose links have expired.
+     *
+     * @param nowMillis The current time in epoch milliseconds.
+     * @return The number of revocations dropped.
+     */
+    public synchronized int purgeExpiredRevocations(long nowMillis) {
+        Revocations current = revocations;
+        long nowSeconds = Math.floorDiv(nowMillis, 1000);
+        long[] fingerprints = new long[current.count];
+        long[] expiries = new long[current.count];
+        int count = 0;
+        for (int i = 0; i < current.count; i++) {
+            if (current.expiries[i] > nowSeconds) {
+                fingerprints[count] = current.fingerprints[i];
+                expiries[count++] = current.expiries[i];
+            }
+        }
+        revocations = new Revocations(fingerprints, expiries, count);
+        return current.count - count;
+    }
+
+    /**
+     * Gets the number of revocations held, including expired ones not yet purged.
+     *
+     * @return The number of revoked links.
+     */
+    public int getRevokedCount() {
+        return revocations.count;
+    }
+
+    private boolean isRevoked(long fingerprint, long expiresSeconds) {
+        Revocations current = revocations;
+        int index = Arrays.binarySearch(current.fingerprints, 0, current.count, fingerprint);
+        return index >= 0 && current.expiries[index] == expiresSeconds;
+    }
+
+    private static long fingerprint(byte[] signature) {
+        long fingerprint = 0;
+        for (int i = 0; i < 8; i++) {
+            fingerprint = (fingerprint << 8) | (signature[i] & 0xFF);
+        }
+        return fingerprint;
+    }
+
+    /** Parses the digits between "&e=" and the signature, or returns -1. */
+    private static long parseExpiry(CharSequence link, int end) {
+        long value = 0;
+        int start = end;
+        while (start > 0 && link.charAt(start - 1) >= '0' && link.charAt(start - 1) <= '9') {
+            start--;
+        }
+        if (start == end || end - start > 18 || start < EXPIRY_PARAM.length()
+                || !regionMatches(link, start - EXPIRY_PARAM.length(), EXPIRY_PARAM)) {
+            return -1;
+        }
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (link.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    private static boolean regionMatches(CharSequence text, int offset, String expected) {
+        for (int i = 0; i < expected.length(); i++) {
+            if (text.charAt(offset + i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSafe(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean safe = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '.' || c == '_' || c == '-';
+            if (!safe) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void appendBase64(StringBuilder out, byte[] bytes) {
+        int i = 0;
+        for (; i + 3 <= bytes.length; i += 3) {
+            int bits = (bytes[i] & 0xFF) << 16 | (bytes[i + 1] & 0xFF) << 8 | (bytes[i + 2] & 0xFF);
+            out.append(BASE64_URL[bits >>> 18]).append(BASE64_URL[(bits >>> 12) & 63])
+               .append(BASE64_URL[(bits >>> 6) & 63]).append(BASE64_URL[bits & 63]);
+        }
+        // 32 bytes leave 2, which become 3 characters without padding
+        int bits = (bytes[i] & 0xFF) << 16 | (bytes[i + 1] & 0xFF) << 8;
+        out.append(BASE64_URL[bits >>> 18]).append(BASE64_URL[(bits >>> 12) & 63]).append(BASE64_URL[(bits >>> 6) & 63]);
+    }
+
+    /** Decodes the 43 characters at offset into 32 bytes; false if any character is not base64url. */
+    private static boolean decodeBase64(CharSequence text, int offset, byte[] out) {
+        int invalid = 0;
+        int o = 0;
+        int c = offset;
+        for (; o + 3 <= SIGNATURE_BYTES; o += 3, c += 4) {
+            int bits = value(text.charAt(c)) << 18 | value(text.charAt(c + 1)) << 12
+                | value(text.charAt(c + 2)) << 6 | value(text.charAt(c + 3));
+            invalid |= bits;
+            out[o] = (byte) (bits >> 16);
+            out[o + 1] = (byte) (bits >> 8);
+            out[o + 2] = (byte) bits;
+        }
+        int bits = value(text.charAt(c)) << 18 | value(text.charAt(c + 1)) << 12 | value(text.charAt(c + 2)) << 6;
+        invalid |= bits;
+        out[o] = (byte) (bits >> 16);
+        out[o + 1] = (byte) (bits >> 8);
+        // Invalid characters decode to -1, which sets the sign bit; the unused low bits must be zero
+        return invalid >= 0 && (bits & 0xFF) == 0;
+    }
+
+    private static int value(char c) {
+        return c < 128 ? BASE64_URL_VALUES[c] : -1;
+    }
+
+    /**
+     * An immutable set of revoked links: the first 8 signature bytes, sorted, and each
+     * link's expiry in epoch seconds.
+     */
+    private static final class Revocations {
+        private final long[] fingerprints;
+        private final long[] expiries;
+        private final int count;
+
+        Revocations(long[] fingerprints, long[] expiries, int count) {
+            this.fingerprints = fingerprints;
+            this.expiries = expiries;
+            this.count = count;
+        }
+    }
+
+    /**
+     * The per-thread Mac and buffers.
+     */
+    private static final class Signer {
+        private final Mac mac;
+        private final byte[] scratch = new byte[SCRATCH_BYTES];
+        private final byte[] presented = new byte[SIGNATURE_BYTES];
+
+        Signer(SecretKeySpec key) {
+            try {
+                mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(ALGORITHM + " is not available", e);
+            }
+        }
+
+        /** Signs the first length characters, which must be ASCII. */
+        byte[] sign(CharSequence text, int length) {
+            for (int start = 0; start < length; start += SCRATCH_BYTES) {
+                int chunk = Math.min(SCRATCH_BYTES, length - start);
+                for (int i = 0; i < chunk; i++) {
+                    scratch[i] = (byte) text.charAt(start + i);
+                }
+                mac.update(scratch, 0, chunk);
+            }
+            return mac.doFinal(); // Also resets the Mac for the next call
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.example.main;
+
+import com.example.model.DigitalProduct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * DownloadScheduler class - Delivers digital products from local files to clients,
+ * a bounded number at a time, under a global bandwidth cap.
+ *
+ * Waiting jobs are ordered shortest-job-first by getFileSizeMB(), with aging: a job's
+ * priority is its arrival time plus agingMillisPerMB for each megabyte, and the lowest
+ * goes first. Among jobs that arrive together the smallest wins, so a license key is
+ * not stuck behind a 2 GB course; but a large job that has waited longer than its
+ * size penalty goes ahead of later small ones, so it is never starved. With
+ * agingMillisPerMB set to 0 the queue is plain first-come, first-served.
+ *
+ * Each client may have at most maxPerClient transfers running; its other jobs wait
+ * aside, in their own priority order, without holding back other clients. Transfers
+ * use FileChannel.transferTo(), which the operating system performs without copying
+ * through the Java heap when the target is a socket or file. They run in chunks,
+ * each paid for from a shared token bucket refilled at bytesPerSecond.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public class DownloadScheduler implements AutoCloseable {
+    private static final long CHUNK_BYTES = 256 * 1024;
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+    private static final long MIN_BACKOFF_NANOS = 50_000;
+    private static final long MAX_BACKOFF_NANOS = 10_000_000;
+    private static final long STALL_TIMEOUT_NANOS = 30_000_000_000L;
+
+    private final Function<DigitalProduct, Path> files;
+    private final int workers;
+    private final int maxPerClient;
+    private final double agingNanosPerMB;
+    private final TokenBucket bandwidth;
+    private final ExecutorService executor;
+    private final PriorityQueue<Job> queue = new PriorityQueue<>();
+    private final Map<String, ClientState> clients = new HashMap<>();
+    private final Set<Job> dispatched = new HashSet<>(); // Handed to the executor but not started yet
+    private int running;
+    private long nextSequence;
+    private boolean closed;
+
+    /**
+     * Constructor for DownloadScheduler.
+     *
+     * @param files Finds the local file holding a product.
+     * @param workers The number of transfers that may run at once.
+     * @param maxPerClient The number of transfers one client may have running at once.
+     * @param bytesPerSecond The bandwidth shared by all transfers, or 0 for no limit.
+     * @param agingMillisPerMB How long a job must wait to make up for each megabyte of its size.
+     */
+    public DownloadScheduler(Function<DigitalProduct, Path> files, int workers, int maxPerClient, long bytesPerSecond,
+                             double agingMillisPerMB) {
+        if (workers < 1 || maxPerClient < 1) {
+            throw new IllegalArgumentException("workers and maxPerClient must be at least 1");
+        }
+        if (bytesPerSecond < 0 || agingMillisPerMB < 0) {
+            throw new IllegalArgumentException("bytesPerSecond and agingMillisPerMB cannot be negative");
+        }
+        this.files = files;
+        this.workers = workers;
+        this.maxPerClient = maxPerClient;
+        this.agingNanosPerMB = agingMillisPerMB * 1_000_000;
+        this.bandwidth = bytesPerSecond == 0 ? null : new TokenBucket(bytesPerSecond);
+        this.executor = Executors.newFixedThreadPool(workers, task -> {
+            Thread thread = new Thread(task, "download-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues a download. The returned future completes when the whole file has been
+     * written to the target, or exceptionally if it cannot be read or written.
+     * Cancelling it removes a waiting job, or stops a running one after its current chunk.
+     * The target is not closed. A non-blocking target that accepts nothing is retried
+     * with a growing back-off, and the job fails if it accepts nothing for 30 seconds.
+     *
+     * @param clientId The client the download is for.
+     * @param product The product to deliver.
+     * @param target Where to write the file, e.g. a SocketChannel.
+     * @return A future for the completed delivery.
+     */
+    public CompletableFuture<Delivery> submit(String clientId, DigitalProduct product, WritableByteChannel target) {
+        if (clientId == null || product == null || target == null) {
+            throw new IllegalArgumentException("clientId, product and target are required");
+        }
+        long now = System.nanoTime();
+        Job job;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Scheduler is closed");
+            }
+            double priority = now + Math.max(0, product.getFileSizeMB()) * agingNanosPerMB;
+            job = new Job(clientId, product, target, priority, nextSequence++, now);
+            queue.add(job);
+            dispatch();
+        }
+        return job.future;
+    }
+
+    /**
+     * Gets the number of jobs waiting to start, including those held back by their
+     * client's limit.
+     *
+     * @return The number of waiting jobs.
+     */
+    public synchronized int getWaitingCount() {
+        int waiting = queue.size();
+        for (ClientState client : clients.values()) {
+            waiting += client.held.size();
+        }
+        return waiting;
+    }
+
+    /**
+     * Gets the number of transfers running.
+     *
+     * @return The number of running transfers.
+     */
+    public synchronized int getRunningCount() {
+        return running;
+    }
+
+    /**
+     * Stops accepting jobs, fails the waiting ones and stops running transfers
+     * after their current chunk.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            fail(queue);
+            for (ClientState client : clients.values()) {
+                fail(client.held);
+            }
+            // Jobs the executor has not started may never be: fail them here, and run() skips them
+            for (Job job : dispatched) {
+                job.future.completeExceptionally(new CancellationException("Scheduler closed"));
+                finished(job);
+            }
+            dispatched.clear();
+        }
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Starts waiting jobs while workers are free. Called with the lock held. */
+    private void dispatch() {
+        while (running < workers && !queue.isEmpty()) {
+            Job job = queue.poll();
+            if (job.future.isDone()) {
+                continue; // Cancelled while waiting
+            }
+            ClientState client = clients.computeIfAbsent(job.clientId, id -> new ClientState());
+            if (client.running >= maxPerClient) {
+                client.held.add(job);
+                continue;
+            }
+            client.running++;
+            running++;
+            dispatched.add(job);
+            executor.execute(() -> run(job));
+        }
+    }
+
+    private void run(Job job) {
+        synchronized (this) {
+            if (!dispatched.remove(job)) {
+                return; // Failed by close() before it started
+            }
+        }
+        long started = System.nanoTime();
+        try {
+            long bytes = transfer(job);
+            if (job.future.isCancelled()) {
+                return;
+            }
+            job.future.complete(new Delivery(job.clientId, job.product, bytes, started - job.submittedNanos,
+                                             System.nanoTime() - started));
+        } catch (IOException e) {
+            job.future.completeExceptionally(new UncheckedIOException(e));
+        } catch (RuntimeException e) {
+            job.future.completeExceptionally(e);
+        } finally {
+            finished(job);
+        }
+    }
+
+    /** Releases a finished job's slots and starts waiting jobs. */
+    private synchronized void finished(Job job) {
+        running--;
+        ClientState client = clients.get(job.clientId);
+        client.running--;
+        // Give the client's best held job another chance, now that it has a free slot
+        Job held = client.held.poll();
+        if (held != null) {
+            queue.add(held);
+        }
+        if (client.running == 0 && client.held.isEmpty()) {
+            clients.remove(job.clientId);
+        }
+        if (!closed) {
+            dispatch();
+        }
+    }
+
+    private long transfer(Job job) throws IOException {
+        try (FileChannel source = FileChannel.open(files.apply(job.product), StandardOpenOption.READ)) {
+            long size = source.size();
+            long position = 0;
+            while (position < size) {
+                if (job.future.isDone() || Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Download of " + job.product.getSku() + " was stopped");
+                }
+                long chunk = Math.min(CHUNK_BYTES, size - position);
+                if (bandwidth != null) {
+                    bandwidth.acquire(chunk);
+                }
+                long end = position + chunk;
+                long backoffNanos = MIN_BACKOFF_NANOS;
+                long stalledSince = 0;
+                while (position < end) {
+                    long sent = source.transferTo(position, end - position, job.target);
+                    if (sent > 0) {
+                        position += sent;
+                        backoffNanos = MIN_BACKOFF_NANOS;
+                        stalledSince = 0;
+                        continue;
+                    }
+                    if (source.size() <= position) {
+                        throw new IOException("File shrank while sending " + job.product.getSku());
+                    }
+                    // A non-blocking target with a full send buffer: wait for the client to read
+                    long now = System.nanoTime();
+                    if (stalledSince == 0) {
+                        stalledSince = now;
+                    } else if (now - stalledSince > STALL_TIMEOUT_NANOS) {
+                        throw new IOException("Client stopped reading " + job.product.getSku());
+                    }
+                    if (job.future.isDone() || Thread.currentThread().isInterrupted()) {
+                        throw new CancellationException("Download of " + job.product.getSku() + " was stopped");
+                    }
+                    LockSupport.parkNanos(backoffNanos);
+                    backoffNanos = Math.min(backoffNanos * 2, MAX_BACKOFF_NANOS);
+                }
+            }
+            return size;
+        }
+    }
+
+    private static void fail(PriorityQueue<Job> jobs) {
+        for (Job job : jobs) {
+            job.future.completeExceptionally(new CancellationException("Scheduler closed"));
+        }
+        jobs.clear();
+    }
+
+    /**
+     * A waiting or running download.
+     */
+    private static final class Job implements Comparable<Job> {
+        private final String clientId;
+        private final DigitalProduct product;
+        private final WritableByteChannel target;
+        private final double priority;
+        private final long sequence;
+        private final long submittedNanos;
+        private final CompletableFuture<Delivery> future = new CompletableFuture<>();
+
+        Job(String clientId, DigitalProduct product, WritableByteChannel target, double priority, long sequence,
+            long submittedNanos) {
+            this.clientId = clientId;
+            this.product = product;
+            this.target = target;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.submittedNanos = submittedNanos;
+        }
+
+        @Override
+        public int compareTo(Job other) {
+            int order = Double.compare(priority, other.priority);
+            return order != 0 ? order : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * The running count and held-back jobs of one client.
+     */
+    private static final class ClientState {
+        private int running;
+        private final PriorityQueue<Job> held = new PriorityQueue<>();
+    }
+
+    /**
+     * A token bucket of bytes. Callers take what they need, going into debt if the
+     * bucket is short, and then sleep until the debt would have been refilled, so
+     * bandwidth is shared in arrival order without a queue.
+     */
+    private static final class TokenBucket {
+        private final double bytesPerNano;
+        private final double capacity;
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+
+        TokenBucket(long bytesPerSecond) {
+            this.bytesPerNano = bytesPerSecond / 1e9;
+            this.capacity = Math.max(CHUNK_BYTES, bytesPerSecond / 10.0); // At most 100 ms of burst
+            this.tokens = capacity;
+        }
+
+        void acquire(long bytes) {
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                tokens = Math.min(capacity, tokens + (now - lastRefill) * bytesPerNano);
+                lastRefill = now;
+                tokens -= bytes;
+                waitNanos = tokens >= 0 ? 0 : (long) (-tokens / bytesPerNano);
+            }
+            long deadline = System.nanoTime() + waitNanos;
+            while (waitNanos > 0 && !Thread.currentThread().isInterrupted()) {
+                LockSupport.parkNanos(waitNanos);
+                waitNanos = deadline - System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Delivery class - The result of a completed download.
+     */
+    public static class Delivery {
+        private final String clientId;
+        private final DigitalProduct product;
+        private final long bytes;
+        private final long queuedNanos;
+        private final long transferNanos;
+
+        Delivery(String clientId, DigitalProduct product, long bytes, long queuedNanos, long transferNanos) {
+            this.clientId = clientId;
+            this.product = product;
+            this.bytes = bytes;
+            this.queuedNanos = queuedNanos;
+            this.transferNanos = transferNanos;
+        }
+
+        // Getters
+        public String getClientId() {
+            return clientId;
+        }
+
+        public DigitalProduct getProduct() {
+            return product;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public long getQueuedNanos() {
+            return queuedNanos;
+        }
+
+        public long getTransferNanos() {
+            return transferNanos;
+        }
+
+        public long getTotalNanos() {
+            return queuedNanos + transferNanos;
+        }
+
+        public double getSizeMB() {
+            return bytes / BYTES_PER_MB;
+        }
+    }
+}
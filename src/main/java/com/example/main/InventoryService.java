@@ -0,0 +1,439 @@
+package com.example.main;
+
+import com.example.model.Product;
+import com.example.model.DigitalProduct;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * InventoryService class - Tracks stock for physical products and reserves it
+ * without locks. Every change is a compare-and-set on an atomic counter that never
+ * goes below zero, so concurrent checkouts can never oversell. Hot SKUs can be
+ * striped: their stock is split across several counters so threads do not all
+ * retry CAS on the same memory location.
+ *
+ * Reservations hold stock until they are committed (sold) or released. A
+ * reservation that is still pending when its hold time runs out is released
+ * automatically, and can no longer be committed even before it is swept.
+ * Pending reservations are also striped: each thread takes ids from and records
+ * reservations in one of several independent maps, so reserving does not contend
+ * on a single counter.
+ * Digital products have unlimited stock and are never checked.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public class InventoryService implements AutoCloseable {
+    private static final int ID_BITS = 48; // Low bits of a reservation id; the stripe index is above them
+
+    private final ConcurrentHashMap<String, Stock> stockBySku = new ConcurrentHashMap<>();
+    private final ReservationStripe[] reservationStripes;
+    private final long holdNanos;
+    private final ScheduledExecutorService expiryScheduler;
+
+    /**
+     * Constructor for InventoryService.
+     *
+     * @param holdMillis How long a reservation holds stock before it expires, in milliseconds.
+     * @param expiryCheckMillis How often to release expired reservations, or 0 to only
+     *                          release them when expireReservations() is called.
+     */
+    public InventoryService(long holdMillis, long expiryCheckMillis) {
+        if (holdMillis < 1 || expiryCheckMillis < 0) {
+            throw new IllegalArgumentException("holdMillis must be positive and expiryCheckMillis not negative");
+        }
+        this.holdNanos = TimeUnit.MILLISECONDS.toNanos(holdMillis);
+        int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+        this.reservationStripes = new ReservationStripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            reservationStripes[i] = new ReservationStripe((long) i << ID_BITS);
+        }
+        if (expiryCheckMillis > 0) {
+            this.expiryScheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "inventory-expiry");
+                thread.setDaemon(true);
+                return thread;
+            });
+            expiryScheduler.scheduleWithFixedDelay(this::expireReservations, expiryCheckMillis,
+                                                   expiryCheckMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.expiryScheduler = null;
+        }
+    }
+
+    /**
+     * Adds stock for a SKU, creating a single-counter entry if the SKU is new.
+     *
+     * @param sku The SKU.
+     * @param quantity The quantity to add.
+     */
+    public void addStock(String sku, long quantity) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("quantity must not be negative");
+        }
+        stockBySku.computeIfAbsent(sku, key -> new Stock(1)).add(quantity);
+    }
+
+    /**
+     * Sets up a hot SKU with its stock split across several counters. Any stock the
+     * SKU already had is carried over. Call this before the SKU goes on sale: stock
+     * taken from the old counters while they are being replaced is not carried over.
+     *
+     * @param sku The SKU.
+     * @param stripes The number of counters, e.g. the number of cores.
+     */
+    public void makeStriped(String sku, int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("stripes must be positive");
+        }
+        Stock striped = new Stock(stripes);
+        Stock previous = stockBySku.put(sku, striped);
+        if (previous != null) {
+            striped.add(previous.drain());
+        }
+    }
+
+    /**
+     * Gets the stock currently available for a SKU.
+     *
+     * @param sku The SKU.
+     * @return The available quantity, or 0 for unknown SKUs.
+     */
+    public long available(String sku) {
+        Stock stock = stockBySku.get(sku);
+        return stock == null ? 0 : stock.available();
+    }
+
+    /**
+     * Takes stock without creating a reservation. This is the fastest path, for
+     * callers that commit immediately.
+     *
+     * @param product The product.
+     * @param quantity The quantity to take.
+     * @return true if the stock was taken; always true for digital products.
+     */
+    public boolean tryTake(Product product, long quantity) {
+        if (product instanceof DigitalProduct) {
+            return true;
+        }
+        Stock stock = stockBySku.get(product.getSku());
+        return stock != null && stock.tryTake(quantity);
+    }
+
+    /**
+     * Takes one unit of a product outright, for use as CheckoutService's inventory
+     * step. Nothing expires: the unit stays sold unless it is given back with
+     * returnOne(), which CheckoutService calls for every unit of a failed checkout.
+     *
+     * @param product The product.
+     * @return true if a unit was taken; always true for digital products.
+     */
+    public boolean takeOne(Product product) {
+        return tryTake(product, 1);
+    }
+
+    /**
+     * Gives back one unit taken with takeOne(), for use as CheckoutService's
+     * inventory release step. Does nothing for digital products.
+     *
+     * @param product The product.
+     */
+    public void returnOne(Product product) {
+        if (!(product instanceof DigitalProduct)) {
+            stockBySku.computeIfAbsent(product.getSku(), key -> new Stock(1)).add(1);
+        }
+    }
+
+    /**
+     * Reserves stock for a product. The reservation must be committed or released
+     * before its hold time runs out, otherwise it is released automatically.
+     *
+     * @param product The product.
+     * @param quantity The quantity to reserve.
+     * @return The reservation, or null if there is not enough stock.
+     */
+    public Reservation reserve(Product product, long quantity) {
+        if (quantity < 1) {
+            throw new IllegalArgumentException("quantity must be positive");
+        }
+        boolean digital = product instanceof DigitalProduct;
+        if (!digital && !tryTake(product, quantity)) {
+            return null;
+        }
+        ReservationStripe stripe = reservationStripes[(int) Thread.currentThread().getId() & (reservationStripes.length - 1)];
+        Reservation reservation = new Reservation(stripe.nextId(), product.getSku(), quantity,
+                                                  System.nanoTime() + holdNanos, digital);
+        if (!digital) {
+            stripe.pending.put(reservation.getId(), reservation);
+        }
+        return reservation;
+    }
+
+    /**
+     * Commits a reservation, turning the held stock into a sale. A reservation whose
+     * hold time has run out is expired here, and its stock returned, if the expiry
+     * sweep has not reached it yet.
+     *
+     * @param reservation The reservation.
+     * @return true if it was committed; false if it had already expired or been released.
+     */
+    public boolean commit(Reservation reservation) {
+        if (!reservation.isDigital() && System.nanoTime() - reservation.getExpiresAtNanos() >= 0) {
+            if (reservation.transition(Reservation.EXPIRED)) {
+                returnStock(reservation);
+            }
+            return false;
+        }
+        if (!reservation.transition(Reservation.COMMITTED)) {
+            return false;
+        }
+        pendingFor(reservation).remove(reservation.getId());
+        return true;
+    }
+
+    /**
+     * Releases a reservation, returning its stock.
+     *
+     * @param reservation The reservation.
+     * @return true if it was released; false if it had already been committed, released or expired.
+     */
+    public boolean release(Reservation reservation) {
+        if (!reservation.transition(Reservation.RELEASED)) {
+            return false;
+        }
+        returnStock(reservation);
+        return true;
+    }
+
+    /**
+     * Releases every reservation whose hold time has run out.
+     *
+     * @return The number of reservations released.
+     */
+    public int expireReservations() {
+        long now = System.nanoTime();
+        int expired = 0;
+        for (ReservationStripe stripe : reservationStripes) {
+            for (Reservation reservation : stripe.pending.values()) {
+                if (now - reservation.getExpiresAtNanos() >= 0 && reservation.transition(Reservation.EXPIRED)) {
+                    returnStock(reservation);
+                    expired++;
+                }
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Gets the number of reservations that are neither committed nor released.
+     *
+     * @return The number of pending reservations.
+     */
+    public int pendingReservations() {
+        int count = 0;
+        for (ReservationStripe stripe : reservationStripes) {
+            count += stripe.pending.size();
+        }
+        return count;
+    }
+
+    /**
+     * Stops the expiry scheduler, if there is one.
+     */
+    @Override
+    public void close() {
+        if (expiryScheduler != null) {
+            expiryScheduler.shutdownNow();
+        }
+    }
+
+    private ConcurrentHashMap<Long, Reservation> pendingFor(Reservation reservation) {
+        return reservationStripes[(int) (reservation.getId() >>> ID_BITS)].pending;
+    }
+
+    private void returnStock(Reservation reservation) {
+        pendingFor(reservation).remove(reservation.getId());
+        if (!reservation.isDigital()) {
+            stockBySku.computeIfAbsent(reservation.getSku(), key -> new Stock(1)).add(reservation.getQuantity());
+        }
+    }
+
+    /**
+     * Stock for one SKU, held in one or more atomic counters. Counters are spaced
+     * apart in the array so that stripes used by different cores do not share a
+     * cache line.
+     */
+    private static class Stock {
+        private static final int PADDING = 8; // 8 longs = 64 bytes, one cache line
+
+        private final AtomicLongArray counters;
+        private final int stripes;
+
+        Stock(int stripes) {
+            this.stripes = stripes;
+            this.counters = new AtomicLongArray(stripes * PADDING);
+        }
+
+        void add(long quantity) {
+            if (stripes == 1) {
+                counters.getAndAdd(0, quantity);
+                return;
+            }
+            // Spread the quantity evenly so every stripe can serve reservations
+            long share = quantity / stripes;
+            long remainder = quantity % stripes;
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                long amount = share + (stripe < remainder ? 1 : 0);
+                if (amount > 0) {
+                    counters.getAndAdd(stripe * PADDING, amount);
+                }
+            }
+        }
+
+        boolean tryTake(long quantity) {
+            int start = stripes == 1 ? 0 : ThreadLocalRandom.current().nextInt(stripes);
+            for (int i = 0; i < stripes; i++) {
+                if (tryTakeFrom((start + i) % stripes, quantity)) {
+                    return true;
+                }
+            }
+            // No single stripe had enough; fall back to gathering from all of them
+            return stripes > 1 && tryGather(quantity);
+        }
+
+        private boolean tryTakeFrom(int stripe, long quantity) {
+            int index = stripe * PADDING;
+            long current = counters.get(index);
+            while (current >= quantity) {
+                long witness = counters.compareAndExchange(index, current, current - quantity);
+                if (witness == current) {
+                    return true;
+                }
+                current = witness;
+            }
+            return false;
+        }
+
+        private boolean tryGather(long quantity) {
+            long taken = 0;
+            for (int stripe = 0; stripe < stripes && taken < quantity; stripe++) {
+                int index = stripe * PADDING;
+                long current = counters.get(index);
+                while (current > 0 && taken < quantity) {
+                    long amount = Math.min(current, quantity - taken);
+                    long witness = counters.compareAndExchange(index, current, current - amount);
+                    if (witness == current) {
+                        taken += amount;
+                        current -= amount;
+                    } else {
+                        current = witness;
+                    }
+                }
+            }
+            if (taken < quantity) {
+                add(taken); // Not enough in total: put back what was gathered
+                return false;
+            }
+            return true;
+        }
+
+        long available() {
+            long total = 0;
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                total += counters.get(stripe * PADDING);
+            }
+            return total;
+        }
+
+        long drain() {
+            long total = 0;
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                total += counters.getAndSet(stripe * PADDING, 0);
+            }
+            return total;
+        }
+    }
+
+    /**
+     * One stripe of pending reservations, with its own range of ids: the stripe's
+     * index in the high bits and a sequence number in the low ID_BITS bits.
+     */
+    private static class ReservationStripe {
+        final ConcurrentHashMap<Long, Reservation> pending = new ConcurrentHashMap<>();
+        private final AtomicLong sequence = new AtomicLong();
+        private final long idBase;
+
+        ReservationStripe(long idBase) {
+            this.idBase = idBase;
+        }
+
+        long nextId() {
+            return idBase | sequence.incrementAndGet();
+        }
+    }
+
+    /**
+     * Reservation class - Stock held for one cart line until it is committed or released.
+     */
+    public static class Reservation {
+        static final int PENDING = 0;
+        static final int COMMITTED = 1;
+        static final int RELEASED = 2;
+        static final int EXPIRED = 3;
+
+        private final long id;
+        private final String sku;
+        private final long quantity;
+        private final long expiresAtNanos;
+        private final boolean digital;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        Reservation(long id, String sku, long quantity, long expiresAtNanos, boolean digital) {
+            this.id = id;
+            this.sku = sku;
+            this.quantity = quantity;
+            this.expiresAtNanos = expiresAtNanos;
+            this.digital = digital;
+        }
+
+        /** Moves from PENDING to the given state; only one transition can ever succeed. */
+        boolean transition(int target) {
+            return state.compareAndSet(PENDING, target);
+        }
+
+        // Getters
+        public long getId() {
+            return id;
+        }
+
+        public String getSku() {
+            return sku;
+        }
+
+        public long getQuantity() {
+            return quantity;
+        }
+
+        public long getExpiresAtNanos() {
+            return expiresAtNanos;
+        }
+
+        public boolean isDigital() {
+            return digital;
+        }
+
+        public boolean isPending() {
+            return state.get() == PENDING;
+        }
+
+        public boolean isCommitted() {
+            return state.get() == COMMITTED;
+        }
+    }
+}
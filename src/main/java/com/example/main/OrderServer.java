@@ -0,0 +1,311 @@
+package com.example.main;
+
+import com.example.model.Money;
+import com.example.model.Product;
+import com.example.model.ProductCatalog;
+import com.example.model.ProductFormatter;
+import com.example.model.ShoppingCart;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * OrderServer class - A small embedded HTTP server for catalog and cart operations,
+ * built on the JDK's HttpServer.
+ *
+ * Endpoints, all answering with JSON:
+ *   GET  /products/{sku}                          - the product, as Product.appendJson() writes it
+ *   POST /carts/{cartId}/items?sku=..&quantity=.. - adds to a cart, creating it if needed, and returns its totals
+ *   GET  /carts/{cartId}                          - the cart's totals
+ *
+ * HttpServer keeps connections alive and answers requests pipelined on one
+ * connection in order. Its selector thread only accepts and reads; handlers run on
+ * the executor, by default one virtual thread per request where the JDK has them
+ * (21 and later) and a fixed pool of platform threads otherwise. Carts live in
+ * memory, at most maxCarts of them, and keep only the events since their latest
+ * snapshot.
+ *
+ * HttpServer writes the headers and the body of a response separately, so with
+ * Nagle's algorithm on, the body waits for the client's delayed ACK (about 40 ms).
+ * Start the JVM with -Dsun.net.httpserver.nodelay=true to turn it off; the setting
+ * applies to every HttpServer in the JVM and is read when the first one is created.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public class OrderServer implements AutoCloseable {
+    /** The default limit on the number of carts. */
+    public static final int DEFAULT_MAX_CARTS = 100_000;
+
+    private static final Pattern CART_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+    private static final int MAX_QUANTITY = 10_000;
+    private static final ThreadLocal<StringBuilder> BUFFERS = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+    private final ProductCatalog catalog;
+    private final HttpServer server;
+    private final ExecutorService ownedExecutor; // Null when the executor belongs to the caller
+    private final ConcurrentHashMap<String, ShoppingCart> carts = new ConcurrentHashMap<>();
+    private final AtomicInteger cartCount = new AtomicInteger(); // Slots taken, counted before carts are created
+    private final int maxCarts;
+
+    /**
+     * Constructor for OrderServer with the default executor and cart limit. The
+     * server is bound but does not answer until start() is called.
+     *
+     * @param catalog The products that can be looked up and added to carts.
+     * @param address The address to listen on; port 0 picks a free port.
+     * @throws IOException if the address cannot be bound.
+     */
+    public OrderServer(ProductCatalog catalog, InetSocketAddress address) throws IOException {
+        this(catalog, address, null, DEFAULT_MAX_CARTS);
+    }
+
+    /**
+     * Constructor for OrderServer.
+     *
+     * @param catalog The products that can be looked up and added to carts.
+     * @param address The address to listen on; port 0 picks a free port.
+     * @param executor The executor requests are handled on, or null for the default,
+     *                 which close() shuts down. A caller's executor is left running.
+     * @param maxCarts The number of carts after which new carts are refused.
+     * @throws IOException if the address cannot be bound.
+     */
+    public OrderServer(ProductCatalog catalog, InetSocketAddress address, Executor executor, int maxCarts)
+            throws IOException {
+        if (catalog == null || address == null) {
+            throw new IllegalArgumentException("catalog and address are required");
+        }
+        if (maxCarts < 1) {
+            throw new IllegalArgumentException("maxCarts must be at least 1");
+        }
+        this.catalog = catalog;
+        this.maxCarts = maxCarts;
+        this.ownedExecutor = executor == null ? newDefaultExecutor() : null;
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(executor == null ? ownedExecutor : executor);
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * Starts answering requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops the server, closing open connections, and shuts down the default executor.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+            try {
+                ownedExecutor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Gets a cart.
+     *
+     * @param cartId The cart ID.
+     * @return The cart, or null if nothing has been added to it.
+     */
+    public ShoppingCart getCart(String cartId) {
+        return carts.get(cartId);
+    }
+
+    // Getters
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public int getCartCount() {
+        return carts.size();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            String method = exchange.getRequestMethod();
+            if (path.length == 3 && path[1].equals("products")) {
+                if (requireMethod(exchange, method, "GET")) {
+                    getProduct(exchange, path[2]);
+                }
+            } else if (path.length == 3 && path[1].equals("carts")) {
+                if (requireMethod(exchange, method, "GET")) {
+                    getCartTotals(exchange, path[2]);
+                }
+            } else if (path.length == 4 && path[1].equals("carts") && path[3].equals("items")) {
+                if (requireMethod(exchange, method, "POST")) {
+                    addToCart(exchange, path[2]);
+                }
+            } else {
+                sendError(exchange, 404, "No such endpoint");
+            }
+        } catch (RuntimeException e) {
+            sendError(exchange, 500, "Internal error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void getProduct(HttpExchange exchange, String sku) throws IOException {
+        Product product = catalog.get(sku);
+        if (product == null) {
+            sendError(exchange, 404, "Unknown SKU: " + sku);
+            return;
+        }
+        send(exchange, 200, product.appendJson(buffer()));
+    }
+
+    private void getCartTotals(HttpExchange exchange, String cartId) throws IOException {
+        ShoppingCart cart = carts.get(cartId);
+        if (cart == null) {
+            sendError(exchange, 404, "Unknown cart: " + cartId);
+            return;
+        }
+        send(exchange, 200, appendTotals(buffer(), cartId, cart));
+    }
+
+    private void addToCart(HttpExchange exchange, String cartId) throws IOException {
+        if (!CART_ID.matcher(cartId).matches()) {
+            sendError(exchange, 400, "Cart IDs are 1 to 64 of A-Z, a-z, 0-9, '.', '_' and '-'");
+            return;
+        }
+        String sku = queryParameter(exchange, "sku");
+        String quantityText = queryParameter(exchange, "quantity");
+        int quantity;
+        try {
+            quantity = quantityText == null ? 1 : Integer.parseInt(quantityText);
+        } catch (NumberFormatException e) {
+            quantity = 0;
+        }
+        if (quantity < 1 || quantity > MAX_QUANTITY) {
+            sendError(exchange, 400, "quantity must be between 1 and " + MAX_QUANTITY);
+            return;
+        }
+        Product product = sku == null ? null : catalog.get(sku);
+        if (product == null) {
+            sendError(exchange, 404, "Unknown SKU: " + sku);
+            return;
+        }
+        ShoppingCart cart = carts.get(cartId);
+        if (cart == null) {
+            cart = carts.computeIfAbsent(cartId, id -> takeCartSlot() ? new ShoppingCart() : null);
+            if (cart == null) {
+                sendError(exchange, 503, "Too many carts");
+                return;
+            }
+        }
+        synchronized (cart) {
+            cart.add(product, quantity);
+            cart.compactLog(); // Carts are never replayed here, so drop what the snapshot covers
+        }
+        send(exchange, 200, appendTotals(buffer(), cartId, cart));
+    }
+
+    /** Counts one more cart unless the limit is reached; a size check before creating could overshoot it. */
+    private boolean takeCartSlot() {
+        int count = cartCount.get();
+        while (count < maxCarts) {
+            int witness = cartCount.compareAndExchange(count, count + 1);
+            if (witness == count) {
+                return true;
+            }
+            count = witness;
+        }
+        return false;
+    }
+
+    private static StringBuilder appendTotals(StringBuilder out, String cartId, ShoppingCart cart) {
+        synchronized (cart) { // Read every total from the same cart state
+            ProductFormatter.appendJsonString(out.append("{\"cartId\":"), cartId);
+            out.append(",\"items\":").append(cart.getItemCount());
+            out.append(",\"lines\":").append(cart.getLineCount());
+            out.append(",\"physicalItems\":").append(cart.getPhysicalCount());
+            out.append(",\"digitalItems\":").append(cart.getDigitalCount());
+            out.append(",\"totalCents\":").append(cart.getTotalCents());
+            Money.appendCents(out.append(",\"total\":"), cart.getTotalCents());
+        }
+        return out.append('}');
+    }
+
+    private static boolean requireMethod(HttpExchange exchange, String method, String allowed) throws IOException {
+        if (method.equals(allowed)) {
+            return true;
+        }
+        exchange.getResponseHeaders().set("Allow", allowed);
+        sendError(exchange, 405, "Use " + allowed);
+        return false;
+    }
+
+    private static String queryParameter(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            String key = equals < 0 ? pair : pair.substring(0, equals);
+            if (URLDecoder.decode(key, StandardCharsets.UTF_8).equals(name)) {
+                return equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        StringBuilder out = buffer();
+        ProductFormatter.appendJsonString(out.append("{\"error\":"), message).append('}');
+        send(exchange, status, out);
+    }
+
+    private static void send(HttpExchange exchange, int status, StringBuilder json) throws IOException {
+        byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static StringBuilder buffer() {
+        StringBuilder buffer = BUFFERS.get();
+        buffer.setLength(0);
+        return buffer;
+    }
+
+    /**
+     * Creates a virtual-thread-per-task executor where the JDK has one, looked up by
+     * name so the class still compiles for older JDKs, and a fixed pool of daemon
+     * threads otherwise.
+     */
+    private static ExecutorService newDefaultExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+            return Executors.newFixedThreadPool(threads, task -> {
+                Thread thread = new Thread(task, "order-server");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.example.main;
+
+import com.example.model.DigitalProduct;
+import com.example.model.Product;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PricingEngine class - Prices carts under a set of PricingRules.
+ *
+ * Rules are not interpreted per item. setRules() compiles them once into a
+ * decision table: the best file-type and SKU discount keyed by file type and SKU,
+ * each bundle as a bit mask of its members, and the cart-size tiers as a sorted
+ * array of thresholds. Pricing a cart is then two passes over its lines, and the
+ * cost of a line depends on the bundles its product belongs to, not on the number
+ * of rules. What a SKU's rules come to is memoized per (SKU, rule version) on first
+ * use, so for a known product a line costs one hash lookup.
+ *
+ * Discounts of different kinds stack: a line's price is its list price times
+ * (1 - best item discount) times (1 - best complete bundle discount) times
+ * (1 - best cart-size discount), rounded to the cent once. Within a kind the
+ * largest discount wins. The item discount is the larger of the product's SKU rule
+ * and, for digital products, its file-type rule; the memo assumes a SKU's file type
+ * does not change while a rule version is in force.
+ *
+ * The compiled rules are immutable and replaced as a whole, so pricing never locks
+ * and always sees one consistent rule version.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public class PricingEngine {
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+    private volatile CompiledRules compiled;
+
+    /**
+     * Constructor for PricingEngine with no rules; everything sells at list price.
+     */
+    public PricingEngine() {
+        this(Collections.emptyList());
+    }
+
+    /**
+     * Constructor for PricingEngine.
+     *
+     * @param rules The rules to price with.
+     */
+    public PricingEngine(Collection<PricingRule> rules) {
+        this.compiled = new CompiledRules(1, rules);
+    }
+
+    /**
+     * Compiles a new set of rules and makes it current. Carts being priced at the
+     * time finish under the previous version.
+     *
+     * @param rules The rules to price with.
+     * @return The new rule version.
+     */
+    public synchronized long setRules(Collection<PricingRule> rules) {
+        compiled = new CompiledRules(compiled.version + 1, rules);
+        return compiled.version;
+    }
+
+    /**
+     * Prices a cart in one batch pass. Each element is one unit, so a product added
+     * three times is three items, as in Store's cart.
+     *
+     * @param items The products in the cart.
+     * @return The price of each item and the totals.
+     */
+    public PricedCart price(List<? extends Product> items) {
+        if (items == null) {
+            throw new IllegalArgumentException("items is required");
+        }
+        CompiledRules rules = compiled;
+        int count = items.size();
+        SkuPricing[] pricing = new SkuPricing[count];
+        long[] unitCents = new long[count];
+        Scratch work = scratch.get().prepare(rules.bundleCount);
+        long[] masks = work.masks;
+
+        long listTotal = 0;
+        long total = 0;
+        try {
+            // Pass 1: look up each SKU and note which bundle members are present
+            for (int i = 0; i < count; i++) {
+                Product product = items.get(i);
+                SkuPricing sku = rules.lookup(product);
+                pricing[i] = sku;
+                unitCents[i] = product.getPriceCents();
+                for (int j = 0; j < sku.bundles.length; j++) {
+                    int bundle = sku.bundles[j];
+                    if (masks[bundle] == 0) {
+                        work.touched[work.touchedCount++] = bundle;
+                    }
+                    masks[bundle] |= sku.memberBits[j];
+                }
+            }
+
+            // Pass 2: apply the item, bundle and cart-size factors
+            double tierFactor = rules.tierFactor(count);
+            for (int i = 0; i < count; i++) {
+                SkuPricing sku = pricing[i];
+                double bundleFactor = 1.0;
+                for (int bundle : sku.bundles) {
+                    if (masks[bundle] == rules.bundleMasks[bundle]) {
+                        bundleFactor = Math.min(bundleFactor, rules.bundleFactors[bundle]);
+                    }
+                }
+                long list = unitCents[i];
+                double factor = sku.itemFactor * bundleFactor * tierFactor;
+                unitCents[i] = factor == 1.0 ? list : Math.round(list * factor);
+                listTotal = Math.addExact(listTotal, list);
+                total = Math.addExact(total, unitCents[i]);
+            }
+        } finally {
+            work.clear(); // Leave no bundle bits behind for the thread's next cart, even after a failure
+        }
+        return new PricedCart(rules.version, unitCents, listTotal, total);
+    }
+
+    /**
+     * Gets the number of SKUs whose pricing is memoized under the current rule version.
+     *
+     * @return The number of memoized SKUs.
+     */
+    public int getMemoizedCount() {
+        return compiled.memo.size();
+    }
+
+    // Getters
+    public long getRuleVersion() {
+        return compiled.version;
+    }
+
+    public List<PricingRule> getRules() {
+        return compiled.rules;
+    }
+
+    /**
+     * One rule version, compiled into lookup tables.
+     */
+    private static final class CompiledRules {
+        private static final SkuPricing LIST_PRICE = new SkuPricing(1.0, new int[0], new long[0]);
+
+        private final long version;
+        private final List<PricingRule> rules;
+        private final Map<String, Double> fileTypeFactors = new HashMap<>();
+        private final Map<String, Double> skuFactors = new HashMap<>();
+        private final Map<String, List<int[]>> bundleMembership = new HashMap<>();
+        private final int bundleCount;
+        private final long[] bundleMasks;
+        private final double[] bundleFactors;
+        private final int[] tierThresholds;
+        private final double[] tierFactors;
+        private final ConcurrentHashMap<String, SkuPricing> memo = new ConcurrentHashMap<>();
+
+        CompiledRules(long version, Collection<PricingRule> rules) {
+            if (rules == null) {
+                throw new IllegalArgumentException("rules cannot be null or contain null");
+            }
+            for (PricingRule rule : rules) { // Not contains(null), which immutable collections reject
+                if (rule == null) {
+                    throw new IllegalArgumentException("rules cannot be null or contain null");
+                }
+            }
+            this.version = version;
+            this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+
+            List<PricingRule> bundles = new ArrayList<>();
+            List<PricingRule> tiers = new ArrayList<>();
+            for (PricingRule rule : this.rules) {
+                double factor = 1 - rule.getPercentOff() / 100;
+                switch (rule.getType()) {
+                    case FILE_TYPE:
+                        fileTypeFactors.merge(rule.getFileType(), factor, Math::min);
+                        break;
+                    case SKU:
+                        skuFactors.merge(rule.getSku(), factor, Math::min);
+                        break;
+                    case BUNDLE:
+                        bundles.add(rule);
+                        break;
+                    default:
+                        tiers.add(rule);
+                        break;
+                }
+            }
+
+            bundleCount = bundles.size();
+            bundleMasks = new long[bundleCount];
+            bundleFactors = new double[bundleCount];
+            for (int b = 0; b < bundleCount; b++) {
+                PricingRule bundle = bundles.get(b);
+                bundleFactors[b] = 1 - bundle.getPercentOff() / 100;
+                int member = 0;
+                for (String sku : bundle.getBundleSkus()) {
+                    bundleMasks[b] |= 1L << member;
+                    // Each entry is {bundle, bit index}
+                    bundleMembership.computeIfAbsent(sku, key -> new ArrayList<>()).add(new int[] {b, member});
+                    member++;
+                }
+            }
+
+            // Thresholds ascending, each factor the best of every tier at or below it
+            tiers.sort((a, b) -> Integer.compare(a.getMinItems(), b.getMinItems()));
+            tierThresholds = new int[tiers.size()];
+            tierFactors = new double[tiers.size()];
+            double best = 1.0;
+            for (int i = 0; i < tiers.size(); i++) {
+                best = Math.min(best, 1 - tiers.get(i).getPercentOff() / 100);
+                tierThresholds[i] = tiers.get(i).getMinItems();
+                tierFactors[i] = best;
+            }
+        }
+
+        SkuPricing lookup(Product product) {
+            String sku = product.getSku();
+            if (sku == null) {
+                return compute(product);
+            }
+            SkuPricing pricing = memo.get(sku);
+            if (pricing == null) {
+                pricing = memo.computeIfAbsent(sku, key -> compute(product));
+            }
+            return pricing;
+        }
+
+        private SkuPricing compute(Product product) {
+            double factor = skuFactors.getOrDefault(product.getSku(), 1.0);
+            if (product instanceof DigitalProduct) {
+                String fileType = ((DigitalProduct) product).getFileType();
+                if (fileType != null) {
+                    factor = Math.min(factor, fileTypeFactors.getOrDefault(fileType, 1.0));
+                }
+            }
+            List<int[]> membership = product.getSku() == null ? null : bundleMembership.get(product.getSku());
+            if (membership == null) {
+                return factor == 1.0 ? LIST_PRICE : new SkuPricing(factor, LIST_PRICE.bundles, LIST_PRICE.memberBits);
+            }
+            int[] bundles = new int[membership.size()];
+            long[] bits = new long[membership.size()];
+            for (int i = 0; i < bundles.length; i++) {
+                bundles[i] = membership.get(i)[0];
+                bits[i] = 1L << membership.get(i)[1];
+            }
+            return new SkuPricing(factor, bundles, bits);
+        }
+
+        double tierFactor(int items) {
+            int index = Arrays.binarySearch(tierThresholds, items);
+            if (index < 0) {
+                index = -index - 2; // The last threshold below items
+            } else {
+                while (index + 1 < tierThresholds.length && tierThresholds[index + 1] == items) {
+                    index++;
+                }
+            }
+            return index < 0 ? 1.0 : tierFactors[index];
+        }
+    }
+
+    /**
+     * What the rules come to for one SKU: its item discount factor and the bundles
+     * it belongs to, each with the bit for its place in the bundle.
+     */
+    private static final class SkuPricing {
+        private final double itemFactor;
+        private final int[] bundles;
+        private final long[] memberBits;
+
+        SkuPricing(double itemFactor, int[] bundles, long[] memberBits) {
+            this.itemFactor = itemFactor;
+            this.bundles = bundles;
+            this.memberBits = memberBits;
+        }
+    }
+
+    /**
+     * Per-thread bundle masks, cleared after each cart by resetting only the bundles
+     * that cart touched, so a cart costs nothing for bundles it has no part in.
+     */
+    private static final class Scratch {
+        private long[] masks = new long[0];
+        private int[] touched = new int[0];
+        private int touchedCount;
+
+        Scratch prepare(int bundleCount) {
+            if (masks.length < bundleCount) {
+                masks = new long[bundleCount];
+                touched = new int[bundleCount];
+            }
+            return this;
+        }
+
+        void clear() {
+            for (int i = 0; i < touchedCount; i++) {
+                masks[touched[i]] = 0;
+            }
+            touchedCount = 0;
+        }
+    }
+
+    /**
+     * PricedCart class - The result of pricing a cart: the price of each item, in
+     * the order given, and the totals, all in cents.
+     */
+    public static class PricedCart {
+        private final long ruleVersion;
+        private final long[] unitPriceCents;
+        private final long listTotalCents;
+        private final long totalCents;
+
+        PricedCart(long ruleVersion, long[] unitPriceCents, long listTotalCents, long totalCents) {
+            this.ruleVersion = ruleVersion;
+            this.unitPriceCents = unitPriceCents;
+            this.listTotalCents = listTotalCents;
+            this.totalCents = totalCents;
+        }
+
+        /**
+         * Gets the price of one item after discounts.
+         *
+         * @param index The position of the item in the priced list.
+         * @return The price in cents.
+         */
+        public long getUnitPriceCents(int index) {
+            return unitPriceCents[index];
+        }
+
+        // Getters
+        public long getRuleVersion() {
+            return ruleVersion;
+        }
+
+        public int getItemCount() {
+            return unitPriceCents.length;
+        }
+
+        public long getListTotalCents() {
+            return listTotalCents;
+        }
+
+        public long getTotalCents() {
+            return totalCents;
+        }
+
+        public long getDiscountCents() {
+            return listTotalCents - totalCents;
+        }
+    }
+}
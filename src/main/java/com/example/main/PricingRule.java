@@ -0,0 +1,154 @@
+package com.example.main;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * PricingRule class - The definition of one promotion. Rules are plain data; a
+ * PricingEngine compiles a set of them into lookup tables before pricing anything.
+ *
+ * Four kinds of rule exist: a percentage off every digital product of a file type,
+ * a percentage off one SKU, a percentage off every product of a bundle when the cart
+ * holds all of them, and a percentage off the whole cart from a number of items up.
+ * Instances are created with the static factory methods.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public final class PricingRule {
+    /** The largest bundle a rule may define. */
+    public static final int MAX_BUNDLE_SIZE = 64;
+
+    /**
+     * Rule type enum - What a rule matches.
+     */
+    public enum Type {
+        FILE_TYPE,
+        SKU,
+        BUNDLE,
+        CART_SIZE
+    }
+
+    private final String name;
+    private final Type type;
+    private final double percentOff;
+    private final String fileType;
+    private final String sku;
+    private final Set<String> bundleSkus;
+    private final int minItems;
+
+    private PricingRule(String name, Type type, double percentOff, String fileType, String sku, Set<String> bundleSkus,
+                        int minItems) {
+        if (name == null) {
+            throw new IllegalArgumentException("Rule name is required");
+        }
+        if (!(percentOff >= 0 && percentOff <= 100)) {
+            throw new IllegalArgumentException("percentOff must be between 0 and 100: " + percentOff);
+        }
+        this.name = name;
+        this.type = type;
+        this.percentOff = percentOff;
+        this.fileType = fileType;
+        this.sku = sku;
+        this.bundleSkus = bundleSkus;
+        this.minItems = minItems;
+    }
+
+    /**
+     * Creates a rule taking a percentage off every digital product of a file type.
+     *
+     * @param name The rule name, for reports.
+     * @param fileType The file type, e.g. "PDF".
+     * @param percentOff The discount, from 0 to 100.
+     * @return The rule.
+     */
+    public static PricingRule fileTypeDiscount(String name, String fileType, double percentOff) {
+        if (fileType == null) {
+            throw new IllegalArgumentException("fileType is required");
+        }
+        return new PricingRule(name, Type.FILE_TYPE, percentOff, fileType, null, Collections.emptySet(), 0);
+    }
+
+    /**
+     * Creates a rule taking a percentage off one product.
+     *
+     * @param name The rule name, for reports.
+     * @param sku The SKU of the product.
+     * @param percentOff The discount, from 0 to 100.
+     * @return The rule.
+     */
+    public static PricingRule skuDiscount(String name, String sku, double percentOff) {
+        if (sku == null) {
+            throw new IllegalArgumentException("sku is required");
+        }
+        return new PricingRule(name, Type.SKU, percentOff, null, sku, Collections.emptySet(), 0);
+    }
+
+    /**
+     * Creates a rule taking a percentage off every product of a bundle, when the cart
+     * holds at least one of each.
+     *
+     * @param name The rule name, for reports.
+     * @param percentOff The discount, from 0 to 100.
+     * @param skus The SKUs of the bundle, from 2 to 64 of them.
+     * @return The rule.
+     */
+    public static PricingRule bundleDiscount(String name, double percentOff, String... skus) {
+        Set<String> members = new LinkedHashSet<>(Arrays.asList(skus));
+        if (members.size() < 2 || members.size() > MAX_BUNDLE_SIZE || members.contains(null)) {
+            throw new IllegalArgumentException("A bundle needs 2 to " + MAX_BUNDLE_SIZE + " distinct SKUs");
+        }
+        return new PricingRule(name, Type.BUNDLE, percentOff, null, null, Collections.unmodifiableSet(members), 0);
+    }
+
+    /**
+     * Creates a rule taking a percentage off the whole cart once it holds a number of items.
+     *
+     * @param name The rule name, for reports.
+     * @param minItems The number of items, counting every unit, from which the rule applies.
+     * @param percentOff The discount, from 0 to 100.
+     * @return The rule.
+     */
+    public static PricingRule cartSizeDiscount(String name, int minItems, double percentOff) {
+        if (minItems < 1) {
+            throw new IllegalArgumentException("minItems must be at least 1");
+        }
+        return new PricingRule(name, Type.CART_SIZE, percentOff, null, null, Collections.emptySet(), minItems);
+    }
+
+    // Getters
+    public String getName() {
+        return name;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public double getPercentOff() {
+        return percentOff;
+    }
+
+    public String getFileType() {
+        return fileType;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public Set<String> getBundleSkus() {
+        return bundleSkus;
+    }
+
+    public int getMinItems() {
+        return minItems;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + type + ", " + percentOff + "% off)";
+    }
+}
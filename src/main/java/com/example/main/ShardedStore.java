@@ -0,0 +1,578 @@
+package com.example.main;
+
+import com.example.metrics.Counter;
+import com.example.metrics.LatencyRecorder;
+import com.example.metrics.MetricsRegistry;
+import com.example.model.Product;
+import com.example.model.ProductCatalog;
+import com.example.model.ShoppingCart;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * ShardedStore class - Hosts many storefronts (tenants) in one JVM, each with its own
+ * catalog and carts, spread over a number of shards that each run on one thread.
+ *
+ * Work for a tenant is submitted as an operation that runs against its Tenant and
+ * completes a future. A tenant's operations run one at a time and in submission
+ * order, so a tenant's state has a single writer and needs no locks. Each tenant has
+ * a home shard, picked from a hash of its ID. When operations arrive for an idle
+ * tenant, the tenant is queued on its home shard. The shard's thread takes tenants
+ * from the head of its queue. A shard with nothing queued steals from the tail of a
+ * busy shard's queue, so the work for one tenant can run on any thread, but only on
+ * one thread at a time.
+ *
+ * A queued tenant runs at most quantum operations, then goes to the back of its
+ * shard's queue if it has more. A hot tenant therefore gets one thread's worth of
+ * throughput, and the other tenants on its shard wait at most one quantum per tenant
+ * ahead of them. The queues, mailboxes and tenant table are lock-free; the only lock
+ * is taken by rebalance().
+ *
+ * rebalance() moves tenants between home shards to even out the operations each
+ * shard received since the last rebalance, and moveTenant() moves one tenant. Per
+ * shard, the registry counts operations and steals and records the time from
+ * submission to completion.
+ *
+ * Futures complete on shard threads, so dependent actions attached with the non-async
+ * CompletableFuture methods also run there and should be short.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public class ShardedStore implements AutoCloseable {
+    /** The default number of operations a tenant runs before yielding its thread. */
+    public static final int DEFAULT_QUANTUM = 64;
+
+    private final Shard[] shards;
+    private final int quantum;
+    private final ConcurrentHashMap<String, Tenant> tenants = new ConcurrentHashMap<>();
+    private final Object rebalanceLock = new Object();
+    private volatile boolean closed;
+
+    /**
+     * Constructor for ShardedStore with one shard per processor and the default quantum.
+     *
+     * @param registry The registry to create the per-shard metrics in.
+     */
+    public ShardedStore(MetricsRegistry registry) {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_QUANTUM, registry);
+    }
+
+    /**
+     * Constructor for ShardedStore. The shard threads start at once.
+     *
+     * @param shardCount The number of shards, and so of threads.
+     * @param quantum The number of operations a tenant runs before yielding its thread.
+     * @param registry The registry to create the per-shard metrics in.
+     */
+    public ShardedStore(int shardCount, int quantum, MetricsRegistry registry) {
+        if (shardCount < 1 || quantum < 1) {
+            throw new IllegalArgumentException("shardCount and quantum must be at least 1");
+        }
+        if (registry == null) {
+            throw new IllegalArgumentException("registry is required");
+        }
+        this.quantum = quantum;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, registry);
+        }
+        for (Shard shard : shards) {
+            shard.thread = new Thread(() -> runShard(shard), "store-shard-" + shard.index);
+            shard.thread.setDaemon(true);
+            shard.thread.start();
+        }
+    }
+
+    /**
+     * Runs an operation against a tenant, creating the tenant if it is new. The
+     * operation may read and change the tenant freely while it runs, but must not
+     * keep references to its state for use afterwards.
+     *
+     * @param tenantId The tenant ID.
+     * @param operation The operation.
+     * @param <T> The operation's result type.
+     * @return A future for the result, completed exceptionally if the operation throws.
+     * @throws IllegalStateException if the store is closed.
+     */
+    public <T> CompletableFuture<T> submit(String tenantId, Function<Tenant, T> operation) {
+        if (tenantId == null || operation == null) {
+            throw new IllegalArgumentException("tenantId and operation are required");
+        }
+        if (closed) {
+            throw new IllegalStateException("Store is closed");
+        }
+        Tenant tenant = tenants.get(tenantId);
+        if (tenant == null) {
+            tenant = tenants.computeIfAbsent(tenantId, id -> new Tenant(id, homeShardFor(id)));
+        }
+        Task<T> task = new Task<>(operation, shards[tenant.home].latency.startTimer());
+        tenant.mailbox.offer(task);
+        if (tenant.scheduled.compareAndSet(false, true)) {
+            schedule(tenant);
+        }
+        if (closed && tenant.mailbox.remove(task)) {
+            // The shard threads may have stopped before the task was queued; tasks queued
+            // before close() still run, so fail only this one
+            task.future.completeExceptionally(new IllegalStateException("Store is closed"));
+        }
+        return task.future;
+    }
+
+    /**
+     * Adds or replaces a product in a tenant's catalog.
+     *
+     * @param tenantId The tenant ID.
+     * @param product The product.
+     * @return A future for the product it replaced, or null.
+     */
+    public CompletableFuture<Product> putProduct(String tenantId, Product product) {
+        if (product == null) {
+            throw new IllegalArgumentException("Product cannot be null");
+        }
+        return submit(tenantId, tenant -> tenant.catalog.put(product));
+    }
+
+    /**
+     * Looks up a product in a tenant's catalog.
+     *
+     * @param tenantId The tenant ID.
+     * @param sku The SKU.
+     * @return A future for the product, or null if the tenant has none with that SKU.
+     */
+    public CompletableFuture<Product> getProduct(String tenantId, String sku) {
+        return submit(tenantId, tenant -> tenant.catalog.get(sku));
+    }
+
+    /**
+     * Adds a product from a tenant's catalog to one of its carts, creating the cart if needed.
+     *
+     * @param tenantId The tenant ID.
+     * @param cartId The cart ID.
+     * @param sku The SKU of the product to add.
+     * @param quantity How many to add.
+     * @return A future for the cart's new total in cents, completed exceptionally with
+     *         an IllegalArgumentException if the SKU is not in the catalog.
+     */
+    public CompletableFuture<Long> addToCart(String tenantId, String cartId, String sku, int quantity) {
+        if (cartId == null || quantity < 1) {
+            throw new IllegalArgumentException("cartId is required and quantity must be at least 1");
+        }
+        return submit(tenantId, tenant -> {
+            Product product = tenant.catalog.get(sku);
+            if (product == null) {
+                throw new IllegalArgumentException("Unknown SKU: " + sku);
+            }
+            ShoppingCart cart = tenant.getOrCreateCart(cartId);
+            cart.add(product, quantity);
+            return cart.getTotalCents();
+        });
+    }
+
+    /**
+     * Gets the total of one of a tenant's carts.
+     *
+     * @param tenantId The tenant ID.
+     * @param cartId The cart ID.
+     * @return A future for the total in cents, or null if there is no such cart.
+     */
+    public CompletableFuture<Long> getCartTotalCents(String tenantId, String cartId) {
+        return submit(tenantId, tenant -> {
+            ShoppingCart cart = tenant.getCart(cartId);
+            return cart == null ? null : cart.getTotalCents();
+        });
+    }
+
+    /**
+     * Gets a tenant's home shard.
+     *
+     * @param tenantId The tenant ID.
+     * @return The shard index, or -1 if the tenant has had no operations.
+     */
+    public int getHomeShard(String tenantId) {
+        Tenant tenant = tenants.get(tenantId);
+        return tenant == null ? -1 : tenant.home;
+    }
+
+    /**
+     * Moves a tenant to another home shard. A tenant already queued runs once more
+     * where it is queued; after that it is queued on the new shard.
+     *
+     * @param tenantId The tenant ID.
+     * @param shard The new home shard.
+     * @throws IllegalArgumentException if the tenant is unknown or the shard is out of range.
+     */
+    public void moveTenant(String tenantId, int shard) {
+        if (shard < 0 || shard >= shards.length) {
+            throw new IllegalArgumentException("Shard must be between 0 and " + (shards.length - 1));
+        }
+        Tenant tenant = tenants.get(tenantId);
+        if (tenant == null) {
+            throw new IllegalArgumentException("Unknown tenant: " + tenantId);
+        }
+        tenant.home = shard;
+    }
+
+    /**
+     * Moves tenants between home shards to even out the operations the shards
+     * received since the last rebalance. It repeatedly moves one tenant to the least
+     * busy shard, choosing the move that best evens out the loads, and stops when no
+     * move helps. A tenant busier than the gap between its shard and the least busy
+     * one stays where it is, so a hot tenant ends up with a shard to itself.
+     *
+     * @return The number of tenants moved.
+     */
+    public int rebalance() {
+        synchronized (rebalanceLock) {
+            long[] load = new long[shards.length];
+            List<List<Tenant>> homed = new ArrayList<>(shards.length);
+            for (int i = 0; i < shards.length; i++) {
+                homed.add(new ArrayList<>());
+            }
+            for (Tenant tenant : tenants.values()) {
+                long operations = tenant.operations;
+                tenant.recentLoad = operations - tenant.rebalancedOperations;
+                tenant.rebalancedOperations = operations;
+                int home = tenant.home;
+                load[home] += tenant.recentLoad;
+                homed.get(home).add(tenant);
+            }
+
+            int moved = 0;
+            while (true) {
+                int idlest = 0;
+                for (int i = 1; i < shards.length; i++) {
+                    idlest = load[i] < load[idlest] ? i : idlest;
+                }
+                // Take the move that most reduces the sum of the squared shard loads
+                Tenant best = null;
+                int source = -1;
+                long bestGain = 0;
+                for (int from = 0; from < shards.length; from++) {
+                    long gap = load[from] - load[idlest];
+                    for (Tenant tenant : homed.get(from)) {
+                        long gain = tenant.recentLoad * (gap - tenant.recentLoad);
+                        if (gain > bestGain) {
+                            best = tenant;
+                            source = from;
+                            bestGain = gain;
+                        }
+                    }
+                }
+                if (best == null) {
+                    return moved;
+                }
+                homed.get(source).remove(best);
+                homed.get(idlest).add(best);
+                load[source] -= best.recentLoad;
+                load[idlest] += best.recentLoad;
+                best.home = idlest;
+                moved++;
+            }
+        }
+    }
+
+    /**
+     * Gets a snapshot of one shard's counters.
+     *
+     * @param shard The shard index.
+     * @return The shard's statistics.
+     */
+    public ShardStats getShardStats(int shard) {
+        if (shard < 0 || shard >= shards.length) {
+            throw new IllegalArgumentException("Shard must be between 0 and " + (shards.length - 1));
+        }
+        int homeTenants = 0;
+        for (Tenant tenant : tenants.values()) {
+            if (tenant.home == shard) {
+                homeTenants++;
+            }
+        }
+        Shard state = shards[shard];
+        return new ShardStats(shard, state.operations.get(), state.steals.get(), state.queue.size(), homeTenants);
+    }
+
+    /**
+     * Stops the shard threads once the operations already submitted have run. Operations
+     * submitted while closing fail with an IllegalStateException.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Shard shard : shards) {
+            LockSupport.unpark(shard.thread);
+        }
+        boolean interrupted = false;
+        for (Shard shard : shards) {
+            while (shard.thread.isAlive()) {
+                try {
+                    shard.thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        for (Tenant tenant : tenants.values()) {
+            failPending(tenant);
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Getters
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    public int getTenantCount() {
+        return tenants.size();
+    }
+
+    private int homeShardFor(String tenantId) {
+        int hash = tenantId.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), shards.length);
+    }
+
+    private void schedule(Tenant tenant) {
+        Shard home = shards[tenant.home];
+        home.queue.offerLast(tenant);
+        if (home.idle) {
+            LockSupport.unpark(home.thread);
+            return;
+        }
+        for (Shard shard : shards) { // The home shard is busy: wake one idle shard to steal
+            if (shard.idle) {
+                LockSupport.unpark(shard.thread);
+                return;
+            }
+        }
+    }
+
+    private void runShard(Shard shard) {
+        while (true) {
+            Tenant tenant = shard.queue.pollFirst();
+            if (tenant == null) {
+                tenant = steal(shard);
+                if (tenant != null) {
+                    shard.steals.increment();
+                }
+            }
+            if (tenant != null) {
+                runTenant(shard, tenant);
+                continue;
+            }
+            // Announce idleness before the last look, so a tenant queued after the look sees it
+            shard.idle = true;
+            if (!hasQueuedTenants()) {
+                if (closed) {
+                    return;
+                }
+                LockSupport.park(this);
+            }
+            shard.idle = false;
+        }
+    }
+
+    private Tenant steal(Shard thief) {
+        for (int i = 1; i < shards.length; i++) {
+            Tenant tenant = shards[(thief.index + i) % shards.length].queue.pollLast();
+            if (tenant != null) {
+                return tenant;
+            }
+        }
+        return null;
+    }
+
+    private boolean hasQueuedTenants() {
+        for (Shard shard : shards) {
+            if (!shard.queue.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void runTenant(Shard shard, Tenant tenant) {
+        Task<?> task;
+        for (int ran = 0; ran < quantum && (task = tenant.mailbox.poll()) != null; ran++) {
+            // Counted before the future completes, so a caller that waited sees its operation counted
+            tenant.operations++; // Only the thread running the tenant writes this
+            shard.operations.increment();
+            task.run(tenant, shard.latency);
+        }
+        tenant.scheduled.set(false);
+        if (!tenant.mailbox.isEmpty() && tenant.scheduled.compareAndSet(false, true)) {
+            schedule(tenant);
+        }
+    }
+
+    private static void failPending(Tenant tenant) {
+        Task<?> task;
+        while ((task = tenant.mailbox.poll()) != null) {
+            task.future.completeExceptionally(new IllegalStateException("Store is closed"));
+        }
+    }
+
+    /**
+     * Tenant class - One storefront's catalog and carts. Operations receive it while
+     * they run; it is not safe to use from anywhere else.
+     */
+    public static final class Tenant {
+        private final String id;
+        private final ProductCatalog catalog = new ProductCatalog();
+        private final Map<String, ShoppingCart> carts = new HashMap<>();
+        private final ConcurrentLinkedQueue<Task<?>> mailbox = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean(); // Queued on a shard or running
+        private volatile int home;
+        private volatile long operations;
+        private long rebalancedOperations; // Guarded by rebalanceLock, like recentLoad
+        private long recentLoad;
+
+        private Tenant(String id, int home) {
+            this.id = id;
+            this.home = home;
+        }
+
+        /**
+         * Gets a cart.
+         *
+         * @param cartId The cart ID.
+         * @return The cart, or null if there is none with that ID.
+         */
+        public ShoppingCart getCart(String cartId) {
+            return carts.get(cartId);
+        }
+
+        /**
+         * Gets a cart, creating an empty one if there is none with that ID.
+         *
+         * @param cartId The cart ID.
+         * @return The cart.
+         */
+        public ShoppingCart getOrCreateCart(String cartId) {
+            return carts.computeIfAbsent(cartId, key -> new ShoppingCart());
+        }
+
+        /**
+         * Removes a cart.
+         *
+         * @param cartId The cart ID.
+         * @return The cart removed, or null if there was none.
+         */
+        public ShoppingCart removeCart(String cartId) {
+            return carts.remove(cartId);
+        }
+
+        // Getters
+        public String getId() {
+            return id;
+        }
+
+        public ProductCatalog getCatalog() {
+            return catalog;
+        }
+
+        public int getCartCount() {
+            return carts.size();
+        }
+    }
+
+    /**
+     * ShardStats class - A snapshot of one shard's counters. The counters stay at 0
+     * while the registry is disabled.
+     */
+    public static final class ShardStats {
+        private final int shard;
+        private final long operations;
+        private final long steals;
+        private final int queuedTenants;
+        private final int homeTenants;
+
+        private ShardStats(int shard, long operations, long steals, int queuedTenants, int homeTenants) {
+            this.shard = shard;
+            this.operations = operations;
+            this.steals = steals;
+            this.queuedTenants = queuedTenants;
+            this.homeTenants = homeTenants;
+        }
+
+        // Getters
+        public int getShard() {
+            return shard;
+        }
+
+        /** Operations run on this shard's thread, including those of stolen tenants. */
+        public long getOperations() {
+            return operations;
+        }
+
+        /** Tenants this shard took from other shards' queues. */
+        public long getSteals() {
+            return steals;
+        }
+
+        public int getQueuedTenants() {
+            return queuedTenants;
+        }
+
+        public int getHomeTenants() {
+            return homeTenants;
+        }
+
+        @Override
+        public String toString() {
+            return "Shard " + shard + ": " + operations + " operations, " + steals + " steals, "
+                + queuedTenants + " queued tenants, " + homeTenants + " home tenants";
+        }
+    }
+
+    private static final class Shard {
+        final int index;
+        final ConcurrentLinkedDeque<Tenant> queue = new ConcurrentLinkedDeque<>();
+        final Counter operations;
+        final Counter steals;
+        final LatencyRecorder latency;
+        Thread thread;
+        volatile boolean idle;
+
+        Shard(int index, MetricsRegistry registry) {
+            String label = Integer.toString(index);
+            this.index = index;
+            this.operations = registry.counter("store_shard_operations_total", "Tenant operations run.", "shard", label);
+            this.steals = registry.counter("store_shard_steals_total", "Tenants taken from other shards' queues.",
+                                           "shard", label);
+            this.latency = registry.latency("store_shard_operation_seconds",
+                                            "Time from submitting an operation to its completion.", "shard", label);
+        }
+    }
+
+    private static final class Task<T> {
+        final Function<Tenant, T> operation;
+        final long startNanos;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+
+        Task(Function<Tenant, T> operation, long startNanos) {
+            this.operation = operation;
+            this.startNanos = startNanos;
+        }
+
+        void run(Tenant tenant, LatencyRecorder latency) {
+            try {
+                future.complete(operation.apply(tenant));
+            } catch (Throwable e) { // Anything escaping would stop the shard's thread
+                future.completeExceptionally(e);
+            }
+            latency.stopTimer(startNanos);
+        }
+    }
+}
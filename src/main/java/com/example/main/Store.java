@@ -2,6 +2,12 @@ package com.example.main;
 
 import com.example.model.Product;
 import com.example.model.DigitalProduct;
+import com.example.model.ProductCatalog;
+import com.example.model.ProductFormatter;
+import com.example.model.ShoppingCart;
+import com.example.metrics.MetricsRegistry;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 
 /**
@@ -53,13 +59,12 @@ public class Store {
         System.out.println("=== Processing the Shopping Cart ===");
         System.out.println("Using a for-each loop to process all items uniformly:\n");
 
-        // Use a for-each loop to iterate through the shoppingCart and call displayInfo()
-        int itemNumber = 1;
-        for (Product item : shoppingCart) {
-            System.out.println("--- Shopping Cart Item " + itemNumber++ + " ---");
-            item.displayInfo(); // Polymorphism in action!
-            System.out.println();
-        }
+        // Cart metrics are recorded only when -Dstore.metrics=<file> names a Prometheus output file
+        String metricsFile = System.getProperty("store.metrics");
+        CartMetrics metrics = new CartMetrics(new MetricsRegistry(metricsFile != null));
+
+        // Render every item into one buffer (a for-each loop over appendInfo()) and print it once
+        new CartRenderer(Integer.MAX_VALUE, metrics).render(shoppingCart, System.out);
 
         System.out.println("=== Package Organization Benefits ===");
         System.out.println("1. Clear Structure: com.example.model contains all data models");
@@ -68,25 +73,37 @@ public class Store {
         System.out.println("4. Namespace Protection: Prevents naming conflicts");
         System.out.println("5. Professional Standards: Industry-standard package naming\n");
 
-        // Calculate total cart value
-        double totalCartValue = 0;
-        int physicalProductCount = 0;
-        int digitalProductCount = 0;
+        // Calculate total cart value: the cart keeps its total and counts up to date as items are added
+        ShoppingCart cart = new ShoppingCart();
 
+        long totalStart = metrics.startTimer();
         for (Product item : shoppingCart) {
-            totalCartValue += item.getPrice();
-            if (item instanceof DigitalProduct) {
-                digitalProductCount++;
-            } else {
-                physicalProductCount++;
-            }
+            cart.add(item);
+            metrics.recordItemValue(item);
         }
+        metrics.recordTotal(totalStart);
 
         System.out.println("=== Cart Summary ===");
-        System.out.println("Total Cart Value: $" + String.format("%.2f", totalCartValue));
-        System.out.println("Physical Products: " + physicalProductCount);
-        System.out.println("Digital Products: " + digitalProductCount);
-        System.out.println("Total Items: " + shoppingCart.size() + "\n");
+        System.out.println("Total Cart Value: $" + cart.getTotal());
+        System.out.println("Physical Products: " + cart.getPhysicalCount());
+        System.out.println("Digital Products: " + cart.getDigitalCount());
+        System.out.println("Total Items: " + cart.getItemCount() + "\n");
+
+        // Index the cart by SKU so lookups do not need to scan the whole list
+        ProductCatalog catalog = new ProductCatalog();
+        catalog.putAll(shoppingCart);
+
+        System.out.println("=== SKU Lookup ===");
+        System.out.println("Looking up COURSE-001: " + catalog.get("COURSE-001").getProductInfo() + "\n");
+
+        // Check out the cart asynchronously: each line's steps run concurrently
+        System.out.println("=== Async Checkout ===");
+        try (CheckoutService checkoutService = new CheckoutService(0.08)) {
+            CheckoutService.Receipt receipt = checkoutService.checkout(shoppingCart).join();
+            System.out.println("Subtotal: $" + ProductFormatter.formatPrice(receipt.getSubtotal()));
+            System.out.println("Tax (8%): $" + ProductFormatter.formatPrice(receipt.getTax()));
+            System.out.println("Total: $" + ProductFormatter.formatPrice(receipt.getTotal()) + "\n");
+        }
 
         System.out.println("=== Import Statement Examples ===");
         System.out.println("// Import specific classes:");
@@ -103,5 +120,14 @@ public class Store {
         System.out.println("3. Import statements make classes from other packages available");
         System.out.println("4. Package structure reflects the application architecture");
         System.out.println("5. Professional codebases always use packages");
+
+        if (metricsFile != null) {
+            try {
+                metrics.getRegistry().exportPrometheus(Paths.get(metricsFile));
+                System.out.println("\nMetrics written to " + metricsFile);
+            } catch (IOException e) {
+                System.out.println("\nCould not write metrics to " + metricsFile + ": " + e.getMessage());
+            }
+        }
     }
 }
@@ -0,0 +1,55 @@
+package com.example.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter class - A monotonically increasing count, such as items processed.
+ * Increments are lock-free and spread over per-thread cells, so many threads can
+ * count at once without contending on one memory location. While the registry is
+ * disabled, increments are ignored.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public final class Counter {
+    private final MetricsRegistry registry;
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Constructor for Counter. Counters are created through MetricsRegistry.counter().
+     *
+     * @param registry The registry whose enabled flag applies.
+     */
+    Counter(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Adds one.
+     */
+    public void increment() {
+        if (registry.isEnabled()) {
+            count.increment();
+        }
+    }
+
+    /**
+     * Adds an amount.
+     *
+     * @param amount The amount to add, not negative.
+     */
+    public void add(long amount) {
+        if (registry.isEnabled()) {
+            count.add(amount);
+        }
+    }
+
+    /**
+     * Gets the current count.
+     *
+     * @return The count.
+     */
+    public long get() {
+        return count.sum();
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyRecorder class - Records durations in nanoseconds into a fixed set of
+ * log-linear buckets, in the style of HdrHistogram. Every power of two is split into
+ * 32 equal buckets, so any recorded value is reported within about 3% whatever its
+ * magnitude, from nanoseconds to hours, in a fixed 15 KB of counters.
+ *
+ * Recording is one array increment, one adder and a rarely taken max update: it is lock-free and allocates
+ * nothing. Percentiles are computed from a snapshot. While the registry is disabled,
+ * startTimer() returns 0 without reading the clock and recording is ignored.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public final class LatencyRecorder {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS; // Values below this get one bucket each
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT / 2;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS + 2) * SUB_BUCKET_HALF;
+
+    private final MetricsRegistry registry;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Constructor for LatencyRecorder. Recorders are created through MetricsRegistry.latency().
+     *
+     * @param registry The registry whose enabled flag applies.
+     */
+    LatencyRecorder(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Starts timing an operation.
+     *
+     * @return The start time to pass to stopTimer(), or 0 while disabled.
+     */
+    public long startTimer() {
+        return registry.isEnabled() ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the time since startTimer().
+     *
+     * @param startNanos The value returned by startTimer().
+     */
+    public void stopTimer(long startNanos) {
+        if (startNanos != 0 && registry.isEnabled()) {
+            record(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos The duration in nanoseconds; negative values count as 0.
+     */
+    public void record(long nanos) {
+        if (!registry.isEnabled()) {
+            return;
+        }
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketIndex(value));
+        totalNanos.add(value);
+        long max = maxNanos.get();
+        while (value > max && !maxNanos.compareAndSet(max, value)) {
+            max = maxNanos.get();
+        }
+    }
+
+    /**
+     * Takes a copy of the recorded values for computing percentiles.
+     *
+     * @return The snapshot.
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(copy, count, totalNanos.sum(), maxNanos.get());
+    }
+
+    /**
+     * Gets the bucket a value falls into.
+     *
+     * @param value The value, not negative.
+     * @return The bucket index.
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return shift * SUB_BUCKET_HALF + (int) (value >>> shift);
+    }
+
+    /**
+     * Gets the largest value that falls into a bucket.
+     *
+     * @param index The bucket index.
+     * @return The highest value of the bucket.
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_HALF - 1;
+        long lower = (long) (index % SUB_BUCKET_HALF + SUB_BUCKET_HALF) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    /**
+     * Snapshot class - A point-in-time copy of a recorder.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sumNanos;
+        private final long maxNanos;
+
+        Snapshot(long[] counts, long count, long sumNanos, long maxNanos) {
+            this.counts = counts;
+            this.count = count;
+            this.sumNanos = sumNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        // Getters
+        public long getCount() {
+            return count;
+        }
+
+        public long getSumNanos() {
+            return sumNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * Gets the mean of the recorded values.
+         *
+         * @return The mean in nanoseconds, or 0 if nothing was recorded.
+         */
+        public double getMeanNanos() {
+            return count == 0 ? 0 : (double) sumNanos / count;
+        }
+
+        /**
+         * Gets a percentile: the value at or below which the given share of the
+         * recorded values fall, rounded up to the top of its bucket.
+         *
+         * @param quantile The share, from 0 to 1, e.g. 0.99.
+         * @return The value in nanoseconds, or 0 if nothing was recorded.
+         */
+        public long getValueAtQuantile(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(Math.min(1, Math.max(0, quantile)) * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(i), maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+    }
+}
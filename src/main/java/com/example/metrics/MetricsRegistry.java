@@ -0,0 +1,222 @@
+package com.example.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * MetricsRegistry class - Creates named counters and latency recorders and exports
+ * them in the Prometheus text exposition format.
+ *
+ * Metrics are registered once, up front, and then held in fields by the code they
+ * measure, so the recording path never looks anything up by name. The registry has
+ * one enabled flag shared by all of its metrics: while it is off, recording is a
+ * single volatile read and a branch.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public class MetricsRegistry {
+    /** Quantiles exported for every latency recorder. */
+    private static final double[] EXPORTED_QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final Pattern VALID_NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+
+    private volatile boolean enabled;
+    private final Map<String, Family> families = new LinkedHashMap<>();
+
+    /**
+     * Constructor for MetricsRegistry.
+     *
+     * @param enabled Whether metrics are recorded from the start.
+     */
+    public MetricsRegistry(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Checks whether metrics are being recorded.
+     *
+     * @return true if enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns recording on or off for every metric of this registry.
+     *
+     * @param enabled Whether to record.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Registers a counter, or returns the existing one with the same name and labels.
+     *
+     * @param name The metric name, e.g. "cart_items_processed_total".
+     * @param help A one-line description.
+     * @param labels Label names and values, alternating, e.g. "type", "digital".
+     * @return The counter.
+     */
+    public synchronized Counter counter(String name, String help, String... labels) {
+        return (Counter) register(name, help, "counter", labels, new Counter(this));
+    }
+
+    /**
+     * Registers a latency recorder, or returns the existing one with the same name and
+     * labels. It is exported as a summary in seconds.
+     *
+     * @param name The metric name, e.g. "cart_render_seconds".
+     * @param help A one-line description.
+     * @param labels Label names and values, alternating.
+     * @return The recorder.
+     */
+    public synchronized LatencyRecorder latency(String name, String help, String... labels) {
+        return (LatencyRecorder) register(name, help, "summary", labels, new LatencyRecorder(this));
+    }
+
+    /**
+     * Writes every metric in the Prometheus text format.
+     *
+     * @param out Where to write.
+     * @throws IOException if writing fails.
+     */
+    public void writePrometheus(Appendable out) throws IOException {
+        List<Family> snapshot = new ArrayList<>();
+        List<Map<String, Object>> seriesSnapshot = new ArrayList<>();
+        synchronized (this) {
+            for (Family family : families.values()) {
+                snapshot.add(family);
+                seriesSnapshot.add(new LinkedHashMap<>(family.series));
+            }
+        }
+        for (int i = 0; i < snapshot.size(); i++) {
+            Family family = snapshot.get(i);
+            out.append("# HELP ").append(family.name).append(' ').append(family.help).append('\n');
+            out.append("# TYPE ").append(family.name).append(' ').append(family.type).append('\n');
+            for (Map.Entry<String, Object> series : seriesSnapshot.get(i).entrySet()) {
+                String labels = series.getKey();
+                Object metric = series.getValue();
+                if (metric instanceof Counter) {
+                    writeSample(out, family.name, labels, null, ((Counter) metric).get());
+                } else {
+                    LatencyRecorder.Snapshot latency = ((LatencyRecorder) metric).snapshot();
+                    for (double quantile : EXPORTED_QUANTILES) {
+                        writeSample(out, family.name, labels, Double.toString(quantile),
+                                    latency.getValueAtQuantile(quantile) / 1e9);
+                    }
+                    writeSample(out, family.name + "_sum", labels, null, latency.getSumNanos() / 1e9);
+                    writeSample(out, family.name + "_count", labels, null, latency.getCount());
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes every metric in the Prometheus text format to a file, replacing it
+     * atomically so a collector never reads a half-written file.
+     *
+     * @param file The file to write, e.g. for the node_exporter textfile collector.
+     * @throws IOException if the file cannot be written.
+     */
+    public void exportPrometheus(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                writePrometheus(writer);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private Object register(String name, String help, String type, String[] labels, Object metric) {
+        if (!VALID_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid metric name: " + name);
+        }
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be name and value pairs");
+        }
+        Family family = families.get(name);
+        if (family == null) {
+            family = new Family(name, help, type);
+            families.put(name, family);
+        } else if (!family.type.equals(type)) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a " + family.type);
+        }
+        return family.series.computeIfAbsent(formatLabels(labels), key -> metric);
+    }
+
+    private static String formatLabels(String[] labels) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < labels.length; i += 2) {
+            if (!VALID_NAME.matcher(labels[i]).matches()) {
+                throw new IllegalArgumentException("Invalid label name: " + labels[i]);
+            }
+            if (text.length() > 0) {
+                text.append(',');
+            }
+            text.append(labels[i]).append("=\"");
+            String value = labels[i + 1];
+            for (int c = 0; c < value.length(); c++) {
+                char ch = value.charAt(c);
+                if (ch == '\\' || ch == '"') {
+                    text.append('\\').append(ch);
+                } else if (ch == '\n') {
+                    text.append("\\n");
+                } else {
+                    text.append(ch);
+                }
+            }
+            text.append('"');
+        }
+        return text.toString();
+    }
+
+    private static void writeSample(Appendable out, String name, String labels, String quantile, double value)
+            throws IOException {
+        out.append(name);
+        if (!labels.isEmpty() || quantile != null) {
+            out.append('{').append(labels);
+            if (quantile != null) {
+                out.append(labels.isEmpty() ? "" : ",").append("quantile=\"").append(quantile).append('"');
+            }
+            out.append('}');
+        }
+        out.append(' ').append(formatNumber(value)).append('\n');
+    }
+
+    private static String formatNumber(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value); // Prometheus parses Java's 1.5E-6 notation
+    }
+
+    /**
+     * All series of one metric name, keyed by their formatted labels.
+     */
+    private static final class Family {
+        private final String name;
+        private final String help;
+        private final String type;
+        private final Map<String, Object> series = new LinkedHashMap<>();
+
+        Family(String name, String help, String type) {
+            this.name = name;
+            this.help = help.replace("\\", "\\\\").replace("\n", "\\n");
+            this.type = type;
+        }
+    }
+}
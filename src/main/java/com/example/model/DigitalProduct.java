@@ -67,17 +67,34 @@ public class DigitalProduct extends Product {
     }
 
     /**
-     * Overrides the displayInfo method from the Product class to include digital product specific information.
+     * Overrides the appendInfo method from the Product class to include digital product specific information.
      * This demonstrates method overriding, a key aspect of inheritance.
+     *
+     * @param out The buffer to append to.
+     * @return The same buffer, for chaining.
+     */
+    @Override
+    public StringBuilder appendInfo(StringBuilder out) {
+        super.appendInfo(out); // Call the parent's appendInfo to reuse common info
+        out.append("Download URL: ").append(getDownloadUrl()).append(LINE_SEPARATOR);
+        out.append("File Type: ").append(getFileType()).append(LINE_SEPARATOR);
+        out.append("File Size: ").append(getFileSizeMB()).append(" MB").append(LINE_SEPARATOR);
+        out.append("Type: Digital Product").append(LINE_SEPARATOR);
+        out.append("Description: This is a digital item that can be downloaded instantly").append(LINE_SEPARATOR);
+        return out;
+    }
+
+    /**
+     * Adds the download details to the JSON fields written by Product.
+     *
+     * @param out The buffer to append to.
      */
     @Override
-    public void displayInfo() {
-        super.displayInfo(); // Call the parent's displayInfo to reuse common info
-        System.out.println("Download URL: " + getDownloadUrl());
-        System.out.println("File Type: " + getFileType());
-        System.out.println("File Size: " + getFileSizeMB() + " MB");
-        System.out.println("Type: Digital Product");
-        System.out.println("Description: This is a digital item that can be downloaded instantly");
+    protected void appendJsonFields(StringBuilder out) {
+        super.appendJsonFields(out);
+        ProductFormatter.appendJsonString(out.append(",\"downloadUrl\":"), getDownloadUrl());
+        ProductFormatter.appendJsonString(out.append(",\"fileType\":"), getFileType());
+        ProductFormatter.appendJsonNumber(out.append(",\"fileSizeMB\":"), getFileSizeMB());
     }
 
     /**
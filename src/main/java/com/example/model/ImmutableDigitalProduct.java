@@ -0,0 +1,78 @@
+package com.example.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ImmutableDigitalProduct class - A read-only counterpart of DigitalProduct.
+ * File type strings are interned, so millions of products with the same file
+ * type share a single String instance.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public final class ImmutableDigitalProduct extends ImmutableProduct {
+    private static final ConcurrentHashMap<String, String> FILE_TYPES = new ConcurrentHashMap<>();
+
+    private final String downloadUrl;
+    private final String fileType;
+    private final double fileSizeMB;
+
+    /**
+     * Constructor used by the Builder.
+     *
+     * @param builder The builder holding the field values.
+     */
+    ImmutableDigitalProduct(Builder builder) {
+        super(builder);
+        this.downloadUrl = builder.downloadUrl;
+        this.fileType = internFileType(builder.fileType);
+        this.fileSizeMB = builder.fileSizeMB;
+    }
+
+    // Getters
+    public String getDownloadUrl() {
+        return downloadUrl;
+    }
+
+    public String getFileType() {
+        return fileType;
+    }
+
+    public double getFileSizeMB() {
+        return fileSizeMB;
+    }
+
+    @Override
+    public boolean isDigital() {
+        return true;
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return super.toBuilder().downloadUrl(downloadUrl).fileType(fileType).fileSizeMB(fileSizeMB);
+    }
+
+    /**
+     * Creates a mutable DigitalProduct with the same values.
+     *
+     * @return A new DigitalProduct.
+     */
+    @Override
+    public DigitalProduct toProduct() {
+        return new DigitalProduct(getName(), getPrice(), getSku(), downloadUrl, fileType, fileSizeMB);
+    }
+
+    /**
+     * Returns the shared instance of a file type string.
+     *
+     * @param fileType The file type to intern.
+     * @return The canonical instance, or null if fileType is null.
+     */
+    static String internFileType(String fileType) {
+        if (fileType == null) {
+            return null;
+        }
+        String existing = FILE_TYPES.putIfAbsent(fileType, fileType);
+        return existing != null ? existing : fileType;
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.model;
+
+/**
+ * ImmutableProduct class - A read-only counterpart of Product that can be shared
+ * between threads without locking or defensive copies. All fields are final, the
+ * hash code is computed once, and equality is based on the SKU alone.
+ * Instances are created with a Builder or converted from a mutable Product.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public class ImmutableProduct {
+    private final String name;
+    private final double price;
+    private final String sku;
+    private final int hash;
+
+    /**
+     * Constructor used by the Builder and by ImmutableDigitalProduct.
+     *
+     * @param builder The builder holding the field values.
+     */
+    ImmutableProduct(Builder builder) {
+        if (builder.sku == null) {
+            throw new IllegalStateException("SKU is required");
+        }
+        this.name = builder.name;
+        this.price = builder.price;
+        this.sku = builder.sku;
+        this.hash = builder.sku.hashCode();
+    }
+
+    /**
+     * Creates a new, empty builder.
+     *
+     * @return A builder for immutable products.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates an immutable copy of a mutable product. A DigitalProduct becomes an
+     * ImmutableDigitalProduct.
+     *
+     * @param product The product to copy.
+     * @return An immutable product with the same values.
+     */
+    public static ImmutableProduct from(Product product) {
+        return new Builder().from(product).build();
+    }
+
+    // Getters
+    public String getName() {
+        return name;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    /**
+     * Checks whether this is a digital product.
+     *
+     * @return true for ImmutableDigitalProduct instances.
+     */
+    public boolean isDigital() {
+        return false;
+    }
+
+    /**
+     * Creates a new builder pre-filled with this product's values, so a modified
+     * copy can be made.
+     *
+     * @return A builder holding this product's values.
+     */
+    public Builder toBuilder() {
+        return new Builder().name(name).price(price).sku(sku);
+    }
+
+    /**
+     * Creates a mutable Product with the same values.
+     *
+     * @return A new Product.
+     */
+    public Product toProduct() {
+        return new Product(name, price, sku);
+    }
+
+    /**
+     * Utility method for formatted product information, matching Product.getProductInfo().
+     *
+     * @return A formatted string containing product information.
+     */
+    public String getProductInfo() {
+        return "Product: " + name + ", Price: $" + price + ", SKU: " + sku;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ImmutableProduct)) {
+            return false;
+        }
+        ImmutableProduct that = (ImmutableProduct) other;
+        return hash == that.hash && sku.equals(that.sku);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return getProductInfo();
+    }
+
+    /**
+     * Builder class - A mutable builder for ImmutableProduct and ImmutableDigitalProduct.
+     * Setting any digital field (download URL, file type or file size) makes build()
+     * return an ImmutableDigitalProduct.
+     */
+    public static class Builder {
+        String name;
+        double price;
+        String sku;
+        String downloadUrl;
+        String fileType;
+        double fileSizeMB;
+        boolean digital;
+
+        /**
+         * Default constructor for Builder.
+         */
+        public Builder() {
+            // Default constructor
+        }
+
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder price(double price) {
+            this.price = price;
+            return this;
+        }
+
+        public Builder sku(String sku) {
+            this.sku = sku;
+            return this;
+        }
+
+        public Builder downloadUrl(String downloadUrl) {
+            this.downloadUrl = downloadUrl;
+            this.digital = true;
+            return this;
+        }
+
+        public Builder fileType(String fileType) {
+            this.fileType = fileType;
+            this.digital = true;
+            return this;
+        }
+
+        public Builder fileSizeMB(double fileSizeMB) {
+            this.fileSizeMB = fileSizeMB;
+            this.digital = true;
+            return this;
+        }
+
+        /**
+         * Copies every field from a mutable product into this builder.
+         *
+         * @param product The product to copy.
+         * @return This builder.
+         */
+        public Builder from(Product product) {
+            name(product.getName()).price(product.getPrice()).sku(product.getSku());
+            if (product instanceof DigitalProduct) {
+                DigitalProduct digitalProduct = (DigitalProduct) product;
+                downloadUrl(digitalProduct.getDownloadUrl())
+                        .fileType(digitalProduct.getFileType())
+                        .fileSizeMB(digitalProduct.getFileSizeMB());
+            }
+            return this;
+        }
+
+        /**
+         * Builds the immutable product.
+         *
+         * @return An ImmutableDigitalProduct if any digital field was set, otherwise an ImmutableProduct.
+         * @throws IllegalStateException if no SKU was set.
+         */
+        public ImmutableProduct build() {
+            return digital ? new ImmutableDigitalProduct(this) : new ImmutableProduct(this);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.model;
+
+import java.util.Collection;
+
+/**
+ * Money class - An exact amount of money stored as a whole number of cents.
+ * Unlike adding double prices, adding cents is exact and associative, so a total
+ * split across any number of threads is identical to the one computed on a single
+ * thread. All arithmetic throws ArithmeticException on overflow instead of wrapping.
+ *
+ * The static methods work on raw cent values (long) and never allocate, for use in
+ * hot loops; the instance methods wrap the same operations in an immutable value.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public final class Money implements Comparable<Money> {
+    /** Zero dollars. */
+    public static final Money ZERO = new Money(0);
+
+    private static final double MAX_CONVERTIBLE = Long.MAX_VALUE / 100.0;
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    /**
+     * Creates an amount from a number of cents.
+     *
+     * @param cents The amount in cents.
+     * @return The amount as Money.
+     */
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * Creates an amount from a dollar value, rounded to the nearest cent.
+     *
+     * @param amount The amount in dollars, e.g. 19.99.
+     * @return The amount as Money.
+     * @throws ArithmeticException if the amount is not finite or does not fit in a long of cents.
+     */
+    public static Money of(double amount) {
+        return ofCents(toCents(amount));
+    }
+
+    /**
+     * Converts a dollar value to cents, rounding half cents away from zero. A value
+     * a few ulps below a half cent (such as 1.005, stored as 1.00499999...) is
+     * treated as the half cent its decimal literal names.
+     *
+     * @param amount The amount in dollars.
+     * @return The amount in cents.
+     * @throws ArithmeticException if the amount is not finite or does not fit in a long of cents.
+     */
+    public static long toCents(double amount) {
+        if (Double.isNaN(amount) || Math.abs(amount) >= MAX_CONVERTIBLE) {
+            throw new ArithmeticException("Amount cannot be represented in cents: " + amount);
+        }
+        double scaled = Math.abs(amount) * 100;
+        long cents = (long) (scaled + 0.5 + Math.ulp(scaled) * 4);
+        return amount < 0 ? -cents : cents;
+    }
+
+    /**
+     * Converts cents to the nearest double dollar value. For any amount below 2^53
+     * cents this gives back exactly the double written as the decimal literal.
+     *
+     * @param cents The amount in cents.
+     * @return The amount in dollars.
+     */
+    public static double toDollars(long cents) {
+        return cents / 100.0;
+    }
+
+    /**
+     * Adds two amounts in cents, throwing on overflow.
+     *
+     * @param a The first amount in cents.
+     * @param b The second amount in cents.
+     * @return The sum in cents.
+     */
+    public static long addCents(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    /**
+     * Sums an array of cent amounts, throwing on overflow.
+     *
+     * @param cents The amounts in cents.
+     * @return The sum in cents.
+     */
+    public static long sumCents(long[] cents) {
+        long total = 0;
+        for (long amount : cents) {
+            total = Math.addExact(total, amount);
+        }
+        return total;
+    }
+
+    /**
+     * Totals the prices of a collection of products on the calling thread.
+     *
+     * @param products The products to total.
+     * @return The exact total.
+     */
+    public static Money total(Collection<? extends Product> products) {
+        long total = 0;
+        for (Product product : products) {
+            total = Math.addExact(total, product.getPriceCents());
+        }
+        return ofCents(total);
+    }
+
+    /**
+     * Totals the prices of a collection of products using the common fork-join pool.
+     * The result is always identical to total(products).
+     *
+     * @param products The products to total.
+     * @return The exact total.
+     */
+    public static Money parallelTotal(Collection<? extends Product> products) {
+        return ofCents(products.parallelStream().mapToLong(Product::getPriceCents).reduce(0, Math::addExact));
+    }
+
+    // Getters
+    public long getCents() {
+        return cents;
+    }
+
+    public double toDouble() {
+        return toDollars(cents);
+    }
+
+    /**
+     * Adds another amount to this one.
+     *
+     * @param other The amount to add.
+     * @return The sum.
+     */
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    /**
+     * Subtracts another amount from this one.
+     *
+     * @param other The amount to subtract.
+     * @return The difference.
+     */
+    public Money minus(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    /**
+     * Multiplies this amount by a quantity.
+     *
+     * @param quantity The quantity, e.g. the number of items on a cart line.
+     * @return The product.
+     */
+    public Money times(long quantity) {
+        return ofCents(Math.multiplyExact(cents, quantity));
+    }
+
+    /**
+     * Checks whether this amount is negative.
+     *
+     * @return true if the amount is below zero.
+     */
+    public boolean isNegative() {
+        return cents < 0;
+    }
+
+    /**
+     * Appends the amount with two decimals, e.g. "1704.94", without allocating.
+     *
+     * @param out The buffer to append to.
+     * @return The same buffer, for chaining.
+     */
+    public StringBuilder appendTo(StringBuilder out) {
+        return appendCents(out, cents);
+    }
+
+    /**
+     * Appends a cent amount with two decimals, e.g. "1704.94".
+     *
+     * @param out The buffer to append to.
+     * @param cents The amount in cents.
+     * @return The same buffer, for chaining.
+     */
+    public static StringBuilder appendCents(StringBuilder out, long cents) {
+        if (cents < 0) {
+            out.append('-');
+        }
+        long whole = Math.abs(cents / 100);
+        long fraction = Math.abs(cents % 100);
+        out.append(whole).append('.');
+        if (fraction < 10) {
+            out.append('0');
+        }
+        return out.append(fraction);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Money && ((Money) other).cents == cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder(24)).toString();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.model;
+
+import java.nio.ByteBuffer;
+
+/**
+ * OffHeapProduct class - A flyweight view of one product stored in a ProductArena.
+ * It has the same getters as Product and DigitalProduct, but holds only the arena and
+ * an id: every getter reads the record off-heap, so numeric getters allocate nothing
+ * and string getters allocate only the String they return.
+ *
+ * One view can be moved from product to product with moveTo(), so a scan over millions
+ * of products needs a single object. The view follows its product through compaction;
+ * once the product is freed or the arena closed, its getters throw.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public final class OffHeapProduct {
+    private final ProductArena arena;
+    private int id = -1;
+
+    /**
+     * Constructor used by ProductArena.view().
+     *
+     * @param arena The arena the products are stored in.
+     */
+    OffHeapProduct(ProductArena arena) {
+        this.arena = arena;
+    }
+
+    /**
+     * Points this view at another product of the same arena.
+     *
+     * @param id The id of the product.
+     * @return This view, for chaining.
+     */
+    public OffHeapProduct moveTo(int id) {
+        arena.slot(id); // Fails fast on a freed id
+        this.id = id;
+        return this;
+    }
+
+    // Getters
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return arena.readString(id, 0);
+    }
+
+    public double getPrice() {
+        long slot = arena.slot(id);
+        return arena.chunk(slot).getDouble((int) slot + ProductArena.PRICE_OFFSET);
+    }
+
+    public String getSku() {
+        return arena.readString(id, 1);
+    }
+
+    /**
+     * Gets the price as a whole number of cents.
+     *
+     * @return The price in cents.
+     */
+    public long getPriceCents() {
+        return Money.toCents(getPrice());
+    }
+
+    /**
+     * Checks whether the product was stored from a DigitalProduct.
+     *
+     * @return true for digital products.
+     */
+    public boolean isDigital() {
+        long slot = arena.slot(id);
+        return arena.chunk(slot).get((int) slot + ProductArena.FLAGS_OFFSET) == ProductArena.DIGITAL_FLAG;
+    }
+
+    /**
+     * Gets the download URL of a digital product.
+     *
+     * @return The URL, or null for physical products.
+     */
+    public String getDownloadUrl() {
+        return isDigital() ? arena.readString(id, 2) : null;
+    }
+
+    /**
+     * Gets the file type of a digital product.
+     *
+     * @return The file type, or null for physical products.
+     */
+    public String getFileType() {
+        long slot = arena.slot(id);
+        return arena.fileTypeName(arena.chunk(slot).getInt((int) slot + ProductArena.FILE_TYPE_OFFSET));
+    }
+
+    /**
+     * Gets the file size of a digital product.
+     *
+     * @return The size in megabytes, or 0 for physical products.
+     */
+    public double getFileSizeMB() {
+        long slot = arena.slot(id);
+        return arena.chunk(slot).getDouble((int) slot + ProductArena.FILE_SIZE_OFFSET);
+    }
+
+    /**
+     * Copies the product back onto the heap, e.g. to hand it to code that takes a Product.
+     *
+     * @return A new Product or DigitalProduct with the stored values.
+     */
+    public Product toProduct() {
+        if (isDigital()) {
+            return new DigitalProduct(getName(), getPrice(), getSku(), getDownloadUrl(), getFileType(), getFileSizeMB());
+        }
+        return new Product(getName(), getPrice(), getSku());
+    }
+
+    /**
+     * Utility method for formatted product information, in the same format as
+     * Product.getProductInfo().
+     *
+     * @return A formatted string containing product information.
+     */
+    public String getProductInfo() {
+        return "Product: " + getName() + ", Price: $" + getPrice() + ", SKU: " + getSku();
+    }
+
+    /**
+     * Gets the number of bytes the product's record takes off-heap.
+     *
+     * @return The record size in bytes.
+     */
+    public int getRecordBytes() {
+        long slot = arena.slot(id);
+        ByteBuffer chunk = arena.chunk(slot);
+        return chunk.getInt((int) slot + ProductArena.LENGTH_OFFSET);
+    }
+}
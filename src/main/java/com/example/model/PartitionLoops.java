@@ -0,0 +1,65 @@
+package com.example.model;
+
+import java.util.function.Consumer;
+
+/**
+ * PartitionLoops class - The loops TypedCart runs over one partition of products
+ * that all have the same concrete class.
+ *
+ * The JIT profiles each call site in the bytecode, so one loop shared by every
+ * partition would see every product class and go megamorphic. TypedCart therefore
+ * loads a separate copy of this class for each concrete class it holds. Each copy
+ * only ever sees one receiver class, so its calls are inlined and, once the
+ * receiver's exact class is known, so are the calls they make on it.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+class PartitionLoops implements TypedCart.Loops {
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    /**
+     * Adds up the prices of the products, in cents.
+     *
+     * @param items The products.
+     * @param size The number of products to use from the start of items.
+     * @return The total in cents.
+     * @throws ArithmeticException if the total overflows.
+     */
+    @Override
+    public long totalCents(Product[] items, int size) {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total = Math.addExact(total, items[i].getPriceCents());
+        }
+        return total;
+    }
+
+    /**
+     * Appends each product's appendInfo() to a buffer, followed by a blank line.
+     *
+     * @param items The products.
+     * @param size The number of products to use from the start of items.
+     * @param out The buffer to append to.
+     */
+    @Override
+    public void appendInfo(Product[] items, int size, StringBuilder out) {
+        for (int i = 0; i < size; i++) {
+            items[i].appendInfo(out).append(LINE_SEPARATOR);
+        }
+    }
+
+    /**
+     * Passes each product to an action.
+     *
+     * @param items The products.
+     * @param size The number of products to use from the start of items.
+     * @param action The action to perform.
+     */
+    @Override
+    public void forEach(Product[] items, int size, Consumer<? super Product> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(items[i]);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.model;
+
+import java.util.function.BiPredicate;
+
+/**
+ * PrefixTrie class - An immutable, path-compressed (radix) trie from strings to values.
+ * Each edge holds a whole run of characters rather than one, so a catalog of SKUs
+ * that share long prefixes needs roughly one node per key.
+ *
+ * put() and remove() return a new trie that shares every untouched node with the
+ * old one. A writer can therefore build the next version while readers keep walking
+ * the current one, and publish it with a single volatile write.
+ *
+ * @param <V> The value type.
+ * @author Student Developer
+ * @version 1.0.0
+ */
+final class PrefixTrie<V> {
+    private static final PrefixTrie<?> EMPTY = new PrefixTrie<>(new Node("", null, Node.NO_CHILDREN), 0);
+
+    private final Node root;
+    private final int size;
+
+    private PrefixTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Gets the empty trie.
+     *
+     * @param <V> The value type.
+     * @return The empty trie.
+     */
+    @SuppressWarnings("unchecked")
+    static <V> PrefixTrie<V> empty() {
+        return (PrefixTrie<V>) EMPTY;
+    }
+
+    /**
+     * Gets the number of keys.
+     *
+     * @return The number of keys.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets the value stored for an exact key.
+     *
+     * @param key The key.
+     * @return The value, or null.
+     */
+    @SuppressWarnings("unchecked")
+    V get(String key) {
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            Node child = node.child(key.charAt(position));
+            if (child == null || !key.startsWith(child.edge, position)) {
+                return null;
+            }
+            position += child.edge.length();
+            node = child;
+        }
+        return (V) node.value;
+    }
+
+    /**
+     * Returns a trie with the key mapped to the value, replacing any previous value.
+     *
+     * @param key The key.
+     * @param value The value, not null.
+     * @return The new trie.
+     */
+    PrefixTrie<V> put(String key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value must not be null");
+        }
+        boolean added = get(key) == null;
+        return new PrefixTrie<>(put(root, key, 0, value), added ? size + 1 : size);
+    }
+
+    /**
+     * Returns a trie without the key.
+     *
+     * @param key The key.
+     * @return The new trie, or this trie if the key was not present.
+     */
+    PrefixTrie<V> remove(String key) {
+        if (get(key) == null) {
+            return this;
+        }
+        Node newRoot = remove(root, key, 0);
+        return new PrefixTrie<>(newRoot == null ? new Node("", null, Node.NO_CHILDREN) : newRoot.withEdge(""), size - 1);
+    }
+
+    /**
+     * Visits the values of every key that starts with the prefix, in key order, until
+     * the visitor returns false.
+     *
+     * @param prefix The prefix.
+     * @param visitor Called with each key and value; returns false to stop.
+     */
+    void visitPrefix(String prefix, BiPredicate<String, V> visitor) {
+        Node node = root;
+        int position = 0;
+        StringBuilder key = new StringBuilder(prefix.length() + 16);
+        while (position < prefix.length()) {
+            Node child = node.child(prefix.charAt(position));
+            if (child == null) {
+                return;
+            }
+            int common = commonPrefix(child.edge, prefix, position);
+            if (common < child.edge.length() && position + common < prefix.length()) {
+                return; // The prefix leaves the edge before it ends
+            }
+            key.append(child.edge);
+            position += common;
+            node = child;
+        }
+        visit(node, key, visitor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean visit(Node node, StringBuilder key, BiPredicate<String, V> visitor) {
+        if (node.value != null && !visitor.test(key.toString(), (V) node.value)) {
+            return false;
+        }
+        for (Node child : node.children) {
+            int length = key.length();
+            key.append(child.edge);
+            boolean keepGoing = visit(child, key, visitor);
+            key.setLength(length);
+            if (!keepGoing) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Node put(Node node, String key, int position, Object value) {
+        if (position == key.length()) {
+            return new Node(node.edge, value, node.children);
+        }
+        int index = node.indexOf(key.charAt(position));
+        if (index < 0) {
+            return node.withChildInserted(-index - 1, new Node(key.substring(position), value, Node.NO_CHILDREN));
+        }
+        Node child = node.children[index];
+        int common = commonPrefix(child.edge, key, position);
+        if (common == child.edge.length()) {
+            return node.withChildReplaced(index, put(child, key, position + common, value));
+        }
+        // Split the child's edge where the key diverges from it
+        Node tail = child.withEdge(child.edge.substring(common));
+        Node split;
+        if (position + common == key.length()) {
+            split = new Node(child.edge.substring(0, common), value, new Node[] {tail});
+        } else {
+            Node leaf = new Node(key.substring(position + common), value, Node.NO_CHILDREN);
+            Node[] children = leaf.edge.charAt(0) < tail.edge.charAt(0) ? new Node[] {leaf, tail} : new Node[] {tail, leaf};
+            split = new Node(child.edge.substring(0, common), null, children);
+        }
+        return node.withChildReplaced(index, split);
+    }
+
+    /** Removes a key known to be present. Returns null when the node becomes empty. */
+    private static Node remove(Node node, String key, int position) {
+        Node updated;
+        if (position == key.length()) {
+            updated = new Node(node.edge, null, node.children);
+        } else {
+            int index = node.indexOf(key.charAt(position));
+            Node child = node.children[index];
+            Node newChild = remove(child, key, position + child.edge.length());
+            updated = newChild == null ? node.withChildRemoved(index) : node.withChildReplaced(index, newChild);
+        }
+        if (updated.value == null && updated.children.length == 0) {
+            return null;
+        }
+        if (updated.value == null && updated.children.length == 1 && !updated.edge.isEmpty()) {
+            // Merge a pass-through node into its only child to keep paths compressed
+            Node only = updated.children[0];
+            return only.withEdge(updated.edge + only.edge);
+        }
+        return updated;
+    }
+
+    private static int commonPrefix(String edge, String key, int position) {
+        int limit = Math.min(edge.length(), key.length() - position);
+        int common = 0;
+        while (common < limit && edge.charAt(common) == key.charAt(position + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    /**
+     * An immutable trie node. Children are sorted by the first character of their edge.
+     */
+    private static final class Node {
+        static final Node[] NO_CHILDREN = new Node[0];
+
+        final String edge;
+        final Object value;
+        final Node[] children;
+
+        Node(String edge, Object value, Node[] children) {
+            this.edge = edge;
+            this.value = value;
+            this.children = children;
+        }
+
+        Node child(char first) {
+            int index = indexOf(first);
+            return index < 0 ? null : children[index];
+        }
+
+        /** Binary search by first character; returns -(insertion point) - 1 when absent. */
+        int indexOf(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char c = children[middle].edge.charAt(0);
+                if (c < first) {
+                    low = middle + 1;
+                } else if (c > first) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        Node withEdge(String newEdge) {
+            return new Node(newEdge, value, children);
+        }
+
+        Node withChildInserted(int index, Node child) {
+            Node[] updated = new Node[children.length + 1];
+            System.arraycopy(children, 0, updated, 0, index);
+            updated[index] = child;
+            System.arraycopy(children, index, updated, index + 1, children.length - index);
+            return new Node(edge, value, updated);
+        }
+
+        Node withChildReplaced(int index, Node child) {
+            Node[] updated = children.clone();
+            updated[index] = child;
+            return new Node(edge, value, updated);
+        }
+
+        Node withChildRemoved(int index) {
+            Node[] updated = new Node[children.length - 1];
+            System.arraycopy(children, 0, updated, 0, index);
+            System.arraycopy(children, index + 1, updated, index, children.length - index - 1);
+            return new Node(edge, value, updated);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.model;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * Product class - Represents a basic product in the store.
  * This class demonstrates encapsulation with private fields and public getter/setter methods.
@@ -8,9 +10,30 @@ package com.example.model;
  * @version 1.0.0
  */
 public class Product {
+    static final String LINE_SEPARATOR = System.lineSeparator();
+
     private String name;
     private double price;
     private String sku;
+    private String productInfo; // Cached getProductInfo() result, cleared by the setters
+    private byte[] productInfoUtf8; // Cached UTF-8 encoding of productInfo, cleared by the setters
+    private volatile ChangeListener[] changeListeners; // Null until something watches this product
+
+    /**
+     * ChangeListener interface - Notified after a setter changes a product, so that
+     * indexes built over products can update themselves.
+     */
+    @FunctionalInterface
+    public interface ChangeListener {
+        /**
+         * Called after the product changed.
+         *
+         * @param product The product that changed.
+         * @param oldName The name before the change.
+         * @param oldSku The SKU before the change.
+         */
+        void productChanged(Product product, String oldName, String oldSku);
+    }
 
     /**
      * Default constructor for Product.
@@ -45,37 +68,175 @@ public class Product {
         return sku;
     }
 
+    /**
+     * Gets the price as a whole number of cents, for exact, allocation-free totals.
+     *
+     * @return The price in cents.
+     */
+    public long getPriceCents() {
+        return Money.toCents(getPrice());
+    }
+
+    /**
+     * Gets the price as an exact Money amount.
+     *
+     * @return The price as Money.
+     */
+    public Money getPriceMoney() {
+        return Money.ofCents(getPriceCents());
+    }
+
     // Setters
     public void setName(String name) {
+        String oldName = this.name;
         this.name = name;
+        this.productInfo = null;
+        this.productInfoUtf8 = null;
+        fireChanged(oldName, sku);
     }
 
     public void setPrice(double price) {
         this.price = price;
+        this.productInfo = null;
+        this.productInfoUtf8 = null;
+        fireChanged(name, sku);
+    }
+
+    public void setPrice(Money price) {
+        setPrice(price.toDouble());
     }
 
     public void setSku(String sku) {
+        String oldSku = this.sku;
         this.sku = sku;
+        this.productInfo = null;
+        this.productInfoUtf8 = null;
+        fireChanged(name, oldSku);
+    }
+
+    /**
+     * Registers a listener that is called after every setter.
+     *
+     * @param listener The listener to add.
+     */
+    public synchronized void addChangeListener(ChangeListener listener) {
+        ChangeListener[] current = changeListeners;
+        int length = current == null ? 0 : current.length;
+        ChangeListener[] updated = new ChangeListener[length + 1];
+        if (current != null) {
+            System.arraycopy(current, 0, updated, 0, length);
+        }
+        updated[length] = listener;
+        changeListeners = updated;
+    }
+
+    /**
+     * Removes a listener added with addChangeListener().
+     *
+     * @param listener The listener to remove.
+     */
+    public synchronized void removeChangeListener(ChangeListener listener) {
+        ChangeListener[] current = changeListeners;
+        if (current == null) {
+            return;
+        }
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                ChangeListener[] updated = new ChangeListener[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                changeListeners = updated.length == 0 ? null : updated;
+                return;
+            }
+        }
+    }
+
+    private void fireChanged(String oldName, String oldSku) {
+        ChangeListener[] listeners = changeListeners;
+        if (listeners != null) {
+            for (ChangeListener listener : listeners) {
+                listener.productChanged(this, oldName, oldSku);
+            }
+        }
     }
 
     /**
      * Method to display product information.
-     * This method prints the product details to the console.
+     * This method prints the product details to the console in a single call.
      */
     public void displayInfo() {
-        System.out.println("=== Product Information ===");
-        System.out.println("Name: " + getName());
-        System.out.println("Price: $" + getPrice());
-        System.out.println("SKU: " + getSku());
-        System.out.println("Type: Standard Product");
+        System.out.print(appendInfo(new StringBuilder(128)));
+    }
+
+    /**
+     * Writes the product details shown by displayInfo() into a caller-supplied buffer,
+     * one line per detail. Nothing is printed, so many products can be rendered into
+     * the same buffer and written out at once.
+     *
+     * @param out The buffer to append to.
+     * @return The same buffer, for chaining.
+     */
+    public StringBuilder appendInfo(StringBuilder out) {
+        out.append("=== Product Information ===").append(LINE_SEPARATOR);
+        out.append("Name: ").append(getName()).append(LINE_SEPARATOR);
+        out.append("Price: $").append(getPrice()).append(LINE_SEPARATOR);
+        out.append("SKU: ").append(getSku()).append(LINE_SEPARATOR);
+        out.append("Type: Standard Product").append(LINE_SEPARATOR);
+        return out;
+    }
+
+    /**
+     * Writes the product as a JSON object into a caller-supplied buffer. Each class
+     * writes its own fields in appendJsonFields(), so no reflection is needed.
+     *
+     * @param out The buffer to append to.
+     * @return The same buffer, for chaining.
+     */
+    public StringBuilder appendJson(StringBuilder out) {
+        out.append('{');
+        appendJsonFields(out);
+        return out.append('}');
+    }
+
+    /**
+     * Writes the product's JSON fields, without the surrounding braces. Subclasses
+     * that add fields override this, call super first and append theirs after a comma.
+     *
+     * @param out The buffer to append to.
+     */
+    protected void appendJsonFields(StringBuilder out) {
+        ProductFormatter.appendJsonString(out.append("\"sku\":"), getSku());
+        ProductFormatter.appendJsonString(out.append(",\"name\":"), getName());
+        ProductFormatter.appendJsonNumber(out.append(",\"price\":"), getPrice());
     }
 
     /**
      * Utility method for formatted product information.
+     * The string is built on the first call and cached until a setter changes the product.
      *
      * @return A formatted string containing product information.
      */
     public String getProductInfo() {
-        return "Product: " + getName() + ", Price: $" + getPrice() + ", SKU: " + getSku();
+        String info = productInfo;
+        if (info == null) {
+            info = "Product: " + getName() + ", Price: $" + getPrice() + ", SKU: " + getSku();
+            productInfo = info;
+        }
+        return info;
+    }
+
+    /**
+     * Gets getProductInfo() encoded as UTF-8, cached the same way as the string.
+     * Used by ProductFormatter; callers must not modify the returned array.
+     *
+     * @return The UTF-8 bytes of the product information.
+     */
+    byte[] getProductInfoUtf8() {
+        byte[] bytes = productInfoUtf8;
+        if (bytes == null) {
+            bytes = getProductInfo().getBytes(StandardCharsets.UTF_8);
+            productInfoUtf8 = bytes;
+        }
+        return bytes;
     }
 }
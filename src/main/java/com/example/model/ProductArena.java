@@ -0,0 +1,519 @@
+package com.example.model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ProductArena class - Stores products outside the Java heap, in direct ByteBuffers.
+ * Each product is one variable-length record holding its price, file size, file type
+ * code and its strings as UTF-8, so a catalog of tens of millions of products costs
+ * the heap only a few primitive arrays: about 24 bytes per product for the record
+ * table and the SKU index, none of which the garbage collector has to scan.
+ *
+ * Products are addressed by an int id returned from add(). Ids stay valid until the
+ * product is freed, and are then reused. Records are read through OffHeapProduct
+ * flyweights, which decode fields on demand. Freeing or replacing a product leaves a
+ * hole in its chunk; compact() copies the live records into fresh chunks and drops
+ * the old ones. close() drops every chunk; the memory is returned to the operating
+ * system when the buffers are garbage collected.
+ *
+ * Like ProductTable, an arena is not thread-safe: guard writes externally. Reads may
+ * run concurrently with each other but not with writes.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public class ProductArena implements AutoCloseable {
+    /** Default size of each direct buffer. */
+    public static final int DEFAULT_CHUNK_BYTES = 64 * 1024 * 1024;
+
+    // Record layout: every record starts with this fixed header, followed by the name,
+    // the SKU and, for digital products, the download URL, each as a 2-byte length and UTF-8 bytes
+    static final int LENGTH_OFFSET = 0;
+    static final int FLAGS_OFFSET = 4;
+    static final int PRICE_OFFSET = 5;
+    static final int FILE_SIZE_OFFSET = 13;
+    static final int FILE_TYPE_OFFSET = 21;
+    static final int STRINGS_OFFSET = 25;
+    static final byte DIGITAL_FLAG = 1;
+    static final int NULL_STRING = 0xFFFF;
+    private static final int MAX_STRING_BYTES = NULL_STRING - 1;
+
+    private static final long FREE_SLOT = -1;
+    private static final int EMPTY = 0;
+    private static final int TOMBSTONE = -1;
+    private static final int INITIAL_IDS = 16;
+
+    private final int chunkBytes;
+    private List<ByteBuffer> chunks = new ArrayList<>();
+    private int writeOffset; // Next free byte in the last chunk
+    private long[] slots = new long[INITIAL_IDS]; // Chunk index << 32 | offset, or FREE_SLOT
+    private int idLimit; // Ids below this have been handed out
+    private int[] freeIds = new int[INITIAL_IDS];
+    private int freeCount;
+    private int size;
+    private long liveBytes;
+    private long wastedBytes;
+    private final List<String> fileTypeDictionary = new ArrayList<>();
+    private final Map<String, Integer> fileTypeCodesByName = new HashMap<>();
+    private int[] indexIds = new int[INITIAL_IDS * 2]; // Id + 1, EMPTY or TOMBSTONE
+    private int[] indexHashes = new int[INITIAL_IDS * 2];
+    private int indexUsed; // Occupied slots including tombstones
+    private boolean closed;
+
+    /**
+     * Default constructor for ProductArena, with 64 MB chunks.
+     */
+    public ProductArena() {
+        this(DEFAULT_CHUNK_BYTES);
+    }
+
+    /**
+     * Constructor for ProductArena.
+     *
+     * @param chunkBytes The size of each direct buffer; no record may be larger.
+     */
+    public ProductArena(int chunkBytes) {
+        if (chunkBytes < STRINGS_OFFSET + 6) {
+            throw new IllegalArgumentException("Chunk size too small: " + chunkBytes);
+        }
+        this.chunkBytes = chunkBytes;
+    }
+
+    /**
+     * Copies a product into the arena.
+     *
+     * @param product The product; a DigitalProduct keeps its download details.
+     * @return The id of the stored product.
+     * @throws IllegalArgumentException if another stored product has the same SKU,
+     *         or a string is longer than 65,534 UTF-8 bytes.
+     */
+    public int add(Product product) {
+        checkOpen();
+        String sku = product.getSku();
+        if (sku != null && find(sku) >= 0) {
+            throw new IllegalArgumentException("Duplicate SKU: " + sku);
+        }
+        long slot = writeRecord(product); // Throws before changing anything if the product cannot be stored
+        int id = allocateId();
+        slots[id] = slot;
+        size++;
+        if (sku != null) {
+            indexInsert(id, sku.hashCode());
+        }
+        return id;
+    }
+
+    /**
+     * Replaces a stored product with new values, keeping its id. The old record
+     * becomes wasted space until compact().
+     *
+     * @param id The id of the product to replace.
+     * @param product The new values.
+     * @throws IllegalArgumentException if the new SKU belongs to another product, or a
+     *         string is longer than 65,534 UTF-8 bytes; the old product is then kept.
+     */
+    public void replace(int id, Product product) {
+        checkLive(id);
+        String oldSku = readString(id, 1);
+        String sku = product.getSku();
+        int existing = sku == null ? -1 : find(sku);
+        if (existing >= 0 && existing != id) {
+            throw new IllegalArgumentException("Duplicate SKU: " + sku);
+        }
+        long slot = writeRecord(product); // Throws before changing anything if the product cannot be stored
+        if (oldSku != null) {
+            indexRemove(id, oldSku.hashCode());
+        }
+        discardRecord(id);
+        slots[id] = slot;
+        if (sku != null) {
+            indexInsert(id, sku.hashCode());
+        }
+    }
+
+    /**
+     * Frees a stored product. Its id may be handed out again by a later add().
+     *
+     * @param id The id of the product to free.
+     */
+    public void free(int id) {
+        checkLive(id);
+        String sku = readString(id, 1);
+        if (sku != null) {
+            indexRemove(id, sku.hashCode());
+        }
+        discardRecord(id);
+        slots[id] = FREE_SLOT;
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+        }
+        freeIds[freeCount++] = id;
+        size--;
+    }
+
+    /**
+     * Finds a product by SKU.
+     *
+     * @param sku The SKU to look up.
+     * @return The id, or -1 if no stored product has that SKU.
+     */
+    public int find(String sku) {
+        checkOpen();
+        int hash = sku.hashCode();
+        byte[] wanted = null;
+        int mask = indexIds.length - 1;
+        for (int slot = mix(hash) & mask; indexIds[slot] != EMPTY; slot = (slot + 1) & mask) {
+            int entry = indexIds[slot];
+            if (entry != TOMBSTONE && indexHashes[slot] == hash) {
+                if (wanted == null) {
+                    wanted = sku.getBytes(StandardCharsets.UTF_8);
+                }
+                if (stringEquals(entry - 1, 1, wanted)) {
+                    return entry - 1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Creates a flyweight positioned on a product. Reuse it with OffHeapProduct.moveTo()
+     * to read many products without allocating.
+     *
+     * @param id The id of the product.
+     * @return A view of the product.
+     */
+    public OffHeapProduct view(int id) {
+        return new OffHeapProduct(this).moveTo(id);
+    }
+
+    /**
+     * Checks whether an id refers to a stored product.
+     *
+     * @param id The id.
+     * @return true if the id is live.
+     */
+    public boolean isLive(int id) {
+        return !closed && id >= 0 && id < idLimit && slots[id] != FREE_SLOT;
+    }
+
+    /**
+     * Finds the next live id, for iterating over every product:
+     * {@code for (int id = arena.nextLive(0); id >= 0; id = arena.nextLive(id + 1))}.
+     *
+     * @param fromId The id to start at, inclusive.
+     * @return The first live id at or after fromId, or -1 if there is none.
+     */
+    public int nextLive(int fromId) {
+        checkOpen();
+        for (int id = Math.max(fromId, 0); id < idLimit; id++) {
+            if (slots[id] != FREE_SLOT) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copies every live record into fresh chunks, packed end to end, and drops the old
+     * chunks. Ids do not change, so existing flyweights stay valid.
+     *
+     * @return The number of bytes of wasted space reclaimed.
+     */
+    public long compact() {
+        checkOpen();
+        long reclaimed = wastedBytes;
+        List<ByteBuffer> oldChunks = chunks;
+        chunks = new ArrayList<>();
+        writeOffset = 0;
+        for (int id = 0; id < idLimit; id++) {
+            long slot = slots[id];
+            if (slot != FREE_SLOT) {
+                ByteBuffer source = oldChunks.get((int) (slot >>> 32));
+                int offset = (int) slot;
+                int length = source.getInt(offset + LENGTH_OFFSET);
+                long target = reserve(length);
+                chunk(target).put((int) target, source, offset, length);
+                slots[id] = target;
+            }
+        }
+        wastedBytes = 0;
+        return reclaimed;
+    }
+
+    /**
+     * Drops every chunk. The arena, its ids and its flyweights cannot be used afterwards.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        chunks = new ArrayList<>();
+        slots = new long[0];
+        indexIds = new int[0];
+        indexHashes = new int[0];
+        idLimit = 0;
+        size = 0;
+    }
+
+    // Getters
+    public int size() {
+        return size;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Gets the direct memory allocated, including wasted and unused space.
+     *
+     * @return The total size of the chunks in bytes.
+     */
+    public long getOffHeapBytes() {
+        return (long) chunks.size() * chunkBytes;
+    }
+
+    /**
+     * Gets the space taken by live records.
+     *
+     * @return The bytes used by live records.
+     */
+    public long getLiveBytes() {
+        return liveBytes;
+    }
+
+    /**
+     * Gets the space taken by freed and replaced records, which compact() reclaims.
+     *
+     * @return The wasted bytes.
+     */
+    public long getWastedBytes() {
+        return wastedBytes;
+    }
+
+    // Record access for OffHeapProduct
+    ByteBuffer chunk(long slot) {
+        return chunks.get((int) (slot >>> 32));
+    }
+
+    long slot(int id) {
+        checkLive(id);
+        return slots[id];
+    }
+
+    String fileTypeName(int code) {
+        return code < 0 ? null : fileTypeDictionary.get(code);
+    }
+
+    /**
+     * Finds where one of a record's strings starts.
+     *
+     * @param slot The record's slot.
+     * @param field 0 for the name, 1 for the SKU, 2 for the download URL.
+     * @return The offset of the string's length prefix within its chunk.
+     */
+    int stringOffset(long slot, int field) {
+        ByteBuffer chunk = chunk(slot);
+        int offset = (int) slot + STRINGS_OFFSET;
+        for (int i = 0; i < field; i++) {
+            int length = chunk.getShort(offset) & 0xFFFF;
+            offset += 2 + (length == NULL_STRING ? 0 : length);
+        }
+        return offset;
+    }
+
+    String readString(int id, int field) {
+        long slot = slot(id);
+        ByteBuffer chunk = chunk(slot);
+        int offset = stringOffset(slot, field);
+        int length = chunk.getShort(offset) & 0xFFFF;
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        chunk.get(offset + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean stringEquals(int id, int field, byte[] wanted) {
+        long slot = slots[id];
+        ByteBuffer chunk = chunk(slot);
+        int offset = stringOffset(slot, field);
+        int length = chunk.getShort(offset) & 0xFFFF;
+        if (length != wanted.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (chunk.get(offset + 2 + i) != wanted[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long writeRecord(Product product) {
+        boolean isDigital = product instanceof DigitalProduct;
+        DigitalProduct digitalProduct = isDigital ? (DigitalProduct) product : null;
+        byte[] name = encode(product.getName());
+        byte[] sku = encode(product.getSku());
+        byte[] downloadUrl = isDigital ? encode(digitalProduct.getDownloadUrl()) : null;
+        int length = STRINGS_OFFSET + stringBytes(name) + stringBytes(sku) + (isDigital ? stringBytes(downloadUrl) : 0);
+        if (length > chunkBytes) {
+            throw new IllegalArgumentException("Product " + product.getSku() + " needs " + length
+                                               + " bytes, more than the chunk size " + chunkBytes);
+        }
+
+        long slot = reserve(length);
+        ByteBuffer chunk = chunk(slot);
+        int offset = (int) slot;
+        chunk.putInt(offset + LENGTH_OFFSET, length);
+        chunk.put(offset + FLAGS_OFFSET, isDigital ? DIGITAL_FLAG : 0);
+        chunk.putDouble(offset + PRICE_OFFSET, product.getPrice());
+        chunk.putDouble(offset + FILE_SIZE_OFFSET, isDigital ? digitalProduct.getFileSizeMB() : 0);
+        chunk.putInt(offset + FILE_TYPE_OFFSET, isDigital ? encodeFileType(digitalProduct.getFileType()) : -1);
+        int position = putString(chunk, offset + STRINGS_OFFSET, name);
+        position = putString(chunk, position, sku);
+        if (isDigital) {
+            putString(chunk, position, downloadUrl);
+        }
+        liveBytes += length;
+        return slot;
+    }
+
+    private long reserve(int length) {
+        if (chunks.isEmpty() || writeOffset + length > chunkBytes) {
+            chunks.add(ByteBuffer.allocateDirect(chunkBytes).order(ByteOrder.nativeOrder()));
+            writeOffset = 0;
+        }
+        long slot = ((long) (chunks.size() - 1) << 32) | writeOffset;
+        writeOffset += length;
+        return slot;
+    }
+
+    private void discardRecord(int id) {
+        long slot = slots[id];
+        int length = chunk(slot).getInt((int) slot + LENGTH_OFFSET);
+        liveBytes -= length;
+        wastedBytes += length;
+    }
+
+    private int allocateId() {
+        if (freeCount > 0) {
+            return freeIds[--freeCount];
+        }
+        if (idLimit == slots.length) {
+            slots = Arrays.copyOf(slots, idLimit * 2);
+        }
+        return idLimit++;
+    }
+
+    private int encodeFileType(String fileType) {
+        if (fileType == null) {
+            return -1;
+        }
+        Integer code = fileTypeCodesByName.get(fileType);
+        if (code == null) {
+            code = fileTypeDictionary.size();
+            fileTypeDictionary.add(fileType);
+            fileTypeCodesByName.put(fileType, code);
+        }
+        return code;
+    }
+
+    private static byte[] encode(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("String longer than " + MAX_STRING_BYTES + " bytes");
+        }
+        return bytes;
+    }
+
+    private static int stringBytes(byte[] bytes) {
+        return 2 + (bytes == null ? 0 : bytes.length);
+    }
+
+    private static int putString(ByteBuffer chunk, int offset, byte[] bytes) {
+        if (bytes == null) {
+            chunk.putShort(offset, (short) NULL_STRING);
+            return offset + 2;
+        }
+        chunk.putShort(offset, (short) bytes.length);
+        chunk.put(offset + 2, bytes);
+        return offset + 2 + bytes.length;
+    }
+
+    // SKU index: open addressing over two int arrays, so it adds no objects to the heap
+    private void indexInsert(int id, int hash) {
+        if ((indexUsed + 1) * 2 > indexIds.length) {
+            rehash(size * 4 > indexIds.length ? indexIds.length * 2 : indexIds.length);
+        }
+        int mask = indexIds.length - 1;
+        int slot = mix(hash) & mask;
+        while (indexIds[slot] != EMPTY && indexIds[slot] != TOMBSTONE) {
+            slot = (slot + 1) & mask;
+        }
+        if (indexIds[slot] == EMPTY) {
+            indexUsed++;
+        }
+        indexIds[slot] = id + 1;
+        indexHashes[slot] = hash;
+    }
+
+    private void indexRemove(int id, int hash) {
+        int mask = indexIds.length - 1;
+        for (int slot = mix(hash) & mask; indexIds[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (indexIds[slot] == id + 1) {
+                indexIds[slot] = TOMBSTONE;
+                return;
+            }
+        }
+    }
+
+    private void rehash(int capacity) {
+        int[] oldIds = indexIds;
+        int[] oldHashes = indexHashes;
+        indexIds = new int[capacity];
+        indexHashes = new int[capacity];
+        indexUsed = 0;
+        int mask = capacity - 1;
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldIds[i] != EMPTY && oldIds[i] != TOMBSTONE) {
+                int slot = mix(oldHashes[i]) & mask;
+                while (indexIds[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                indexIds[slot] = oldIds[i];
+                indexHashes[slot] = oldHashes[i];
+                indexUsed++;
+            }
+        }
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Arena is closed");
+        }
+    }
+
+    private void checkLive(int id) {
+        checkOpen();
+        if (id < 0 || id >= idLimit || slots[id] == FREE_SLOT) {
+            throw new IllegalArgumentException("No product with id " + id);
+        }
+    }
+}
@@ -0,0 +1,445 @@
+package com.example.model;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ProductCache class - A read-through cache of products keyed by SKU.
+ * On a miss the product is fetched from a ProductLoader; concurrent misses for the
+ * same SKU share a single load, and a load that is overtaken by invalidate() or put()
+ * does not store its now stale result. Entries expire after a time-to-live, and the cache is
+ * bounded by a total weight: either an entry count or an estimate of each product's
+ * memory footprint.
+ *
+ * Eviction uses a segmented LRU. New entries go into a probation segment and only
+ * move to the protected segment when they are read again, so a one-off scan over
+ * many SKUs cannot push out the products that are read all the time.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public class ProductCache {
+    /** Share of the maximum weight reserved for the protected segment. */
+    private static final double PROTECTED_SHARE = 0.8;
+
+    private final ProductLoader loader;
+    private final long maxWeight;
+    private final long maxProtectedWeight;
+    private final Weigher weigher;
+    private final long ttlNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Entry> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+    private long probationWeight;
+    private long protectedWeight;
+    // Guarded by lock, like the segments, so a miss can check both in one step
+    private final HashMap<String, CompletableFuture<Product>> loadsInFlight = new HashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    /**
+     * ProductLoader interface - Fetches a product from the slow backing store.
+     */
+    @FunctionalInterface
+    public interface ProductLoader {
+        /**
+         * Loads a product.
+         *
+         * @param sku The SKU to load.
+         * @return The product, or null if there is no product with that SKU.
+         */
+        Product load(String sku);
+    }
+
+    /**
+     * Weigher interface - Decides how much of the cache's capacity a product uses.
+     */
+    @FunctionalInterface
+    public interface Weigher {
+        /** Every product weighs 1, so the maximum weight is an entry count. */
+        Weigher ENTRY_COUNT = product -> 1;
+
+        /**
+         * Weighs a product by an estimate of its heap footprint in bytes: the object
+         * headers and fields, two bytes per character of every string, and the fileType
+         * and fileSizeMB metadata of digital products.
+         */
+        Weigher ESTIMATED_BYTES = ProductCache::estimateBytes;
+
+        /**
+         * Weighs a product.
+         *
+         * @param product The product.
+         * @return Its weight, at least 1.
+         */
+        long weigh(Product product);
+    }
+
+    /**
+     * Constructor for ProductCache.
+     *
+     * @param loader Loads products that are not in the cache.
+     * @param maxWeight The maximum total weight of the cached products.
+     * @param weigher How to weigh each product, e.g. Weigher.ENTRY_COUNT.
+     * @param ttlMillis How long an entry stays valid after it is loaded, in milliseconds;
+     *                  Long.MAX_VALUE for entries that never expire.
+     */
+    public ProductCache(ProductLoader loader, long maxWeight, Weigher weigher, long ttlMillis) {
+        if (maxWeight < 1 || ttlMillis < 1) {
+            throw new IllegalArgumentException("maxWeight and ttlMillis must be positive");
+        }
+        this.loader = loader;
+        this.maxWeight = maxWeight;
+        this.maxProtectedWeight = (long) (maxWeight * PROTECTED_SHARE);
+        this.weigher = weigher;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis); // Saturates, so Long.MAX_VALUE never expires
+    }
+
+    /**
+     * Gets a product, loading it on a miss. If other threads are already loading the
+     * same SKU, this call waits for their result instead of loading it again.
+     *
+     * @param sku The SKU to look up.
+     * @return The product, or null if the loader has no product with that SKU.
+     * @throws RuntimeException whatever the loader threw.
+     */
+    public Product get(String sku) {
+        Product cached = getIfPresent(sku);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<Product> load = new CompletableFuture<>();
+        CompletableFuture<Product> existing;
+        lock.lock();
+        try {
+            // Check again: a load may have stored the product and finished since getIfPresent
+            cached = lookup(sku, System.nanoTime());
+            if (cached != null) {
+                return cached;
+            }
+            existing = loadsInFlight.putIfAbsent(sku, load);
+        } finally {
+            lock.unlock();
+        }
+        if (existing != null) {
+            return join(existing);
+        }
+
+        Product product;
+        long weight;
+        try {
+            loads.increment();
+            product = loader.load(sku);
+            weight = product == null ? 0 : Math.max(1, weigher.weigh(product));
+        } catch (RuntimeException | Error e) {
+            lock.lock();
+            try {
+                loadsInFlight.remove(sku, load);
+            } finally {
+                lock.unlock();
+            }
+            load.completeExceptionally(e);
+            throw e;
+        }
+        lock.lock();
+        try {
+            // The in-flight future is this load's version: invalidate() and put() remove it,
+            // and then the result is stale and must not be stored
+            if (loadsInFlight.remove(sku, load) && product != null) {
+                store(sku, product, weight);
+            }
+        } finally {
+            lock.unlock();
+        }
+        load.complete(product);
+        return product;
+    }
+
+    /**
+     * Gets a product only if it is cached and has not expired. Counts a hit or a miss.
+     *
+     * @param sku The SKU to look up.
+     * @return The cached product, or null.
+     */
+    public Product getIfPresent(String sku) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            Product product = lookup(sku, now);
+            if (product != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+            }
+            return product;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces a product, keyed by its SKU. A load of the same SKU that is
+     * still running will not overwrite it.
+     *
+     * @param product The product to cache.
+     */
+    public void put(Product product) {
+        String sku = product.getSku();
+        long weight = Math.max(1, weigher.weigh(product));
+        lock.lock();
+        try {
+            loadsInFlight.remove(sku);
+            store(sku, product, weight);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a product from the cache, e.g. after it changed in the backing store.
+     * A load of the same SKU that is still running will not store its result, and
+     * the next get() starts a new load.
+     *
+     * @param sku The SKU to remove.
+     */
+    public void invalidate(String sku) {
+        lock.lock();
+        try {
+            loadsInFlight.remove(sku);
+            remove(sku);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of cached products.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return probation.size() + protectedSegment.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the total weight of the cached products.
+     *
+     * @return The total weight.
+     */
+    public long weight() {
+        lock.lock();
+        try {
+            return probationWeight + protectedWeight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes a snapshot of the cache counters.
+     *
+     * @return The current statistics.
+     */
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), loads.sum(), evictions.sum(), expirations.sum());
+    }
+
+    /**
+     * Estimates the heap footprint of a product in bytes.
+     *
+     * @param product The product.
+     * @return The estimated size in bytes.
+     */
+    public static long estimateBytes(Product product) {
+        long bytes = 48 + stringBytes(product.getName()) + stringBytes(product.getSku());
+        if (product instanceof DigitalProduct) {
+            DigitalProduct digitalProduct = (DigitalProduct) product;
+            bytes += 24 + stringBytes(digitalProduct.getDownloadUrl()) + stringBytes(digitalProduct.getFileType());
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : 40 + 2L * value.length();
+    }
+
+    /** Finds an entry that has not expired, promoting it if it was in probation. Caller holds the lock. */
+    private Product lookup(String sku, long now) {
+        Entry entry = protectedSegment.get(sku);
+        if (entry == null) {
+            entry = probation.get(sku);
+            if (entry != null && !entry.isExpired(now)) {
+                promote(sku, entry);
+            }
+        }
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(now)) {
+            remove(sku);
+            expirations.increment();
+            return null;
+        }
+        return entry.product;
+    }
+
+    /** Adds or replaces an entry and evicts down to the maximum weight. Caller holds the lock. */
+    private void store(String sku, Product product, long weight) {
+        remove(sku);
+        if (weight > maxWeight) {
+            return; // Too big to cache at all
+        }
+        probation.put(sku, new Entry(product, weight, System.nanoTime() + ttlNanos));
+        probationWeight += weight;
+        evictIfNeeded();
+    }
+
+    /** Moves an entry that was read again from probation to protected. Caller holds the lock. */
+    private void promote(String sku, Entry entry) {
+        probation.remove(sku);
+        probationWeight -= entry.weight;
+        protectedSegment.put(sku, entry);
+        protectedWeight += entry.weight;
+        // Demote the least recently used protected entries back to probation
+        Iterator<Map.Entry<String, Entry>> oldest = protectedSegment.entrySet().iterator();
+        while (protectedWeight > maxProtectedWeight && oldest.hasNext()) {
+            Map.Entry<String, Entry> demoted = oldest.next();
+            if (demoted.getValue() == entry) {
+                break;
+            }
+            oldest.remove();
+            protectedWeight -= demoted.getValue().weight;
+            probation.put(demoted.getKey(), demoted.getValue());
+            probationWeight += demoted.getValue().weight;
+        }
+    }
+
+    /** Evicts least recently used entries, probation first. Caller holds the lock. */
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, Entry>> candidates = probation.entrySet().iterator();
+        while (probationWeight + protectedWeight > maxWeight && candidates.hasNext()) {
+            Entry evicted = candidates.next().getValue();
+            candidates.remove();
+            probationWeight -= evicted.weight;
+            evictions.increment();
+        }
+        candidates = protectedSegment.entrySet().iterator();
+        while (probationWeight + protectedWeight > maxWeight && candidates.hasNext()) {
+            Entry evicted = candidates.next().getValue();
+            candidates.remove();
+            protectedWeight -= evicted.weight;
+            evictions.increment();
+        }
+    }
+
+    /** Removes an entry from whichever segment holds it. Caller holds the lock. */
+    private void remove(String sku) {
+        Entry entry = probation.remove(sku);
+        if (entry != null) {
+            probationWeight -= entry.weight;
+        }
+        entry = protectedSegment.remove(sku);
+        if (entry != null) {
+            protectedWeight -= entry.weight;
+        }
+    }
+
+    private static Product join(CompletableFuture<Product> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * A cached product with its weight and expiry time.
+     */
+    private static class Entry {
+        private final Product product;
+        private final long weight;
+        private final long expiresAtNanos;
+
+        Entry(Product product, long weight, long expiresAtNanos) {
+            this.product = product;
+            this.weight = weight;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    /**
+     * Stats class - A snapshot of the cache counters.
+     */
+    public static class Stats {
+        private final long hits;
+        private final long misses;
+        private final long loads;
+        private final long evictions;
+        private final long expirations;
+
+        Stats(long hits, long misses, long loads, long evictions, long expirations) {
+            this.hits = hits;
+            this.misses = misses;
+            this.loads = loads;
+            this.evictions = evictions;
+            this.expirations = expirations;
+        }
+
+        // Getters
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getLoads() {
+            return loads;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public long getExpirations() {
+            return expirations;
+        }
+
+        public double getHitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+
+        @Override
+        public String toString() {
+            return "hits=" + hits + ", misses=" + misses + ", loads=" + loads + ", evictions=" + evictions
+                    + ", expirations=" + expirations + ", hitRate=" + String.format("%.3f", getHitRate());
+        }
+    }
+}
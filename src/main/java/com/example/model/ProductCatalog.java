@@ -0,0 +1,157 @@
+package com.example.model;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ProductCatalog class - A thread-safe catalog of products indexed by SKU.
+ * Lookups, inserts and removals are O(1) on average. The catalog is backed by a
+ * ConcurrentHashMap, so reads never lock and writers only contend when they hit
+ * the same hash bin, which lets many threads load products at once.
+ *
+ * Products are indexed by the SKU they have when they are added. If a product's
+ * SKU is changed with setSku() afterwards, it must be removed and added again.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public class ProductCatalog {
+    private final ConcurrentHashMap<String, Product> productsBySku;
+
+    /**
+     * Default constructor for ProductCatalog.
+     */
+    public ProductCatalog() {
+        this.productsBySku = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Constructor for ProductCatalog sized for an expected number of products.
+     * Pre-sizing avoids rehashing while a large catalog is being loaded.
+     *
+     * @param expectedSize The number of products the catalog is expected to hold.
+     */
+    public ProductCatalog(int expectedSize) {
+        this.productsBySku = new ConcurrentHashMap<>(expectedSize);
+    }
+
+    /**
+     * Finds a product by its SKU.
+     *
+     * @param sku The SKU to look up.
+     * @return The product with that SKU, or null if there is none.
+     */
+    public Product get(String sku) {
+        if (sku == null) {
+            return null;
+        }
+        return productsBySku.get(sku);
+    }
+
+    /**
+     * Adds a product to the catalog, replacing any product with the same SKU.
+     *
+     * @param product The product to add.
+     * @return The product that was replaced, or null if the SKU was new.
+     */
+    public Product put(Product product) {
+        return productsBySku.put(skuOf(product), product);
+    }
+
+    /**
+     * Adds a product only if no product with the same SKU is in the catalog.
+     *
+     * @param product The product to add.
+     * @return The product already in the catalog, or null if this one was added.
+     */
+    public Product putIfAbsent(Product product) {
+        return productsBySku.putIfAbsent(skuOf(product), product);
+    }
+
+    /**
+     * Removes the product with the given SKU.
+     *
+     * @param sku The SKU of the product to remove.
+     * @return The removed product, or null if there was none.
+     */
+    public Product remove(String sku) {
+        if (sku == null) {
+            return null;
+        }
+        return productsBySku.remove(sku);
+    }
+
+    /**
+     * Checks whether a product with the given SKU is in the catalog.
+     *
+     * @param sku The SKU to check.
+     * @return true if the catalog contains the SKU.
+     */
+    public boolean contains(String sku) {
+        return sku != null && productsBySku.containsKey(sku);
+    }
+
+    /**
+     * Adds every product in the collection to the catalog.
+     *
+     * @param products The products to add.
+     */
+    public void putAll(Collection<? extends Product> products) {
+        for (Product product : products) {
+            put(product);
+        }
+    }
+
+    /**
+     * Adds every product in the collection using the common fork-join pool.
+     * This is the fastest way to load millions of products at startup.
+     *
+     * @param products The products to add.
+     */
+    public void parallelPutAll(Collection<? extends Product> products) {
+        products.parallelStream().forEach(this::put);
+    }
+
+    /**
+     * Returns a live, read-only view of the products in the catalog.
+     *
+     * @return The products currently in the catalog.
+     */
+    public Collection<Product> values() {
+        return Collections.unmodifiableCollection(productsBySku.values());
+    }
+
+    /**
+     * Returns a live, read-only view of the catalog as a SKU to product map.
+     *
+     * @return The catalog as a map.
+     */
+    public Map<String, Product> asMap() {
+        return Collections.unmodifiableMap(productsBySku);
+    }
+
+    /**
+     * Gets the number of products in the catalog.
+     *
+     * @return The number of products.
+     */
+    public int size() {
+        return productsBySku.size();
+    }
+
+    /**
+     * Removes every product from the catalog.
+     */
+    public void clear() {
+        productsBySku.clear();
+    }
+
+    private static String skuOf(Product product) {
+        if (product == null || product.getSku() == null) {
+            throw new IllegalArgumentException("Product and its SKU must not be null");
+        }
+        return product.getSku();
+    }
+}
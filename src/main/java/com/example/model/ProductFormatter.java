@@ -0,0 +1,197 @@
+package com.example.model;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * ProductFormatter class - Fast formatting helpers for prices and product information.
+ * Prices are formatted as fixed-point text with two decimals without going through
+ * String.format, and text can be encoded as UTF-8 straight into a ByteBuffer for
+ * network output without building an intermediate byte array. The JSON helpers
+ * write the values Product.appendJson() needs, without a JSON library.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public final class ProductFormatter {
+    private static final long MAX_FAST_CENTS = Long.MAX_VALUE / 10;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private ProductFormatter() {
+        // Utility class
+    }
+
+    /**
+     * Formats a price with exactly two decimals, like String.format("%.2f", price).
+     *
+     * @param price The price to format.
+     * @return The formatted price, e.g. "1704.94".
+     */
+    public static String formatPrice(double price) {
+        return appendPrice(new StringBuilder(24), price).toString();
+    }
+
+    /**
+     * Appends a price with exactly two decimals, like String.format("%.2f", price).
+     * Halves round up, and a value that is a few ulps below a half cent (such as
+     * 1.005, which is stored as 1.00499999...) is treated as the half cent its
+     * decimal literal names, matching String.format. Negative values that round to
+     * zero, including -0.0, keep their sign and format as -0.00.
+     *
+     * @param out The buffer to append to.
+     * @param price The price to format.
+     * @return The same buffer, for chaining.
+     */
+    public static StringBuilder appendPrice(StringBuilder out, double price) {
+        if (Double.isNaN(price) || Double.isInfinite(price)) {
+            return out.append(price);
+        }
+        double scaled = Math.abs(price) * 100;
+        if (scaled >= MAX_FAST_CENTS) {
+            return out.append(String.format("%.2f", price));
+        }
+        long cents = Money.toCents(price);
+        if (cents == 0 && Double.doubleToRawLongBits(price) < 0) {
+            // String.format keeps the sign of negatives that round to zero, e.g. -0.00
+            out.append('-');
+        }
+        return Money.appendCents(out, cents);
+    }
+
+    /**
+     * Appends text as a quoted JSON string, escaping quotes, backslashes and control
+     * characters. A null text is written as null.
+     *
+     * @param out The buffer to append to.
+     * @param text The text to append.
+     * @return The same buffer, for chaining.
+     */
+    public static StringBuilder appendJsonString(StringBuilder out, String text) {
+        if (text == null) {
+            return out.append("null");
+        }
+        out.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < 0x20) {
+                out.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xF]);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.append('"');
+    }
+
+    /**
+     * Appends a number as a JSON value. JSON has no NaN or infinity, so those are
+     * written as null.
+     *
+     * @param out The buffer to append to.
+     * @param value The number to append.
+     * @return The same buffer, for chaining.
+     */
+    public static StringBuilder appendJsonNumber(StringBuilder out, double value) {
+        return Double.isFinite(value) ? out.append(value) : out.append("null");
+    }
+
+    /**
+     * Encodes text as UTF-8 directly into a buffer.
+     *
+     * @param text The text to encode.
+     * @param out The buffer to write to.
+     * @return The number of bytes written.
+     * @throws BufferOverflowException if the buffer does not have enough room.
+     */
+    public static int writeUtf8(CharSequence text, ByteBuffer out) {
+        return writeUtf8(text, 0, text.length(), out);
+    }
+
+    /**
+     * Encodes part of some text as UTF-8 directly into a buffer.
+     *
+     * @param text The text to encode.
+     * @param from The index of the first char to encode.
+     * @param end The index after the last char to encode.
+     * @param out The buffer to write to.
+     * @return The number of bytes written.
+     * @throws BufferOverflowException if the buffer does not have enough room.
+     */
+    public static int writeUtf8(CharSequence text, int from, int end, ByteBuffer out) {
+        int start = out.position();
+        for (int i = from; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | (c >> 6)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                out.put((byte) (0xF0 | (codePoint >> 18)));
+                out.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                out.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                out.put((byte) '?'); // Unpaired surrogate, same replacement as String.getBytes
+            } else {
+                out.put((byte) (0xE0 | (c >> 12)));
+                out.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        return out.position() - start;
+    }
+
+    /**
+     * Counts the bytes writeUtf8() would write for some text, without encoding it.
+     *
+     * @param text The text to measure.
+     * @return The UTF-8 length in bytes.
+     */
+    public static int utf8Length(CharSequence text) {
+        return utf8Length(text, 0, text.length());
+    }
+
+    /**
+     * Counts the bytes writeUtf8() would write for part of some text.
+     *
+     * @param text The text to measure.
+     * @param from The index of the first char to count.
+     * @param end The index after the last char to count.
+     * @return The UTF-8 length in bytes.
+     */
+    public static int utf8Length(CharSequence text, int from, int end) {
+        int bytes = end - from;
+        for (int i = from; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x800) {
+                if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    bytes += 2; // Four bytes for the two chars of the pair
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    bytes += 2;
+                }
+            } else if (c >= 0x80) {
+                bytes++;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes a product's getProductInfo() text to a buffer as UTF-8. The encoded bytes
+     * are cached on the product, so repeated writes only copy them into the buffer.
+     *
+     * @param product The product to write.
+     * @param out The buffer to write to.
+     * @return The number of bytes written.
+     * @throws BufferOverflowException if the buffer does not have enough room.
+     */
+    public static int writeProductInfo(Product product, ByteBuffer out) {
+        byte[] bytes = product.getProductInfoUtf8();
+        out.put(bytes);
+        return bytes.length;
+    }
+}
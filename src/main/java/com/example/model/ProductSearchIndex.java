@@ -0,0 +1,438 @@
+package com.example.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ProductSearchIndex class - An in-memory search index over product SKUs and names.
+ *
+ * SKU prefixes are answered from a radix trie in SKU order. Names are split into
+ * lower-case tokens held in an inverted index (token to products), whose tokens are
+ * themselves kept in a trie so the last word of a query can be matched as a prefix
+ * while the user is still typing it. Matches are ranked with a bounded heap, so only
+ * the best K results are ever kept.
+ *
+ * The index registers itself as a change listener on every product it holds and
+ * re-indexes a product when its name or SKU is changed through a setter. Writes are
+ * serialized by a lock and publish new trie versions; searches take no lock and can
+ * run while products are being added or changed.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public class ProductSearchIndex {
+    /** Default cap on the products scored for one query, which bounds the cost of very short prefixes. */
+    public static final int DEFAULT_MAX_CANDIDATES = 2_000;
+
+    private static final int EXACT_TOKEN_SCORE = 2;
+    private static final int PREFIX_TOKEN_SCORE = 1;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile PrefixTrie<Product> skuTrie = PrefixTrie.empty();
+    private volatile PrefixTrie<Postings> tokenTrie = PrefixTrie.empty(); // Postings in rank order
+    private final ConcurrentHashMap<Product, Entry> entries = new ConcurrentHashMap<>();
+    private final Product.ChangeListener reindexOnChange = (product, oldName, oldSku) -> update(product);
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final int maxCandidates;
+
+    /**
+     * Default constructor for ProductSearchIndex.
+     */
+    public ProductSearchIndex() {
+        this(DEFAULT_MAX_CANDIDATES);
+    }
+
+    /**
+     * Constructor for ProductSearchIndex.
+     *
+     * @param maxCandidates The most products scored for one name query.
+     */
+    public ProductSearchIndex(int maxCandidates) {
+        if (maxCandidates < 1) {
+            throw new IllegalArgumentException("maxCandidates must be positive");
+        }
+        this.maxCandidates = maxCandidates;
+    }
+
+    /**
+     * Adds a product and starts watching it for changes. Adding a product that is
+     * already indexed re-indexes it.
+     *
+     * @param product The product to add.
+     */
+    public void add(Product product) {
+        writeLock.lock();
+        try {
+            if (!entries.containsKey(product)) {
+                product.addChangeListener(reindexOnChange);
+            }
+            index(product);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Adds every product in a collection.
+     *
+     * @param products The products to add.
+     */
+    public void addAll(Collection<? extends Product> products) {
+        for (Product product : products) {
+            add(product);
+        }
+    }
+
+    /**
+     * Removes a product and stops watching it.
+     *
+     * @param product The product to remove.
+     */
+    public void remove(Product product) {
+        writeLock.lock();
+        try {
+            Entry entry = entries.remove(product);
+            if (entry != null) {
+                product.removeChangeListener(reindexOnChange);
+                unindex(product, entry);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Re-indexes a product after its name or SKU changed. Called automatically for
+     * changes made through the product's setters.
+     *
+     * @param product The product that changed.
+     */
+    public void update(Product product) {
+        writeLock.lock();
+        try {
+            if (entries.containsKey(product)) {
+                index(product);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of indexed products.
+     *
+     * @return The number of products.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Finds products whose SKU starts with a prefix, in SKU order.
+     *
+     * @param prefix The SKU prefix; case-sensitive.
+     * @param limit The maximum number of results.
+     * @return Up to limit products.
+     */
+    public List<Product> findBySkuPrefix(String prefix, int limit) {
+        List<Product> results = new ArrayList<>(Math.min(limit, 64));
+        if (limit > 0) {
+            skuTrie.visitPrefix(prefix, (sku, product) -> {
+                results.add(product);
+                return results.size() < limit;
+            });
+        }
+        return results;
+    }
+
+    /**
+     * Searches product names. Every word of the query must appear in the name; the
+     * last word may be incomplete and matches as a prefix. Products whose last word
+     * matches exactly rank first, then shorter names, then SKU order.
+     *
+     * @param query The words to search for.
+     * @param limit The maximum number of results.
+     * @return Up to limit products, best match first.
+     */
+    public List<Product> search(String query, int limit) {
+        String[] terms = tokenize(query);
+        if (terms.length == 0 || limit < 1) {
+            return Collections.emptyList();
+        }
+        PrefixTrie<Postings> tokens = tokenTrie;
+        String last = terms[terms.length - 1];
+        TopHits top = new TopHits(limit);
+
+        if (terms.length == 1) {
+            // Only a prefix: merge the postings of every token that starts with it
+            int[] budget = {maxCandidates};
+            tokens.visitPrefix(last, (token, postings) -> {
+                int score = token.equals(last) ? EXACT_TOKEN_SCORE : PREFIX_TOKEN_SCORE;
+                for (Entry entry : postings) {
+                    if (--budget[0] < 0 || !top.offer(entry, score)) {
+                        break; // Everything after this entry in the posting list ranks lower
+                    }
+                }
+                return budget[0] > 0;
+            });
+        } else {
+            // Walk the shortest posting list of the complete words and check the rest
+            Postings shortest = null;
+            for (int i = 0; i < terms.length - 1; i++) {
+                Postings postings = tokens.get(terms[i]);
+                if (postings == null) {
+                    return Collections.emptyList();
+                }
+                if (shortest == null || postings.size() < shortest.size()) {
+                    shortest = postings;
+                }
+            }
+            int scanned = 0;
+            for (Entry entry : shortest) {
+                if (++scanned > maxCandidates || !top.couldAccept(entry, EXACT_TOKEN_SCORE)) {
+                    break;
+                }
+                int score = entry.matchScore(terms, last);
+                if (score > 0) {
+                    top.offer(entry, score);
+                }
+            }
+        }
+        return top.toList();
+    }
+
+    /**
+     * Splits text into lower-case tokens of letters and digits.
+     *
+     * @param text The text to split.
+     * @return The tokens, in order, without duplicates.
+     */
+    static String[] tokenize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String token = text.substring(start, i).toLowerCase();
+                if (!tokens.contains(token)) {
+                    tokens.add(token);
+                }
+                start = -1;
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    /** Indexes a product, replacing what was indexed for it before. Caller holds the lock. */
+    private void index(Product product) {
+        Entry previous = entries.get(product);
+        Entry current = new Entry(product, nextSequence.incrementAndGet());
+        if (previous != null) {
+            unindex(product, previous);
+        }
+        entries.put(product, current);
+        if (current.sku != null) {
+            skuTrie = skuTrie.put(current.sku, product);
+        }
+        PrefixTrie<Postings> tokens = tokenTrie;
+        for (String token : current.tokens) {
+            Postings postings = tokens.get(token);
+            if (postings == null) {
+                postings = new Postings();
+                tokens = tokens.put(token, postings);
+            }
+            postings.add(current);
+        }
+        tokenTrie = tokens;
+    }
+
+    /** Removes what was indexed for a product. Caller holds the lock. */
+    private void unindex(Product product, Entry entry) {
+        if (entry.sku != null && skuTrie.get(entry.sku) == product) {
+            skuTrie = skuTrie.remove(entry.sku);
+        }
+        PrefixTrie<Postings> tokens = tokenTrie;
+        for (String token : entry.tokens) {
+            Postings postings = tokens.get(token);
+            if (postings != null && postings.remove(entry) && postings.size() == 0) {
+                tokens = tokens.remove(token);
+            }
+        }
+        tokenTrie = tokens;
+    }
+
+    /**
+     * What was indexed for one product: its SKU, name tokens and name length at
+     * indexing time. Entries sort by the rank they have among equally scored results
+     * (shorter names, then SKU), so every posting list is already in rank order and a
+     * search can stop as soon as the rest of a list cannot beat the results it has.
+     */
+    private static final class Entry implements Comparable<Entry> {
+        private final Product product;
+        private final String sku;
+        private final String[] tokens; // Sorted, for binary search
+        private final int nameLength;
+        private final long sequence; // Tie-break so that every entry is distinct
+
+        Entry(Product product, long sequence) {
+            String name = product.getName();
+            this.product = product;
+            this.sku = product.getSku();
+            this.tokens = tokenize(name);
+            this.nameLength = name == null ? 0 : name.length();
+            this.sequence = sequence;
+            Arrays.sort(tokens);
+        }
+
+        /**
+         * Scores the last query word against this entry, given that the caller walked
+         * the postings of one complete word. Returns 0 unless every complete word
+         * matches exactly and some token starts with the last word.
+         */
+        int matchScore(String[] terms, String last) {
+            for (int i = 0; i < terms.length - 1; i++) {
+                if (Arrays.binarySearch(tokens, terms[i]) < 0) {
+                    return 0;
+                }
+            }
+            int insertion = Arrays.binarySearch(tokens, last);
+            if (insertion >= 0) {
+                return EXACT_TOKEN_SCORE;
+            }
+            insertion = -insertion - 1;
+            return insertion < tokens.length && tokens[insertion].startsWith(last) ? PREFIX_TOKEN_SCORE : 0;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            if (nameLength != other.nameLength) {
+                return Integer.compare(nameLength, other.nameLength);
+            }
+            int bySku = String.valueOf(sku).compareTo(String.valueOf(other.sku));
+            return bySku != 0 ? bySku : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * A bounded heap of the best K results seen so far, worst on top, that keeps
+     * only the best score for an entry offered more than once.
+     */
+    private static final class TopHits {
+        private final int limit;
+        private final PriorityQueue<Hit> worstFirst;
+        private final Map<Entry, Hit> byEntry = new HashMap<>();
+
+        TopHits(int limit) {
+            this.limit = limit;
+            this.worstFirst = new PriorityQueue<>(Math.min(limit, 1024) + 1, (a, b) -> compare(b, a));
+        }
+
+        /** Returns whether a hit with this entry and score would enter the heap. */
+        boolean couldAccept(Entry entry, int score) {
+            if (worstFirst.size() < limit) {
+                return true;
+            }
+            Hit worst = worstFirst.peek();
+            return score > worst.score || (score == worst.score && entry.compareTo(worst.entry) < 0);
+        }
+
+        /** Offers a hit; returns false if it ranked below every kept result. */
+        boolean offer(Entry entry, int score) {
+            Hit existing = byEntry.get(entry);
+            if (existing != null) {
+                if (existing.score >= score) {
+                    return true;
+                }
+                worstFirst.remove(existing);
+                byEntry.remove(entry);
+            }
+            if (!couldAccept(entry, score)) {
+                return false;
+            }
+            Hit hit = new Hit(entry, score);
+            worstFirst.add(hit);
+            byEntry.put(entry, hit);
+            if (worstFirst.size() > limit) {
+                byEntry.remove(worstFirst.poll().entry);
+            }
+            return true;
+        }
+
+        List<Product> toList() {
+            Hit[] hits = worstFirst.toArray(new Hit[0]);
+            Arrays.sort(hits, TopHits::compare);
+            List<Product> results = new ArrayList<>(hits.length);
+            for (Hit hit : hits) {
+                results.add(hit.entry.product);
+            }
+            return results;
+        }
+
+        /** Best first: higher score, then entry rank. */
+        private static int compare(Hit a, Hit b) {
+            return a.score != b.score ? Integer.compare(b.score, a.score) : a.entry.compareTo(b.entry);
+        }
+    }
+
+    /**
+     * The entries of every product with one token, in rank order. The size is kept
+     * separately because counting a skip list walks all of it.
+     */
+    private static final class Postings implements Iterable<Entry> {
+        private final ConcurrentSkipListSet<Entry> entries = new ConcurrentSkipListSet<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        void add(Entry entry) {
+            if (entries.add(entry)) {
+                size.incrementAndGet();
+            }
+        }
+
+        boolean remove(Entry entry) {
+            if (entries.remove(entry)) {
+                size.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        int size() {
+            return size.get();
+        }
+
+        @Override
+        public Iterator<Entry> iterator() {
+            return entries.iterator();
+        }
+    }
+
+    /**
+     * A scored search result.
+     */
+    private static final class Hit {
+        private final Entry entry;
+        private final int score;
+
+        Hit(Entry entry, int score) {
+            this.entry = entry;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.example.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ProductTable class - Stores products column by column instead of as objects.
+ * Prices and file sizes live in primitive double arrays, file types are
+ * dictionary-encoded into an int array, and a BitSet marks which rows are digital.
+ * Aggregations walk the primitive arrays in order, so they are cache friendly and
+ * simple enough for the JIT to unroll and vectorize.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public class ProductTable {
+    /** Dictionary code used for rows that have no file type (physical products). */
+    public static final int NO_FILE_TYPE = -1;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private String[] names;
+    private String[] skus;
+    private String[] downloadUrls;
+    private double[] prices;
+    private double[] fileSizesMB;
+    private int[] fileTypeCodes;
+    private final BitSet digital;
+    private final List<String> fileTypeDictionary;
+    private final Map<String, Integer> fileTypeCodesByName;
+    private int size;
+
+    /**
+     * Default constructor for ProductTable.
+     */
+    public ProductTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor for ProductTable with an initial row capacity.
+     *
+     * @param capacity The number of rows to allocate up front.
+     */
+    public ProductTable(int capacity) {
+        int initial = Math.max(capacity, 1);
+        this.names = new String[initial];
+        this.skus = new String[initial];
+        this.downloadUrls = new String[initial];
+        this.prices = new double[initial];
+        this.fileSizesMB = new double[initial];
+        this.fileTypeCodes = new int[initial];
+        this.digital = new BitSet(initial);
+        this.fileTypeDictionary = new ArrayList<>();
+        this.fileTypeCodesByName = new HashMap<>();
+    }
+
+    /**
+     * Builds a table from a collection of products.
+     *
+     * @param products The products to copy into the table.
+     * @return A new table holding one row per product.
+     */
+    public static ProductTable from(Collection<? extends Product> products) {
+        ProductTable table = new ProductTable(products.size());
+        for (Product product : products) {
+            table.add(product);
+        }
+        return table;
+    }
+
+    /**
+     * Appends a product as a new row.
+     *
+     * @param product The product to add.
+     * @return The row index of the new row.
+     */
+    public int add(Product product) {
+        ensureCapacity(size + 1);
+        int row = size++;
+        names[row] = product.getName();
+        skus[row] = product.getSku();
+        prices[row] = product.getPrice();
+        if (product instanceof DigitalProduct) {
+            DigitalProduct digitalProduct = (DigitalProduct) product;
+            downloadUrls[row] = digitalProduct.getDownloadUrl();
+            fileSizesMB[row] = digitalProduct.getFileSizeMB();
+            fileTypeCodes[row] = encodeFileType(digitalProduct.getFileType());
+            digital.set(row);
+        } else {
+            fileTypeCodes[row] = NO_FILE_TYPE;
+        }
+        return row;
+    }
+
+    /**
+     * Rebuilds the product stored in a row.
+     *
+     * @param row The row index.
+     * @return A new Product or DigitalProduct with the row's values.
+     */
+    public Product toProduct(int row) {
+        checkRow(row);
+        if (digital.get(row)) {
+            return new DigitalProduct(names[row], prices[row], skus[row], downloadUrls[row],
+                                      getFileType(row), fileSizesMB[row]);
+        }
+        return new Product(names[row], prices[row], skus[row]);
+    }
+
+    /**
+     * Rebuilds every row as a product object.
+     *
+     * @return The products in row order.
+     */
+    public List<Product> toProducts() {
+        List<Product> products = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            products.add(toProduct(row));
+        }
+        return products;
+    }
+
+    // Column accessors
+    public int size() {
+        return size;
+    }
+
+    public String getName(int row) {
+        checkRow(row);
+        return names[row];
+    }
+
+    public String getSku(int row) {
+        checkRow(row);
+        return skus[row];
+    }
+
+    public double getPrice(int row) {
+        checkRow(row);
+        return prices[row];
+    }
+
+    public boolean isDigital(int row) {
+        checkRow(row);
+        return digital.get(row);
+    }
+
+    public String getFileType(int row) {
+        checkRow(row);
+        int code = fileTypeCodes[row];
+        return code == NO_FILE_TYPE ? null : fileTypeDictionary.get(code);
+    }
+
+    public double getFileSizeMB(int row) {
+        checkRow(row);
+        return fileSizesMB[row];
+    }
+
+    /**
+     * Sums the price column.
+     *
+     * @return The total price of every row.
+     */
+    public double sumPrice() {
+        double total = 0;
+        double[] column = prices;
+        for (int row = 0; row < size; row++) {
+            total += column[row];
+        }
+        return total;
+    }
+
+    /**
+     * Finds the lowest price in the table.
+     *
+     * @return The minimum price, or NaN if the table is empty.
+     */
+    public double minPrice() {
+        if (size == 0) {
+            return Double.NaN;
+        }
+        double min = prices[0];
+        for (int row = 1; row < size; row++) {
+            min = Math.min(min, prices[row]);
+        }
+        return min;
+    }
+
+    /**
+     * Finds the highest price in the table.
+     *
+     * @return The maximum price, or NaN if the table is empty.
+     */
+    public double maxPrice() {
+        if (size == 0) {
+            return Double.NaN;
+        }
+        double max = prices[0];
+        for (int row = 1; row < size; row++) {
+            max = Math.max(max, prices[row]);
+        }
+        return max;
+    }
+
+    /**
+     * Sums the file size column. Physical rows store 0 and do not change the total.
+     *
+     * @return The total file size of every digital row in megabytes.
+     */
+    public double sumFileSizeMB() {
+        double total = 0;
+        double[] column = fileSizesMB;
+        for (int row = 0; row < size; row++) {
+            total += column[row];
+        }
+        return total;
+    }
+
+    /**
+     * Counts the digital rows.
+     *
+     * @return The number of digital products.
+     */
+    public int countDigital() {
+        return digital.cardinality();
+    }
+
+    /**
+     * Counts the physical rows.
+     *
+     * @return The number of physical products.
+     */
+    public int countPhysical() {
+        return size - digital.cardinality();
+    }
+
+    /**
+     * Sums prices grouped by file type. Physical products are not included.
+     *
+     * @return A map from file type to total price, in first-seen order.
+     */
+    public Map<String, Double> sumPriceByFileType() {
+        double[] totals = new double[fileTypeDictionary.size()];
+        for (int row = 0; row < size; row++) {
+            int code = fileTypeCodes[row];
+            if (code != NO_FILE_TYPE) {
+                totals[code] += prices[row];
+            }
+        }
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (int code = 0; code < totals.length; code++) {
+            result.put(fileTypeDictionary.get(code), totals[code]);
+        }
+        return result;
+    }
+
+    /**
+     * Counts rows grouped by file type. Physical products are not included.
+     *
+     * @return A map from file type to row count, in first-seen order.
+     */
+    public Map<String, Integer> countByFileType() {
+        int[] counts = new int[fileTypeDictionary.size()];
+        for (int row = 0; row < size; row++) {
+            int code = fileTypeCodes[row];
+            if (code != NO_FILE_TYPE) {
+                counts[code]++;
+            }
+        }
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int code = 0; code < counts.length; code++) {
+            result.put(fileTypeDictionary.get(code), counts[code]);
+        }
+        return result;
+    }
+
+    private int encodeFileType(String fileType) {
+        if (fileType == null) {
+            return NO_FILE_TYPE;
+        }
+        Integer code = fileTypeCodesByName.get(fileType);
+        if (code == null) {
+            code = fileTypeDictionary.size();
+            fileTypeDictionary.add(fileType);
+            fileTypeCodesByName.put(fileType, code);
+        }
+        return code;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= prices.length) {
+            return;
+        }
+        int capacity = Math.max(required, prices.length * 2);
+        names = Arrays.copyOf(names, capacity);
+        skus = Arrays.copyOf(skus, capacity);
+        downloadUrls = Arrays.copyOf(downloadUrls, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        fileSizesMB = Arrays.copyOf(fileSizesMB, capacity);
+        fileTypeCodes = Arrays.copyOf(fileTypeCodes, capacity);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " is outside the table of size " + size);
+        }
+    }
+}
@@ -0,0 +1,523 @@
+package com.example.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ShoppingCart class - A cart kept as an append-only log of add, remove and
+ * price-change events. Applying an event updates the running total and the physical
+ * and digital item counts in O(1), so reading the total after a UI action costs
+ * nothing however large the cart is.
+ *
+ * Every snapshotInterval events the cart takes a snapshot of its lines and totals;
+ * a cart with more lines than that waits as many events as it has lines, so copying
+ * the lines still costs O(1) per event on average.
+ * A cart can be rebuilt from its log with replay(), or faster from a snapshot and
+ * only the events after it with restore(). Events hold copies of the product values,
+ * so replaying a log gives the same cart even if the products changed since. Events
+ * and snapshots have public constructors, so both can be saved and loaded again.
+ *
+ * All methods are synchronized, so one cart can be updated from concurrent requests.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public class ShoppingCart {
+    /** Default number of events between snapshots. */
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 64;
+
+    private final int snapshotInterval;
+    private final List<Event> events = new ArrayList<>();
+    private final Map<String, Line> lines = new LinkedHashMap<>();
+    private long totalCents;
+    private int physicalCount;
+    private int digitalCount;
+    private long sequence; // Sequence number of the last event applied
+    private long baseSequence; // Sequence number of the snapshot the log starts after
+    private Snapshot latestSnapshot;
+
+    /**
+     * Event type enum - What an event did to the cart.
+     */
+    public enum EventType {
+        ADDED,
+        REMOVED,
+        PRICE_CHANGED
+    }
+
+    /**
+     * Default constructor for ShoppingCart, snapshotting every 64 events.
+     */
+    public ShoppingCart() {
+        this(DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * Constructor for ShoppingCart.
+     *
+     * @param snapshotInterval The least number of events between snapshots.
+     */
+    public ShoppingCart(int snapshotInterval) {
+        if (snapshotInterval < 1) {
+            throw new IllegalArgumentException("snapshotInterval must be at least 1");
+        }
+        this.snapshotInterval = snapshotInterval;
+        this.latestSnapshot = new Snapshot(0, Collections.emptyMap(), 0, 0, 0);
+    }
+
+    /**
+     * Rebuilds a cart by applying every event of a log.
+     *
+     * @param log The events, in sequence order, starting at sequence 1.
+     * @return A new cart in the state the log describes.
+     */
+    public static ShoppingCart replay(List<Event> log) {
+        return restore(new Snapshot(0, Collections.emptyMap(), 0, 0, 0), log);
+    }
+
+    /**
+     * Rebuilds a cart from a snapshot and the events after it, snapshotting every 64
+     * events from then on.
+     *
+     * @param snapshot The snapshot to start from.
+     * @param log The events, in sequence order.
+     * @return A new cart in the state after the last event.
+     * @throws IllegalArgumentException if an event is missing or does not apply.
+     */
+    public static ShoppingCart restore(Snapshot snapshot, List<Event> log) {
+        return restore(snapshot, log, DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * Rebuilds a cart from a snapshot and the events after it. Events the snapshot
+     * already includes are skipped, so the whole log may be passed. The new cart's own
+     * log starts after the snapshot.
+     *
+     * @param snapshot The snapshot to start from.
+     * @param log The events, in sequence order.
+     * @param snapshotInterval The least number of events between snapshots, usually
+     *                         the interval of the cart the snapshot was taken from.
+     * @return A new cart in the state after the last event.
+     * @throws IllegalArgumentException if an event is missing or does not apply.
+     */
+    public static ShoppingCart restore(Snapshot snapshot, List<Event> log, int snapshotInterval) {
+        ShoppingCart cart = new ShoppingCart(snapshotInterval);
+        cart.lines.putAll(snapshot.lines);
+        cart.totalCents = snapshot.totalCents;
+        cart.physicalCount = snapshot.physicalCount;
+        cart.digitalCount = snapshot.digitalCount;
+        cart.sequence = snapshot.sequence;
+        cart.baseSequence = snapshot.sequence;
+        cart.latestSnapshot = snapshot;
+        for (Event event : log) {
+            if (event.sequence <= snapshot.sequence) {
+                continue;
+            }
+            if (event.sequence != cart.sequence + 1) {
+                throw new IllegalArgumentException("Expected event " + (cart.sequence + 1) + " but got " + event.sequence);
+            }
+            cart.append(event);
+        }
+        return cart;
+    }
+
+    /**
+     * Adds one unit of a product.
+     *
+     * @param product The product to add.
+     */
+    public void add(Product product) {
+        add(product, 1);
+    }
+
+    /**
+     * Adds units of a product at its current price. If the product is already in the
+     * cart, the whole line is repriced to the current price.
+     *
+     * @param product The product to add.
+     * @param quantity The number of units, at least 1.
+     */
+    public synchronized void add(Product product, int quantity) {
+        if (product.getSku() == null) {
+            throw new IllegalArgumentException("Product must have a SKU");
+        }
+        if (quantity < 1) {
+            throw new IllegalArgumentException("Quantity must be at least 1");
+        }
+        append(new Event(sequence + 1, EventType.ADDED, product.getSku(), product.getName(),
+                         product instanceof DigitalProduct, product.getPriceCents(), quantity));
+    }
+
+    /**
+     * Removes units of a product.
+     *
+     * @param sku The SKU of the product.
+     * @param quantity The number of units to remove, at most the quantity in the cart.
+     */
+    public synchronized void remove(String sku, int quantity) {
+        Line line = lines.get(sku);
+        if (line == null) {
+            throw new IllegalArgumentException("Not in cart: " + sku);
+        }
+        if (quantity < 1 || quantity > line.quantity) {
+            throw new IllegalArgumentException("Cannot remove " + quantity + " of " + line.quantity + " " + sku);
+        }
+        append(new Event(sequence + 1, EventType.REMOVED, sku, line.name, line.digital, line.unitPriceCents, quantity));
+    }
+
+    /**
+     * Changes the unit price of a product in the cart.
+     *
+     * @param sku The SKU of the product.
+     * @param priceCents The new unit price in cents.
+     */
+    public synchronized void changePrice(String sku, long priceCents) {
+        Line line = lines.get(sku);
+        if (line == null) {
+            throw new IllegalArgumentException("Not in cart: " + sku);
+        }
+        if (priceCents < 0) {
+            throw new IllegalArgumentException("Price cannot be negative");
+        }
+        append(new Event(sequence + 1, EventType.PRICE_CHANGED, sku, line.name, line.digital, priceCents, 0));
+    }
+
+    /**
+     * Gets the events with a sequence number above the given one, e.g. to persist the
+     * events since the last save.
+     *
+     * @param afterSequence The last sequence number already seen; 0 for the whole log.
+     * @return The events, in order.
+     * @throws IllegalArgumentException if some of those events were dropped by
+     *                                  compactLog() or precede a restored snapshot.
+     */
+    public synchronized List<Event> getEventsSince(long afterSequence) {
+        if (afterSequence < baseSequence) {
+            throw new IllegalArgumentException("Events up to " + baseSequence
+                                               + " are no longer in the log; start from a snapshot");
+        }
+        int from = (int) Math.min(afterSequence - baseSequence, events.size());
+        return new ArrayList<>(events.subList(from, events.size()));
+    }
+
+    /**
+     * Drops the events the latest snapshot already includes, so a long-lived cart's
+     * log does not grow without bound. Keep the snapshot to rebuild the cart later.
+     *
+     * @return The number of events dropped.
+     */
+    public synchronized int compactLog() {
+        int dropped = (int) (latestSnapshot.sequence - baseSequence);
+        events.subList(0, dropped).clear();
+        baseSequence = latestSnapshot.sequence;
+        return dropped;
+    }
+
+    /**
+     * Gets the lines of the cart.
+     *
+     * @return A copy of the lines, in the order their products were first added.
+     */
+    public synchronized List<Line> getLines() {
+        return new ArrayList<>(lines.values());
+    }
+
+    /**
+     * Gets the quantity of a product in the cart.
+     *
+     * @param sku The SKU of the product.
+     * @return The number of units, or 0 if it is not in the cart.
+     */
+    public synchronized int getQuantity(String sku) {
+        Line line = lines.get(sku);
+        return line == null ? 0 : line.quantity;
+    }
+
+    // Getters
+    public synchronized long getTotalCents() {
+        return totalCents;
+    }
+
+    public synchronized Money getTotal() {
+        return Money.ofCents(totalCents);
+    }
+
+    public synchronized int getPhysicalCount() {
+        return physicalCount;
+    }
+
+    public synchronized int getDigitalCount() {
+        return digitalCount;
+    }
+
+    public synchronized int getItemCount() {
+        return physicalCount + digitalCount;
+    }
+
+    public synchronized int getLineCount() {
+        return lines.size();
+    }
+
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    public synchronized Snapshot getLatestSnapshot() {
+        return latestSnapshot;
+    }
+
+    private void append(Event event) {
+        apply(event);
+        events.add(event);
+        sequence = event.sequence;
+        if (sequence - latestSnapshot.sequence >= Math.max(snapshotInterval, lines.size())) {
+            latestSnapshot = new Snapshot(sequence, new LinkedHashMap<>(lines), totalCents, physicalCount, digitalCount);
+        }
+    }
+
+    private void apply(Event event) {
+        Line line = lines.get(event.sku);
+        switch (event.type) {
+            case ADDED:
+                if (line == null) {
+                    line = new Line(event.sku, event.name, event.digital, event.priceCents, 0);
+                } else {
+                    totalCents = Math.addExact(totalCents, Math.multiplyExact(event.priceCents - line.unitPriceCents,
+                                                                              (long) line.quantity));
+                }
+                totalCents = Math.addExact(totalCents, Math.multiplyExact(event.priceCents, (long) event.quantity));
+                lines.put(event.sku, new Line(event.sku, event.name, line.digital, event.priceCents,
+                                              line.quantity + event.quantity));
+                countUnits(line.digital, event.quantity);
+                break;
+            case REMOVED:
+                if (line == null || event.quantity > line.quantity) {
+                    throw new IllegalArgumentException("Event " + event.sequence + " removes more than the cart holds");
+                }
+                totalCents -= line.unitPriceCents * event.quantity;
+                if (line.quantity == event.quantity) {
+                    lines.remove(event.sku);
+                } else {
+                    lines.put(event.sku, new Line(event.sku, line.name, line.digital, line.unitPriceCents,
+                                                  line.quantity - event.quantity));
+                }
+                countUnits(line.digital, -event.quantity);
+                break;
+            case PRICE_CHANGED:
+                if (line == null) {
+                    throw new IllegalArgumentException("Event " + event.sequence + " reprices " + event.sku
+                                                       + ", which is not in the cart");
+                }
+                totalCents = Math.addExact(totalCents, Math.multiplyExact(event.priceCents - line.unitPriceCents,
+                                                                          (long) line.quantity));
+                lines.put(event.sku, new Line(event.sku, line.name, line.digital, event.priceCents, line.quantity));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown event type: " + event.type);
+        }
+    }
+
+    private void countUnits(boolean digital, int units) {
+        if (digital) {
+            digitalCount += units;
+        } else {
+            physicalCount += units;
+        }
+    }
+
+    /**
+     * Event class - One change to a cart. Immutable.
+     */
+    public static final class Event {
+        private final long sequence;
+        private final EventType type;
+        private final String sku;
+        private final String name;
+        private final boolean digital;
+        private final long priceCents;
+        private final int quantity;
+
+        /**
+         * Constructor for Event, e.g. when loading a saved log.
+         *
+         * @param sequence The position in the log, starting at 1.
+         * @param type What the event does.
+         * @param sku The SKU of the product.
+         * @param name The name of the product.
+         * @param digital Whether the product is digital.
+         * @param priceCents The unit price in cents: the price added at, removed at or changed to.
+         * @param quantity The units added or removed; 0 for price changes.
+         */
+        public Event(long sequence, EventType type, String sku, String name, boolean digital, long priceCents,
+                     int quantity) {
+            this.sequence = sequence;
+            this.type = type;
+            this.sku = sku;
+            this.name = name;
+            this.digital = digital;
+            this.priceCents = priceCents;
+            this.quantity = quantity;
+        }
+
+        // Getters
+        public long getSequence() {
+            return sequence;
+        }
+
+        public EventType getType() {
+            return type;
+        }
+
+        public String getSku() {
+            return sku;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isDigital() {
+            return digital;
+        }
+
+        public long getPriceCents() {
+            return priceCents;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        @Override
+        public String toString() {
+            return "Event " + sequence + ": " + type + " " + sku + " x" + quantity + " @ " + Money.ofCents(priceCents);
+        }
+    }
+
+    /**
+     * Line class - The units of one product in a cart. Immutable.
+     */
+    public static final class Line {
+        private final String sku;
+        private final String name;
+        private final boolean digital;
+        private final long unitPriceCents;
+        private final int quantity;
+
+        /**
+         * Constructor for Line, e.g. when loading a saved snapshot.
+         *
+         * @param sku The SKU of the product.
+         * @param name The name of the product.
+         * @param digital Whether the product is digital.
+         * @param unitPriceCents The unit price in cents.
+         * @param quantity The number of units.
+         */
+        public Line(String sku, String name, boolean digital, long unitPriceCents, int quantity) {
+            this.sku = sku;
+            this.name = name;
+            this.digital = digital;
+            this.unitPriceCents = unitPriceCents;
+            this.quantity = quantity;
+        }
+
+        // Getters
+        public String getSku() {
+            return sku;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isDigital() {
+            return digital;
+        }
+
+        public long getUnitPriceCents() {
+            return unitPriceCents;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+    }
+
+    /**
+     * Snapshot class - The lines and totals of a cart after a given event. Immutable.
+     */
+    public static final class Snapshot {
+        private final long sequence;
+        private final Map<String, Line> lines;
+        private final long totalCents;
+        private final int physicalCount;
+        private final int digitalCount;
+
+        /**
+         * Constructor for Snapshot, e.g. when loading a saved snapshot. The totals are
+         * recomputed from the lines.
+         *
+         * @param sequence The sequence number of the last event the snapshot includes.
+         * @param lines The lines, in the order their products were first added.
+         * @throws IllegalArgumentException if the sequence is negative or two lines share a SKU.
+         */
+        public Snapshot(long sequence, List<Line> lines) {
+            if (sequence < 0) {
+                throw new IllegalArgumentException("sequence must not be negative");
+            }
+            Map<String, Line> bySku = new LinkedHashMap<>();
+            long total = 0;
+            int physical = 0;
+            int digital = 0;
+            for (Line line : lines) {
+                if (bySku.put(line.sku, line) != null) {
+                    throw new IllegalArgumentException("Two lines for " + line.sku);
+                }
+                total = Math.addExact(total, Math.multiplyExact(line.unitPriceCents, (long) line.quantity));
+                if (line.digital) {
+                    digital += line.quantity;
+                } else {
+                    physical += line.quantity;
+                }
+            }
+            this.sequence = sequence;
+            this.lines = Collections.unmodifiableMap(bySku);
+            this.totalCents = total;
+            this.physicalCount = physical;
+            this.digitalCount = digital;
+        }
+
+        Snapshot(long sequence, Map<String, Line> lines, long totalCents, int physicalCount, int digitalCount) {
+            this.sequence = sequence;
+            this.lines = Collections.unmodifiableMap(lines);
+            this.totalCents = totalCents;
+            this.physicalCount = physicalCount;
+            this.digitalCount = digitalCount;
+        }
+
+        /**
+         * Gets the lines of the snapshot, e.g. to save it.
+         *
+         * @return A copy of the lines, in the order their products were first added.
+         */
+        public List<Line> getLines() {
+            return new ArrayList<>(lines.values());
+        }
+
+        // Getters
+        public long getSequence() {
+            return sequence;
+        }
+
+        public long getTotalCents() {
+            return totalCents;
+        }
+
+        public int getLineCount() {
+            return lines.size();
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.example.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * TypedCart class - A cart that keeps its products partitioned by concrete class,
+ * each partition a dense array, so processing runs one type-specialized loop per
+ * partition instead of one loop over a mixed list.
+ *
+ * A loop over an ArrayList of Products makes the same virtual calls (getPrice(),
+ * appendInfo()) on every class in the cart. With more than two classes the JIT
+ * gives up inlining them and every call goes through the vtable. Here each
+ * partition's loop is a separate copy of PartitionLoops that only ever sees one
+ * class, so the calls stay monomorphic and are inlined however many product classes
+ * the cart holds. Counting digital products is a sum of partition sizes rather
+ * than an instanceof test per item.
+ *
+ * Partitions are kept in the order their class was first added, and products in
+ * the order they were added within a partition, so rendering groups products by
+ * class. Like ArrayList, a TypedCart is not thread-safe.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public class TypedCart {
+    private static final Loops SHARED_LOOPS = new PartitionLoops();
+    private static final ClassValue<Loops> LOOPS = new ClassValue<Loops>() {
+        @Override
+        protected Loops computeValue(Class<?> type) {
+            return copyLoops();
+        }
+    };
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final Map<Class<?>, Partition> partitionsByType = new HashMap<>();
+    private final List<Partition> partitions = new ArrayList<>();
+    private Partition lastPartition; // Most carts add runs of the same class
+    private int size;
+
+    /**
+     * Default constructor for TypedCart.
+     */
+    public TypedCart() {
+    }
+
+    /**
+     * Constructor for TypedCart that adds some products.
+     *
+     * @param products The products to add.
+     */
+    public TypedCart(Collection<? extends Product> products) {
+        addAll(products);
+    }
+
+    /**
+     * Adds a product to the partition of its concrete class.
+     *
+     * @param product The product to add.
+     */
+    public void add(Product product) {
+        if (product == null) {
+            throw new IllegalArgumentException("Product cannot be null");
+        }
+        Class<?> type = product.getClass();
+        Partition partition = lastPartition;
+        if (partition == null || partition.type != type) {
+            partition = partitionsByType.get(type);
+            if (partition == null) {
+                partition = new Partition(type, LOOPS.get(type));
+                partitionsByType.put(type, partition);
+                partitions.add(partition);
+            }
+            lastPartition = partition;
+        }
+        partition.add(product);
+        size++;
+    }
+
+    /**
+     * Adds every product in a collection.
+     *
+     * @param products The products to add.
+     */
+    public void addAll(Collection<? extends Product> products) {
+        for (Product product : products) {
+            add(product);
+        }
+    }
+
+    /**
+     * Removes every product.
+     */
+    public void clear() {
+        partitionsByType.clear();
+        partitions.clear();
+        lastPartition = null;
+        size = 0;
+    }
+
+    /**
+     * Adds up the prices of every product, one loop per partition.
+     *
+     * @return The total in cents.
+     * @throws ArithmeticException if the total overflows.
+     */
+    public long getTotalCents() {
+        long total = 0;
+        for (Partition partition : partitions) {
+            total = Math.addExact(total, partition.loops.totalCents(partition.items, partition.size));
+        }
+        return total;
+    }
+
+    /**
+     * Adds up the prices of every product.
+     *
+     * @return The total as Money.
+     */
+    public Money getTotal() {
+        return Money.ofCents(getTotalCents());
+    }
+
+    /**
+     * Appends each product's appendInfo(), followed by a blank line, to a buffer,
+     * one partition after another.
+     *
+     * @param out The buffer to append to.
+     * @return The same buffer, for chaining.
+     */
+    public StringBuilder appendInfo(StringBuilder out) {
+        for (Partition partition : partitions) {
+            partition.loops.appendInfo(partition.items, partition.size, out);
+        }
+        return out;
+    }
+
+    /**
+     * Passes every product to an action, one partition after another. The loop is
+     * specialized per partition, but the action's own calls are shared by every
+     * class; for those to stay monomorphic, use forEach(Class, Consumer) with an
+     * action written for one class.
+     *
+     * @param action The action to perform.
+     */
+    public void forEach(Consumer<? super Product> action) {
+        for (Partition partition : partitions) {
+            partition.loops.forEach(partition.items, partition.size, action);
+        }
+    }
+
+    /**
+     * Passes every product of exactly one class to an action.
+     *
+     * @param type The concrete class.
+     * @param action The action to perform.
+     * @param <T> The product type.
+     */
+    public <T extends Product> void forEach(Class<T> type, Consumer<? super T> action) {
+        Partition partition = partitionsByType.get(type);
+        if (partition != null) {
+            for (int i = 0; i < partition.size; i++) {
+                action.accept(type.cast(partition.items[i]));
+            }
+        }
+    }
+
+    /**
+     * Gets the products of exactly one class.
+     *
+     * @param type The concrete class.
+     * @param <T> The product type.
+     * @return The products, in the order they were added, or an empty list.
+     */
+    public <T extends Product> List<T> getItems(Class<T> type) {
+        Partition partition = partitionsByType.get(type);
+        if (partition == null) {
+            return Collections.emptyList();
+        }
+        List<T> items = new ArrayList<>(partition.size);
+        for (int i = 0; i < partition.size; i++) {
+            items.add(type.cast(partition.items[i]));
+        }
+        return items;
+    }
+
+    /**
+     * Counts the products of a class or any of its subclasses, from the partition
+     * sizes alone.
+     *
+     * @param type The class, e.g. DigitalProduct.class.
+     * @return The number of products.
+     */
+    public int count(Class<? extends Product> type) {
+        int count = 0;
+        for (Partition partition : partitions) {
+            if (type.isAssignableFrom(partition.type)) {
+                count += partition.size;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the concrete classes in the cart, in the order they were first added.
+     *
+     * @return The classes.
+     */
+    public List<Class<?>> getTypes() {
+        List<Class<?>> types = new ArrayList<>(partitions.size());
+        for (Partition partition : partitions) {
+            types.add(partition.type);
+        }
+        return types;
+    }
+
+    // Getters
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getPartitionCount() {
+        return partitions.size();
+    }
+
+    public int getPhysicalCount() {
+        return size - getDigitalCount();
+    }
+
+    public int getDigitalCount() {
+        return count(DigitalProduct.class);
+    }
+
+    /**
+     * Loads a fresh copy of PartitionLoops as a hidden class, so the JIT keeps a
+     * separate profile for it. Falls back to the shared class if its bytes cannot
+     * be read, which only costs the specialization.
+     */
+    private static Loops copyLoops() {
+        byte[] bytes = LoopsBytes.BYTES;
+        if (bytes == null) {
+            return SHARED_LOOPS;
+        }
+        try {
+            Class<?> copy = MethodHandles.lookup().defineHiddenClass(bytes, true).lookupClass();
+            return (Loops) copy.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | SecurityException e) {
+            return SHARED_LOOPS;
+        }
+    }
+
+    /**
+     * The loops run over one partition, implemented by PartitionLoops and each
+     * hidden copy of it.
+     */
+    interface Loops {
+        long totalCents(Product[] items, int size);
+
+        void appendInfo(Product[] items, int size, StringBuilder out);
+
+        void forEach(Product[] items, int size, Consumer<? super Product> action);
+    }
+
+    /**
+     * The class file of PartitionLoops, read on first use.
+     */
+    private static final class LoopsBytes {
+        private static final byte[] BYTES = read();
+
+        private static byte[] read() {
+            try (InputStream in = PartitionLoops.class.getResourceAsStream("PartitionLoops.class")) {
+                return in == null ? null : in.readAllBytes();
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * The products of one concrete class, in a dense array, and the loops for them.
+     */
+    private static final class Partition {
+        private final Class<?> type;
+        private final Loops loops;
+        private Product[] items = new Product[INITIAL_CAPACITY];
+        private int size;
+
+        Partition(Class<?> type, Loops loops) {
+            this.type = type;
+            this.loops = loops;
+        }
+
+        void add(Product product) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = product;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.storage;
+
+/**
+ * CatalogFileFormat class - Layout constants shared by CatalogFileWriter and CatalogFileReader.
+ *
+ * A catalog file has three parts:
+ * <pre>
+ * header   32 bytes   magic, version, record count, record size, heap offset, heap length
+ * records  N * 56     one fixed-width record per product, sorted by SKU (UTF-8 byte order)
+ * heap     variable   UTF-8 bytes of every name, SKU, download URL and file type
+ * </pre>
+ * Each record holds a type tag, an (offset, length) reference into the heap for each
+ * string, and the price and file size as doubles. A length of -1 means null.
+ * All values are big-endian.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+final class CatalogFileFormat {
+    static final int MAGIC = 0x50434154; // "PCAT"
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 32;
+    static final int HEADER_MAGIC = 0;
+    static final int HEADER_VERSION = 4;
+    static final int HEADER_RECORD_COUNT = 8;
+    static final int HEADER_RECORD_SIZE = 12;
+    static final int HEADER_HEAP_OFFSET = 16;
+    static final int HEADER_HEAP_LENGTH = 24;
+
+    static final int RECORD_SIZE = 56;
+    static final int RECORD_TYPE = 0;
+    static final int RECORD_SKU = 4;
+    static final int RECORD_NAME = 12;
+    static final int RECORD_DOWNLOAD_URL = 20;
+    static final int RECORD_FILE_TYPE = 28;
+    static final int RECORD_PRICE = 40;
+    static final int RECORD_FILE_SIZE = 48;
+
+    static final byte TYPE_PRODUCT = 0;
+    static final byte TYPE_DIGITAL_PRODUCT = 1;
+
+    static final int NULL_LENGTH = -1;
+
+    private CatalogFileFormat() {
+        // Constants only
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.storage;
+
+import com.example.model.Product;
+import com.example.model.DigitalProduct;
+import com.example.model.Money;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.example.storage.CatalogFileFormat.HEADER_HEAP_LENGTH;
+import static com.example.storage.CatalogFileFormat.HEADER_HEAP_OFFSET;
+import static com.example.storage.CatalogFileFormat.HEADER_MAGIC;
+import static com.example.storage.CatalogFileFormat.HEADER_RECORD_COUNT;
+import static com.example.storage.CatalogFileFormat.HEADER_RECORD_SIZE;
+import static com.example.storage.CatalogFileFormat.HEADER_SIZE;
+import static com.example.storage.CatalogFileFormat.HEADER_VERSION;
+import static com.example.storage.CatalogFileFormat.MAGIC;
+import static com.example.storage.CatalogFileFormat.NULL_LENGTH;
+import static com.example.storage.CatalogFileFormat.RECORD_DOWNLOAD_URL;
+import static com.example.storage.CatalogFileFormat.RECORD_FILE_SIZE;
+import static com.example.storage.CatalogFileFormat.RECORD_FILE_TYPE;
+import static com.example.storage.CatalogFileFormat.RECORD_NAME;
+import static com.example.storage.CatalogFileFormat.RECORD_PRICE;
+import static com.example.storage.CatalogFileFormat.RECORD_SIZE;
+import static com.example.storage.CatalogFileFormat.RECORD_SKU;
+import static com.example.storage.CatalogFileFormat.RECORD_TYPE;
+import static com.example.storage.CatalogFileFormat.TYPE_DIGITAL_PRODUCT;
+import static com.example.storage.CatalogFileFormat.VERSION;
+
+/**
+ * CatalogFileReader class - Reads a catalog file written by CatalogFileWriter by
+ * memory-mapping it. Opening a file only reads and checks the 32-byte header, so it
+ * is near-instant whatever the catalog size; the operating system pages records and
+ * strings in as they are touched. Fields are read straight from the mapped file, and
+ * Product objects are only built when asked for.
+ *
+ * The records and the string heap are mapped separately and each must be smaller
+ * than 2 GB (about 38 million records). Instances are safe for concurrent readers.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public class CatalogFileReader implements AutoCloseable {
+    private final FileChannel channel;
+    private final MappedByteBuffer records;
+    private final MappedByteBuffer heap;
+    private final int recordCount;
+
+    /**
+     * Opens and maps a catalog file.
+     *
+     * @param path The file to open.
+     * @throws IOException if the file cannot be read or is not a valid catalog file.
+     */
+    public CatalogFileReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                // Keep reading until the header is full or the file ends
+            }
+            if (header.hasRemaining() || header.getInt(HEADER_MAGIC) != MAGIC) {
+                throw new IOException("Not a catalog file: " + path);
+            }
+            if (header.getInt(HEADER_VERSION) != VERSION || header.getInt(HEADER_RECORD_SIZE) != RECORD_SIZE) {
+                throw new IOException("Unsupported catalog file version: " + header.getInt(HEADER_VERSION));
+            }
+            this.recordCount = header.getInt(HEADER_RECORD_COUNT);
+            long heapOffset = header.getLong(HEADER_HEAP_OFFSET);
+            long heapLength = header.getLong(HEADER_HEAP_LENGTH);
+            long recordsLength = (long) recordCount * RECORD_SIZE;
+            if (recordCount < 0 || heapOffset != HEADER_SIZE + recordsLength || heapOffset + heapLength > channel.size()) {
+                throw new IOException("Corrupt catalog file header: " + path);
+            }
+            this.records = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, recordsLength);
+            this.heap = channel.map(FileChannel.MapMode.READ_ONLY, heapOffset, heapLength);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the number of products in the file.
+     *
+     * @return The number of records.
+     */
+    public int size() {
+        return recordCount;
+    }
+
+    /**
+     * Finds the record index of a SKU with a binary search over the mapped records.
+     *
+     * @param sku The SKU to find.
+     * @return The record index, or -1 if the SKU is not in the file.
+     */
+    public int indexOf(String sku) {
+        if (sku == null) {
+            return -1;
+        }
+        byte[] key = sku.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = recordCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compareSku(middle, key);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Looks up a product by SKU and builds it.
+     *
+     * @param sku The SKU to look up.
+     * @return The product, or null if the SKU is not in the file.
+     */
+    public Product findBySku(String sku) {
+        int index = indexOf(sku);
+        return index < 0 ? null : readProduct(index);
+    }
+
+    /**
+     * Builds the product stored in a record.
+     *
+     * @param index The record index.
+     * @return A Product or DigitalProduct with the record's values.
+     */
+    public Product readProduct(int index) {
+        if (isDigital(index)) {
+            return new DigitalProduct(getName(index), getPrice(index), getSku(index), getDownloadUrl(index),
+                                      getFileType(index), getFileSizeMB(index));
+        }
+        return new Product(getName(index), getPrice(index), getSku(index));
+    }
+
+    // Field accessors that read directly from the mapped file
+    public boolean isDigital(int index) {
+        return records.get(recordBase(index) + RECORD_TYPE) == TYPE_DIGITAL_PRODUCT;
+    }
+
+    public String getSku(int index) {
+        return readString(recordBase(index) + RECORD_SKU);
+    }
+
+    public String getName(int index) {
+        return readString(recordBase(index) + RECORD_NAME);
+    }
+
+    public double getPrice(int index) {
+        return records.getDouble(recordBase(index) + RECORD_PRICE);
+    }
+
+    public String getDownloadUrl(int index) {
+        return readString(recordBase(index) + RECORD_DOWNLOAD_URL);
+    }
+
+    public String getFileType(int index) {
+        return readString(recordBase(index) + RECORD_FILE_TYPE);
+    }
+
+    public double getFileSizeMB(int index) {
+        return records.getDouble(recordBase(index) + RECORD_FILE_SIZE);
+    }
+
+    /**
+     * Sums every price with a sequential scan of the records, without building objects.
+     *
+     * @return The exact total price of the catalog.
+     */
+    public Money totalPrice() {
+        long totalCents = 0;
+        for (int index = 0; index < recordCount; index++) {
+            totalCents = Money.addCents(totalCents, Money.toCents(records.getDouble(index * RECORD_SIZE + RECORD_PRICE)));
+        }
+        return Money.ofCents(totalCents);
+    }
+
+    /**
+     * Counts the digital products with a sequential scan of the records.
+     *
+     * @return The number of digital products.
+     */
+    public int countDigital() {
+        int count = 0;
+        for (int index = 0; index < recordCount; index++) {
+            if (records.get(index * RECORD_SIZE + RECORD_TYPE) == TYPE_DIGITAL_PRODUCT) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Closes the file. The mapping itself is released when it is garbage collected.
+     *
+     * @throws IOException if the channel cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int recordBase(int index) {
+        if (index < 0 || index >= recordCount) {
+            throw new IndexOutOfBoundsException("Record " + index + " is outside the catalog of size " + recordCount);
+        }
+        return index * RECORD_SIZE;
+    }
+
+    private String readString(int referenceIndex) {
+        int offset = records.getInt(referenceIndex);
+        int length = records.getInt(referenceIndex + 4);
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        heap.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int compareSku(int index, byte[] key) {
+        int base = index * RECORD_SIZE + RECORD_SKU;
+        int offset = records.getInt(base);
+        int length = records.getInt(base + 4);
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int difference = Byte.toUnsignedInt(heap.get(offset + i)) - Byte.toUnsignedInt(key[i]);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return length - key.length;
+    }
+}
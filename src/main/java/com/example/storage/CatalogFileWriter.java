@@ -0,0 +1,186 @@
+package com.example.storage;
+
+import com.example.model.Product;
+import com.example.model.DigitalProduct;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.storage.CatalogFileFormat.HEADER_HEAP_LENGTH;
+import static com.example.storage.CatalogFileFormat.HEADER_HEAP_OFFSET;
+import static com.example.storage.CatalogFileFormat.HEADER_MAGIC;
+import static com.example.storage.CatalogFileFormat.HEADER_RECORD_COUNT;
+import static com.example.storage.CatalogFileFormat.HEADER_RECORD_SIZE;
+import static com.example.storage.CatalogFileFormat.HEADER_SIZE;
+import static com.example.storage.CatalogFileFormat.HEADER_VERSION;
+import static com.example.storage.CatalogFileFormat.MAGIC;
+import static com.example.storage.CatalogFileFormat.NULL_LENGTH;
+import static com.example.storage.CatalogFileFormat.RECORD_DOWNLOAD_URL;
+import static com.example.storage.CatalogFileFormat.RECORD_FILE_SIZE;
+import static com.example.storage.CatalogFileFormat.RECORD_FILE_TYPE;
+import static com.example.storage.CatalogFileFormat.RECORD_NAME;
+import static com.example.storage.CatalogFileFormat.RECORD_PRICE;
+import static com.example.storage.CatalogFileFormat.RECORD_SIZE;
+import static com.example.storage.CatalogFileFormat.RECORD_SKU;
+import static com.example.storage.CatalogFileFormat.RECORD_TYPE;
+import static com.example.storage.CatalogFileFormat.TYPE_DIGITAL_PRODUCT;
+import static com.example.storage.CatalogFileFormat.TYPE_PRODUCT;
+import static com.example.storage.CatalogFileFormat.VERSION;
+
+/**
+ * CatalogFileWriter class - Writes products to the binary catalog format read by
+ * CatalogFileReader. Records are sorted by SKU so the reader can binary-search the
+ * mapped file, and file type strings are stored in the heap once.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public final class CatalogFileWriter {
+
+    private CatalogFileWriter() {
+        // Utility class
+    }
+
+    /**
+     * Writes a catalog file, replacing any existing file at the path.
+     *
+     * @param path The file to write.
+     * @param products The products to store. SKUs must be non-null and unique.
+     * @throws IOException if the file cannot be written.
+     * @throws IllegalArgumentException if a SKU is missing or duplicated, or the catalog is too large.
+     */
+    public static void write(Path path, Collection<? extends Product> products) throws IOException {
+        List<Entry> entries = new ArrayList<>(products.size());
+        for (Product product : products) {
+            if (product.getSku() == null) {
+                throw new IllegalArgumentException("Product SKU must not be null");
+            }
+            entries.add(new Entry(product, product.getSku().getBytes(StandardCharsets.UTF_8)));
+        }
+        entries.sort((a, b) -> Arrays.compareUnsigned(a.skuBytes, b.skuBytes));
+        for (int i = 1; i < entries.size(); i++) {
+            if (Arrays.equals(entries.get(i - 1).skuBytes, entries.get(i).skuBytes)) {
+                throw new IllegalArgumentException("Duplicate SKU: " + entries.get(i).product.getSku());
+            }
+        }
+
+        long recordsLength = (long) entries.size() * RECORD_SIZE;
+        if (recordsLength > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many products for one catalog file: " + entries.size());
+        }
+        ByteBuffer records = ByteBuffer.allocate((int) recordsLength);
+        StringHeap heap = new StringHeap();
+        for (Entry entry : entries) {
+            Product product = entry.product;
+            int base = records.position();
+            boolean digital = product instanceof DigitalProduct;
+            records.put(base + RECORD_TYPE, digital ? TYPE_DIGITAL_PRODUCT : TYPE_PRODUCT);
+            heap.putReference(records, base + RECORD_SKU, entry.skuBytes);
+            heap.putReference(records, base + RECORD_NAME, product.getName());
+            records.putDouble(base + RECORD_PRICE, product.getPrice());
+            if (digital) {
+                DigitalProduct digitalProduct = (DigitalProduct) product;
+                heap.putReference(records, base + RECORD_DOWNLOAD_URL, digitalProduct.getDownloadUrl());
+                heap.putSharedReference(records, base + RECORD_FILE_TYPE, digitalProduct.getFileType());
+                records.putDouble(base + RECORD_FILE_SIZE, digitalProduct.getFileSizeMB());
+            } else {
+                heap.putReference(records, base + RECORD_DOWNLOAD_URL, (String) null);
+                heap.putReference(records, base + RECORD_FILE_TYPE, (String) null);
+            }
+            records.position(base + RECORD_SIZE);
+        }
+        records.flip();
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(HEADER_MAGIC, MAGIC);
+        header.putInt(HEADER_VERSION, VERSION);
+        header.putInt(HEADER_RECORD_COUNT, entries.size());
+        header.putInt(HEADER_RECORD_SIZE, RECORD_SIZE);
+        header.putLong(HEADER_HEAP_OFFSET, HEADER_SIZE + recordsLength);
+        header.putLong(HEADER_HEAP_LENGTH, heap.length);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer heapBuffer = ByteBuffer.wrap(heap.bytes, 0, heap.length);
+            ByteBuffer[] parts = {header, records, heapBuffer};
+            while (header.hasRemaining() || records.hasRemaining() || heapBuffer.hasRemaining()) {
+                channel.write(parts);
+            }
+            channel.force(false);
+        }
+    }
+
+    /**
+     * A product paired with its encoded SKU, used for sorting.
+     */
+    private static class Entry {
+        private final Product product;
+        private final byte[] skuBytes;
+
+        Entry(Product product, byte[] skuBytes) {
+            this.product = product;
+            this.skuBytes = skuBytes;
+        }
+    }
+
+    /**
+     * Growable UTF-8 string heap. Shared strings, such as file types, are stored once.
+     */
+    private static class StringHeap {
+        private byte[] bytes = new byte[4096];
+        private int length;
+        private final Map<String, Integer> sharedOffsets = new HashMap<>(); // Offsets of strings stored once
+
+        void putReference(ByteBuffer records, int index, String value) {
+            if (value == null) {
+                records.putInt(index, 0);
+                records.putInt(index + 4, NULL_LENGTH);
+            } else {
+                putReference(records, index, value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        void putSharedReference(ByteBuffer records, int index, String value) {
+            if (value == null) {
+                putReference(records, index, value);
+                return;
+            }
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            Integer offset = sharedOffsets.get(value);
+            if (offset == null) {
+                offset = append(encoded);
+                sharedOffsets.put(value, offset);
+            }
+            records.putInt(index, offset);
+            records.putInt(index + 4, encoded.length);
+        }
+
+        void putReference(ByteBuffer records, int index, byte[] encoded) {
+            records.putInt(index, append(encoded));
+            records.putInt(index + 4, encoded.length);
+        }
+
+        private int append(byte[] encoded) {
+            long required = (long) length + encoded.length;
+            if (required > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("String heap is larger than 2 GB");
+            }
+            if (required > bytes.length) {
+                bytes = Arrays.copyOf(bytes, (int) Math.min(Integer.MAX_VALUE - 8, Math.max(required, bytes.length * 2L)));
+            }
+            int offset = length;
+            System.arraycopy(encoded, 0, bytes, offset, encoded.length);
+            length += encoded.length;
+            return offset;
+        }
+    }
+}
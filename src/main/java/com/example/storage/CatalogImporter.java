@@ -0,0 +1,382 @@
+package com.example.storage;
+
+import com.example.model.Product;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * CatalogImporter class - Streams products out of large CSV or JSON-lines feeds.
+ * The calling thread reads the channel in fixed-size chunks and cuts it into batches
+ * of lines; a pool of workers parses and validates the batches in parallel; and the
+ * products are published to a Flow.Subscriber through a bounded SubmissionPublisher.
+ *
+ * Memory stays flat whatever the file size: only a fixed number of batches may be
+ * in flight, and when the subscriber falls behind the publisher's buffer fills,
+ * workers block, and the reader stops reading until the subscriber catches up.
+ *
+ * In ordered mode products are published in file order; in unordered mode each
+ * batch is published as soon as it is parsed. Invalid lines are counted and skipped.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public class CatalogImporter {
+    /** Supported feed formats. */
+    public enum Format {
+        CSV,
+        JSON_LINES
+    }
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int BATCH_SIZE = 512;
+    private static final int MAX_LINE_LENGTH = 1024 * 1024;
+
+    private final Format format;
+    private final int parseWorkers;
+    private final boolean ordered;
+    private final int subscriberBufferSize;
+
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong linesRead = new AtomicLong();
+    private final AtomicLong productsPublished = new AtomicLong();
+    private final AtomicLong linesRejected = new AtomicLong();
+    private final AtomicReference<String> lastRejection = new AtomicReference<>();
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    /**
+     * Constructor for CatalogImporter.
+     *
+     * @param format The feed format.
+     * @param parseWorkers The number of parse threads.
+     * @param ordered true to publish products in file order.
+     * @param subscriberBufferSize The number of products buffered for the subscriber (rounded up to a power of two).
+     */
+    public CatalogImporter(Format format, int parseWorkers, boolean ordered, int subscriberBufferSize) {
+        if (parseWorkers < 1 || subscriberBufferSize < 1) {
+            throw new IllegalArgumentException("parseWorkers and subscriberBufferSize must be positive");
+        }
+        this.format = format;
+        this.parseWorkers = parseWorkers;
+        this.ordered = ordered;
+        this.subscriberBufferSize = subscriberBufferSize;
+    }
+
+    /**
+     * Imports a feed, publishing every valid product to the subscriber. Blocks until the
+     * whole channel has been read and the subscriber has received every product followed
+     * by onComplete, or onError if reading failed.
+     *
+     * @param channel The channel to read; it is not closed.
+     * @param subscriber The subscriber that receives the products.
+     * @return The final progress figures.
+     * @throws IOException if the channel cannot be read.
+     */
+    public Progress importFrom(ReadableByteChannel channel, Flow.Subscriber<? super Product> subscriber) throws IOException {
+        resetProgress();
+        ExecutorService workers = Executors.newFixedThreadPool(parseWorkers, daemonThreads("import-parser"));
+        ExecutorService delivery = Executors.newSingleThreadExecutor(daemonThreads("import-delivery"));
+        SubmissionPublisher<Product> publisher = new SubmissionPublisher<>(delivery, subscriberBufferSize);
+        publisher.subscribe(subscriber);
+
+        Semaphore inFlight = new Semaphore(parseWorkers * 2);
+        Emitter emitter = new Emitter(publisher);
+        Function<String, Product> parser = format == Format.CSV ? ProductLineParser::parseCsv : ProductLineParser::parseJson;
+        try {
+            long sequence = 0;
+            LineReader reader = new LineReader(channel);
+            List<String> batch = new ArrayList<>(BATCH_SIZE);
+            String line;
+            while ((line = reader.nextLine()) != null) {
+                if (emitter.failure.get() != null) {
+                    break;
+                }
+                linesRead.incrementAndGet();
+                if (line.isEmpty() || (format == Format.CSV && linesRead.get() == 1 && ProductLineParser.isCsvHeader(line))) {
+                    continue;
+                }
+                batch.add(line);
+                if (batch.size() == BATCH_SIZE) {
+                    submitBatch(workers, inFlight, emitter, parser, sequence++, batch);
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+            if (!batch.isEmpty()) {
+                submitBatch(workers, inFlight, emitter, parser, sequence++, batch);
+            }
+            // Wait for every batch to be parsed and published
+            inFlight.acquireUninterruptibly(parseWorkers * 2);
+            Throwable failure = emitter.failure.get();
+            if (failure != null) {
+                publisher.closeExceptionally(failure);
+            } else {
+                publisher.close();
+            }
+        } catch (IOException | RuntimeException e) {
+            publisher.closeExceptionally(e);
+            throw e;
+        } finally {
+            workers.shutdown();
+            delivery.shutdown();
+        }
+        awaitDelivery(delivery);
+        endNanos = System.nanoTime();
+        return getProgress();
+    }
+
+    private void submitBatch(ExecutorService workers, Semaphore inFlight, Emitter emitter,
+                             Function<String, Product> parser, long sequence, List<String> lines) {
+        inFlight.acquireUninterruptibly();
+        workers.execute(() -> {
+            List<Product> products = new ArrayList<>(lines.size());
+            try {
+                for (String line : lines) {
+                    try {
+                        products.add(parser.apply(line));
+                    } catch (IllegalArgumentException e) {
+                        linesRejected.incrementAndGet();
+                        lastRejection.set(e.getMessage());
+                    }
+                }
+            } catch (RuntimeException e) {
+                emitter.failure.compareAndSet(null, e);
+                products.clear();
+            } finally {
+                // The emitter releases the batch's permit once it has been published
+                emitter.emit(sequence, products, inFlight);
+            }
+        });
+    }
+
+    /**
+     * Takes a snapshot of the import progress. Safe to call from any thread while an
+     * import is running.
+     *
+     * @return The current progress figures.
+     */
+    public Progress getProgress() {
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return new Progress(bytesRead.get(), linesRead.get(), productsPublished.get(), linesRejected.get(),
+                            lastRejection.get(), startNanos == 0 ? 0 : end - startNanos);
+    }
+
+    private void resetProgress() {
+        bytesRead.set(0);
+        linesRead.set(0);
+        productsPublished.set(0);
+        linesRejected.set(0);
+        lastRejection.set(null);
+        endNanos = 0;
+        startNanos = System.nanoTime();
+    }
+
+    private static void awaitDelivery(ExecutorService delivery) throws IOException {
+        try {
+            delivery.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the subscriber");
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return task -> {
+            Thread thread = new Thread(task, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Publishes parsed batches, reordering them by sequence number in ordered mode.
+     * SubmissionPublisher.submit() blocks while the subscriber's buffer is full, which
+     * is what pushes back on the workers and the reader.
+     */
+    private class Emitter {
+        private final SubmissionPublisher<Product> publisher;
+        private final Map<Long, List<Product>> pending = new HashMap<>();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private long nextSequence;
+
+        Emitter(SubmissionPublisher<Product> publisher) {
+            this.publisher = publisher;
+        }
+
+        synchronized void emit(long sequence, List<Product> products, Semaphore inFlight) {
+            if (!ordered) {
+                publish(products);
+                inFlight.release();
+                return;
+            }
+            // Parked batches keep their permits, so a slow batch cannot let the reader run ahead
+            pending.put(sequence, products);
+            List<Product> ready;
+            while ((ready = pending.remove(nextSequence)) != null) {
+                publish(ready);
+                nextSequence++;
+                inFlight.release();
+            }
+        }
+
+        private void publish(List<Product> products) {
+            for (Product product : products) {
+                if (publisher.isClosed() || failure.get() != null) {
+                    return;
+                }
+                publisher.submit(product);
+                productsPublished.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Splits a channel into UTF-8 lines, reading one fixed-size chunk at a time.
+     */
+    private class LineReader {
+        private final ReadableByteChannel channel;
+        private final ByteBuffer bytes = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        private final CharBuffer chars = CharBuffer.allocate(READ_BUFFER_SIZE);
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final StringBuilder line = new StringBuilder();
+        private boolean endOfInput;
+
+        LineReader(ReadableByteChannel channel) {
+            this.channel = channel;
+            chars.flip(); // Start empty, ready for reading
+        }
+
+        String nextLine() throws IOException {
+            while (true) {
+                while (chars.hasRemaining()) {
+                    char c = chars.get();
+                    if (c == '\n') {
+                        return takeLine();
+                    }
+                    if (line.length() >= MAX_LINE_LENGTH) {
+                        throw new IOException("Line " + (linesRead.get() + 1) + " is longer than " + MAX_LINE_LENGTH + " characters");
+                    }
+                    line.append(c);
+                }
+                if (endOfInput) {
+                    return line.length() > 0 ? takeLine() : null;
+                }
+                fill();
+            }
+        }
+
+        private void fill() throws IOException {
+            chars.clear();
+            int read = channel.read(bytes);
+            if (read < 0) {
+                endOfInput = true;
+            } else {
+                bytesRead.addAndGet(read);
+            }
+            bytes.flip();
+            CoderResult result = decoder.decode(bytes, chars, endOfInput);
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (endOfInput) {
+                decoder.flush(chars);
+            }
+            bytes.compact();
+            chars.flip();
+        }
+
+        private String takeLine() {
+            int end = line.length();
+            if (end > 0 && line.charAt(end - 1) == '\r') {
+                end--;
+            }
+            String result = line.substring(0, end);
+            line.setLength(0);
+            return result;
+        }
+    }
+
+    /**
+     * Progress class - A snapshot of import progress and throughput.
+     */
+    public static class Progress {
+        private final long bytesRead;
+        private final long linesRead;
+        private final long productsPublished;
+        private final long linesRejected;
+        private final String lastRejection;
+        private final long elapsedNanos;
+
+        Progress(long bytesRead, long linesRead, long productsPublished, long linesRejected,
+                 String lastRejection, long elapsedNanos) {
+            this.bytesRead = bytesRead;
+            this.linesRead = linesRead;
+            this.productsPublished = productsPublished;
+            this.linesRejected = linesRejected;
+            this.lastRejection = lastRejection;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        // Getters
+        public long getBytesRead() {
+            return bytesRead;
+        }
+
+        public long getLinesRead() {
+            return linesRead;
+        }
+
+        public long getProductsPublished() {
+            return productsPublished;
+        }
+
+        public long getLinesRejected() {
+            return linesRejected;
+        }
+
+        public String getLastRejection() {
+            return lastRejection;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getMegabytesPerSecond() {
+            return elapsedNanos == 0 ? 0 : bytesRead / 1_048_576.0 / (elapsedNanos / 1e9);
+        }
+
+        public double getProductsPerSecond() {
+            return elapsedNanos == 0 ? 0 : productsPublished / (elapsedNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return "Read " + bytesRead + " bytes / " + linesRead + " lines, published " + productsPublished
+                    + ", rejected " + linesRejected + " in " + (elapsedNanos / 1_000_000) + " ms ("
+                    + String.format("%.1f MB/s, %.0f products/s", getMegabytesPerSecond(), getProductsPerSecond()) + ")";
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.storage;
+
+import java.nio.ByteBuffer;
+
+/**
+ * ProductCodecFormat class - Layout constants and primitive encodings shared by
+ * ProductEncoder and ProductDecoder.
+ *
+ * A stream starts with a header and is followed by records:
+ * <pre>
+ * header   4 bytes magic, varint version
+ * record   varint tag, varint body length, body
+ * </pre>
+ * The body length lets a reader skip fields added to a record by a later version,
+ * and records with a tag it does not know, so new fields are only ever appended.
+ *
+ * Record bodies (version 1):
+ * <pre>
+ * DICTIONARY       varint index, string          defines the next dictionary entry
+ * PRODUCT          string sku, string name, decimal price
+ * DIGITAL_PRODUCT  the PRODUCT fields, shared URL prefix, string URL rest,
+ *                  shared file type, decimal file size
+ * </pre>
+ * A string is a varint of its UTF-8 length plus one, then the bytes; 0 means null.
+ * A shared string is 0 for null, an odd varint (index * 2 + 1) for a dictionary
+ * entry, or an even varint ((length + 1) * 2) followed by the bytes. The URL prefix
+ * is everything up to and including the last '/'. A decimal is a varint of
+ * zigzag(value * 100) + 1 when that is exact, as it is for prices, or 0 followed by
+ * the 8 bytes of the double. All fixed-width values are big-endian.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+final class ProductCodecFormat {
+    static final int MAGIC = 0x50434443; // "PCDC"
+    static final int VERSION = 1;
+
+    static final int TAG_DICTIONARY = 1;
+    static final int TAG_PRODUCT = 2;
+    static final int TAG_DIGITAL_PRODUCT = 3;
+
+    static final int MAX_DICTIONARY_SIZE = 4096;
+    static final int MAX_DICTIONARY_STRING_LENGTH = 256;
+    static final int MAX_RECORD_LENGTH = 16 * 1024 * 1024;
+
+    private static final long MAX_EXACT_CENTS = 1L << 53;
+
+    private ProductCodecFormat() {
+        // Constants and encodings only
+    }
+
+    static int varintSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    static void putVarint(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * Reads a varint that must end before limit.
+     *
+     * @return The value, or -1 if the varint is not complete before limit.
+     * @throws IllegalArgumentException if the varint is longer than ten bytes.
+     */
+    static long getVarint(ByteBuffer in, int limit) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (in.position() >= limit) {
+                return -1;
+            }
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                if (value < 0) {
+                    throw new IllegalArgumentException("Corrupt product stream: varint out of range");
+                }
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Corrupt product stream: varint longer than ten bytes");
+    }
+
+    /**
+     * Gets the varint that encodes a decimal exactly, or 0 if it needs the raw double.
+     */
+    static long decimalCode(double value) {
+        double scaled = value * 100;
+        if (!(Math.abs(scaled) < MAX_EXACT_CENTS)) {
+            return 0;
+        }
+        long cents = Math.round(scaled);
+        if (Double.doubleToRawLongBits(cents / 100.0) != Double.doubleToRawLongBits(value)) {
+            return 0; // Not whole cents, or -0.0
+        }
+        return ((cents << 1) ^ (cents >> 63)) + 1;
+    }
+
+    static int decimalSize(double value) {
+        long code = decimalCode(value);
+        return code == 0 ? 9 : varintSize(code);
+    }
+
+    static void putDecimal(ByteBuffer out, double value) {
+        long code = decimalCode(value);
+        putVarint(out, code);
+        if (code == 0) {
+            long bits = Double.doubleToRawLongBits(value);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                out.put((byte) (bits >>> shift));
+            }
+        }
+    }
+}
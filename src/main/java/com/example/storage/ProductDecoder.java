@@ -0,0 +1,247 @@
+package com.example.storage;
+
+import static com.example.storage.ProductCodecFormat.MAGIC;
+import static com.example.storage.ProductCodecFormat.MAX_DICTIONARY_SIZE;
+import static com.example.storage.ProductCodecFormat.MAX_RECORD_LENGTH;
+import static com.example.storage.ProductCodecFormat.TAG_DICTIONARY;
+import static com.example.storage.ProductCodecFormat.TAG_DIGITAL_PRODUCT;
+import static com.example.storage.ProductCodecFormat.TAG_PRODUCT;
+import static com.example.storage.ProductCodecFormat.getVarint;
+
+import com.example.model.DigitalProduct;
+import com.example.model.Product;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ProductDecoder class - Reads the binary stream written by ProductEncoder back into
+ * Products and DigitalProducts. See ProductCodecFormat for the layout.
+ *
+ * decode() takes whatever part of the stream is in the buffer. If the next product
+ * is not all there it returns null and leaves that product's bytes unread, so a
+ * caller reading from a channel compacts the buffer, reads more and calls it again.
+ * Strings are decoded straight from the buffer: from its backing array for heap
+ * buffers, and through a reused char array for direct ones.
+ *
+ * Records written by a later version may carry fields this decoder does not know;
+ * they are skipped, as are records with unknown tags. A decoder must be used for one
+ * stream only and is not thread-safe.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public final class ProductDecoder {
+    private final List<String> dictionary = new ArrayList<>();
+    private char[] chars = new char[64];
+    private int version; // 0 until the header has been read
+
+    /**
+     * Decodes the next product, reading past any dictionary records before it.
+     *
+     * @param in The buffer to read from, positioned at the next unread byte of the stream.
+     * @return The product, or null if the buffer does not yet hold all of it.
+     * @throws IllegalArgumentException if the stream is not a product stream or is corrupt.
+     */
+    public Product decode(ByteBuffer in) {
+        while (true) {
+            int start = in.position();
+            if (version == 0 && !readHeader(in)) {
+                in.position(start);
+                return null;
+            }
+            int recordStart = in.position();
+            long tag = getVarint(in, in.limit());
+            long length = tag < 0 ? -1 : getVarint(in, in.limit());
+            if (length > MAX_RECORD_LENGTH) {
+                throw corrupt("record of " + length + " bytes");
+            }
+            if (length < 0 || in.remaining() < length) {
+                in.position(recordStart);
+                return null;
+            }
+            int end = in.position() + (int) length;
+            Product product = null;
+            if (tag == TAG_DICTIONARY) {
+                readDictionaryEntry(in, end);
+            } else if (tag == TAG_PRODUCT || tag == TAG_DIGITAL_PRODUCT) {
+                product = readProduct(in, end, tag == TAG_DIGITAL_PRODUCT);
+            }
+            in.position(end); // Skips fields and records added by later versions
+            if (product != null) {
+                return product;
+            }
+        }
+    }
+
+    /**
+     * Gets the format version the stream was written with.
+     *
+     * @return The version, or 0 if the header has not been read yet.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the number of strings the dictionary holds.
+     *
+     * @return The dictionary size.
+     */
+    public int getDictionarySize() {
+        return dictionary.size();
+    }
+
+    private boolean readHeader(ByteBuffer in) {
+        if (in.remaining() < 4) {
+            return false;
+        }
+        int magic = 0;
+        for (int i = 0; i < 4; i++) {
+            magic = (magic << 8) | (in.get() & 0xFF);
+        }
+        if (magic != MAGIC) {
+            throw new IllegalArgumentException("Not a product stream");
+        }
+        long streamVersion = getVarint(in, in.limit());
+        if (streamVersion < 0) {
+            return false;
+        }
+        if (streamVersion < 1 || streamVersion > Integer.MAX_VALUE) {
+            throw corrupt("version " + streamVersion);
+        }
+        version = (int) streamVersion;
+        return true;
+    }
+
+    private void readDictionaryEntry(ByteBuffer in, int end) {
+        long index = field(in, end);
+        if (index != dictionary.size() || index >= MAX_DICTIONARY_SIZE) {
+            throw corrupt("dictionary entry " + index + " after " + dictionary.size() + " entries");
+        }
+        String text = readString(in, end);
+        if (text == null) {
+            throw corrupt("null dictionary entry");
+        }
+        dictionary.add(text);
+    }
+
+    private Product readProduct(ByteBuffer in, int end, boolean digital) {
+        String sku = readString(in, end);
+        String name = readString(in, end);
+        double price = readDecimal(in, end);
+        if (!digital) {
+            return new Product(name, price, sku);
+        }
+        String url;
+        long prefixCode = field(in, end);
+        if (prefixCode == 0) {
+            field(in, end); // The rest of a null URL is null too
+            url = null;
+        } else {
+            String prefix = (prefixCode & 1) != 0 ? entry(prefixCode) : readBytes(in, end, (prefixCode >>> 1) - 1);
+            String rest = readString(in, end);
+            url = rest == null ? prefix : prefix.concat(rest);
+        }
+        String fileType = readSharedString(in, end);
+        double fileSizeMB = readDecimal(in, end);
+        return new DigitalProduct(name, price, sku, url, fileType, fileSizeMB);
+    }
+
+    private String readSharedString(ByteBuffer in, int end) {
+        long code = field(in, end);
+        if (code == 0) {
+            return null;
+        }
+        return (code & 1) != 0 ? entry(code) : readBytes(in, end, (code >>> 1) - 1);
+    }
+
+    private String entry(long code) {
+        long index = code >>> 1;
+        if (index >= dictionary.size()) {
+            throw corrupt("unknown dictionary entry " + index);
+        }
+        return dictionary.get((int) index);
+    }
+
+    private String readString(ByteBuffer in, int end) {
+        long code = field(in, end);
+        return code == 0 ? null : readBytes(in, end, code - 1);
+    }
+
+    private double readDecimal(ByteBuffer in, int end) {
+        long code = field(in, end);
+        if (code != 0) {
+            long zigzag = code - 1;
+            return ((zigzag >>> 1) ^ -(zigzag & 1)) / 100.0;
+        }
+        if (end - in.position() < 8) {
+            throw corrupt("truncated double");
+        }
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits = (bits << 8) | (in.get() & 0xFF);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    private String readBytes(ByteBuffer in, int end, long length) {
+        int position = in.position();
+        if (length > end - position) {
+            throw corrupt("string of " + length + " bytes overruns its record");
+        }
+        int count = (int) length;
+        in.position(position + count);
+        if (in.hasArray()) {
+            return new String(in.array(), in.arrayOffset() + position, count, StandardCharsets.UTF_8);
+        }
+        return decodeUtf8(in, position, count);
+    }
+
+    /** Decodes UTF-8 from a direct buffer, replacing malformed sequences with U+FFFD. */
+    private String decodeUtf8(ByteBuffer in, int position, int count) {
+        if (chars.length < count) {
+            chars = new char[Math.max(count, chars.length * 2)];
+        }
+        int length = 0;
+        int end = position + count;
+        int i = position;
+        while (i < end) {
+            int b = in.get(i++);
+            if (b >= 0) {
+                chars[length++] = (char) b;
+                continue;
+            }
+            int extra = (b & 0xE0) == 0xC0 ? 1 : (b & 0xF0) == 0xE0 ? 2 : (b & 0xF8) == 0xF0 ? 3 : -1;
+            int codePoint = extra == 1 ? b & 0x1F : extra == 2 ? b & 0x0F : b & 0x07;
+            int j = 0;
+            while (j < extra && i + j < end && (in.get(i + j) & 0xC0) == 0x80) {
+                codePoint = (codePoint << 6) | (in.get(i + j) & 0x3F);
+                j++;
+            }
+            int min = extra == 1 ? 0x80 : extra == 2 ? 0x800 : 0x10000;
+            if (extra < 0 || j < extra || codePoint < min || codePoint > Character.MAX_CODE_POINT
+                || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+                chars[length++] = '\uFFFD';
+                i += Math.max(j, 0);
+                continue;
+            }
+            i += j;
+            length += Character.toChars(codePoint, chars, length);
+        }
+        return new String(chars, 0, length);
+    }
+
+    private static long field(ByteBuffer in, int end) {
+        long value = getVarint(in, end);
+        if (value < 0) {
+            throw corrupt("field overruns its record");
+        }
+        return value;
+    }
+
+    private static IllegalArgumentException corrupt(String detail) {
+        return new IllegalArgumentException("Corrupt product stream: " + detail);
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.storage;
+
+import static com.example.storage.ProductCodecFormat.MAGIC;
+import static com.example.storage.ProductCodecFormat.MAX_DICTIONARY_SIZE;
+import static com.example.storage.ProductCodecFormat.MAX_DICTIONARY_STRING_LENGTH;
+import static com.example.storage.ProductCodecFormat.MAX_RECORD_LENGTH;
+import static com.example.storage.ProductCodecFormat.TAG_DICTIONARY;
+import static com.example.storage.ProductCodecFormat.TAG_DIGITAL_PRODUCT;
+import static com.example.storage.ProductCodecFormat.TAG_PRODUCT;
+import static com.example.storage.ProductCodecFormat.VERSION;
+import static com.example.storage.ProductCodecFormat.decimalSize;
+import static com.example.storage.ProductCodecFormat.putDecimal;
+import static com.example.storage.ProductCodecFormat.putVarint;
+import static com.example.storage.ProductCodecFormat.varintSize;
+
+import com.example.model.DigitalProduct;
+import com.example.model.Product;
+import com.example.model.ProductFormatter;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ProductEncoder class - Writes Products and DigitalProducts to a compact binary
+ * stream read by ProductDecoder. See ProductCodecFormat for the layout.
+ *
+ * Products are encoded straight into the caller's ByteBuffer, strings included,
+ * with no intermediate byte arrays. encode() writes a product only if it fits in
+ * full, so a caller streaming to a channel encodes until it returns false, writes
+ * the buffer out and carries on.
+ *
+ * With the dictionary on, each file type and download URL prefix is sent once and
+ * then referred to by a small index, which is where most of the bytes of a digital
+ * product go. The dictionary belongs to the stream, so an encoder must be used for
+ * one stream only and, like the decoder, is not thread-safe.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+public final class ProductEncoder {
+    private static final int HEADER_SIZE = 4 + varintSize(VERSION);
+
+    private final boolean useDictionary;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private boolean headerWritten;
+    private String lastPrefix; // The URL prefix of the last digital product, to skip the map lookup
+    private int lastPrefixIndex = -1;
+
+    /**
+     * Default constructor for ProductEncoder, with the dictionary on.
+     */
+    public ProductEncoder() {
+        this(true);
+    }
+
+    /**
+     * Constructor for ProductEncoder.
+     *
+     * @param useDictionary Whether to send repeated file types and URL prefixes by index.
+     */
+    public ProductEncoder(boolean useDictionary) {
+        this.useDictionary = useDictionary;
+    }
+
+    /**
+     * Encodes one product, after the stream header if this is the first one.
+     *
+     * @param product The product to encode.
+     * @param out The buffer to write to.
+     * @return true if the product was written, or false if it did not fit, in which
+     *         case nothing was written.
+     * @throws IllegalArgumentException if the product is null or its record is larger than 16 MB.
+     */
+    public boolean encode(Product product, ByteBuffer out) {
+        if (product == null) {
+            throw new IllegalArgumentException("Product cannot be null");
+        }
+        String sku = product.getSku();
+        String name = product.getName();
+        int bodySize = stringSize(sku) + stringSize(name) + decimalSize(product.getPrice());
+        int size = headerWritten ? 0 : HEADER_SIZE;
+        int tag = TAG_PRODUCT;
+
+        DigitalProduct digital = null;
+        String url = null;
+        int split = 0;
+        String prefix = null; // Set when the prefix had to be looked up in the dictionary
+        String newPrefix = null;
+        int prefixIndex = -1;
+        String fileType = null;
+        int fileTypeIndex = -1;
+        boolean newFileType = false;
+        if (product instanceof DigitalProduct) {
+            digital = (DigitalProduct) product;
+            tag = TAG_DIGITAL_PRODUCT;
+            int nextIndex = dictionary.size();
+
+            url = digital.getDownloadUrl();
+            if (url != null) {
+                split = url.lastIndexOf('/') + 1;
+                if (lastPrefix != null && split == lastPrefix.length() && url.startsWith(lastPrefix)) {
+                    prefixIndex = lastPrefixIndex;
+                } else if (useDictionary && split > 0 && split <= MAX_DICTIONARY_STRING_LENGTH) {
+                    prefix = url.substring(0, split);
+                    Integer index = dictionary.get(prefix);
+                    if (index != null) {
+                        prefixIndex = index;
+                    } else if (nextIndex < MAX_DICTIONARY_SIZE) {
+                        newPrefix = prefix;
+                        prefixIndex = nextIndex++;
+                        size += dictionaryRecordSize(prefixIndex, prefix);
+                    }
+                }
+                bodySize += prefixIndex >= 0 ? varintSize(prefixIndex * 2L + 1) : literalSize(url, 0, split);
+                bodySize += stringSize(url, split, url.length());
+            } else {
+                bodySize += 2; // Null prefix and rest
+            }
+
+            fileType = digital.getFileType();
+            if (useDictionary && fileType != null && fileType.length() <= MAX_DICTIONARY_STRING_LENGTH) {
+                Integer index = dictionary.get(fileType);
+                if (index != null) {
+                    fileTypeIndex = index;
+                } else if (fileType.equals(newPrefix)) {
+                    fileTypeIndex = prefixIndex;
+                } else if (nextIndex < MAX_DICTIONARY_SIZE) {
+                    newFileType = true;
+                    fileTypeIndex = nextIndex;
+                    size += dictionaryRecordSize(fileTypeIndex, fileType);
+                }
+            }
+            bodySize += fileTypeIndex >= 0 ? varintSize(fileTypeIndex * 2L + 1)
+                : fileType == null ? 1 : literalSize(fileType, 0, fileType.length());
+            bodySize += decimalSize(digital.getFileSizeMB());
+        }
+        if (bodySize > MAX_RECORD_LENGTH) {
+            throw new IllegalArgumentException("Product record is larger than " + MAX_RECORD_LENGTH + " bytes");
+        }
+        size += varintSize(tag) + varintSize(bodySize) + bodySize;
+        if (out.remaining() < size) {
+            return false;
+        }
+
+        if (!headerWritten) {
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                out.put((byte) (MAGIC >>> shift)); // Big-endian whatever the buffer's order
+            }
+            putVarint(out, VERSION);
+            headerWritten = true;
+        }
+        if (newPrefix != null) {
+            putDictionaryRecord(out, prefixIndex, newPrefix);
+        }
+        if (newFileType) {
+            putDictionaryRecord(out, fileTypeIndex, fileType);
+        }
+        putVarint(out, tag);
+        putVarint(out, bodySize);
+        putString(out, sku, 0, sku == null ? 0 : sku.length());
+        putString(out, name, 0, name == null ? 0 : name.length());
+        putDecimal(out, product.getPrice());
+        if (digital != null) {
+            if (url == null) {
+                out.put((byte) 0);
+                out.put((byte) 0);
+            } else {
+                if (prefixIndex >= 0) {
+                    putVarint(out, prefixIndex * 2L + 1);
+                    if (prefix != null) {
+                        lastPrefix = prefix;
+                        lastPrefixIndex = prefixIndex;
+                    }
+                } else {
+                    putLiteral(out, url, 0, split);
+                }
+                putString(out, url, split, url.length());
+            }
+            if (fileTypeIndex >= 0) {
+                putVarint(out, fileTypeIndex * 2L + 1);
+            } else if (fileType == null) {
+                out.put((byte) 0);
+            } else {
+                putLiteral(out, fileType, 0, fileType.length());
+            }
+            putDecimal(out, digital.getFileSizeMB());
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of strings the dictionary holds.
+     *
+     * @return The dictionary size.
+     */
+    public int getDictionarySize() {
+        return dictionary.size();
+    }
+
+    private void putDictionaryRecord(ByteBuffer out, int index, String text) {
+        dictionary.put(text, index);
+        putVarint(out, TAG_DICTIONARY);
+        putVarint(out, varintSize(index) + stringSize(text));
+        putVarint(out, index);
+        putString(out, text, 0, text.length());
+    }
+
+    private static int dictionaryRecordSize(int index, String text) {
+        int bodySize = varintSize(index) + stringSize(text);
+        return varintSize(TAG_DICTIONARY) + varintSize(bodySize) + bodySize;
+    }
+
+    private static int stringSize(String text) {
+        return text == null ? 1 : stringSize(text, 0, text.length());
+    }
+
+    private static int stringSize(String text, int from, int end) {
+        int bytes = ProductFormatter.utf8Length(text, from, end);
+        return varintSize(bytes + 1L) + bytes;
+    }
+
+    private static int literalSize(String text, int from, int end) {
+        int bytes = ProductFormatter.utf8Length(text, from, end);
+        return varintSize((bytes + 1L) * 2) + bytes;
+    }
+
+    private static void putString(ByteBuffer out, String text, int from, int end) {
+        if (text == null) {
+            out.put((byte) 0);
+            return;
+        }
+        putVarint(out, ProductFormatter.utf8Length(text, from, end) + 1L);
+        ProductFormatter.writeUtf8(text, from, end, out);
+    }
+
+    private static void putLiteral(ByteBuffer out, String text, int from, int end) {
+        putVarint(out, (ProductFormatter.utf8Length(text, from, end) + 1L) * 2);
+        ProductFormatter.writeUtf8(text, from, end, out);
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.storage;
+
+import com.example.model.Product;
+import com.example.model.DigitalProduct;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * ProductLineParser class - Parses and validates one line of a supplier feed.
+ *
+ * CSV lines have the columns type,sku,name,price,downloadUrl,fileType,fileSizeMB,
+ * where type is "physical" or "digital" and the last three columns are only used
+ * for digital products. Fields may be quoted, with "" for a literal quote.
+ *
+ * JSON lines hold one flat object per line with the same keys, for example
+ * {"type":"digital","sku":"EBOOK-001","name":"E-Book","price":29.99,"downloadUrl":"...","fileType":"PDF","fileSizeMB":25.5}
+ *
+ * Invalid lines throw IllegalArgumentException.
+ *
+ * @author Student Developer
+ * @version 1.0.0
+ */
+final class ProductLineParser {
+    private static final Pattern VALID_SKU = Pattern.compile("[A-Za-z0-9][A-Za-z0-9_.-]{0,63}");
+
+    private ProductLineParser() {
+        // Utility class
+    }
+
+    /**
+     * Parses one CSV line.
+     *
+     * @param line The line, without its line terminator.
+     * @return The product.
+     * @throws IllegalArgumentException if the line is malformed or fails validation.
+     */
+    static Product parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() != 4 && fields.size() != 7) {
+            throw new IllegalArgumentException("Expected 4 or 7 CSV fields but found " + fields.size());
+        }
+        Map<String, String> values = new HashMap<>();
+        values.put("type", fields.get(0));
+        values.put("sku", fields.get(1));
+        values.put("name", fields.get(2));
+        values.put("price", fields.get(3));
+        if (fields.size() == 7) {
+            values.put("downloadUrl", emptyToNull(fields.get(4)));
+            values.put("fileType", emptyToNull(fields.get(5)));
+            values.put("fileSizeMB", emptyToNull(fields.get(6)));
+        }
+        return toProduct(values);
+    }
+
+    /**
+     * Parses one JSON line holding a flat object.
+     *
+     * @param line The line, without its line terminator.
+     * @return The product.
+     * @throws IllegalArgumentException if the line is malformed or fails validation.
+     */
+    static Product parseJson(String line) {
+        return toProduct(parseFlatJsonObject(line));
+    }
+
+    /**
+     * Checks whether a CSV line is the optional header row.
+     *
+     * @param line The line to check.
+     * @return true if the line is a header.
+     */
+    static boolean isCsvHeader(String line) {
+        return line.startsWith("type,");
+    }
+
+    private static Product toProduct(Map<String, String> values) {
+        String type = values.get("type");
+        String sku = values.get("sku");
+        if (sku == null || !VALID_SKU.matcher(sku).matches()) {
+            throw new IllegalArgumentException("Invalid SKU: " + sku);
+        }
+        String name = values.get("name");
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Missing name for SKU " + sku);
+        }
+        double price = parseNonNegative(values.get("price"), "price", sku);
+
+        if ("physical".equals(type)) {
+            return new Product(name, price, sku);
+        }
+        if ("digital".equals(type)) {
+            String fileSize = values.get("fileSizeMB");
+            double fileSizeMB = fileSize == null ? 0 : parseNonNegative(fileSize, "fileSizeMB", sku);
+            return new DigitalProduct(name, price, sku, values.get("downloadUrl"), values.get("fileType"), fileSizeMB);
+        }
+        throw new IllegalArgumentException("Unknown product type '" + type + "' for SKU " + sku);
+    }
+
+    private static double parseNonNegative(String text, String field, String sku) {
+        double value;
+        try {
+            value = Double.parseDouble(text);
+        } catch (NumberFormatException | NullPointerException e) {
+            throw new IllegalArgumentException("Invalid " + field + " for SKU " + sku + ": " + text);
+        }
+        if (!(value >= 0) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Invalid " + field + " for SKU " + sku + ": " + text);
+        }
+        return value;
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(7);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static Map<String, String> parseFlatJsonObject(String line) {
+        Map<String, String> values = new HashMap<>();
+        int[] position = {skipWhitespace(line, 0)};
+        expect(line, position, '{');
+        if (peek(line, position) == '}') {
+            position[0]++;
+        } else {
+            while (true) {
+                String key = readJsonString(line, position);
+                expect(line, position, ':');
+                position[0] = skipWhitespace(line, position[0]);
+                values.put(key, readJsonValue(line, position));
+                char next = peek(line, position);
+                position[0]++;
+                if (next == '}') {
+                    break;
+                }
+                if (next != ',') {
+                    throw new IllegalArgumentException("Expected ',' or '}' at position " + (position[0] - 1));
+                }
+            }
+        }
+        if (skipWhitespace(line, position[0]) != line.length()) {
+            throw new IllegalArgumentException("Unexpected text after JSON object");
+        }
+        return values;
+    }
+
+    private static String readJsonValue(String line, int[] position) {
+        char c = peek(line, position);
+        if (c == '"') {
+            return readJsonString(line, position);
+        }
+        int start = position[0];
+        while (position[0] < line.length() && ",} \t".indexOf(line.charAt(position[0])) < 0) {
+            position[0]++;
+        }
+        String literal = line.substring(start, position[0]);
+        if (literal.equals("null")) {
+            return null;
+        }
+        if (literal.isEmpty() || literal.equals("true") || literal.equals("false") || c == '{' || c == '[') {
+            throw new IllegalArgumentException("Unsupported JSON value at position " + start);
+        }
+        return literal;
+    }
+
+    private static String readJsonString(String line, int[] position) {
+        expect(line, position, '"');
+        StringBuilder value = new StringBuilder();
+        while (position[0] < line.length()) {
+            char c = line.charAt(position[0]++);
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            if (position[0] >= line.length()) {
+                break;
+            }
+            char escaped = line.charAt(position[0]++);
+            switch (escaped) {
+                case 'n': value.append('\n'); break;
+                case 't': value.append('\t'); break;
+                case 'r': value.append('\r'); break;
+                case 'b': value.append('\b'); break;
+                case 'f': value.append('\f'); break;
+                case 'u':
+                    if (position[0] + 4 > line.length()) {
+                        throw new IllegalArgumentException("Truncated unicode escape");
+                    }
+                    value.append((char) Integer.parseInt(line.substring(position[0], position[0] + 4), 16));
+                    position[0] += 4;
+                    break;
+                default: value.append(escaped); // \" \\ \/
+            }
+        }
+        throw new IllegalArgumentException("Unterminated JSON string");
+    }
+
+    private static void expect(String line, int[] position, char expected) {
+        position[0] = skipWhitespace(line, position[0]);
+        if (position[0] >= line.length() || line.charAt(position[0]) != expected) {
+            throw new IllegalArgumentException("Expected '" + expected + "' at position " + position[0]);
+        }
+        position[0]++;
+    }
+
+    private static char peek(String line, int[] position) {
+        position[0] = skipWhitespace(line, position[0]);
+        if (position[0] >= line.length()) {
+            throw new IllegalArgumentException("Unexpected end of JSON line");
+        }
+        return line.charAt(position[0]);
+    }
+
+    private static int skipWhitespace(String line, int position) {
+        while (position < line.length() && Character.isWhitespace(line.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.benchmark;
+
+import com.example.model.Product;
+import com.example.model.DigitalProduct;
+import com.example.model.OffHeapProduct;
+import com.example.model.ProductArena;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark comparing a catalog held as Product objects with the same catalog in a
+ * ProductArena: retained heap, off-heap bytes, the time of a full GC with the catalog
+ * live, and the time to scan every price and look up every SKU.
+ *
+ * Usage: java com.example.benchmark.ArenaBenchmark [products]
+ * Defaults to 1,000,000 products, half of them digital.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class ArenaBenchmark {
+
+    /**
+     * Main method to run the benchmark.
+     *
+     * @param args command line arguments (products)
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.println("=== Off-Heap Arena: " + count + " products ===");
+
+        long baseline = usedHeap();
+        List<Product> objects = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            objects.add(createProduct(i));
+        }
+        long objectHeap = usedHeap() - baseline;
+        long objectGc = timeFullGc();
+        report("Product objects", objectHeap, 0, objectGc);
+        long objectScan = time(() -> {
+            long cents = 0;
+            for (Product product : objects) {
+                cents += product.getPriceCents();
+            }
+            return cents;
+        });
+        objects.clear();
+
+        baseline = usedHeap();
+        try (ProductArena arena = new ProductArena()) {
+            for (int i = 0; i < count; i++) {
+                arena.add(createProduct(i));
+            }
+            long arenaHeap = usedHeap() - baseline;
+            long arenaGc = timeFullGc();
+            report("ProductArena", arenaHeap, arena.getLiveBytes(), arenaGc);
+            OffHeapProduct view = arena.view(arena.nextLive(0));
+            long arenaScan = time(() -> {
+                long cents = 0;
+                for (int id = arena.nextLive(0); id >= 0; id = arena.nextLive(id + 1)) {
+                    cents += view.moveTo(id).getPriceCents();
+                }
+                return cents;
+            });
+            long lookups = time(() -> {
+                long found = 0;
+                for (int i = 0; i < count; i += 10) {
+                    found += arena.find("SKU-" + i);
+                }
+                return found;
+            });
+            System.out.printf("%-16s price scan %8.2f ns/product%n", "Product objects", (double) objectScan / count);
+            System.out.printf("%-16s price scan %8.2f ns/product%n", "ProductArena", (double) arenaScan / count);
+            System.out.printf("%-16s SKU lookup %8.2f ns/lookup%n", "ProductArena", lookups / (count / 10.0));
+        }
+    }
+
+    private static Product createProduct(int i) {
+        if (i % 2 == 0) {
+            return new Product("Physical product number " + i, 10 + i % 1000 / 100.0, "SKU-" + i);
+        }
+        return new DigitalProduct("Digital product number " + i, 5 + i % 500 / 100.0, "SKU-" + i,
+                                  "https://downloads.example.com/products/" + i, i % 3 == 0 ? "PDF" : "MP3", 12.5);
+    }
+
+    private static void report(String label, long heapBytes, long offHeapBytes, long gcNanos) {
+        System.out.printf("%-16s heap %8.1f MB  off-heap %8.1f MB  full GC %6.1f ms%n", label,
+                          heapBytes / 1e6, offHeapBytes / 1e6, gcNanos / 1e6);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long timeFullGc() {
+        long start = System.nanoTime();
+        System.gc();
+        return System.nanoTime() - start;
+    }
+
+    private static long time(java.util.function.LongSupplier work) {
+        long sink = 0;
+        for (int i = 0; i < 3; i++) {
+            sink += work.getAsLong(); // Warm up
+        }
+        long start = System.nanoTime();
+        sink += work.getAsLong();
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) {
+            System.out.println();
+        }
+        return elapsed;
+    }
+}
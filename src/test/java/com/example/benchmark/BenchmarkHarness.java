@@ -0,0 +1,254 @@
+package com.example.benchmark;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A small benchmark harness in the spirit of JMH, for benchmarks that run as plain
+ * main classes. Each benchmark runs for a number of timed warm-up iterations, then
+ * for a number of measured iterations; each iteration calls the benchmark in batches
+ * until the iteration time has passed. For every benchmark it reports the mean time
+ * per operation with its standard deviation, the bytes allocated per operation and
+ * the garbage collections during measurement, like JMH's "-prof gc".
+ *
+ * Results can be written to a JSON-lines file (one object per benchmark, in run
+ * order) so that runs from two releases can be diffed or loaded into a spreadsheet.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class BenchmarkHarness {
+    private static volatile long sink;
+
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationNanos;
+    private final List<Result> results = new ArrayList<>();
+
+    /**
+     * Benchmark interface - The code under test.
+     */
+    @FunctionalInterface
+    public interface Benchmark {
+        /**
+         * Runs the operation a number of times.
+         *
+         * @param operations How many operations to run.
+         * @return Any value derived from the work, so the JIT cannot remove it.
+         */
+        long run(int operations);
+    }
+
+    /**
+     * Constructor for BenchmarkHarness.
+     *
+     * @param warmupIterations The number of unmeasured iterations.
+     * @param measurementIterations The number of measured iterations.
+     * @param iterationMillis How long each iteration runs, in milliseconds.
+     */
+    public BenchmarkHarness(int warmupIterations, int measurementIterations, long iterationMillis) {
+        if (warmupIterations < 0 || measurementIterations < 1 || iterationMillis < 1) {
+            throw new IllegalArgumentException("Need at least one measurement iteration of at least 1 ms");
+        }
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+    }
+
+    /**
+     * Runs a benchmark, prints its result line and keeps the result.
+     *
+     * @param name The benchmark name.
+     * @param params The parameters, e.g. "cartSize=1000", or "" if there are none.
+     * @param benchmark The code under test.
+     * @return The result.
+     */
+    public Result run(String name, String params, Benchmark benchmark) {
+        int batch = calibrate(benchmark);
+        for (int i = 0; i < warmupIterations; i++) {
+            iteration(benchmark, batch);
+        }
+
+        long gcCountBefore = gcCount();
+        long gcTimeBefore = gcTimeMillis();
+        long allocatedBefore = allocatedBytes();
+        double[] nanosPerOp = new double[measurementIterations];
+        long operations = 0;
+        for (int i = 0; i < measurementIterations; i++) {
+            long[] iteration = iteration(benchmark, batch);
+            operations += iteration[0];
+            nanosPerOp[i] = iteration[1] / (double) iteration[0];
+        }
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        double mean = 0;
+        for (double value : nanosPerOp) {
+            mean += value;
+        }
+        mean /= nanosPerOp.length;
+        double variance = 0;
+        for (double value : nanosPerOp) {
+            variance += (value - mean) * (value - mean);
+        }
+        double stdev = nanosPerOp.length > 1 ? Math.sqrt(variance / (nanosPerOp.length - 1)) : 0;
+
+        Result result = new Result(name, params, mean, stdev, allocated < 0 ? -1 : allocated / (double) operations,
+                                   gcCount() - gcCountBefore, gcTimeMillis() - gcTimeBefore);
+        results.add(result);
+        System.out.println(result);
+        return result;
+    }
+
+    /**
+     * Gets every result so far, in run order.
+     *
+     * @return The results.
+     */
+    public List<Result> getResults() {
+        return results;
+    }
+
+    /**
+     * Writes every result so far as JSON lines.
+     *
+     * @param file The file to write, replaced if it exists.
+     * @throws IOException if the file cannot be written.
+     */
+    public void writeResults(Path file) throws IOException {
+        StringBuilder json = new StringBuilder();
+        for (Result result : results) {
+            result.appendJson(json).append('\n');
+        }
+        Files.write(file, json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Finds a batch size that takes about a millisecond, so timer overhead is negligible. */
+    private static int calibrate(Benchmark benchmark) {
+        int batch = 1;
+        while (batch < (1 << 24)) {
+            long start = System.nanoTime();
+            sink += benchmark.run(batch);
+            if (System.nanoTime() - start >= 1_000_000L) {
+                break;
+            }
+            batch <<= 1;
+        }
+        return batch;
+    }
+
+    /** Runs one iteration and returns {operations, elapsed nanoseconds}. */
+    private long[] iteration(Benchmark benchmark, int batch) {
+        long operations = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            sink += benchmark.run(batch);
+            operations += batch;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < iterationNanos);
+        return new long[] {operations, elapsed};
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcTimeMillis() {
+        long time = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, collector.getCollectionTime());
+        }
+        return time;
+    }
+
+    /** Bytes allocated by the current thread, or -1 if the JVM cannot tell. */
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * Result class - The measurements of one benchmark run.
+     */
+    public static class Result {
+        private final String name;
+        private final String params;
+        private final double nanosPerOp;
+        private final double stdevNanos;
+        private final double bytesPerOp;
+        private final long gcCount;
+        private final long gcTimeMillis;
+
+        Result(String name, String params, double nanosPerOp, double stdevNanos, double bytesPerOp,
+               long gcCount, long gcTimeMillis) {
+            this.name = name;
+            this.params = params;
+            this.nanosPerOp = nanosPerOp;
+            this.stdevNanos = stdevNanos;
+            this.bytesPerOp = bytesPerOp;
+            this.gcCount = gcCount;
+            this.gcTimeMillis = gcTimeMillis;
+        }
+
+        // Getters
+        public String getName() {
+            return name;
+        }
+
+        public String getParams() {
+            return params;
+        }
+
+        public double getNanosPerOp() {
+            return nanosPerOp;
+        }
+
+        public double getStdevNanos() {
+            return stdevNanos;
+        }
+
+        public double getBytesPerOp() {
+            return bytesPerOp;
+        }
+
+        public long getGcCount() {
+            return gcCount;
+        }
+
+        public long getGcTimeMillis() {
+            return gcTimeMillis;
+        }
+
+        StringBuilder appendJson(StringBuilder out) {
+            return out.append("{\"benchmark\":\"").append(name)
+                    .append("\",\"params\":\"").append(params)
+                    .append("\",\"nsPerOp\":").append(String.format(Locale.ROOT, "%.3f", nanosPerOp))
+                    .append(",\"stdevNs\":").append(String.format(Locale.ROOT, "%.3f", stdevNanos))
+                    .append(",\"bytesPerOp\":").append(String.format(Locale.ROOT, "%.1f", bytesPerOp))
+                    .append(",\"gcCount\":").append(gcCount)
+                    .append(",\"gcTimeMs\":").append(gcTimeMillis)
+                    .append('}');
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-36s %-16s %12.2f +- %8.2f ns/op %10.1f B/op %4d GCs %5d ms",
+                                 name, params, nanosPerOp, stdevNanos, bytesPerOp, gcCount, gcTimeMillis);
+        }
+    }
+}
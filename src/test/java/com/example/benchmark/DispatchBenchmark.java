@@ -0,0 +1,221 @@
+package com.example.benchmark;
+
+import com.example.model.Product;
+import com.example.model.TypedCart;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Benchmark comparing a loop over a mixed ArrayList of Products with TypedCart's
+ * per-class loops, for carts holding 2, 4 and 8 product classes that each override
+ * getPrice() and appendInfo(). Above two classes the list loop's call sites go
+ * megamorphic; TypedCart's stay monomorphic.
+ *
+ * Usage: java com.example.benchmark.DispatchBenchmark [items]
+ * Defaults to a 10,000-item cart.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class DispatchBenchmark {
+    private static final List<Function<Integer, Product>> SUBTYPES = List.of(
+        i -> new Type0("Item " + i, i % 100 + 0.99, "SKU-" + i),
+        i -> new Type1("Item " + i, i % 100 + 0.99, "SKU-" + i),
+        i -> new Type2("Item " + i, i % 100 + 0.99, "SKU-" + i),
+        i -> new Type3("Item " + i, i % 100 + 0.99, "SKU-" + i),
+        i -> new Type4("Item " + i, i % 100 + 0.99, "SKU-" + i),
+        i -> new Type5("Item " + i, i % 100 + 0.99, "SKU-" + i),
+        i -> new Type6("Item " + i, i % 100 + 0.99, "SKU-" + i),
+        i -> new Type7("Item " + i, i % 100 + 0.99, "SKU-" + i));
+
+    /**
+     * Main method to run the benchmark.
+     *
+     * @param args command line arguments (items)
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        System.out.println("=== Type-Specialized Dispatch: " + count + " items ===");
+        BenchmarkHarness harness = new BenchmarkHarness(3, 5, 300);
+        StringBuilder buffer = new StringBuilder(count * 128);
+
+        for (int subtypes : new int[] {2, 4, 8}) {
+            Random random = new Random(subtypes);
+            List<Product> list = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                list.add(SUBTYPES.get(random.nextInt(subtypes)).apply(i));
+            }
+            TypedCart cart = new TypedCart(list);
+            String params = "subtypes=" + subtypes;
+
+            harness.run("dispatch.total.list", params, operations -> {
+                long total = 0;
+                for (int op = 0; op < operations; op++) {
+                    for (Product item : list) {
+                        total += item.getPriceCents();
+                    }
+                }
+                return total;
+            });
+            harness.run("dispatch.total.typed", params, operations -> {
+                long total = 0;
+                for (int op = 0; op < operations; op++) {
+                    total += cart.getTotalCents();
+                }
+                return total;
+            });
+            harness.run("dispatch.render.list", params, operations -> {
+                long length = 0;
+                for (int op = 0; op < operations; op++) {
+                    buffer.setLength(0);
+                    for (Product item : list) {
+                        item.appendInfo(buffer).append(System.lineSeparator());
+                    }
+                    length += buffer.length();
+                }
+                return length;
+            });
+            harness.run("dispatch.render.typed", params, operations -> {
+                long length = 0;
+                for (int op = 0; op < operations; op++) {
+                    buffer.setLength(0);
+                    length += cart.appendInfo(buffer).length();
+                }
+                return length;
+            });
+        }
+    }
+
+    // Eight product classes with their own getPrice() and appendInfo(), so neither call
+    // can be bound without knowing the receiver's class
+
+    private static final class Type0 extends Product {
+        Type0(String name, double price, String sku) {
+            super(name, price, sku);
+        }
+
+        @Override
+        public double getPrice() {
+            return super.getPrice();
+        }
+
+        @Override
+        public StringBuilder appendInfo(StringBuilder out) {
+            return super.appendInfo(out).append('0');
+        }
+    }
+
+    private static final class Type1 extends Product {
+        Type1(String name, double price, String sku) {
+            super(name, price, sku);
+        }
+
+        @Override
+        public double getPrice() {
+            return super.getPrice();
+        }
+
+        @Override
+        public StringBuilder appendInfo(StringBuilder out) {
+            return super.appendInfo(out).append('1');
+        }
+    }
+
+    private static final class Type2 extends Product {
+        Type2(String name, double price, String sku) {
+            super(name, price, sku);
+        }
+
+        @Override
+        public double getPrice() {
+            return super.getPrice();
+        }
+
+        @Override
+        public StringBuilder appendInfo(StringBuilder out) {
+            return super.appendInfo(out).append('2');
+        }
+    }
+
+    private static final class Type3 extends Product {
+        Type3(String name, double price, String sku) {
+            super(name, price, sku);
+        }
+
+        @Override
+        public double getPrice() {
+            return super.getPrice();
+        }
+
+        @Override
+        public StringBuilder appendInfo(StringBuilder out) {
+            return super.appendInfo(out).append('3');
+        }
+    }
+
+    private static final class Type4 extends Product {
+        Type4(String name, double price, String sku) {
+            super(name, price, sku);
+        }
+
+        @Override
+        public double getPrice() {
+            return super.getPrice();
+        }
+
+        @Override
+        public StringBuilder appendInfo(StringBuilder out) {
+            return super.appendInfo(out).append('4');
+        }
+    }
+
+    private static final class Type5 extends Product {
+        Type5(String name, double price, String sku) {
+            super(name, price, sku);
+        }
+
+        @Override
+        public double getPrice() {
+            return super.getPrice();
+        }
+
+        @Override
+        public StringBuilder appendInfo(StringBuilder out) {
+            return super.appendInfo(out).append('5');
+        }
+    }
+
+    private static final class Type6 extends Product {
+        Type6(String name, double price, String sku) {
+            super(name, price, sku);
+        }
+
+        @Override
+        public double getPrice() {
+            return super.getPrice();
+        }
+
+        @Override
+        public StringBuilder appendInfo(StringBuilder out) {
+            return super.appendInfo(out).append('6');
+        }
+    }
+
+    private static final class Type7 extends Product {
+        Type7(String name, double price, String sku) {
+            super(name, price, sku);
+        }
+
+        @Override
+        public double getPrice() {
+            return super.getPrice();
+        }
+
+        @Override
+        public StringBuilder appendInfo(StringBuilder out) {
+            return super.appendInfo(out).append('7');
+        }
+    }
+}
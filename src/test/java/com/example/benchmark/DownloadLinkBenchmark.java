@@ -0,0 +1,111 @@
+package com.example.benchmark;
+
+import com.example.model.DigitalProduct;
+import com.example.main.DownloadLinkService;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Benchmark for DownloadLinkService: issuing and verifying one link on one thread,
+ * with BenchmarkHarness, against a naive signer that calls Mac.getInstance() and
+ * java.util.Base64 on every link; then links issued and verified per second by many
+ * threads at once.
+ *
+ * Usage: java com.example.benchmark.DownloadLinkBenchmark [threads] [seconds]
+ * Defaults to one thread per core for 3 seconds.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class DownloadLinkBenchmark {
+    private static final byte[] KEY = "benchmark-secret-key-0123456789ab".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Main method to run the benchmark.
+     *
+     * @param args command line arguments (threads, seconds)
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        DigitalProduct ebook = new DigitalProduct("E-Book: Advanced Java", 29.99, "EBOOK-001",
+                                                  "https://store.example.com/download/ebook-001", "PDF", 25.5);
+        DownloadLinkService service = new DownloadLinkService(KEY, 3_600_000);
+        String link = service.issue(ebook, "customer-42");
+
+        System.out.println("=== Download Links: single thread ===");
+        BenchmarkHarness harness = new BenchmarkHarness(3, 5, 500);
+        harness.run("link.issue", "", operations -> {
+            long length = 0;
+            for (int i = 0; i < operations; i++) {
+                length += service.issue(ebook, "customer-42").length();
+            }
+            return length;
+        });
+        harness.run("link.issue", "naive", operations -> {
+            long length = 0;
+            for (int i = 0; i < operations; i++) {
+                length += naiveIssue(ebook, "customer-42").length();
+            }
+            return length;
+        });
+        harness.run("link.verify", "", operations -> {
+            long valid = 0;
+            for (int i = 0; i < operations; i++) {
+                valid += service.verify(link).ordinal();
+            }
+            return valid;
+        });
+        for (int i = 0; i < 1_000; i++) {
+            service.revoke(service.issue(ebook, "revoked-" + i));
+        }
+        harness.run("link.verify", "revoked=1000", operations -> {
+            long valid = 0;
+            for (int i = 0; i < operations; i++) {
+                valid += service.verify(link).ordinal();
+            }
+            return valid;
+        });
+
+        System.out.println("\n=== Download Links: " + threads + " threads, " + seconds + " s ===");
+        AtomicLong completed = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(threads);
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        for (int t = 0; t < threads; t++) {
+            String customer = "customer-" + t;
+            Thread thread = new Thread(() -> {
+                long count = 0;
+                while (System.nanoTime() < deadline) {
+                    if (service.verify(service.issue(ebook, customer)) == DownloadLinkService.Verdict.VALID) {
+                        count++;
+                    }
+                }
+                completed.addAndGet(count);
+                done.countDown();
+            });
+            thread.start();
+        }
+        done.await();
+        System.out.printf("Issued and verified: %,d links/s%n", completed.get() / seconds);
+    }
+
+    /** Signs a link the straightforward way, for comparison. */
+    private static String naiveIssue(DigitalProduct product, String customerId) {
+        try {
+            String signed = product.getDownloadUrl() + "?c=" + customerId + "&e="
+                + (System.currentTimeMillis() + 3_600_000) / 1000;
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(KEY, "HmacSHA256"));
+            byte[] signature = mac.doFinal(signed.getBytes(StandardCharsets.US_ASCII));
+            return signed + "&s=" + Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
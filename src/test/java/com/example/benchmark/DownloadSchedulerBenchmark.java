@@ -0,0 +1,108 @@
+package com.example.benchmark;
+
+import com.example.model.DigitalProduct;
+import com.example.main.DownloadScheduler;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Benchmark comparing delivery times under DownloadScheduler's first-come,
+ * first-served mode (agingMillisPerMB = 0) and shortest-job-first with aging.
+ * Jobs arrive at random intervals, one in ten a large file; the report gives the
+ * p50 and p99 delivery time of the small and the large jobs.
+ *
+ * Usage: java com.example.benchmark.DownloadSchedulerBenchmark [jobs] [bandwidthMBps]
+ * Defaults to 400 jobs and 200 MB/s over 2 workers.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class DownloadSchedulerBenchmark {
+    private static final int SMALL_BYTES = 100 * 1024;
+    private static final int LARGE_BYTES = 20 * 1024 * 1024;
+
+    /**
+     * Main method to run the benchmark.
+     *
+     * @param args command line arguments (jobs, bandwidth in MB/s)
+     * @throws IOException if the temporary files cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        int jobs = args.length > 0 ? Integer.parseInt(args[0]) : 400;
+        long bandwidth = (args.length > 1 ? Long.parseLong(args[1]) : 200) * 1024 * 1024;
+
+        Path directory = Files.createTempDirectory("download-benchmark");
+        Path small = Files.write(directory.resolve("small.bin"), new byte[SMALL_BYTES]);
+        Path large = Files.write(directory.resolve("large.bin"), new byte[LARGE_BYTES]);
+        try {
+            DigitalProduct license = new DigitalProduct("License Key", 199.99, "SOFT-001", "https://example.com/key",
+                                                        "License Key", SMALL_BYTES / 1048576.0);
+            DigitalProduct course = new DigitalProduct("Course", 99.99, "COURSE-001", "https://example.com/course",
+                                                       "Video Files", LARGE_BYTES / 1048576.0);
+            System.out.println("=== Download Scheduler: " + jobs + " jobs, " + bandwidth / 1048576 + " MB/s ===");
+            run("FIFO", 0, jobs, bandwidth, license, course, small, large); // Warm-up
+            run("FIFO", 0, jobs, bandwidth, license, course, small, large);
+            run("SJF + aging", 50, jobs, bandwidth, license, course, small, large);
+        } finally {
+            Files.delete(small);
+            Files.delete(large);
+            Files.delete(directory);
+        }
+    }
+
+    private static void run(String label, double agingMillisPerMB, int jobs, long bandwidth, DigitalProduct license,
+                            DigitalProduct course, Path small, Path large) {
+        Random random = new Random(11);
+        List<CompletableFuture<DownloadScheduler.Delivery>> results = new ArrayList<>();
+        // Offered load is about 90% of the bandwidth, so queues build up but drain
+        double meanGapMillis = (0.9 * SMALL_BYTES + 0.1 * LARGE_BYTES) / (bandwidth * 0.9) * 1000;
+        try (DownloadScheduler scheduler = new DownloadScheduler(product -> product == course ? large : small,
+                                                                 2, 2, bandwidth, agingMillisPerMB)) {
+            for (int i = 0; i < jobs; i++) {
+                DigitalProduct product = random.nextInt(10) == 0 ? course : license;
+                results.add(scheduler.submit("client-" + random.nextInt(50), product, discard()));
+                sleepMillis(-Math.log(1 - random.nextDouble()) * meanGapMillis);
+            }
+            CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).join();
+        }
+
+        List<Long> smallTimes = new ArrayList<>();
+        List<Long> largeTimes = new ArrayList<>();
+        for (CompletableFuture<DownloadScheduler.Delivery> result : results) {
+            DownloadScheduler.Delivery delivery = result.join();
+            (delivery.getProduct() == course ? largeTimes : smallTimes).add(delivery.getTotalNanos());
+        }
+        System.out.printf("%-12s small p50 %8.1f ms  p99 %8.1f ms   large p50 %8.1f ms  p99 %8.1f ms%n", label,
+                          percentile(smallTimes, 0.5), percentile(smallTimes, 0.99),
+                          percentile(largeTimes, 0.5), percentile(largeTimes, 0.99));
+    }
+
+    private static double percentile(List<Long> nanos, double quantile) {
+        if (nanos.isEmpty()) {
+            return 0;
+        }
+        Collections.sort(nanos);
+        return nanos.get((int) Math.min(nanos.size() - 1, Math.ceil(quantile * nanos.size()) - 1)) / 1e6;
+    }
+
+    private static WritableByteChannel discard() {
+        return Channels.newChannel(OutputStream.nullOutputStream());
+    }
+
+    private static void sleepMillis(double millis) {
+        try {
+            Thread.sleep((long) millis, (int) ((millis % 1) * 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.benchmark;
+
+import com.example.model.Product;
+import com.example.main.InventoryService;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Benchmark measuring flash-sale throughput on one hot SKU: every thread takes units
+ * from the same product until it sells out. It compares a global lock, a single CAS
+ * counter and striped CAS counters, for both immediate takes and full
+ * reserve-and-commit checkouts.
+ *
+ * Usage: java com.example.benchmark.InventoryBenchmark [threads] [stock]
+ * Defaults to one thread per core and 20,000,000 units.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class InventoryBenchmark {
+
+    /**
+     * Main method to run the benchmark.
+     *
+     * @param args command line arguments (threads, stock)
+     */
+    public static void main(String[] args) {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        long stock = args.length > 1 ? Long.parseLong(args[1]) : 20_000_000L;
+
+        System.out.println("=== Inventory Flash Sale: " + threads + " threads, " + stock + " units ===");
+        Product hot = new Product("Console", 499.99, "CONSOLE-001");
+
+        // Warm up every path on a smaller sale first
+        for (int round = 0; round < 2; round++) {
+            runLocked(threads, stock / 10);
+            runInventory(hot, threads, stock / 10, 1, false);
+            runInventory(hot, threads, stock / 10, threads, false);
+        }
+
+        report("Global lock take", stock, runLocked(threads, stock));
+        report("CAS take (1 counter)", stock, runInventory(hot, threads, stock, 1, false));
+        report("CAS take (" + threads + " stripes)", stock, runInventory(hot, threads, stock, threads, false));
+        report("Reserve+commit (1 counter)", stock, runInventory(hot, threads, stock, 1, true));
+        report("Reserve+commit (" + threads + " stripes)", stock, runInventory(hot, threads, stock, threads, true));
+    }
+
+    private static long runInventory(Product product, int threads, long stock, int stripes, boolean reserve) {
+        try (InventoryService inventory = new InventoryService(60_000, 0)) {
+            inventory.makeStriped(product.getSku(), stripes);
+            inventory.addStock(product.getSku(), stock);
+            return race(threads, () -> {
+                if (reserve) {
+                    InventoryService.Reservation reservation;
+                    while ((reservation = inventory.reserve(product, 1)) != null) {
+                        inventory.commit(reservation);
+                    }
+                } else {
+                    while (inventory.tryTake(product, 1)) {
+                        // Keep buying until sold out
+                    }
+                }
+            });
+        }
+    }
+
+    private static long runLocked(int threads, long stock) {
+        long[] remaining = {stock};
+        Object lock = new Object();
+        return race(threads, () -> {
+            while (true) {
+                synchronized (lock) {
+                    if (remaining[0] == 0) {
+                        return;
+                    }
+                    remaining[0]--;
+                }
+            }
+        });
+    }
+
+    /** Runs the buyer on every thread at once and returns the elapsed nanoseconds. */
+    private static long race(int threads, Runnable buyer) {
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ready.countDown();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                buyer.run();
+            });
+            workers[t].start();
+        }
+        try {
+            ready.await();
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            return System.nanoTime() - begin;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    private static void report(String label, long units, long nanos) {
+        double perSecond = units / (nanos / 1e9);
+        System.out.println(String.format("%-32s %8.1f M units/s  (%d ms)", label + ":", perSecond / 1e6, nanos / 1_000_000));
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.benchmark;
+
+import com.example.model.Product;
+import com.example.model.DigitalProduct;
+import com.example.model.Money;
+import com.example.model.ShoppingCart;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark suite for the model and store hot paths, run with BenchmarkHarness:
+ * Product and DigitalProduct construction, getProductInfo(), displayInfo() into a
+ * null sink, the cart total and instanceof count loop Store.main used before
+ * ShoppingCart, repricing one item of a ShoppingCart and reading its total, and virtual
+ * calls over carts holding one, two or four concrete product classes (monomorphic,
+ * bimorphic and megamorphic call sites, each with its own loop so their type profiles
+ * stay apart). Cart benchmarks are repeated for every cart size and report the time to
+ * process the whole cart.
+ *
+ * Usage: java com.example.benchmark.ModelBenchmark [cartSizes] [resultsFile]
+ * Defaults to cart sizes 10,1000,100000 and results in benchmark-results.jsonl.
+ * Run with -Xlog:gc for a log of every collection alongside the per-benchmark counts.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class ModelBenchmark {
+    private static final PrintStream NULL_SINK = new PrintStream(OutputStream.nullOutputStream());
+
+    /**
+     * Main method to run the benchmark suite.
+     *
+     * @param args command line arguments (comma-separated cart sizes, results file)
+     * @throws IOException if the results file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        String[] sizes = (args.length > 0 ? args[0] : "10,1000,100000").split(",");
+        Path resultsFile = Paths.get(args.length > 1 ? args[1] : "benchmark-results.jsonl");
+        BenchmarkHarness harness = new BenchmarkHarness(3, 5, 500);
+
+        System.out.println("=== Model Benchmark Suite ===");
+        runProductBenchmarks(harness);
+        for (String size : sizes) {
+            runCartBenchmarks(harness, Integer.parseInt(size.trim()));
+        }
+
+        harness.writeResults(resultsFile);
+        System.out.println("\nResults written to " + resultsFile.toAbsolutePath());
+    }
+
+    private static void runProductBenchmarks(BenchmarkHarness harness) {
+        harness.run("construct.Product", "", operations -> {
+            long hash = 0;
+            for (int i = 0; i < operations; i++) {
+                hash += new Product("Gaming Laptop", 1299.99, "LAP-001").hashCode();
+            }
+            return hash;
+        });
+        harness.run("construct.DigitalProduct", "", operations -> {
+            long hash = 0;
+            for (int i = 0; i < operations; i++) {
+                hash += new DigitalProduct("E-Book: Advanced Java", 29.99, "EBOOK-001",
+                                           "https://store.example.com/download/ebook-001", "PDF", 25.5).hashCode();
+            }
+            return hash;
+        });
+
+        Product laptop = new Product("Gaming Laptop", 1299.99, "LAP-001");
+        harness.run("getProductInfo.cached", "", operations -> {
+            long length = 0;
+            for (int i = 0; i < operations; i++) {
+                length += laptop.getProductInfo().length();
+            }
+            return length;
+        });
+        harness.run("getProductInfo.afterSetter", "", operations -> {
+            long length = 0;
+            for (int i = 0; i < operations; i++) {
+                laptop.setPrice(1299.99); // Clears the cached string
+                length += laptop.getProductInfo().length();
+            }
+            return length;
+        });
+
+        DigitalProduct ebook = new DigitalProduct("E-Book: Advanced Java", 29.99, "EBOOK-001",
+                                                  "https://store.example.com/download/ebook-001", "PDF", 25.5);
+        harness.run("displayInfo.nullSink", "Product", operations -> displayAll(laptop, operations));
+        harness.run("displayInfo.nullSink", "DigitalProduct", operations -> displayAll(ebook, operations));
+    }
+
+    private static long displayAll(Product product, int operations) {
+        PrintStream original = System.out;
+        System.setOut(NULL_SINK);
+        try {
+            for (int i = 0; i < operations; i++) {
+                product.displayInfo();
+            }
+        } finally {
+            System.setOut(original);
+        }
+        return operations;
+    }
+
+    private static void runCartBenchmarks(BenchmarkHarness harness, int cartSize) {
+        String params = "cartSize=" + cartSize;
+        List<Product> storeCart = buildCart(cartSize, 2);
+        harness.run("cart.totalAndCount", params, operations -> {
+            long checksum = 0;
+            for (int i = 0; i < operations; i++) {
+                checksum += totalAndCount(storeCart);
+            }
+            return checksum;
+        });
+        ShoppingCart shoppingCart = new ShoppingCart();
+        for (Product item : storeCart) {
+            shoppingCart.add(item);
+        }
+        harness.run("cart.incrementalTotal", params, operations -> {
+            long checksum = 0;
+            for (int i = 0; i < operations; i++) {
+                Product item = storeCart.get(i % cartSize);
+                shoppingCart.changePrice(item.getSku(), item.getPriceCents() + (i & 1));
+                checksum += shoppingCart.getTotalCents();
+                if ((i & 4095) == 4095) {
+                    shoppingCart.compactLog();
+                }
+            }
+            return checksum;
+        });
+
+        // HotSpot profiles receiver types per call site, so each shape sums through its own method;
+        // one shared loop would stay megamorphic for every run after the first megamorphic one
+        List<Product> monomorphic = buildCart(cartSize, 1);
+        harness.run("dispatch.monomorphic", params, operations -> sumMonomorphic(monomorphic, operations));
+        List<Product> bimorphic = buildCart(cartSize, 2);
+        harness.run("dispatch.bimorphic", params, operations -> sumBimorphic(bimorphic, operations));
+        List<Product> megamorphic = buildCart(cartSize, 4);
+        harness.run("dispatch.megamorphic", params, operations -> sumMegamorphic(megamorphic, operations));
+    }
+
+    /** Sums getPrice() over a one-class cart; the only call site that sees one-class carts. */
+    private static long sumMonomorphic(List<Product> cart, int operations) {
+        double sum = 0;
+        for (int i = 0; i < operations; i++) {
+            for (Product item : cart) {
+                sum += item.getPrice();
+            }
+        }
+        return (long) sum;
+    }
+
+    /** The same loop as sumMonomorphic, with its own call site for two-class carts. */
+    private static long sumBimorphic(List<Product> cart, int operations) {
+        double sum = 0;
+        for (int i = 0; i < operations; i++) {
+            for (Product item : cart) {
+                sum += item.getPrice();
+            }
+        }
+        return (long) sum;
+    }
+
+    /** The same loop as sumMonomorphic, with its own call site for four-class carts. */
+    private static long sumMegamorphic(List<Product> cart, int operations) {
+        double sum = 0;
+        for (int i = 0; i < operations; i++) {
+            for (Product item : cart) {
+                sum += item.getPrice();
+            }
+        }
+        return (long) sum;
+    }
+
+    /** The cart loop Store.main used before ShoppingCart: exact total plus physical and digital counts. */
+    private static long totalAndCount(List<Product> cart) {
+        long totalCents = 0;
+        int physicalCount = 0;
+        int digitalCount = 0;
+        for (Product item : cart) {
+            totalCents = Money.addCents(totalCents, item.getPriceCents());
+            if (item instanceof DigitalProduct) {
+                digitalCount++;
+            } else {
+                physicalCount++;
+            }
+        }
+        return totalCents + physicalCount * 31L + digitalCount;
+    }
+
+    /** Builds a shuffled cart whose items are spread over the first classCount product classes. */
+    private static List<Product> buildCart(int size, int classCount) {
+        Random random = new Random(42);
+        List<Product> cart = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            double price = 1 + random.nextInt(100_000) / 100.0;
+            String sku = "SKU-" + i;
+            switch (random.nextInt(classCount)) {
+                case 0:
+                    cart.add(new Product("Product " + i, price, sku));
+                    break;
+                case 1:
+                    cart.add(new DigitalProduct("Digital " + i, price, sku, "https://example.com/" + i, "PDF", 1.5));
+                    break;
+                case 2:
+                    cart.add(new DiscountedProduct("Discounted " + i, price, sku));
+                    break;
+                default:
+                    cart.add(new BundleProduct("Bundle " + i, price, sku));
+                    break;
+            }
+        }
+        return cart;
+    }
+
+    /**
+     * A product with its own getPrice(), so carts can hold a third receiver class.
+     */
+    private static class DiscountedProduct extends Product {
+        DiscountedProduct(String name, double price, String sku) {
+            super(name, price, sku);
+        }
+
+        @Override
+        public double getPrice() {
+            return super.getPrice() * 0.9;
+        }
+    }
+
+    /**
+     * A product with its own getPrice(), so carts can hold a fourth receiver class.
+     */
+    private static class BundleProduct extends Product {
+        BundleProduct(String name, double price, String sku) {
+            super(name, price, sku);
+        }
+
+        @Override
+        public double getPrice() {
+            return super.getPrice() * 3;
+        }
+    }
+}
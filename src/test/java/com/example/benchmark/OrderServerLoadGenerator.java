@@ -0,0 +1,174 @@
+package com.example.benchmark;
+
+import com.example.main.OrderServer;
+import com.example.metrics.LatencyRecorder;
+import com.example.metrics.MetricsRegistry;
+import com.example.model.DigitalProduct;
+import com.example.model.Product;
+import com.example.model.ProductCatalog;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load generator for OrderServer. Starts a server on a free localhost port with a
+ * 1,000-product catalog, then opens kept-alive connections that each write a batch
+ * of pipelined requests and read the responses: 80% product lookups, 15% adds to
+ * the connection's cart and 5% cart totals. Reports requests per second and latency
+ * percentiles, each request timed from when its batch was written to when its
+ * response was read.
+ *
+ * Usage: java -Dsun.net.httpserver.nodelay=true com.example.benchmark.OrderServerLoadGenerator
+ *        [connections] [pipelineDepth] [seconds]
+ * Defaults to 16 connections, depths 1 and 8, for 5 seconds each. Without the
+ * nodelay flag the latencies mostly measure the client's delayed ACK.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class OrderServerLoadGenerator {
+    private static final int CATALOG_SIZE = 1_000;
+
+    /**
+     * Main method to run the load generator.
+     *
+     * @param args command line arguments (connections, pipeline depth, seconds)
+     * @throws IOException if the server cannot be started
+     * @throws InterruptedException if interrupted while waiting for the connections
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int[] depths = args.length > 1 ? new int[] {Integer.parseInt(args[1])} : new int[] {1, 8};
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        ProductCatalog catalog = new ProductCatalog(CATALOG_SIZE);
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            catalog.put(i % 2 == 0
+                ? new Product("Product " + i, 10 + i % 90, "SKU-" + i)
+                : new DigitalProduct("Download " + i, 5 + i % 40, "SKU-" + i, "https://example.com/" + i, "PDF", 12.5));
+        }
+        try (OrderServer server = new OrderServer(catalog, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            server.start();
+            run(server.getPort(), connections, 1, 1); // Warm-up
+            for (int depth : depths) {
+                run(server.getPort(), connections, depth, seconds);
+            }
+        }
+    }
+
+    private static void run(int port, int connections, int depth, int seconds) throws InterruptedException {
+        LatencyRecorder latency = new MetricsRegistry(true).latency("order_request_seconds", "Request latency");
+        AtomicLong completed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(connections);
+        long start = System.nanoTime();
+        long deadline = start + seconds * 1_000_000_000L;
+        for (int c = 0; c < connections; c++) {
+            int connection = c;
+            Thread thread = new Thread(() -> {
+                try {
+                    completed.addAndGet(drive(port, connection, depth, deadline, latency));
+                } catch (IOException e) {
+                    failed.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            }, "load-" + c);
+            thread.start();
+        }
+        done.await();
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        LatencyRecorder.Snapshot snapshot = latency.snapshot();
+        System.out.printf("connections=%d depth=%d: %,.0f req/s  p50 %.2f ms  p90 %.2f ms  p99 %.2f ms  "
+                          + "p99.9 %.2f ms  max %.2f ms  failed connections %d%n",
+                          connections, depth, completed.get() / elapsed,
+                          snapshot.getValueAtQuantile(0.5) / 1e6, snapshot.getValueAtQuantile(0.9) / 1e6,
+                          snapshot.getValueAtQuantile(0.99) / 1e6, snapshot.getValueAtQuantile(0.999) / 1e6,
+                          snapshot.getMaxNanos() / 1e6, failed.get());
+    }
+
+    /** Sends batches of pipelined requests on one connection until the deadline. */
+    private static long drive(int port, int connection, int depth, long deadline, LatencyRecorder latency)
+            throws IOException {
+        Random random = new Random(connection);
+        long completed = 0;
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            socket.setTcpNoDelay(true);
+            OutputStream out = socket.getOutputStream();
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            StringBuilder batch = new StringBuilder();
+            // Create the connection's cart first, so totals requests always find it
+            out.write(("POST /carts/load-" + connection + "/items?sku=SKU-0 HTTP/1.1\r\nHost: localhost\r\n"
+                + "Content-Length: 0\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            readResponse(in);
+            while (System.nanoTime() < deadline) {
+                batch.setLength(0);
+                for (int i = 0; i < depth; i++) {
+                    appendRequest(batch, random, connection);
+                }
+                long sent = System.nanoTime();
+                out.write(batch.toString().getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+                for (int i = 0; i < depth; i++) {
+                    int status = readResponse(in);
+                    latency.record(System.nanoTime() - sent);
+                    if (status != 200) {
+                        throw new IOException("Unexpected status " + status);
+                    }
+                    completed++;
+                }
+            }
+        }
+        return completed;
+    }
+
+    private static void appendRequest(StringBuilder out, Random random, int connection) {
+        int kind = random.nextInt(100);
+        if (kind < 80) {
+            out.append("GET /products/SKU-").append(random.nextInt(CATALOG_SIZE)).append(" HTTP/1.1\r\n");
+        } else if (kind < 95) {
+            out.append("POST /carts/load-").append(connection).append("/items?sku=SKU-").append(random.nextInt(CATALOG_SIZE))
+                .append(" HTTP/1.1\r\nContent-Length: 0\r\n");
+        } else {
+            out.append("GET /carts/load-").append(connection).append(" HTTP/1.1\r\n");
+        }
+        out.append("Host: localhost\r\n\r\n");
+    }
+
+    /** Reads one response and returns its status, skipping its Content-Length body. */
+    private static int readResponse(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int status = -1;
+        int length = 0;
+        while (true) {
+            line.setLength(0);
+            int b;
+            while ((b = in.read()) != '\n') {
+                if (b < 0) {
+                    throw new IOException("Connection closed");
+                }
+                if (b != '\r') {
+                    line.append((char) b);
+                }
+            }
+            if (line.length() == 0) {
+                break;
+            }
+            if (status < 0) {
+                status = Integer.parseInt(line.substring(9, 12));
+            } else if (line.length() > 15 && line.substring(0, 15).equalsIgnoreCase("content-length:")) {
+                length = Integer.parseInt(line.substring(15).trim());
+            }
+        }
+        in.skipNBytes(length);
+        return status;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.benchmark;
+
+import com.example.main.PricingEngine;
+import com.example.main.PricingRule;
+import com.example.model.DigitalProduct;
+import com.example.model.Product;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Benchmark for PricingEngine: repricing one cart as the number of rules grows,
+ * against an interpreter that walks every rule for every line. The rules are a
+ * quarter each file-type, SKU, bundle and cart-size rules over a catalog of 2,000
+ * products.
+ *
+ * Usage: java com.example.benchmark.PricingBenchmark [cartLines]
+ * Defaults to a 500-line cart.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class PricingBenchmark {
+    private static final int CATALOG_SIZE = 2_000;
+    private static final int FILE_TYPES = 50;
+
+    /**
+     * Main method to run the benchmark.
+     *
+     * @param args command line arguments (cart lines)
+     */
+    public static void main(String[] args) {
+        int lines = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        Random random = new Random(21);
+        List<Product> catalog = new ArrayList<>(CATALOG_SIZE);
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            catalog.add(i % 2 == 0
+                ? new Product("Product " + i, 5 + random.nextInt(50_000) / 100.0, "SKU-" + i)
+                : new DigitalProduct("Download " + i, 1 + random.nextInt(10_000) / 100.0, "SKU-" + i,
+                                     "https://example.com/" + i, "TYPE-" + random.nextInt(FILE_TYPES), 10));
+        }
+        List<Product> cart = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            cart.add(catalog.get(random.nextInt(CATALOG_SIZE)));
+        }
+
+        System.out.println("=== Pricing Engine: " + lines + "-line cart ===");
+        BenchmarkHarness harness = new BenchmarkHarness(3, 5, 300);
+        for (int ruleCount : new int[] {10, 100, 1_000, 10_000}) {
+            List<PricingRule> rules = createRules(ruleCount, random);
+            PricingEngine engine = new PricingEngine(rules);
+            boolean matches = engine.price(cart).getTotalCents() == interpret(rules, cart);
+            System.out.println("rules=" + ruleCount + ": compiled total matches interpreter: " + matches);
+            harness.run("pricing.compiled", "rules=" + ruleCount, operations -> {
+                long total = 0;
+                for (int i = 0; i < operations; i++) {
+                    total += engine.price(cart).getTotalCents();
+                }
+                return total;
+            });
+            if (ruleCount <= 1_000) {
+                harness.run("pricing.interpreted", "rules=" + ruleCount, operations -> {
+                    long total = 0;
+                    for (int i = 0; i < operations; i++) {
+                        total += interpret(rules, cart);
+                    }
+                    return total;
+                });
+            }
+        }
+    }
+
+    private static List<PricingRule> createRules(int count, Random random) {
+        List<PricingRule> rules = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double percent = 1 + random.nextInt(30);
+            switch (i % 4) {
+                case 0:
+                    rules.add(PricingRule.fileTypeDiscount("type-" + i, "TYPE-" + random.nextInt(FILE_TYPES), percent));
+                    break;
+                case 1:
+                    rules.add(PricingRule.skuDiscount("sku-" + i, "SKU-" + random.nextInt(CATALOG_SIZE), percent));
+                    break;
+                case 2:
+                    int first = random.nextInt(CATALOG_SIZE - 2);
+                    rules.add(PricingRule.bundleDiscount("bundle-" + i, percent, "SKU-" + first, "SKU-" + (first + 1),
+                                                         "SKU-" + (first + 2)));
+                    break;
+                default:
+                    rules.add(PricingRule.cartSizeDiscount("tier-" + i, 1 + random.nextInt(1_000), percent));
+                    break;
+            }
+        }
+        return rules;
+    }
+
+    /** Prices a cart by checking every rule against every line, for comparison. */
+    private static long interpret(List<PricingRule> rules, List<Product> cart) {
+        Set<String> skus = new HashSet<>();
+        for (Product product : cart) {
+            skus.add(product.getSku());
+        }
+        long total = 0;
+        for (Product product : cart) {
+            double item = 0;
+            double bundle = 0;
+            double tier = 0;
+            for (PricingRule rule : rules) {
+                switch (rule.getType()) {
+                    case FILE_TYPE:
+                        if (product instanceof DigitalProduct
+                            && rule.getFileType().equals(((DigitalProduct) product).getFileType())) {
+                            item = Math.max(item, rule.getPercentOff());
+                        }
+                        break;
+                    case SKU:
+                        if (rule.getSku().equals(product.getSku())) {
+                            item = Math.max(item, rule.getPercentOff());
+                        }
+                        break;
+                    case BUNDLE:
+                        if (rule.getBundleSkus().contains(product.getSku()) && skus.containsAll(rule.getBundleSkus())) {
+                            bundle = Math.max(bundle, rule.getPercentOff());
+                        }
+                        break;
+                    default:
+                        if (cart.size() >= rule.getMinItems()) {
+                            tier = Math.max(tier, rule.getPercentOff());
+                        }
+                        break;
+                }
+            }
+            double factor = (1 - item / 100) * (1 - bundle / 100) * (1 - tier / 100);
+            total += factor == 1.0 ? product.getPriceCents() : Math.round(product.getPriceCents() * factor);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.benchmark;
+
+import com.example.model.Product;
+import com.example.model.ProductCatalog;
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Benchmark comparing SKU lookups in a ProductCatalog against a linear scan of an
+ * ArrayList, which is how products are found when they are kept in a plain list.
+ *
+ * Usage: java com.example.benchmark.ProductCatalogBenchmark [size1] [size2] ...
+ * Defaults to 10,000, 1,000,000 and 10,000,000 products. The 10M run needs a
+ * large heap, e.g. -Xmx4g.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class ProductCatalogBenchmark {
+    private static final int CATALOG_LOOKUPS = 1_000_000;
+    private static final int SCAN_LOOKUPS = 200;
+
+    /**
+     * Main method to run the benchmark.
+     *
+     * @param args command line arguments (catalog sizes)
+     */
+    public static void main(String[] args) {
+        int[] sizes = {10_000, 1_000_000, 10_000_000};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        System.out.println("=== ProductCatalog vs ArrayList Scan ===");
+        for (int size : sizes) {
+            runForSize(size);
+        }
+    }
+
+    private static void runForSize(int size) {
+        ArrayList<Product> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            products.add(new Product("Product " + i, i % 1000 + 0.99, "SKU-" + i));
+        }
+
+        long start = System.nanoTime();
+        ProductCatalog catalog = new ProductCatalog(size);
+        catalog.parallelPutAll(products);
+        long loadNanos = System.nanoTime() - start;
+
+        Random random = new Random(42);
+        String[] keys = new String[1024];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "SKU-" + random.nextInt(size);
+        }
+
+        // Warm up both paths before measuring
+        long found = catalogLookups(catalog, keys, CATALOG_LOOKUPS / 10);
+        found += scanLookups(products, keys, Math.min(SCAN_LOOKUPS / 10, 20));
+
+        start = System.nanoTime();
+        found += catalogLookups(catalog, keys, CATALOG_LOOKUPS);
+        double catalogNanosPerOp = (System.nanoTime() - start) / (double) CATALOG_LOOKUPS;
+
+        start = System.nanoTime();
+        found += scanLookups(products, keys, SCAN_LOOKUPS);
+        double scanNanosPerOp = (System.nanoTime() - start) / (double) SCAN_LOOKUPS;
+
+        System.out.println("\n--- " + size + " products ---");
+        System.out.println("Catalog bulk load:    " + (loadNanos / 1_000_000) + " ms");
+        System.out.println("Catalog lookup:       " + String.format("%.1f", catalogNanosPerOp) + " ns/op");
+        System.out.println("ArrayList scan:       " + String.format("%.1f", scanNanosPerOp) + " ns/op");
+        System.out.println("Speedup:              " + String.format("%.0f", scanNanosPerOp / catalogNanosPerOp) + "x");
+        System.out.println("(found " + found + ")");
+    }
+
+    private static long catalogLookups(ProductCatalog catalog, String[] keys, int count) {
+        long found = 0;
+        for (int i = 0; i < count; i++) {
+            if (catalog.get(keys[i & (keys.length - 1)]) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private static long scanLookups(ArrayList<Product> products, String[] keys, int count) {
+        long found = 0;
+        for (int i = 0; i < count; i++) {
+            String sku = keys[i & (keys.length - 1)];
+            for (Product product : products) {
+                if (sku.equals(product.getSku())) {
+                    found++;
+                    break;
+                }
+            }
+        }
+        return found;
+    }
+}
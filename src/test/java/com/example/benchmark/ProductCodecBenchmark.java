@@ -0,0 +1,176 @@
+package com.example.benchmark;
+
+import com.example.model.DigitalProduct;
+import com.example.model.Product;
+import com.example.storage.ProductDecoder;
+import com.example.storage.ProductEncoder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark comparing ProductEncoder and ProductDecoder with Java serialization, in
+ * stream size and in encode and decode time for a batch of products, half of them
+ * digital with a few file types and URL prefixes.
+ *
+ * Product is not Serializable, so the Java serialization side writes Serializable
+ * mirrors of the same products with the same field values. One operation is the
+ * whole batch.
+ *
+ * Usage: java com.example.benchmark.ProductCodecBenchmark [products]
+ * Defaults to 1,000 products.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class ProductCodecBenchmark {
+    private static final String[] FILE_TYPES = {"PDF", "EPUB", "MP4", "ZIP", "MP3"};
+    private static final String[] URL_PREFIXES = {
+        "https://cdn.example.com/ebooks/", "https://cdn.example.com/video/", "https://downloads.example.org/files/"
+    };
+
+    /**
+     * Main method to run the benchmark.
+     *
+     * @param args command line arguments (product count)
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        Random random = new Random(24);
+        List<Product> products = new ArrayList<>(count);
+        List<SerialProduct> mirrors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double price = 1 + random.nextInt(100_000) / 100.0;
+            if (i % 2 == 0) {
+                products.add(new Product("Product " + i, price, "SKU-" + i));
+            } else {
+                products.add(new DigitalProduct("Download " + i, price, "SKU-" + i,
+                    URL_PREFIXES[random.nextInt(URL_PREFIXES.length)] + "item-" + i + ".bin",
+                    FILE_TYPES[random.nextInt(FILE_TYPES.length)], random.nextInt(100_000) / 10.0));
+            }
+            mirrors.add(SerialProduct.of(products.get(i)));
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(count * 256);
+        int withDictionary = encode(products, buffer, true).limit();
+        int withoutDictionary = encode(products, buffer, false).limit();
+        byte[] serialized = serialize(mirrors);
+
+        System.out.println("=== Product Codec: " + count + " products ===");
+        System.out.printf("ProductEncoder (dictionary):    %,9d bytes  %6.1f bytes/product%n",
+                          withDictionary, withDictionary / (double) count);
+        System.out.printf("ProductEncoder (no dictionary): %,9d bytes  %6.1f bytes/product%n",
+                          withoutDictionary, withoutDictionary / (double) count);
+        System.out.printf("Java serialization:             %,9d bytes  %6.1f bytes/product%n",
+                          serialized.length, serialized.length / (double) count);
+
+        BenchmarkHarness harness = new BenchmarkHarness(3, 5, 300);
+        String params = "products=" + count;
+        harness.run("codec.encode", params, operations -> {
+            long bytes = 0;
+            for (int i = 0; i < operations; i++) {
+                bytes += encode(products, buffer, true).limit();
+            }
+            return bytes;
+        });
+        ByteBuffer encoded = encode(products, ByteBuffer.allocateDirect(count * 256), true);
+        harness.run("codec.decode", params, operations -> {
+            long decoded = 0;
+            for (int i = 0; i < operations; i++) {
+                ByteBuffer in = encoded.duplicate();
+                ProductDecoder decoder = new ProductDecoder();
+                while (decoder.decode(in) != null) {
+                    decoded++;
+                }
+            }
+            return decoded;
+        });
+        harness.run("serialization.encode", params, operations -> {
+            long bytes = 0;
+            for (int i = 0; i < operations; i++) {
+                bytes += serialize(mirrors).length;
+            }
+            return bytes;
+        });
+        harness.run("serialization.decode", params, operations -> {
+            long decoded = 0;
+            for (int i = 0; i < operations; i++) {
+                decoded += deserialize(serialized).size();
+            }
+            return decoded;
+        });
+    }
+
+    private static ByteBuffer encode(List<Product> products, ByteBuffer buffer, boolean useDictionary) {
+        buffer.clear();
+        ProductEncoder encoder = new ProductEncoder(useDictionary);
+        for (Product product : products) {
+            encoder.encode(product, buffer);
+        }
+        return buffer.flip();
+    }
+
+    private static byte[] serialize(List<SerialProduct> products) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(products);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<?> deserialize(byte[] bytes) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (List<?>) in.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** A Serializable copy of a Product's fields. */
+    private static class SerialProduct implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final String name;
+        final double price;
+        final String sku;
+
+        SerialProduct(Product product) {
+            this.name = product.getName();
+            this.price = product.getPrice();
+            this.sku = product.getSku();
+        }
+
+        static SerialProduct of(Product product) {
+            return product instanceof DigitalProduct
+                ? new SerialDigitalProduct((DigitalProduct) product) : new SerialProduct(product);
+        }
+    }
+
+    /** A Serializable copy of a DigitalProduct's fields. */
+    private static final class SerialDigitalProduct extends SerialProduct {
+        private static final long serialVersionUID = 1L;
+
+        final String downloadUrl;
+        final String fileType;
+        final double fileSizeMB;
+
+        SerialDigitalProduct(DigitalProduct product) {
+            super(product);
+            this.downloadUrl = product.getDownloadUrl();
+            this.fileType = product.getFileType();
+            this.fileSizeMB = product.getFileSizeMB();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.benchmark;
+
+import com.example.model.Product;
+import com.example.model.ProductFormatter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Benchmark comparing ProductFormatter with String.format and the uncached
+ * getProductInfo() concatenation.
+ *
+ * Usage: java com.example.benchmark.ProductFormatterBenchmark [iterations]
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class ProductFormatterBenchmark {
+
+    /**
+     * Main method to run the benchmark.
+     *
+     * @param args command line arguments (iteration count)
+     */
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        double[] prices = new double[1024];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = i * 3.17 + 0.99;
+        }
+        Product product = new Product("Gaming Laptop", 1299.99, "LAP-001");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(256);
+        StringBuilder builder = new StringBuilder(32);
+
+        System.out.println("=== ProductFormatter Benchmark (" + iterations + " iterations) ===");
+        for (int round = 0; round < 2; round++) {
+            boolean report = round == 1; // First round is warm-up
+            long sink = 0;
+
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                sink += String.format("%.2f", prices[i & 1023]).length();
+            }
+            print(report, "String.format(\"%.2f\")", start, iterations);
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                builder.setLength(0);
+                sink += ProductFormatter.appendPrice(builder, prices[i & 1023]).length();
+            }
+            print(report, "ProductFormatter.appendPrice", start, iterations);
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                sink += ("Product: " + product.getName() + ", Price: $" + product.getPrice()
+                        + ", SKU: " + product.getSku()).length();
+            }
+            print(report, "getProductInfo (uncached)", start, iterations);
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                sink += product.getProductInfo().length();
+            }
+            print(report, "getProductInfo (cached)", start, iterations);
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                buffer.clear();
+                buffer.put(product.getProductInfo().getBytes(StandardCharsets.UTF_8));
+                sink += buffer.position();
+            }
+            print(report, "getBytes(UTF_8) + put", start, iterations);
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                buffer.clear();
+                sink += ProductFormatter.writeProductInfo(product, buffer);
+            }
+            print(report, "writeProductInfo", start, iterations);
+
+            if (report) {
+                System.out.println("(sink " + sink + ")");
+            }
+        }
+    }
+
+    private static void print(boolean report, String label, long start, int iterations) {
+        if (report) {
+            double nanosPerOp = (System.nanoTime() - start) / (double) iterations;
+            System.out.println(String.format("%-30s %8.1f ns/op", label, nanosPerOp));
+        }
+    }
+}
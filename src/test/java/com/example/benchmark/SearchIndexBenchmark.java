@@ -0,0 +1,100 @@
+package com.example.benchmark;
+
+import com.example.model.Product;
+import com.example.model.ProductSearchIndex;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Benchmark measuring type-ahead latency of ProductSearchIndex: SKU prefix lookups
+ * and name searches where the last word is still being typed, reported as p50, p99
+ * and max, next to a linear String.contains scan of the same products.
+ *
+ * Usage: java com.example.benchmark.SearchIndexBenchmark [products]
+ * Defaults to 1,000,000 products; 5,000,000 needs a large heap, e.g. -Xmx6g.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class SearchIndexBenchmark {
+    private static final String[] WORDS = {
+        "wireless", "mouse", "laptop", "stand", "java", "course", "ebook", "gaming", "keyboard", "monitor",
+        "desk", "lamp", "usb", "cable", "charger", "headphones", "speaker", "camera", "tripod", "backpack"
+    };
+    private static final int QUERIES = 20_000;
+
+    /**
+     * Main method to run the benchmark.
+     *
+     * @param args command line arguments (product count)
+     */
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Random random = new Random(42);
+        Product[] products = new Product[size];
+        for (int i = 0; i < size; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            products[i] = new Product(name, 9.99, String.format("SKU-%08d", i));
+        }
+
+        long start = System.nanoTime();
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.addAll(Arrays.asList(products));
+        System.out.println("=== Search Index: " + size + " products ===");
+        System.out.println("Index build:          " + (System.nanoTime() - start) / 1_000_000 + " ms");
+
+        String[] skuPrefixes = new String[QUERIES];
+        String[] nameQueries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String sku = products[random.nextInt(size)].getSku();
+            skuPrefixes[i] = sku.substring(0, 5 + random.nextInt(sku.length() - 4));
+            String word = WORDS[random.nextInt(WORDS.length)];
+            nameQueries[i] = WORDS[random.nextInt(WORDS.length)] + " " + word.substring(0, 1 + random.nextInt(word.length()));
+        }
+
+        // Warm up before measuring
+        for (int round = 0; round < 2; round++) {
+            measure(index, skuPrefixes, true);
+            measure(index, nameQueries, false);
+        }
+        report("SKU prefix", measure(index, skuPrefixes, true));
+        report("Name type-ahead", measure(index, nameQueries, false));
+
+        long[] scan = new long[50];
+        for (int i = 0; i < scan.length; i++) {
+            long begin = System.nanoTime();
+            int found = 0;
+            String word = WORDS[i % WORDS.length];
+            for (Product product : products) {
+                if (product.getName().contains(word) && ++found == 10) {
+                    break;
+                }
+            }
+            scan[i] = System.nanoTime() - begin;
+        }
+        report("Linear contains scan", scan);
+    }
+
+    private static long[] measure(ProductSearchIndex index, String[] queries, boolean skuPrefix) {
+        long[] latencies = new long[queries.length];
+        long results = 0;
+        for (int i = 0; i < queries.length; i++) {
+            long begin = System.nanoTime();
+            results += skuPrefix ? index.findBySkuPrefix(queries[i], 10).size() : index.search(queries[i], 10).size();
+            latencies[i] = System.nanoTime() - begin;
+        }
+        if (results == 0) {
+            System.out.println("(no results)");
+        }
+        return latencies;
+    }
+
+    private static void report(String label, long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        System.out.println(String.format("%-22s p50 %8.1f us   p99 %8.1f us   max %8.1f us", label + ":",
+                                         sorted[sorted.length / 2] / 1e3,
+                                         sorted[(int) (sorted.length * 0.99)] / 1e3,
+                                         sorted[sorted.length - 1] / 1e3));
+    }
+}
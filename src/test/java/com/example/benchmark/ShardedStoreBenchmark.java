@@ -0,0 +1,104 @@
+package com.example.benchmark;
+
+import com.example.main.ShardedStore;
+import com.example.metrics.LatencyRecorder;
+import com.example.metrics.MetricsRegistry;
+import com.example.model.Product;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Benchmark for ShardedStore: cart operations per second over 1,000 tenants as the
+ * number of shards grows, then the latency seen by cold tenants while one hot tenant
+ * sends half of all operations, before and after rebalance().
+ *
+ * Usage: java com.example.benchmark.ShardedStoreBenchmark [operations]
+ * Defaults to 1,000,000 operations per run.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class ShardedStoreBenchmark {
+    private static final int TENANTS = 1_000;
+    private static final int SKUS = 100;
+    private static final int IN_FLIGHT = 4_096;
+
+    /**
+     * Main method to run the benchmark.
+     *
+     * @param args command line arguments (operations per run)
+     */
+    public static void main(String[] args) {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int processors = Runtime.getRuntime().availableProcessors();
+
+        System.out.println("=== Sharded Store: " + TENANTS + " tenants, " + processors + " processors ===");
+        for (int shards = 1; shards <= Math.max(4, processors); shards *= 2) {
+            try (ShardedStore store = createStore(shards, new MetricsRegistry(false))) {
+                run(store, operations / 10, false); // Warm-up
+                long start = System.nanoTime();
+                run(store, operations, false);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("shards=%-3d %,12.0f ops/s%n", shards, operations / seconds);
+            }
+        }
+
+        int shards = Math.max(2, processors);
+        MetricsRegistry registry = new MetricsRegistry(true);
+        try (ShardedStore store = createStore(shards, registry)) {
+            run(store, operations, true);
+            report("hot tenant, hashed homes", store, registry);
+            int moved = store.rebalance();
+            registry = new MetricsRegistry(true);
+            try (ShardedStore rebalanced = createStore(shards, registry)) {
+                for (int t = 0; t < TENANTS; t++) {
+                    rebalanced.moveTenant("tenant-" + t, store.getHomeShard("tenant-" + t));
+                }
+                run(rebalanced, operations, true);
+                report("hot tenant, rebalanced (" + moved + " moved)", rebalanced, registry);
+            }
+        }
+    }
+
+    private static ShardedStore createStore(int shards, MetricsRegistry registry) {
+        ShardedStore store = new ShardedStore(shards, ShardedStore.DEFAULT_QUANTUM, registry);
+        CompletableFuture<Product> last = null;
+        for (int t = 0; t < TENANTS; t++) {
+            for (int s = 0; s < SKUS; s++) {
+                last = store.putProduct("tenant-" + t, new Product("Product " + s, 1 + s * 0.25, "SKU-" + s));
+            }
+        }
+        last.join();
+        return store;
+    }
+
+    /** Adds to carts with at most IN_FLIGHT operations outstanding; half go to tenant-0 when hot. */
+    private static void run(ShardedStore store, int operations, boolean hotTenant) {
+        CompletableFuture<?>[] window = new CompletableFuture<?>[IN_FLIGHT];
+        long seed = 7;
+        for (int i = 0; i < operations; i++) {
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            int random = (int) (seed >>> 33);
+            int tenant = hotTenant && (random & 1) == 0 ? 0 : (random >>> 1) % TENANTS;
+            int slot = i % IN_FLIGHT;
+            if (window[slot] != null) {
+                window[slot].join();
+            }
+            window[slot] = store.addToCart("tenant-" + tenant, "cart-" + (random & 15), "SKU-" + (random >>> 8) % SKUS, 1);
+        }
+        for (CompletableFuture<?> future : window) {
+            if (future != null) {
+                future.join();
+            }
+        }
+    }
+
+    private static void report(String label, ShardedStore store, MetricsRegistry registry) {
+        System.out.println(label + ":");
+        for (int shard = 0; shard < store.getShardCount(); shard++) {
+            LatencyRecorder.Snapshot latency = registry.latency("store_shard_operation_seconds",
+                "Time from submitting an operation to its completion.", "shard", Integer.toString(shard)).snapshot();
+            System.out.printf("  %s  p50 %.2f ms  p99 %.2f ms%n", store.getShardStats(shard),
+                              latency.getValueAtQuantile(0.5) / 1e6, latency.getValueAtQuantile(0.99) / 1e6);
+        }
+    }
+}
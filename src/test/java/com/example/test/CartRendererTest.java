@@ -0,0 +1,117 @@
+package com.example.test;
+
+import com.example.main.CartRenderer;
+import com.example.model.Product;
+import com.example.model.DigitalProduct;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for CartRenderer and Product.appendInfo().
+ * This test verifies the rendered text and that large carts are written in chunks.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class CartRendererTest {
+    private static final String NL = System.lineSeparator();
+
+    /**
+     * Run all tests for cart rendering.
+     */
+    public static void runTests() {
+        System.out.println("=== Testing CartRenderer ===");
+        TestFramework.reset();
+
+        testAppendInfo();
+        testRenderCart();
+        testFlushThreshold();
+
+        TestFramework.printSummary();
+    }
+
+    /**
+     * Test that appendInfo writes the same lines displayInfo prints.
+     */
+    private static void testAppendInfo() {
+        System.out.println("\n--- Testing appendInfo ---");
+
+        Product book = new Product("Java Programming Guide", 49.99, "BOOK-001");
+        String expected = "=== Product Information ===" + NL + "Name: Java Programming Guide" + NL
+                + "Price: $49.99" + NL + "SKU: BOOK-001" + NL + "Type: Standard Product" + NL;
+        TestFramework.assertEqual(expected, book.appendInfo(new StringBuilder()).toString(),
+                                  "Product should render its five info lines");
+
+        DigitalProduct license = new DigitalProduct("IDE Software License", 199.99, "SOFT-001",
+                                                    "https://download.example.com/ide-license", "License Key", 0.1);
+        String rendered = license.appendInfo(new StringBuilder()).toString();
+        TestFramework.assertTrue(rendered.startsWith("=== Product Information ===" + NL),
+                                 "Digital product should start with the common info");
+        TestFramework.assertTrue(rendered.contains("File Size: 0.1 MB" + NL), "Digital product should render its file size");
+        TestFramework.assertTrue(rendered.endsWith("Description: This is a digital item that can be downloaded instantly" + NL),
+                                 "Digital product should end with its description");
+    }
+
+    /**
+     * Test that a cart renders numbered items separated by blank lines.
+     */
+    private static void testRenderCart() {
+        System.out.println("\n--- Testing Cart Rendering ---");
+
+        List<Product> cart = new ArrayList<>();
+        cart.add(new Product("Gaming Laptop", 1299.99, "LAP-001"));
+        cart.add(new Product("Developer T-Shirt", 24.99, "SHIRT-001"));
+
+        String rendered = new CartRenderer().renderToString(cart);
+        String expected = "--- Shopping Cart Item 1 ---" + NL + cart.get(0).appendInfo(new StringBuilder()) + NL
+                + "--- Shopping Cart Item 2 ---" + NL + cart.get(1).appendInfo(new StringBuilder()) + NL;
+        TestFramework.assertEqual(expected, rendered, "Rendered cart should number each item");
+        TestFramework.assertEqual("", new CartRenderer().renderToString(new ArrayList<>()), "Empty cart should render nothing");
+    }
+
+    /**
+     * Test that the renderer writes once by default and in chunks with a threshold.
+     */
+    private static void testFlushThreshold() {
+        System.out.println("\n--- Testing Flush Threshold ---");
+
+        List<Product> cart = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            cart.add(new Product("Item " + i, 1.0, "SKU-" + i));
+        }
+
+        CountingAppendable single = new CountingAppendable();
+        new CartRenderer().render(cart, single);
+        TestFramework.assertEqual(1, single.writes, "Default renderer should write the cart once");
+
+        CountingAppendable chunked = new CountingAppendable();
+        new CartRenderer(4_096).render(cart, chunked);
+        TestFramework.assertTrue(chunked.writes > 1, "Renderer with a threshold should write in chunks");
+        TestFramework.assertEqual(single.text.toString(), chunked.text.toString(), "Chunked output should match single write");
+    }
+
+    /**
+     * Appendable that records how many times it was written to.
+     */
+    private static class CountingAppendable implements Appendable {
+        private final StringBuilder text = new StringBuilder();
+        private int writes;
+
+        @Override
+        public Appendable append(CharSequence csq) {
+            writes++;
+            text.append(csq);
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) {
+            return append(csq.subSequence(start, end));
+        }
+
+        @Override
+        public Appendable append(char c) {
+            return append(String.valueOf(c));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.test;
+
+import com.example.main.CatalogAnalytics;
+import com.example.model.Money;
+import com.example.model.Product;
+import com.example.model.DigitalProduct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Test class for CatalogAnalytics.
+ * This test verifies the aggregates and that parallel runs match sequential ones.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class CatalogAnalyticsTest {
+
+    /**
+     * Run all tests for catalog analytics.
+     */
+    public static void runTests() {
+        System.out.println("=== Testing CatalogAnalytics ===");
+        TestFramework.reset();
+
+        testSmallCart();
+        testParallelMatchesSequential();
+
+        TestFramework.printSummary();
+    }
+
+    /**
+     * Test the report for the demo cart from Store.
+     */
+    private static void testSmallCart() {
+        System.out.println("\n--- Testing Small Cart ---");
+
+        List<Product> cart = new ArrayList<>();
+        cart.add(new Product("Gaming Laptop", 1299.99, "LAP-001"));
+        cart.add(new Product("Java Programming Guide", 49.99, "BOOK-001"));
+        cart.add(new DigitalProduct("E-Book: Advanced Java", 29.99, "EBOOK-001",
+                                    "https://store.example.com/download/ebook-001", "PDF", 25.5));
+        cart.add(new DigitalProduct("Online Course: OOP Mastery", 99.99, "COURSE-001",
+                                    "https://learn.example.com/course-oop-mastery", "Video Files", 2100.0));
+        cart.add(new DigitalProduct("IDE Software License", 199.99, "SOFT-001",
+                                    "https://download.example.com/ide-license", "License Key", 0.1));
+
+        CatalogAnalytics.Report report = new CatalogAnalytics(2).analyze(cart);
+        TestFramework.assertEqual(Money.of(1679.95), report.getTotalValue(), "Total value should be exact");
+        TestFramework.assertEqual(2L, report.getPhysicalCount(), "There should be two physical products");
+        TestFramework.assertEqual(3L, report.getDigitalCount(), "There should be three digital products");
+        TestFramework.assertEqual(Money.of(99.99), report.getRevenueByFileType().get("Video Files"), "Video revenue should be 99.99");
+        TestFramework.assertEqual(Arrays.asList("LAP-001", "SOFT-001"),
+                                  Arrays.asList(report.getMostExpensive().get(0).getSku(), report.getMostExpensive().get(1).getSku()),
+                                  "Top two should be the laptop and the license");
+
+        long[] histogram = report.getSizeHistogram();
+        TestFramework.assertEqual(1L, histogram[CatalogAnalytics.histogramBucket(0.1)], "0.1 MB should be in the first bucket");
+        TestFramework.assertEqual(1L, histogram[CatalogAnalytics.histogramBucket(25.5)], "25.5 MB should be counted once");
+        TestFramework.assertEqual(12, CatalogAnalytics.histogramBucket(2100.0), "2100 MB should fall in the 2048-4096 bucket");
+
+        List<Product> untyped = new ArrayList<>();
+        untyped.add(new DigitalProduct("Mystery Download", 5.00, "MYST-001", "https://example.com/m", null, 1.0));
+        untyped.add(new DigitalProduct("Odd Download", 7.00, "ODD-001", "https://example.com/o", "null", 1.0));
+        Map<String, Money> revenue = new CatalogAnalytics(1).analyze(untyped).getRevenueByFileType();
+        TestFramework.assertEqual(Money.of(5.00), revenue.get(CatalogAnalytics.UNKNOWN_FILE_TYPE),
+                                  "Products without a file type should be grouped as unknown");
+        TestFramework.assertEqual(Money.of(7.00), revenue.get("null"), "A real \"null\" file type should stay separate");
+    }
+
+    /**
+     * Test that splitting the work gives the same report as one pass.
+     */
+    private static void testParallelMatchesSequential() {
+        System.out.println("\n--- Testing Parallel Matches Sequential ---");
+
+        Random random = new Random(3);
+        String[] fileTypes = {"PDF", "MP3", "MP4", "ZIP"};
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            double price = random.nextInt(100_000) / 100.0;
+            if (random.nextBoolean()) {
+                products.add(new DigitalProduct("Digital " + i, price, "D-" + i, "https://example.com/" + i,
+                                                fileTypes[random.nextInt(fileTypes.length)], random.nextDouble() * 5000));
+            } else {
+                products.add(new Product("Physical " + i, price, "P-" + i));
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        CatalogAnalytics analytics = new CatalogAnalytics(pool, 10, 1_000);
+        CatalogAnalytics.Report parallel = analytics.analyze(products);
+        CatalogAnalytics.Report sequential = analytics.analyzeSequentially(products);
+        pool.shutdown();
+
+        TestFramework.assertEqual(sequential.getTotalValue(), parallel.getTotalValue(), "Parallel total should equal sequential total");
+        TestFramework.assertEqual(sequential.getDigitalCount(), parallel.getDigitalCount(), "Digital counts should match");
+        TestFramework.assertEqual(sequential.getRevenueByFileType(), parallel.getRevenueByFileType(), "Revenue by file type should match");
+        TestFramework.assertTrue(Arrays.equals(sequential.getSizeHistogram(), parallel.getSizeHistogram()), "Histograms should match");
+        TestFramework.assertEqual(sequential.getMostExpensive(), parallel.getMostExpensive(), "Top-N lists should match");
+        TestFramework.assertEqual(10, parallel.getMostExpensive().size(), "Top-N should hold ten products");
+    }
+}
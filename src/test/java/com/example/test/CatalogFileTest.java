@@ -0,0 +1,167 @@
+package com.example.test;
+
+import com.example.model.Money;
+import com.example.model.Product;
+import com.example.model.DigitalProduct;
+import com.example.storage.CatalogFileReader;
+import com.example.storage.CatalogFileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for CatalogFileWriter and CatalogFileReader.
+ * This test verifies round trips, SKU lookups, scans and invalid files.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class CatalogFileTest {
+
+    /**
+     * Run all tests for the binary catalog file.
+     */
+    public static void runTests() {
+        System.out.println("=== Testing CatalogFile ===");
+        TestFramework.reset();
+
+        testRoundTrip();
+        testLargeCatalog();
+        testEmptyCatalog();
+        testInvalidFiles();
+
+        TestFramework.printSummary();
+    }
+
+    /**
+     * Test that products are read back with the same values.
+     */
+    private static void testRoundTrip() {
+        System.out.println("\n--- Testing Round Trip ---");
+
+        List<Product> products = new ArrayList<>();
+        products.add(new Product("Gaming Laptop", 1299.99, "LAP-001"));
+        products.add(new DigitalProduct("E-Book: Advanced Java", 29.99, "EBOOK-001",
+                                        "https://store.example.com/download/ebook-001", "PDF", 25.5));
+        products.add(new DigitalProduct("Café Guide", 9.99, "ÉBOOK-002", null, "PDF", 1.0));
+
+        try {
+            Path file = Files.createTempFile("catalog", ".bin");
+            CatalogFileWriter.write(file, products);
+            try (CatalogFileReader reader = new CatalogFileReader(file)) {
+                TestFramework.assertEqual(3, reader.size(), "File should contain three records");
+
+                Product laptop = reader.findBySku("LAP-001");
+                TestFramework.assertFalse(laptop instanceof DigitalProduct, "Laptop should be read as a Product");
+                TestFramework.assertEqual(laptop.getProductInfo(), products.get(0).getProductInfo(), "Laptop should round trip");
+
+                DigitalProduct ebook = (DigitalProduct) reader.findBySku("EBOOK-001");
+                TestFramework.assertEqual("https://store.example.com/download/ebook-001", ebook.getDownloadUrl(), "URL should round trip");
+                TestFramework.assertEqual(25.5, ebook.getFileSizeMB(), "File size should round trip");
+
+                DigitalProduct guide = (DigitalProduct) reader.findBySku("ÉBOOK-002");
+                TestFramework.assertEqual("Café Guide", guide.getName(), "Non-ASCII text should round trip");
+                TestFramework.assertEqual(null, guide.getDownloadUrl(), "Null strings should round trip");
+                TestFramework.assertEqual(null, reader.findBySku("MISSING"), "Unknown SKU should return null");
+            }
+            Files.delete(file);
+        } catch (IOException e) {
+            TestFramework.assertTrue(false, "Catalog file should round trip: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test lookups and scans over a larger catalog.
+     */
+    private static void testLargeCatalog() {
+        System.out.println("\n--- Testing Large Catalog ---");
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            if (i % 3 == 0) {
+                products.add(new DigitalProduct("Digital " + i, 1.25, "SKU-" + i, "https://example.com/" + i, "MP3", 4.0));
+            } else {
+                products.add(new Product("Physical " + i, 2.50, "SKU-" + i));
+            }
+        }
+
+        try {
+            Path file = Files.createTempFile("catalog", ".bin");
+            CatalogFileWriter.write(file, products);
+            try (CatalogFileReader reader = new CatalogFileReader(file)) {
+                boolean allFound = true;
+                for (int i = 0; i < 50_000; i += 997) {
+                    allFound &= ("SKU-" + i).equals(reader.getSku(reader.indexOf("SKU-" + i)));
+                }
+                TestFramework.assertTrue(allFound, "Every sampled SKU should be found");
+                TestFramework.assertEqual(Money.total(products), reader.totalPrice(), "Scanned total should match");
+                TestFramework.assertEqual(16_667, reader.countDigital(), "Scanned digital count should match");
+            }
+            Files.delete(file);
+        } catch (IOException e) {
+            TestFramework.assertTrue(false, "Large catalog should round trip: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test catalogs whose string heap is empty: no products, or only empty strings.
+     */
+    private static void testEmptyCatalog() {
+        System.out.println("\n--- Testing Empty Catalog ---");
+
+        try {
+            Path file = Files.createTempFile("catalog", ".bin");
+            CatalogFileWriter.write(file, new ArrayList<Product>());
+            try (CatalogFileReader reader = new CatalogFileReader(file)) {
+                TestFramework.assertEqual(0, reader.size(), "Empty catalog should have no records");
+                TestFramework.assertEqual(null, reader.findBySku("ANY"), "Empty catalog should find nothing");
+            }
+
+            List<Product> blank = new ArrayList<>();
+            blank.add(new Product("", 4.99, ""));
+            CatalogFileWriter.write(file, blank);
+            try (CatalogFileReader reader = new CatalogFileReader(file)) {
+                TestFramework.assertEqual(1, reader.size(), "Catalog of empty strings should have one record");
+                TestFramework.assertEqual(4.99, reader.findBySku("").getPrice(), "Record with empty strings should round trip");
+            }
+            Files.delete(file);
+        } catch (IOException e) {
+            TestFramework.assertTrue(false, "Empty catalog should round trip: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test that duplicate SKUs and foreign files are rejected.
+     */
+    private static void testInvalidFiles() {
+        System.out.println("\n--- Testing Invalid Files ---");
+
+        List<Product> duplicates = new ArrayList<>();
+        duplicates.add(new Product("One", 1.0, "SAME"));
+        duplicates.add(new Product("Two", 2.0, "SAME"));
+        try {
+            Path file = Files.createTempFile("catalog", ".bin");
+            TestFramework.assertThrows(() -> {
+                try {
+                    CatalogFileWriter.write(file, duplicates);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }, IllegalArgumentException.class, "Duplicate SKUs should be rejected");
+
+            Files.write(file, "not a catalog file at all, just text".getBytes());
+            boolean rejected = false;
+            try (CatalogFileReader reader = new CatalogFileReader(file)) {
+                reader.size();
+            } catch (IOException e) {
+                rejected = true;
+            }
+            TestFramework.assertTrue(rejected, "A file without the magic number should be rejected");
+            Files.delete(file);
+        } catch (IOException e) {
+            TestFramework.assertTrue(false, "Temporary file should be usable: " + e.getMessage());
+        }
+    }
+}
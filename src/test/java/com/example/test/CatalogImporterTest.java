@@ -0,0 +1,218 @@
+package com.example.test;
+
+import com.example.model.Product;
+import com.example.model.DigitalProduct;
+import com.example.storage.CatalogImporter;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Test class for CatalogImporter.
+ * This test verifies CSV and JSON-lines parsing, validation, ordering and backpressure.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class CatalogImporterTest {
+
+    /**
+     * Run all tests for the streaming importer.
+     */
+    public static void runTests() {
+        System.out.println("=== Testing CatalogImporter ===");
+        TestFramework.reset();
+
+        testCsvImport();
+        testJsonLinesImport();
+        testOrderedAndUnordered();
+        testBackpressure();
+
+        TestFramework.printSummary();
+    }
+
+    /**
+     * Test a small CSV feed with a header, quoted fields and invalid lines.
+     */
+    private static void testCsvImport() {
+        System.out.println("\n--- Testing CSV Import ---");
+
+        String csv = "type,sku,name,price,downloadUrl,fileType,fileSizeMB\n"
+                + "physical,LAP-001,Gaming Laptop,1299.99\n"
+                + "digital,EBOOK-001,\"E-Book: \"\"Advanced\"\" Java, 2nd ed\",29.99,https://example.com/ebook,PDF,25.5\r\n"
+                + "physical,BAD SKU,Broken,1.00\n"
+                + "physical,NEG-001,Negative,-5\n"
+                + "\n"
+                + "digital,SOFT-001,IDE License,199.99,https://example.com/ide,License Key,0.1";
+
+        CollectingSubscriber subscriber = new CollectingSubscriber();
+        try {
+            CatalogImporter.Progress progress = new CatalogImporter(CatalogImporter.Format.CSV, 2, true, 16)
+                    .importFrom(channel(csv), subscriber);
+
+            TestFramework.assertEqual(3, subscriber.products.size(), "Three valid products should be imported");
+            TestFramework.assertEqual(2L, progress.getLinesRejected(), "Two invalid lines should be rejected");
+            TestFramework.assertTrue(subscriber.completed, "Subscriber should be completed");
+            TestFramework.assertEqual("E-Book: \"Advanced\" Java, 2nd ed", subscriber.products.get(1).getName(),
+                                      "Quoted CSV fields should be unescaped");
+            TestFramework.assertEqual("License Key", ((DigitalProduct) subscriber.products.get(2)).getFileType(),
+                                      "Digital fields should be parsed");
+            TestFramework.assertEqual((long) csv.getBytes(StandardCharsets.UTF_8).length, progress.getBytesRead(),
+                                      "Every byte should be counted");
+        } catch (IOException e) {
+            TestFramework.assertTrue(false, "CSV import should succeed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test a JSON-lines feed.
+     */
+    private static void testJsonLinesImport() {
+        System.out.println("\n--- Testing JSON Lines Import ---");
+
+        String json = "{\"type\":\"physical\",\"sku\":\"BOOK-001\",\"name\":\"Java Guide\",\"price\":49.99}\n"
+                + "{ \"type\": \"digital\", \"sku\": \"COURSE-001\", \"name\": \"Caf\\u00e9 \\\"OOP\\\"\", \"price\": 99.99,"
+                + " \"downloadUrl\": \"https:\\/\\/learn.example.com\", \"fileType\": \"Video Files\", \"fileSizeMB\": 2100.0 }\n"
+                + "{\"type\":\"digital\",\"sku\":\"X-1\",\"name\":\"Nested\",\"price\":{\"amount\":1}}\n"
+                + "not json\n";
+
+        CollectingSubscriber subscriber = new CollectingSubscriber();
+        try {
+            CatalogImporter.Progress progress = new CatalogImporter(CatalogImporter.Format.JSON_LINES, 2, true, 16)
+                    .importFrom(channel(json), subscriber);
+
+            TestFramework.assertEqual(2, subscriber.products.size(), "Two valid JSON products should be imported");
+            TestFramework.assertEqual(2L, progress.getLinesRejected(), "Malformed JSON lines should be rejected");
+            DigitalProduct course = (DigitalProduct) subscriber.products.get(1);
+            TestFramework.assertEqual("Café \"OOP\"", course.getName(), "JSON escapes should be decoded");
+            TestFramework.assertEqual("https://learn.example.com", course.getDownloadUrl(), "Escaped slashes should be decoded");
+        } catch (IOException e) {
+            TestFramework.assertTrue(false, "JSON import should succeed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test that ordered mode keeps file order and unordered mode keeps every product.
+     */
+    private static void testOrderedAndUnordered() {
+        System.out.println("\n--- Testing Ordered and Unordered Modes ---");
+
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            csv.append("physical,SKU-").append(i).append(",Item ").append(i).append(",1.50\n");
+        }
+
+        try {
+            CollectingSubscriber ordered = new CollectingSubscriber();
+            new CatalogImporter(CatalogImporter.Format.CSV, 4, true, 64).importFrom(channel(csv.toString()), ordered);
+            boolean inOrder = ordered.products.size() == 20_000;
+            for (int i = 0; inOrder && i < ordered.products.size(); i++) {
+                inOrder = ("SKU-" + i).equals(ordered.products.get(i).getSku());
+            }
+            TestFramework.assertTrue(inOrder, "Ordered mode should publish every product in file order");
+
+            CollectingSubscriber unordered = new CollectingSubscriber();
+            new CatalogImporter(CatalogImporter.Format.CSV, 4, false, 64).importFrom(channel(csv.toString()), unordered);
+            List<String> skus = new ArrayList<>();
+            for (Product product : unordered.products) {
+                skus.add(product.getSku());
+            }
+            Collections.sort(skus);
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 20_000; i++) {
+                expected.add("SKU-" + i);
+            }
+            Collections.sort(expected);
+            TestFramework.assertEqual(expected, skus, "Unordered mode should publish every product exactly once");
+        } catch (IOException e) {
+            TestFramework.assertTrue(false, "Import should succeed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test that a stalled subscriber stops the reader.
+     */
+    private static void testBackpressure() {
+        System.out.println("\n--- Testing Backpressure ---");
+
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 200_000; i++) {
+            csv.append("physical,SKU-").append(i).append(",Item ").append(i).append(",2.00\n");
+        }
+        byte[] feed = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        CatalogImporter importer = new CatalogImporter(CatalogImporter.Format.CSV, 2, true, 32);
+        CountDownLatch subscribed = new CountDownLatch(1);
+        AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+        CollectingSubscriber subscriber = new CollectingSubscriber() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription.set(s);
+                s.request(10); // Take ten products, then stall
+                subscribed.countDown();
+            }
+        };
+
+        Thread importThread = new Thread(() -> {
+            try {
+                importer.importFrom(Channels.newChannel(new ByteArrayInputStream(feed)), subscriber);
+            } catch (IOException e) {
+                subscriber.onError(e);
+            }
+        });
+        importThread.start();
+        try {
+            subscribed.await();
+            Thread.sleep(300);
+            long readWhileStalled = importer.getProgress().getBytesRead();
+            TestFramework.assertTrue(readWhileStalled < feed.length / 4,
+                                     "Reader should stop while the subscriber is stalled (read " + readWhileStalled + " bytes)");
+
+            subscription.get().request(Long.MAX_VALUE);
+            importThread.join();
+            TestFramework.assertEqual(200_000, subscriber.products.size(), "Every product should arrive once demand resumes");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ReadableByteChannel channel(String text) {
+        return Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Subscriber that requests everything and collects the products.
+     */
+    private static class CollectingSubscriber implements Flow.Subscriber<Product> {
+        protected final List<Product> products = Collections.synchronizedList(new ArrayList<>());
+        protected volatile boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Product product) {
+            products.add(product);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            System.out.println("Import failed: " + throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
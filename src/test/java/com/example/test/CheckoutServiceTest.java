@@ -0,0 +1,329 @@
+package com.example.test;
+
+import com.example.main.CheckoutService;
+import com.example.model.Product;
+import com.example.model.DigitalProduct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for CheckoutService.
+ * This test verifies receipt totals, bounded concurrency, step timeouts, cancellation,
+ * rejected execution, same-thread executors and releasing reservations on failure.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class CheckoutServiceTest {
+
+    /**
+     * Run all tests for the checkout service.
+     */
+    public static void runTests() {
+        System.out.println("=== Testing CheckoutService ===");
+        TestFramework.reset();
+
+        testReceipt();
+        testBoundedConcurrency();
+        testStepTimeout();
+        testCancellation();
+        testRejectedExecution();
+        testSameThreadExecutor();
+        testReleaseOnFailure();
+
+        TestFramework.printSummary();
+    }
+
+    private static List<Product> sampleCart() {
+        List<Product> cart = new ArrayList<>();
+        cart.add(new Product("Gaming Laptop", 1299.99, "LAP-001"));
+        cart.add(new Product("Java Programming Guide", 49.99, "BOOK-001"));
+        cart.add(new DigitalProduct("E-Book: Advanced Java", 29.99, "EBOOK-001",
+                                    "https://store.example.com/download/ebook-001", "PDF", 25.5));
+        return cart;
+    }
+
+    /**
+     * Test that the receipt keeps cart order and totals every line.
+     */
+    private static void testReceipt() {
+        System.out.println("\n--- Testing Receipt ---");
+
+        try (CheckoutService service = new CheckoutService(0.10)) {
+            CheckoutService.Receipt receipt = service.checkout(sampleCart()).get();
+
+            TestFramework.assertEqual(3, receipt.getLines().size(), "Receipt should have one line per item");
+            TestFramework.assertEqual("LAP-001", receipt.getLines().get(0).getProduct().getSku(), "Lines should keep cart order");
+            TestFramework.assertEqual(1299.99 + 49.99 + 29.99, receipt.getSubtotal(), "Subtotal should add every price");
+            TestFramework.assertTrue(Math.abs(receipt.getTax() - receipt.getSubtotal() * 0.10) < 1e-9, "Tax should be 10% of subtotal");
+            TestFramework.assertTrue(receipt.isAllReserved(), "Default reservation should always succeed");
+            TestFramework.assertEqual("https://store.example.com/download/ebook-001", receipt.getLines().get(2).getDownloadLink(),
+                                      "Digital line should get a download link");
+            TestFramework.assertEqual(null, receipt.getLines().get(0).getDownloadLink(), "Physical line should have no link");
+        } catch (Exception e) {
+            TestFramework.assertTrue(false, "Checkout should succeed: " + e);
+        }
+    }
+
+    /**
+     * Test that no more than maxConcurrency lines run at once.
+     */
+    private static void testBoundedConcurrency() {
+        System.out.println("\n--- Testing Bounded Concurrency ---");
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        CheckoutService service = new CheckoutService(executor, 3, 5_000, 0.0, product -> {
+            int now = active.incrementAndGet();
+            maxActive.accumulateAndGet(now, Math::max);
+            sleep(5);
+            active.decrementAndGet();
+            return product.getPrice();
+        }, product -> true, DigitalProduct::getDownloadUrl);
+
+        List<Product> cart = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            cart.add(new Product("Item " + i, 1.0, "SKU-" + i));
+        }
+        try {
+            CheckoutService.Receipt receipt = service.checkout(cart).get();
+            TestFramework.assertEqual(30.0, receipt.getSubtotal(), "Every line should be priced");
+            TestFramework.assertTrue(maxActive.get() <= 3, "At most three lines should run at once");
+        } catch (Exception e) {
+            TestFramework.assertTrue(false, "Checkout should succeed: " + e);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Test that a slow step fails the checkout with a timeout and is interrupted.
+     */
+    private static void testStepTimeout() {
+        System.out.println("\n--- Testing Step Timeout ---");
+
+        ExecutorService executor = Executors.newCachedThreadPool();
+        AtomicInteger interrupted = new AtomicInteger();
+        CheckoutService service = new CheckoutService(executor, 4, 50, 0.0, Product::getPrice,
+                                                      product -> sleepUnlessInterrupted(1_000, interrupted),
+                                                      DigitalProduct::getDownloadUrl);
+
+        try {
+            service.checkout(sampleCart()).get();
+            TestFramework.assertTrue(false, "Checkout should time out");
+        } catch (ExecutionException e) {
+            TestFramework.assertTrue(e.getCause() instanceof TimeoutException, "Failure should be caused by a timeout");
+            sleep(100);
+            TestFramework.assertTrue(interrupted.get() > 0, "Timed-out steps should be interrupted");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test that cancelling a checkout stops lines that have not started and interrupts running steps.
+     */
+    private static void testCancellation() {
+        System.out.println("\n--- Testing Cancellation ---");
+
+        ExecutorService executor = Executors.newCachedThreadPool();
+        AtomicInteger priced = new AtomicInteger();
+        CheckoutService service = new CheckoutService(executor, 1, 5_000, 0.0, product -> {
+            priced.incrementAndGet();
+            sleep(20);
+            return product.getPrice();
+        }, product -> true, DigitalProduct::getDownloadUrl);
+
+        List<Product> cart = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            cart.add(new Product("Item " + i, 1.0, "SKU-" + i));
+        }
+        CompletableFuture<CheckoutService.Receipt> future = service.checkout(cart);
+        sleep(50);
+        future.cancel(true);
+        sleep(100);
+
+        TestFramework.assertTrue(future.isCancelled(), "Checkout future should be cancelled");
+        TestFramework.assertTrue(priced.get() < 50, "Lines after cancellation should not be priced");
+
+        AtomicInteger interrupted = new AtomicInteger();
+        CheckoutService blocking = new CheckoutService(executor, 4, 5_000, 0.0, Product::getPrice,
+                                                       product -> sleepUnlessInterrupted(5_000, interrupted),
+                                                       DigitalProduct::getDownloadUrl);
+        future = blocking.checkout(sampleCart());
+        sleep(50);
+        future.cancel(true);
+        sleep(100);
+        TestFramework.assertEqual(3, interrupted.get(), "Cancelling should interrupt every running step");
+        executor.shutdownNow();
+    }
+
+    /**
+     * Test that a checkout fails, instead of hanging, when the executor is shut down.
+     */
+    private static void testRejectedExecution() {
+        System.out.println("\n--- Testing Rejected Execution ---");
+
+        CheckoutService closed = new CheckoutService(0.0);
+        closed.close();
+        try {
+            closed.checkout(sampleCart()).get(5, TimeUnit.SECONDS);
+            TestFramework.assertTrue(false, "Checkout on a closed service should fail");
+        } catch (ExecutionException e) {
+            TestFramework.assertTrue(e.getCause() instanceof RejectedExecutionException,
+                                     "A closed service should reject the checkout");
+        } catch (InterruptedException | TimeoutException e) {
+            TestFramework.assertTrue(false, "Checkout on a closed service should not hang: " + e);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CheckoutService service = new CheckoutService(executor, 1, 5_000, 0.0, product -> {
+            sleep(20);
+            return product.getPrice();
+        }, product -> true, DigitalProduct::getDownloadUrl);
+        List<Product> cart = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            cart.add(new Product("Item " + i, 1.0, "SKU-" + i));
+        }
+        CompletableFuture<CheckoutService.Receipt> future = service.checkout(cart);
+        executor.shutdown(); // The first line's steps still run, but later lines cannot start
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            TestFramework.assertTrue(false, "Checkout should fail once the executor is shut down");
+        } catch (ExecutionException e) {
+            TestFramework.assertTrue(e.getCause() instanceof RejectedExecutionException,
+                                     "Shutting down mid-checkout should reject the remaining lines");
+        } catch (InterruptedException | TimeoutException e) {
+            TestFramework.assertTrue(false, "Checkout should not hang when the executor shuts down: " + e);
+        }
+    }
+
+    /**
+     * Test a large cart on an executor that runs every step on the calling thread.
+     */
+    private static void testSameThreadExecutor() {
+        System.out.println("\n--- Testing Same-Thread Executor ---");
+
+        CheckoutService service = new CheckoutService(new SameThreadExecutor(), 1, 5_000, 0.0, Product::getPrice,
+                                                      product -> true, DigitalProduct::getDownloadUrl);
+        List<Product> cart = new ArrayList<>();
+        Product item = new Product("Item", 1.0, "SKU-1");
+        for (int i = 0; i < 200_000; i++) {
+            cart.add(item);
+        }
+        try {
+            CheckoutService.Receipt receipt = service.checkout(cart).get(30, TimeUnit.SECONDS);
+            TestFramework.assertEqual(200_000, receipt.getLines().size(), "Every line should be checked out");
+        } catch (StackOverflowError e) {
+            TestFramework.assertTrue(false, "Synchronous lines should not nest launches on the stack");
+        } catch (Exception e) {
+            TestFramework.assertTrue(false, "Checkout should succeed: " + e);
+        }
+    }
+
+    /**
+     * Test that a failed checkout hands back every unit it reserved.
+     */
+    private static void testReleaseOnFailure() {
+        System.out.println("\n--- Testing Release on Failure ---");
+
+        ExecutorService executor = Executors.newCachedThreadPool();
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger released = new AtomicInteger();
+        CheckoutService service = new CheckoutService(executor, 2, 5_000, 0.0, product -> {
+            sleep(10);
+            if (product.getSku().equals("BROKEN")) {
+                throw new IllegalStateException("No price for " + product.getSku());
+            }
+            return product.getPrice();
+        }, product -> {
+            reserved.incrementAndGet();
+            return true;
+        }, product -> released.incrementAndGet(), DigitalProduct::getDownloadUrl);
+
+        List<Product> cart = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            cart.add(new Product("Item " + i, 1.0, i == 3 ? "BROKEN" : "SKU-" + i));
+        }
+        try {
+            service.checkout(cart).get();
+            TestFramework.assertTrue(false, "Checkout with an unpriced item should fail");
+        } catch (ExecutionException e) {
+            TestFramework.assertTrue(e.getCause() instanceof IllegalStateException, "The pricing failure should be reported");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sleep(200);
+        TestFramework.assertTrue(reserved.get() > 0, "Some lines should have reserved stock");
+        TestFramework.assertEqual(reserved.get(), released.get(), "Every reservation should be released");
+        executor.shutdownNow();
+    }
+
+    /**
+     * An executor that runs every task on the thread that submits it.
+     */
+    private static final class SameThreadExecutor extends AbstractExecutorService {
+        private volatile boolean shutdown;
+
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            return new ArrayList<>();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return shutdown;
+        }
+    }
+
+    private static boolean sleepUnlessInterrupted(long millis, AtomicInteger interrupted) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            interrupted.incrementAndGet();
+            return false;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
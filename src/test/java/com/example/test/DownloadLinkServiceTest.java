@@ -0,0 +1,232 @@
+package com.example.test;
+
+import com.example.model.DigitalProduct;
+import com.example.main.DownloadLinkService;
+import com.example.main.DownloadLinkService.Verdict;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Test class for DownloadLinkService.
+ * This test verifies the link format and signature, expiry, tampering, revocation and
+ * its expiry, concurrent issuing and allocation-free verification.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class DownloadLinkServiceTest {
+    private static final byte[] KEY = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final long NOW = 1_700_000_000_000L;
+    private static final long TTL = 60_000;
+
+    /**
+     * Run all tests for DownloadLinkService.
+     */
+    public static void runTests() {
+        System.out.println("=== Testing DownloadLinkService ===");
+        TestFramework.reset();
+
+        testLinkFormat();
+        testExpiry();
+        testTampering();
+        testRevocation();
+        testInvalidInput();
+        testConcurrentIssuing();
+        testVerifyDoesNotAllocate();
+
+        TestFramework.printSummary();
+    }
+
+    /**
+     * Test that a link carries the customer, expiry and a standard HMAC-SHA256 signature.
+     */
+    private static void testLinkFormat() {
+        System.out.println("\n--- Testing Link Format ---");
+
+        DownloadLinkService service = new DownloadLinkService(KEY, TTL);
+        String link = service.issue(ebook(), "alice", NOW);
+        String signed = "https://store.example.com/download/ebook-001?c=alice&e=1700000060";
+        TestFramework.assertTrue(link.startsWith(signed + "&s="), "Link should hold the customer and expiry in seconds");
+
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(KEY, "HmacSHA256"));
+            String expected = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(mac.doFinal(signed.getBytes(StandardCharsets.US_ASCII)));
+            TestFramework.assertEqual(signed + "&s=" + expected, link, "Signature should be base64url HMAC-SHA256");
+        } catch (Exception e) {
+            TestFramework.assertTrue(false, "HmacSHA256 should be available: " + e.getMessage());
+        }
+        TestFramework.assertEqual(Verdict.VALID, service.verify(link, NOW), "A fresh link should be valid");
+        TestFramework.assertEqual(Verdict.VALID, service.verify(new StringBuilder(link), NOW),
+                                  "Any CharSequence should verify");
+
+        DigitalProduct withQuery = new DigitalProduct("Course", 99.99, "COURSE-001",
+                                                      "https://learn.example.com/get?id=7", "Video Files", 2100.0);
+        String queryLink = service.issue(withQuery, "bob", NOW);
+        TestFramework.assertTrue(queryLink.startsWith("https://learn.example.com/get?id=7&c=bob&e="),
+                                 "URLs with a query should get extra parameters");
+        TestFramework.assertEqual(Verdict.VALID, service.verify(queryLink, NOW), "Links with a query should verify");
+    }
+
+    /**
+     * Test that links expire after the TTL.
+     */
+    private static void testExpiry() {
+        System.out.println("\n--- Testing Expiry ---");
+
+        DownloadLinkService service = new DownloadLinkService(KEY, TTL);
+        String link = service.issue(ebook(), "alice", NOW);
+        TestFramework.assertEqual(Verdict.VALID, service.verify(link, NOW + TTL - 1), "Link should be valid until the TTL");
+        TestFramework.assertEqual(Verdict.EXPIRED, service.verify(link, NOW + TTL), "Link should expire at the TTL");
+        TestFramework.assertEqual(Verdict.EXPIRED, service.verify(service.issue(ebook(), "alice"), System.currentTimeMillis() + TTL),
+                                  "Links issued now should expire after the TTL");
+    }
+
+    /**
+     * Test that any change to a link is detected.
+     */
+    private static void testTampering() {
+        System.out.println("\n--- Testing Tampering ---");
+
+        DownloadLinkService service = new DownloadLinkService(KEY, TTL);
+        String link = service.issue(ebook(), "alice", NOW);
+        int expiry = link.indexOf("&e=") + 3;
+
+        TestFramework.assertEqual(Verdict.BAD_SIGNATURE, service.verify(link.replace("c=alice", "c=mallory"), NOW),
+                                  "Changing the customer should break the signature");
+        TestFramework.assertEqual(Verdict.BAD_SIGNATURE,
+                                  service.verify(link.substring(0, expiry) + "2" + link.substring(expiry + 1), NOW),
+                                  "Extending the expiry should break the signature");
+        TestFramework.assertEqual(Verdict.BAD_SIGNATURE, service.verify(link.replace("ebook-001", "ebook-002"), NOW),
+                                  "Changing the file should break the signature");
+        char last = link.charAt(link.length() - 2);
+        String flipped = link.substring(0, link.length() - 2) + (last == 'A' ? 'B' : 'A') + link.charAt(link.length() - 1);
+        TestFramework.assertEqual(Verdict.BAD_SIGNATURE, service.verify(flipped, NOW),
+                                  "Changing the signature should be detected");
+        TestFramework.assertEqual(Verdict.BAD_SIGNATURE,
+                                  new DownloadLinkService("another-secret-key-000".getBytes(StandardCharsets.US_ASCII), TTL)
+                                      .verify(link, NOW), "Links signed with another key should be rejected");
+        TestFramework.assertEqual(Verdict.MALFORMED, service.verify(link.substring(0, link.length() - 1), NOW),
+                                  "A truncated signature should be malformed");
+        TestFramework.assertEqual(Verdict.MALFORMED, service.verify(link.replace("&e=", "&x="), NOW),
+                                  "A missing expiry should be malformed");
+        TestFramework.assertEqual(Verdict.MALFORMED, service.verify(link.substring(0, link.length() - 1) + "!", NOW),
+                                  "Non-base64 characters should be malformed");
+        TestFramework.assertEqual(Verdict.MALFORMED, service.verify("", NOW), "An empty link should be malformed");
+    }
+
+    /**
+     * Test revoking links and dropping revocations once their links expire.
+     */
+    private static void testRevocation() {
+        System.out.println("\n--- Testing Revocation ---");
+
+        DownloadLinkService service = new DownloadLinkService(KEY, TTL);
+        String revoked = service.issue(ebook(), "alice", NOW);
+        String other = service.issue(ebook(), "bob", NOW);
+        TestFramework.assertTrue(service.revoke(revoked, NOW), "A valid link should be revocable");
+        TestFramework.assertEqual(Verdict.REVOKED, service.verify(revoked, NOW), "A revoked link should be rejected");
+        TestFramework.assertEqual(Verdict.VALID, service.verify(other, NOW), "Other links should stay valid");
+        TestFramework.assertFalse(service.revoke(revoked + "x", NOW), "Invalid links should not be revoked");
+
+        String later = service.issue(ebook(), "carol", NOW + TTL);
+        TestFramework.assertTrue(service.revoke(later, NOW + TTL), "Revoking later should succeed");
+        TestFramework.assertEqual(1, service.getRevokedCount(), "Revocations of expired links should be dropped");
+        TestFramework.assertEqual(1, service.purgeExpiredRevocations(NOW + 2 * TTL), "Purging should drop the rest");
+        TestFramework.assertEqual(Verdict.EXPIRED, service.verify(later, NOW + 2 * TTL),
+                                  "An expired revoked link should report expired");
+    }
+
+    /**
+     * Test that bad keys, products and customers are rejected.
+     */
+    private static void testInvalidInput() {
+        System.out.println("\n--- Testing Invalid Input ---");
+
+        DownloadLinkService service = new DownloadLinkService(KEY, TTL);
+        TestFramework.assertThrows(() -> new DownloadLinkService(new byte[8], TTL), IllegalArgumentException.class,
+                                   "Short keys should be rejected");
+        TestFramework.assertThrows(() -> service.issue(ebook(), "alice&e=9", NOW), IllegalArgumentException.class,
+                                   "Customer ids that could inject parameters should be rejected");
+        TestFramework.assertThrows(() -> service.issue(new DigitalProduct(), "alice", NOW), IllegalArgumentException.class,
+                                   "Products without a download URL should be rejected");
+    }
+
+    /**
+     * Test issuing and verifying from many threads at once.
+     */
+    private static void testConcurrentIssuing() {
+        System.out.println("\n--- Testing Concurrent Issuing ---");
+
+        DownloadLinkService service = new DownloadLinkService(KEY, TTL);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] results = new Future<?>[4];
+            int[] valid = new int[4];
+            for (int t = 0; t < results.length; t++) {
+                int thread = t;
+                results[t] = executor.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        String link = service.issue(ebook(), "customer-" + thread + "-" + i, NOW);
+                        if (service.verify(link, NOW) == Verdict.VALID) {
+                            valid[thread]++;
+                        }
+                    }
+                });
+            }
+            int total = 0;
+            for (int t = 0; t < results.length; t++) {
+                results[t].get(30, TimeUnit.SECONDS);
+                total += valid[t];
+            }
+            TestFramework.assertEqual(8_000, total, "Every link issued concurrently should verify");
+        } catch (Exception e) {
+            TestFramework.assertTrue(false, "Concurrent issuing should not fail: " + e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test that verification allocates no more than the JDK's Mac result.
+     */
+    private static void testVerifyDoesNotAllocate() {
+        System.out.println("\n--- Testing Allocation-Free Verification ---");
+
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            TestFramework.assertTrue(true, "Allocation counting not supported by this JVM; skipped");
+            return;
+        }
+        com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) threads;
+        DownloadLinkService service = new DownloadLinkService(KEY, TTL);
+        String link = service.issue(ebook(), "alice", NOW);
+        int valid = 0;
+        for (int i = 0; i < 20_000; i++) {
+            valid += service.verify(link, NOW) == Verdict.VALID ? 1 : 0;
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = allocation.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 10_000; i++) {
+            valid += service.verify(link, NOW) == Verdict.VALID ? 1 : 0;
+        }
+        long perCall = (allocation.getThreadAllocatedBytes(threadId) - before) / 10_000;
+        TestFramework.assertEqual(30_000, valid, "Every verification should succeed");
+        // Mac.doFinal() returns a new 48-byte array (32 bytes plus header); anything of ours would add to it
+        TestFramework.assertTrue(perCall <= 64, "Verification should only allocate the Mac result (was " + perCall + " bytes)");
+    }
+
+    private static DigitalProduct ebook() {
+        return new DigitalProduct("E-Book: Advanced Java", 29.99, "EBOOK-001",
+                                  "https://store.example.com/download/ebook-001", "PDF", 25.5);
+    }
+}
@@ -0,0 +1,424 @@
+package com.example.test;
+
+import com.example.model.DigitalProduct;
+import com.example.main.DownloadScheduler;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for DownloadScheduler.
+ * This test verifies file contents, shortest-job-first ordering, aging, per-client
+ * limits, the bandwidth cap, missing files, cancellation, stalled targets and closing.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class DownloadSchedulerTest {
+    private static final Map<String, Path> FILES = new HashMap<>();
+
+    /**
+     * Run all tests for DownloadScheduler.
+     */
+    public static void runTests() {
+        System.out.println("=== Testing DownloadScheduler ===");
+        TestFramework.reset();
+
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("download-test");
+            FILES.put("SMALL", write(directory, "small.bin", 10 * 1024));
+            FILES.put("LARGE", write(directory, "large.bin", 2 * 1024 * 1024));
+            FILES.put("BLOCKER", write(directory, "blocker.bin", 1024));
+
+            testDeliversFile();
+            testShortestJobFirst();
+            testAging();
+            testPerClientLimit();
+            testBandwidthCap();
+            testMissingFile();
+            testCancellation();
+            testStalledTarget();
+            testCloseCompletesDispatched();
+        } catch (IOException e) {
+            TestFramework.assertTrue(false, "Test files should be created: " + e.getMessage());
+        } finally {
+            delete(directory);
+        }
+
+        TestFramework.printSummary();
+    }
+
+    /**
+     * Test that the whole file arrives unchanged.
+     */
+    private static void testDeliversFile() throws IOException {
+        System.out.println("\n--- Testing File Delivery ---");
+
+        try (DownloadScheduler scheduler = new DownloadScheduler(DownloadSchedulerTest::fileOf, 2, 1, 0, 1)) {
+            ByteArrayOutputStream received = new ByteArrayOutputStream();
+            DownloadScheduler.Delivery delivery = scheduler.submit("alice", product("LARGE", 2),
+                                                                   Channels.newChannel(received)).join();
+            TestFramework.assertEqual(2L * 1024 * 1024, delivery.getBytes(), "Every byte should be sent");
+            TestFramework.assertTrue(Arrays.equals(Files.readAllBytes(FILES.get("LARGE")), received.toByteArray()),
+                                     "The received bytes should match the file");
+            TestFramework.assertEqual("alice", delivery.getClientId(), "Delivery should name the client");
+        }
+    }
+
+    /**
+     * Test that small jobs waiting together with large ones go first.
+     */
+    private static void testShortestJobFirst() {
+        System.out.println("\n--- Testing Shortest Job First ---");
+
+        try (DownloadScheduler scheduler = new DownloadScheduler(DownloadSchedulerTest::fileOf, 1, 10, 0, 1_000)) {
+            BlockingChannel blocker = new BlockingChannel();
+            CompletableFuture<DownloadScheduler.Delivery> first = scheduler.submit("x", product("BLOCKER", 0.001), blocker);
+            List<String> order = Collections.synchronizedList(new ArrayList<>());
+            List<CompletableFuture<DownloadScheduler.Delivery>> jobs = new ArrayList<>();
+            jobs.add(submitRecording(scheduler, "a", product("LARGE", 2100), order));
+            jobs.add(submitRecording(scheduler, "b", product("LARGE", 500), order));
+            jobs.add(submitRecording(scheduler, "c", product("SMALL", 0.1), order));
+            TestFramework.assertEqual(3, scheduler.getWaitingCount(), "Three jobs should wait behind the blocker");
+
+            blocker.release();
+            first.join();
+            CompletableFuture.allOf(jobs.toArray(new CompletableFuture<?>[0])).join();
+            TestFramework.assertEqual(Arrays.asList("c", "b", "a"), order, "Jobs should run smallest first");
+        }
+    }
+
+    /**
+     * Test that a large job that has waited long enough beats a later small one.
+     */
+    private static void testAging() {
+        System.out.println("\n--- Testing Aging ---");
+
+        // 0.1 ms per MB: the 500 MB job makes up its size after waiting 50 ms
+        try (DownloadScheduler scheduler = new DownloadScheduler(DownloadSchedulerTest::fileOf, 1, 10, 0, 0.1)) {
+            BlockingChannel blocker = new BlockingChannel();
+            CompletableFuture<DownloadScheduler.Delivery> first = scheduler.submit("x", product("BLOCKER", 0.001), blocker);
+            List<String> order = Collections.synchronizedList(new ArrayList<>());
+            CompletableFuture<DownloadScheduler.Delivery> large = submitRecording(scheduler, "old", product("LARGE", 500), order);
+            sleep(150);
+            CompletableFuture<DownloadScheduler.Delivery> small = submitRecording(scheduler, "new", product("SMALL", 0.1), order);
+
+            blocker.release();
+            CompletableFuture.allOf(first, large, small).join();
+            TestFramework.assertEqual(Arrays.asList("old", "new"), order, "An aged large job should not be starved");
+        }
+    }
+
+    /**
+     * Test that one client never has more transfers running than its limit, while
+     * other clients are not held back.
+     */
+    private static void testPerClientLimit() {
+        System.out.println("\n--- Testing Per-Client Limit ---");
+
+        try (DownloadScheduler scheduler = new DownloadScheduler(DownloadSchedulerTest::fileOf, 4, 1, 0, 1)) {
+            AtomicInteger active = new AtomicInteger();
+            AtomicInteger maxActive = new AtomicInteger();
+            List<CompletableFuture<DownloadScheduler.Delivery>> jobs = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                jobs.add(scheduler.submit("greedy", product("LARGE", 2), new CountingChannel(active, maxActive)));
+            }
+            BlockingChannel other = new BlockingChannel();
+            CompletableFuture<DownloadScheduler.Delivery> otherJob = scheduler.submit("other", product("SMALL", 0.1), other);
+            TestFramework.assertTrue(other.awaitStarted(), "Another client should start while the first is limited");
+            other.release();
+
+            CompletableFuture.allOf(jobs.toArray(new CompletableFuture<?>[0])).join();
+            otherJob.join();
+            TestFramework.assertEqual(1, maxActive.get(), "A client should have at most one transfer at a time");
+        }
+    }
+
+    /**
+     * Test that the token bucket caps the transfer rate.
+     */
+    private static void testBandwidthCap() {
+        System.out.println("\n--- Testing Bandwidth Cap ---");
+
+        // 2 MB at 4 MB/s, with a burst of 400 KB: at least 0.4 s
+        try (DownloadScheduler scheduler = new DownloadScheduler(DownloadSchedulerTest::fileOf, 2, 2, 4 * 1024 * 1024, 1)) {
+            long start = System.nanoTime();
+            CompletableFuture<DownloadScheduler.Delivery> a = scheduler.submit("a", product("LARGE", 2), discard());
+            CompletableFuture<DownloadScheduler.Delivery> b = scheduler.submit("b", product("SMALL", 0.1), discard());
+            CompletableFuture.allOf(a, b).join();
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            TestFramework.assertTrue(elapsedMillis >= 350, "2 MB at 4 MB/s should take about 0.4 s (took " + elapsedMillis + " ms)");
+            TestFramework.assertTrue(elapsedMillis < 5_000, "The cap should not stall transfers");
+        }
+    }
+
+    /**
+     * Test that a missing file fails only its own download.
+     */
+    private static void testMissingFile() {
+        System.out.println("\n--- Testing Missing File ---");
+
+        try (DownloadScheduler scheduler = new DownloadScheduler(DownloadSchedulerTest::fileOf, 1, 1, 0, 1)) {
+            CompletableFuture<DownloadScheduler.Delivery> missing = scheduler.submit("a", product("NONE", 1), discard());
+            CompletableFuture<DownloadScheduler.Delivery> present = scheduler.submit("a", product("SMALL", 0.1), discard());
+            TestFramework.assertThrows(missing::join, RuntimeException.class, "A missing file should fail its download");
+            TestFramework.assertEqual(10L * 1024, present.join().getBytes(), "Later downloads should still run");
+        }
+    }
+
+    /**
+     * Test cancelling waiting jobs and closing the scheduler.
+     */
+    private static void testCancellation() {
+        System.out.println("\n--- Testing Cancellation ---");
+
+        DownloadScheduler scheduler = new DownloadScheduler(DownloadSchedulerTest::fileOf, 1, 1, 0, 1);
+        BlockingChannel blocker = new BlockingChannel();
+        CompletableFuture<DownloadScheduler.Delivery> first = scheduler.submit("x", product("BLOCKER", 0.001), blocker);
+        CompletableFuture<DownloadScheduler.Delivery> cancelled = scheduler.submit("y", product("SMALL", 0.1), discard());
+        CompletableFuture<DownloadScheduler.Delivery> pending = scheduler.submit("z", product("SMALL", 0.1), discard());
+        cancelled.cancel(true);
+        blocker.awaitStarted();
+        scheduler.close();
+        blocker.release();
+
+        TestFramework.assertTrue(cancelled.isCancelled(), "A cancelled job should stay cancelled");
+        TestFramework.assertTrue(pending.isCompletedExceptionally(), "Closing should fail waiting jobs");
+        TestFramework.assertThrows(() -> scheduler.submit("z", product("SMALL", 0.1), discard()), IllegalStateException.class,
+                                   "A closed scheduler should reject jobs");
+        TestFramework.assertTrue(first.isDone() || waitDone(first), "The running job should finish or stop");
+    }
+
+    /**
+     * Test that a job whose target accepts nothing, like a non-blocking socket with a
+     * full send buffer, can be cancelled and frees its worker.
+     */
+    private static void testStalledTarget() {
+        System.out.println("\n--- Testing Stalled Target ---");
+
+        try (DownloadScheduler scheduler = new DownloadScheduler(DownloadSchedulerTest::fileOf, 1, 10, 0, 1)) {
+            AtomicInteger attempts = new AtomicInteger();
+            WritableByteChannel full = new WritableByteChannel() {
+                @Override
+                public int write(ByteBuffer source) {
+                    attempts.incrementAndGet();
+                    return 0;
+                }
+
+                @Override
+                public boolean isOpen() {
+                    return true;
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+            CompletableFuture<DownloadScheduler.Delivery> stalled = scheduler.submit("x", product("SMALL", 0.1), full);
+            CompletableFuture<DownloadScheduler.Delivery> next = scheduler.submit("y", product("SMALL", 0.1), discard());
+            sleep(50);
+            int attemptsIn50Ms = attempts.get();
+            stalled.cancel(true);
+
+            TestFramework.assertTrue(attemptsIn50Ms < 1_000, "A stalled target should be retried with back-off, not spun on ("
+                                     + attemptsIn50Ms + " writes in 50 ms)");
+            TestFramework.assertTrue(waitDone(next), "Cancelling the stalled job should free its worker");
+        }
+    }
+
+    /**
+     * Test that closing completes every job, including those handed to a worker that
+     * had not started them yet.
+     */
+    private static void testCloseCompletesDispatched() {
+        System.out.println("\n--- Testing Close With Dispatched Jobs ---");
+
+        int hanging = 0;
+        int leftRunning = 0;
+        for (int round = 0; round < 200; round++) {
+            DownloadScheduler scheduler = new DownloadScheduler(DownloadSchedulerTest::fileOf, 2, 10, 0, 1);
+            List<CompletableFuture<DownloadScheduler.Delivery>> jobs = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                jobs.add(scheduler.submit("c" + i, product("SMALL", 0.1), discard()));
+            }
+            scheduler.close();
+            for (CompletableFuture<DownloadScheduler.Delivery> job : jobs) {
+                hanging += job.isDone() ? 0 : 1;
+            }
+            leftRunning += scheduler.getRunningCount();
+        }
+        TestFramework.assertEqual(0, hanging, "Every job should be complete once close() returns");
+        TestFramework.assertEqual(0, leftRunning, "No transfer should be counted as running after close()");
+    }
+
+    private static CompletableFuture<DownloadScheduler.Delivery> submitRecording(DownloadScheduler scheduler, String client,
+                                                                                DigitalProduct product, List<String> order) {
+        WritableByteChannel target = new WritableByteChannel() {
+            private boolean recorded;
+
+            @Override
+            public int write(ByteBuffer source) {
+                if (!recorded) {
+                    order.add(client);
+                    recorded = true;
+                }
+                int written = source.remaining();
+                source.position(source.limit());
+                return written;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        return scheduler.submit(client, product, target);
+    }
+
+    private static Path fileOf(DigitalProduct product) {
+        Path file = FILES.get(product.getSku());
+        return file != null ? file : FILES.get("SMALL").resolveSibling("missing.bin");
+    }
+
+    private static DigitalProduct product(String sku, double sizeMB) {
+        return new DigitalProduct(sku, 9.99, sku, "https://example.com/" + sku, "BIN", sizeMB);
+    }
+
+    private static WritableByteChannel discard() {
+        return Channels.newChannel(java.io.OutputStream.nullOutputStream());
+    }
+
+    private static Path write(Path directory, String name, int bytes) throws IOException {
+        byte[] content = new byte[bytes];
+        for (int i = 0; i < bytes; i++) {
+            content[i] = (byte) (i * 31 + 7);
+        }
+        return Files.write(directory.resolve(name), content);
+    }
+
+    private static void delete(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try {
+            for (Path file : FILES.values()) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            // Temporary files only; nothing to do
+        }
+        FILES.clear();
+    }
+
+    private static boolean waitDone(CompletableFuture<?> future) {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            // Stopped by close(), which is fine
+        }
+        return future.isDone();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A target that holds its transfer open until released.
+     */
+    private static final class BlockingChannel implements WritableByteChannel {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        @Override
+        public int write(ByteBuffer source) {
+            started.countDown();
+            try {
+                released.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            int written = source.remaining();
+            source.position(source.limit());
+            return written;
+        }
+
+        boolean awaitStarted() {
+            try {
+                return started.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        void release() {
+            released.countDown();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * A target that tracks how many transfers write to it at once.
+     */
+    private static final class CountingChannel implements WritableByteChannel {
+        private final AtomicInteger active;
+        private final AtomicInteger maxActive;
+
+        CountingChannel(AtomicInteger active, AtomicInteger maxActive) {
+            this.active = active;
+            this.maxActive = maxActive;
+        }
+
+        @Override
+        public int write(ByteBuffer source) {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            Thread.yield();
+            int written = source.remaining();
+            source.position(source.limit());
+            active.decrementAndGet();
+            return written;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.test;
+
+import com.example.model.Product;
+import com.example.model.DigitalProduct;
+import com.example.model.ImmutableDigitalProduct;
+import com.example.model.ImmutableProduct;
+
+/**
+ * Test class for ImmutableProduct and ImmutableDigitalProduct.
+ * This test verifies the builder, SKU-based equality and conversions.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class ImmutableProductTest {
+
+    /**
+     * Run all tests for immutable products.
+     */
+    public static void runTests() {
+        System.out.println("=== Testing ImmutableProduct ===");
+        TestFramework.reset();
+
+        testBuilder();
+        testEquality();
+        testConversions();
+
+        TestFramework.printSummary();
+    }
+
+    /**
+     * Test that the builder picks the right type and requires a SKU.
+     */
+    private static void testBuilder() {
+        System.out.println("\n--- Testing Builder ---");
+
+        ImmutableProduct laptop = ImmutableProduct.builder().name("Gaming Laptop").price(1299.99).sku("LAP-001").build();
+        ImmutableProduct ebook = ImmutableProduct.builder().name("E-Book").price(29.99).sku("EBOOK-001")
+                .downloadUrl("https://example.com/ebook").fileType(new String("PDF")).fileSizeMB(25.5).build();
+
+        TestFramework.assertFalse(laptop.isDigital(), "Builder without digital fields should build a physical product");
+        TestFramework.assertTrue(ebook instanceof ImmutableDigitalProduct, "Builder with digital fields should build a digital product");
+        TestFramework.assertEqual(laptop.getProductInfo(), new Product("Gaming Laptop", 1299.99, "LAP-001").getProductInfo(),
+                                  "Product info should match the mutable class");
+        TestFramework.assertThrows(() -> ImmutableProduct.builder().name("No SKU").build(), IllegalStateException.class,
+                                   "Building without a SKU should fail");
+
+        ImmutableProduct other = ImmutableProduct.builder().sku("PDF-002").fileType(new String("PDF")).build();
+        TestFramework.assertTrue(((ImmutableDigitalProduct) ebook).getFileType() == ((ImmutableDigitalProduct) other).getFileType(),
+                                 "Equal file types should share one interned instance");
+    }
+
+    /**
+     * Test that equality and hash code depend only on the SKU.
+     */
+    private static void testEquality() {
+        System.out.println("\n--- Testing Equality ---");
+
+        ImmutableProduct first = ImmutableProduct.builder().name("Name A").price(1.0).sku("SKU-1").build();
+        ImmutableProduct second = ImmutableProduct.builder().name("Name B").price(2.0).sku("SKU-1").build();
+        ImmutableProduct third = ImmutableProduct.builder().name("Name A").price(1.0).sku("SKU-2").build();
+
+        TestFramework.assertEqual(first, second, "Products with the same SKU should be equal");
+        TestFramework.assertEqual(first.hashCode(), second.hashCode(), "Equal products should have the same hash code");
+        TestFramework.assertFalse(first.equals(third), "Products with different SKUs should not be equal");
+    }
+
+    /**
+     * Test conversion to and from the mutable model classes.
+     */
+    private static void testConversions() {
+        System.out.println("\n--- Testing Conversions ---");
+
+        DigitalProduct course = new DigitalProduct("Online Course", 99.99, "COURSE-001",
+                                                   "https://learn.example.com/course", "Video Files", 2100.0);
+        ImmutableProduct frozen = ImmutableProduct.from(course);
+        course.setPrice(1.0);
+
+        TestFramework.assertTrue(frozen instanceof ImmutableDigitalProduct, "DigitalProduct should convert to a digital value");
+        TestFramework.assertEqual(99.99, frozen.getPrice(), "Changing the source should not change the immutable copy");
+
+        Product thawed = frozen.toProduct();
+        TestFramework.assertTrue(thawed instanceof DigitalProduct, "Digital value should convert back to a DigitalProduct");
+        TestFramework.assertEqual(2100.0, ((DigitalProduct) thawed).getFileSizeMB(), "File size should survive the round trip");
+
+        ImmutableProduct repriced = frozen.toBuilder().price(79.99).build();
+        TestFramework.assertEqual(79.99, repriced.getPrice(), "toBuilder should allow a modified copy");
+        TestFramework.assertEqual("Video Files", ((ImmutableDigitalProduct) repriced).getFileType(), "toBuilder should keep digital fields");
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.test;
+
+import com.example.model.Product;
+import com.example.model.DigitalProduct;
+import com.example.main.CheckoutService;
+import com.example.main.InventoryService;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test class for InventoryService.
+ * This test verifies reservations, commits, releases, expiry and that concurrent
+ * reservations never oversell, with and without striped counters, and the
+ * take and return steps used by CheckoutService.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class InventoryServiceTest {
+
+    /**
+     * Run all tests for the inventory service.
+     */
+    public static void runTests() {
+        System.out.println("=== Testing InventoryService ===");
+        TestFramework.reset();
+
+        testReserveCommitRelease();
+        testDigitalProductsSkipStock();
+        testExpiry();
+        testNoOversellingUnderContention(1);
+        testNoOversellingUnderContention(8);
+        testStripedMultiUnitReservations();
+        testCheckoutSteps();
+
+        TestFramework.printSummary();
+    }
+
+    /**
+     * Test the reservation lifecycle on a single SKU.
+     */
+    private static void testReserveCommitRelease() {
+        System.out.println("\n--- Testing Reserve, Commit and Release ---");
+
+        try (InventoryService inventory = new InventoryService(60_000, 0)) {
+            Product laptop = new Product("Laptop", 999.99, "LAPTOP-001");
+            inventory.addStock("LAPTOP-001", 3);
+
+            InventoryService.Reservation first = inventory.reserve(laptop, 2);
+            TestFramework.assertNotNull(first, "Reserving 2 of 3 should succeed");
+            TestFramework.assertEqual(1L, inventory.available("LAPTOP-001"), "One unit should be left");
+            TestFramework.assertEqual(null, inventory.reserve(laptop, 2), "Reserving 2 of 1 should fail");
+
+            TestFramework.assertTrue(inventory.release(first), "Release should succeed");
+            TestFramework.assertFalse(inventory.release(first), "Second release should be ignored");
+            TestFramework.assertEqual(3L, inventory.available("LAPTOP-001"), "Released stock should return");
+
+            InventoryService.Reservation second = inventory.reserve(laptop, 3);
+            TestFramework.assertTrue(inventory.commit(second), "Commit should succeed");
+            TestFramework.assertFalse(inventory.release(second), "Committed reservation cannot be released");
+            TestFramework.assertEqual(0L, inventory.available("LAPTOP-001"), "Committed stock should stay sold");
+            TestFramework.assertEqual(0, inventory.pendingReservations(), "No reservations should be pending");
+
+            Product unknown = new Product("Unknown", 1.0, "UNKNOWN-1");
+            TestFramework.assertFalse(inventory.takeOne(unknown), "SKU without stock should fail");
+            TestFramework.assertThrows(() -> inventory.reserve(laptop, 0), IllegalArgumentException.class,
+                                       "Zero quantity should be rejected");
+        }
+    }
+
+    /**
+     * Test that digital products never touch stock.
+     */
+    private static void testDigitalProductsSkipStock() {
+        System.out.println("\n--- Testing Digital Products Skip Stock ---");
+
+        try (InventoryService inventory = new InventoryService(60_000, 0)) {
+            DigitalProduct course = new DigitalProduct("Java Course", 99.99, "COURSE-001",
+                                                       "https://example.com/course", "Video", 2048.0);
+            InventoryService.Reservation reservation = inventory.reserve(course, 1_000);
+            TestFramework.assertNotNull(reservation, "Digital reservation should always succeed");
+            TestFramework.assertTrue(reservation.isDigital(), "Reservation should be marked digital");
+            TestFramework.assertEqual(0, inventory.pendingReservations(), "Digital reservations are not tracked");
+            TestFramework.assertTrue(inventory.commit(reservation), "Digital reservation should commit");
+            TestFramework.assertEqual(0L, inventory.available("COURSE-001"), "No stock should be created");
+            inventory.returnOne(course);
+            TestFramework.assertEqual(0L, inventory.available("COURSE-001"), "Returning a digital unit should not create stock");
+        }
+    }
+
+    /**
+     * Test takeOne() and returnOne() as CheckoutService's inventory steps: a failed
+     * checkout gives its units back and a successful one keeps them sold.
+     */
+    private static void testCheckoutSteps() {
+        System.out.println("\n--- Testing Checkout Steps ---");
+
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try (InventoryService inventory = new InventoryService(20, 0)) {
+            inventory.addStock("LAPTOP-001", 3);
+            CheckoutService checkout = new CheckoutService(executor, 4, 5_000, 0.0, product -> {
+                sleep(10);
+                if (product.getSku().equals("BROKEN-1")) {
+                    throw new IllegalStateException("No price");
+                }
+                return product.getPrice();
+            }, inventory::takeOne, inventory::returnOne, DigitalProduct::getDownloadUrl);
+            Product laptop = new Product("Laptop", 999.99, "LAPTOP-001");
+            Product broken = new Product("Broken", 1.0, "BROKEN-1");
+
+            TestFramework.assertThrows(() -> checkout.checkout(List.of(laptop, laptop, broken)).join(),
+                                       CompletionException.class, "Checkout with an unpriced item should fail");
+            sleep(100);
+            TestFramework.assertEqual(3L, inventory.available("LAPTOP-001"), "A failed checkout should return its units");
+
+            CheckoutService.Receipt receipt = checkout.checkout(List.of(laptop, laptop)).join();
+            TestFramework.assertTrue(receipt.isAllReserved(), "Both units should be taken");
+            sleep(50);
+            inventory.expireReservations();
+            TestFramework.assertEqual(1L, inventory.available("LAPTOP-001"), "Taken units should stay sold past the hold time");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test that pending reservations expire and return their stock, when swept
+     * explicitly, when committed too late and by the background scheduler.
+     */
+    private static void testExpiry() {
+        System.out.println("\n--- Testing Reservation Expiry ---");
+
+        Product book = new Product("Book", 19.99, "BOOK-001");
+        try (InventoryService inventory = new InventoryService(20, 0)) {
+            inventory.addStock("BOOK-001", 5);
+            InventoryService.Reservation expiring = inventory.reserve(book, 4);
+            InventoryService.Reservation committed = inventory.reserve(book, 1);
+            inventory.commit(committed);
+            sleep(50);
+
+            TestFramework.assertEqual(1, inventory.expireReservations(), "One reservation should expire");
+            TestFramework.assertEqual(4L, inventory.available("BOOK-001"), "Expired stock should return");
+            TestFramework.assertFalse(inventory.commit(expiring), "Expired reservation cannot be committed");
+
+            InventoryService.Reservation unswept = inventory.reserve(book, 3);
+            sleep(50);
+            TestFramework.assertFalse(inventory.commit(unswept), "Expired but unswept reservation cannot be committed");
+            TestFramework.assertEqual(4L, inventory.available("BOOK-001"), "Failed commit should return expired stock");
+            TestFramework.assertEqual(0, inventory.pendingReservations(), "Failed commit should stop tracking it");
+            TestFramework.assertEqual(0, inventory.expireReservations(), "Sweep should not return the stock twice");
+        }
+
+        try (InventoryService inventory = new InventoryService(20, 5)) {
+            inventory.addStock("BOOK-001", 2);
+            inventory.reserve(book, 2);
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (inventory.available("BOOK-001") < 2 && System.currentTimeMillis() < deadline) {
+                sleep(5);
+            }
+            TestFramework.assertEqual(2L, inventory.available("BOOK-001"), "Scheduler should release expired stock");
+        }
+    }
+
+    /**
+     * Stress test: many threads race to reserve single units of a flash-sale SKU.
+     * Exactly the stocked quantity must be sold, never more.
+     *
+     * @param stripes The number of stock counters for the SKU.
+     */
+    private static void testNoOversellingUnderContention(int stripes) {
+        System.out.println("\n--- Testing No Overselling (" + stripes + " stripe(s)) ---");
+
+        int stock = 100_000;
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        Product console = new Product("Console", 499.99, "CONSOLE-001");
+        try (InventoryService inventory = new InventoryService(60_000, 0)) {
+            inventory.addStock("CONSOLE-001", stock);
+            inventory.makeStriped("CONSOLE-001", stripes);
+
+            AtomicLong sold = new AtomicLong();
+            AtomicLong released = new AtomicLong();
+            Set<Long> ids = ConcurrentHashMap.newKeySet();
+            CountDownLatch start = new CountDownLatch(1);
+            Thread[] workers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                workers[t] = new Thread(() -> {
+                    await(start);
+                    int attempt = 0;
+                    while (true) {
+                        InventoryService.Reservation reservation = inventory.reserve(console, 1);
+                        if (reservation == null) {
+                            break;
+                        }
+                        ids.add(reservation.getId());
+                        // Abandon every tenth cart so released stock is sold again
+                        if (++attempt % 10 == 0 && inventory.release(reservation)) {
+                            released.incrementAndGet();
+                        } else if (inventory.commit(reservation)) {
+                            sold.incrementAndGet();
+                        }
+                    }
+                });
+                workers[t].start();
+            }
+            start.countDown();
+            joinAll(workers);
+
+            TestFramework.assertEqual((long) stock, sold.get(), "Exactly the stocked quantity should be sold");
+            TestFramework.assertEqual(0L, inventory.available("CONSOLE-001"), "Stock should be exhausted, not negative");
+            TestFramework.assertTrue(released.get() > 0, "Some reservations should have been released");
+            TestFramework.assertEqual(0, inventory.pendingReservations(), "No reservations should be left pending");
+            TestFramework.assertEqual(sold.get() + released.get(), (long) ids.size(), "Every reservation should get its own id");
+        }
+    }
+
+    /**
+     * Test that multi-unit reservations can gather stock spread over several stripes.
+     */
+    private static void testStripedMultiUnitReservations() {
+        System.out.println("\n--- Testing Striped Multi-Unit Reservations ---");
+
+        Product phone = new Product("Phone", 699.0, "PHONE-001");
+        try (InventoryService inventory = new InventoryService(60_000, 0)) {
+            inventory.makeStriped("PHONE-001", 4);
+            inventory.addStock("PHONE-001", 10);
+            TestFramework.assertEqual(10L, inventory.available("PHONE-001"), "Striped stock should add up");
+
+            TestFramework.assertNotNull(inventory.reserve(phone, 7), "7 units should be gathered from stripes");
+            TestFramework.assertEqual(null, inventory.reserve(phone, 4), "Only 3 units should be left");
+            TestFramework.assertEqual(3L, inventory.available("PHONE-001"), "Failed gather should put units back");
+            TestFramework.assertTrue(inventory.tryTake(phone, 3), "Last 3 units should be taken");
+            TestFramework.assertEqual(0L, inventory.available("PHONE-001"), "Stock should be exhausted");
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void joinAll(Thread[] threads) {
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
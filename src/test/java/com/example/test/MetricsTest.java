@@ -0,0 +1,236 @@
+package com.example.test;
+
+import com.example.model.Product;
+import com.example.model.DigitalProduct;
+import com.example.main.CartMetrics;
+import com.example.main.CartRenderer;
+import com.example.metrics.Counter;
+import com.example.metrics.LatencyRecorder;
+import com.example.metrics.MetricsRegistry;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for the metrics package and CartMetrics.
+ * This test verifies counters, latency percentiles, the disabled mode, allocation-free
+ * recording, cart instrumentation and the Prometheus export.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class MetricsTest {
+
+    /**
+     * Run all tests for metrics.
+     */
+    public static void runTests() {
+        System.out.println("=== Testing Metrics ===");
+        TestFramework.reset();
+
+        testCounters();
+        testLatencyPercentiles();
+        testDisabledRegistry();
+        testRecordingDoesNotAllocate();
+        testCartInstrumentation();
+        testPrometheusExport();
+
+        TestFramework.printSummary();
+    }
+
+    /**
+     * Test counters, including concurrent increments and re-registration.
+     */
+    private static void testCounters() {
+        System.out.println("\n--- Testing Counters ---");
+
+        MetricsRegistry registry = new MetricsRegistry(true);
+        Counter counter = registry.counter("requests_total", "Requests.", "path", "/cart");
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    counter.increment();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        counter.add(5);
+        TestFramework.assertEqual(40_005L, counter.get(), "Concurrent increments should all be counted");
+        TestFramework.assertTrue(counter == registry.counter("requests_total", "Requests.", "path", "/cart"),
+                                 "Registering again should return the same counter");
+        TestFramework.assertThrows(() -> registry.latency("requests_total", "Requests."), IllegalArgumentException.class,
+                                   "A name cannot be reused for another metric type");
+        TestFramework.assertThrows(() -> registry.counter("bad name", "Bad."), IllegalArgumentException.class,
+                                   "Invalid metric names should be rejected");
+    }
+
+    /**
+     * Test that percentiles are within the recorder's precision.
+     */
+    private static void testLatencyPercentiles() {
+        System.out.println("\n--- Testing Latency Percentiles ---");
+
+        MetricsRegistry registry = new MetricsRegistry(true);
+        LatencyRecorder recorder = registry.latency("op_seconds", "Operation time.");
+        for (long value = 1; value <= 100_000; value++) {
+            recorder.record(value * 1_000); // 1 us to 100 ms
+        }
+        LatencyRecorder.Snapshot snapshot = recorder.snapshot();
+        TestFramework.assertEqual(100_000L, snapshot.getCount(), "Every value should be counted");
+        TestFramework.assertEqual(100_000_000L, snapshot.getMaxNanos(), "Max should be exact");
+        TestFramework.assertTrue(withinPercent(snapshot.getValueAtQuantile(0.5), 50_000_000L, 3.2),
+                                 "p50 should be within 3% of 50 ms");
+        TestFramework.assertTrue(withinPercent(snapshot.getValueAtQuantile(0.99), 99_000_000L, 3.2),
+                                 "p99 should be within 3% of 99 ms");
+        TestFramework.assertEqual(100_000_000L, snapshot.getValueAtQuantile(1.0), "p100 should be the max");
+        TestFramework.assertTrue(Math.abs(snapshot.getMeanNanos() - 50_000_500.0) < 1, "Mean should be exact");
+
+        recorder.record(7);
+        TestFramework.assertEqual(7L, recorder.snapshot().getValueAtQuantile(0.0), "Small values should be exact");
+    }
+
+    /**
+     * Test that nothing is recorded while the registry is disabled, and that it can be re-enabled.
+     */
+    private static void testDisabledRegistry() {
+        System.out.println("\n--- Testing Disabled Registry ---");
+
+        MetricsRegistry registry = new MetricsRegistry(false);
+        Counter counter = registry.counter("items_total", "Items.");
+        LatencyRecorder recorder = registry.latency("item_seconds", "Item time.");
+        counter.increment();
+        long start = recorder.startTimer();
+        recorder.stopTimer(start);
+        recorder.record(1_000);
+        TestFramework.assertEqual(0L, start, "Disabled timer should not read the clock");
+        TestFramework.assertEqual(0L, counter.get(), "Disabled counter should not count");
+        TestFramework.assertEqual(0L, recorder.snapshot().getCount(), "Disabled recorder should not record");
+
+        registry.setEnabled(true);
+        counter.increment();
+        TestFramework.assertEqual(1L, counter.get(), "Re-enabled counter should count");
+    }
+
+    /**
+     * Test that the recording path allocates nothing once warmed up.
+     */
+    private static void testRecordingDoesNotAllocate() {
+        System.out.println("\n--- Testing Allocation-Free Recording ---");
+
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            TestFramework.assertTrue(true, "Allocation counting not supported by this JVM; skipped");
+            return;
+        }
+        com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) threads;
+        MetricsRegistry registry = new MetricsRegistry(true);
+        Counter counter = registry.counter("ops_total", "Operations.");
+        LatencyRecorder recorder = registry.latency("op_seconds", "Operation time.");
+        for (int i = 0; i < 10_000; i++) {
+            counter.increment();
+            recorder.stopTimer(recorder.startTimer());
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = allocation.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            counter.increment();
+            recorder.stopTimer(recorder.startTimer());
+        }
+        long allocated = allocation.getThreadAllocatedBytes(threadId) - before;
+        // Any per-recording object would be at least 16 bytes each; allow a little JIT and JMX noise
+        TestFramework.assertTrue(allocated < 10_000, "100,000 recordings should allocate nothing (was " + allocated + " bytes)");
+    }
+
+    /**
+     * Test that the renderer records items by type and whole renders.
+     */
+    private static void testCartInstrumentation() {
+        System.out.println("\n--- Testing Cart Instrumentation ---");
+
+        MetricsRegistry registry = new MetricsRegistry(true);
+        CartMetrics metrics = new CartMetrics(registry);
+        List<Product> cart = new ArrayList<>();
+        cart.add(new Product("Laptop", 999.99, "LAPTOP-001"));
+        cart.add(new Product("Mouse", 25.50, "MOUSE-001"));
+        cart.add(new DigitalProduct("E-Book", 29.99, "EBOOK-001", "https://example.com/ebook", "PDF", 25.5));
+
+        String rendered = new CartRenderer(Integer.MAX_VALUE, metrics).renderToString(cart);
+        TestFramework.assertEqual(new CartRenderer().renderToString(cart), rendered,
+                                  "Instrumented rendering should produce the same output");
+        for (Product item : cart) {
+            metrics.recordItemValue(item);
+        }
+
+        String exported = export(registry);
+        TestFramework.assertTrue(exported.contains("cart_items_processed_total{type=\"physical\"} 2\n"),
+                                 "Two physical items should be counted");
+        TestFramework.assertTrue(exported.contains("cart_items_processed_total{type=\"digital\"} 1\n"),
+                                 "One digital item should be counted");
+        TestFramework.assertTrue(exported.contains("cart_item_processing_seconds_count{type=\"physical\"} 2\n"),
+                                 "Physical item latency should be recorded");
+        TestFramework.assertTrue(exported.contains("carts_rendered_total 1\n"), "One render should be counted");
+        TestFramework.assertTrue(exported.contains("cart_value_cents_total{type=\"physical\"} 102549\n"),
+                                 "Physical value should be totaled in cents");
+    }
+
+    /**
+     * Test the Prometheus text format and the file export.
+     */
+    private static void testPrometheusExport() {
+        System.out.println("\n--- Testing Prometheus Export ---");
+
+        MetricsRegistry registry = new MetricsRegistry(true);
+        registry.counter("downloads_total", "Downloads.", "file", "a\"b").add(3);
+        registry.latency("download_seconds", "Download time.").record(1_500_000_000L);
+
+        String exported = export(registry);
+        TestFramework.assertTrue(exported.startsWith("# HELP downloads_total Downloads.\n# TYPE downloads_total counter\n"),
+                                 "Counter should have HELP and TYPE lines");
+        TestFramework.assertTrue(exported.contains("downloads_total{file=\"a\\\"b\"} 3\n"), "Label values should be escaped");
+        TestFramework.assertTrue(exported.contains("# TYPE download_seconds summary\n"), "Recorder should be a summary");
+        TestFramework.assertTrue(exported.contains("download_seconds{quantile=\"0.99\"} 1.5\n"),
+                                 "Quantiles should be exported in seconds");
+        TestFramework.assertTrue(exported.contains("download_seconds_count 1\n"), "Count should be exported");
+
+        try {
+            Path directory = Files.createTempDirectory("metrics-test");
+            Path file = directory.resolve("store.prom");
+            registry.exportPrometheus(file);
+            TestFramework.assertEqual(exported, new String(Files.readAllBytes(file), "UTF-8"),
+                                      "File export should match the text output");
+            try (java.util.stream.Stream<Path> files = Files.list(directory)) {
+                TestFramework.assertEqual(1L, files.count(), "No temporary file should be left behind");
+            }
+            Files.delete(file);
+            Files.delete(directory);
+        } catch (IOException e) {
+            TestFramework.assertTrue(false, "Export should not fail: " + e.getMessage());
+        }
+    }
+
+    private static String export(MetricsRegistry registry) {
+        StringBuilder out = new StringBuilder();
+        try {
+            registry.writePrometheus(out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toString();
+    }
+
+    private static boolean withinPercent(long actual, long expected, double percent) {
+        return Math.abs(actual - expected) <= expected * percent / 100;
+    }
+}
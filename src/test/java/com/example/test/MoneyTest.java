@@ -0,0 +1,98 @@
+package com.example.test;
+
+import com.example.model.Money;
+import com.example.model.Product;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test class for Money.
+ * This test verifies conversions, overflow checks and exact parallel totals.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class MoneyTest {
+
+    /**
+     * Run all tests for Money.
+     */
+    public static void runTests() {
+        System.out.println("=== Testing Money ===");
+        TestFramework.reset();
+
+        testConversions();
+        testArithmetic();
+        testProductIntegration();
+        testParallelTotal();
+
+        TestFramework.printSummary();
+    }
+
+    /**
+     * Test conversion between dollars and cents.
+     */
+    private static void testConversions() {
+        System.out.println("\n--- Testing Conversions ---");
+
+        TestFramework.assertEqual(129999L, Money.toCents(1299.99), "1299.99 should be 129999 cents");
+        TestFramework.assertEqual(101L, Money.toCents(1.005), "1.005 should round up to 101 cents");
+        TestFramework.assertEqual(-250L, Money.toCents(-2.5), "Negative amounts should keep their sign");
+        TestFramework.assertEqual(49.99, Money.toDollars(4999), "4999 cents should convert back to 49.99");
+        TestFramework.assertEqual("1704.94", Money.ofCents(170494).toString(), "Money should print with two decimals");
+        TestFramework.assertEqual("-0.05", Money.ofCents(-5).toString(), "Small negative amounts should print correctly");
+        TestFramework.assertThrows(() -> Money.toCents(Double.NaN), ArithmeticException.class, "NaN should be rejected");
+        TestFramework.assertThrows(() -> Money.of(1e300), ArithmeticException.class, "Huge amounts should be rejected");
+    }
+
+    /**
+     * Test exact arithmetic and overflow detection.
+     */
+    private static void testArithmetic() {
+        System.out.println("\n--- Testing Arithmetic ---");
+
+        Money price = Money.of(19.99);
+        TestFramework.assertEqual(Money.of(59.97), price.times(3), "Three items should cost 59.97");
+        TestFramework.assertEqual(Money.of(0.30), Money.of(0.10).plus(Money.of(0.20)), "0.10 + 0.20 should be exactly 0.30");
+        TestFramework.assertTrue(Money.of(5).minus(Money.of(6)).isNegative(), "5 - 6 should be negative");
+        TestFramework.assertThrows(() -> Money.addCents(Long.MAX_VALUE, 1), ArithmeticException.class,
+                                   "Overflowing addition should throw");
+        TestFramework.assertThrows(() -> Money.ofCents(Long.MAX_VALUE / 2).times(3), ArithmeticException.class,
+                                   "Overflowing multiplication should throw");
+    }
+
+    /**
+     * Test that products expose and accept Money prices.
+     */
+    private static void testProductIntegration() {
+        System.out.println("\n--- Testing Product Integration ---");
+
+        Product book = new Product("Java Programming Guide", 49.99, "BOOK-001");
+        TestFramework.assertEqual(4999L, book.getPriceCents(), "Product price should convert to cents");
+        TestFramework.assertEqual(Money.of(49.99), book.getPriceMoney(), "Product price should convert to Money");
+
+        book.setPrice(Money.ofCents(3999));
+        TestFramework.assertEqual(39.99, book.getPrice(), "Setting Money should update the double price");
+    }
+
+    /**
+     * Test that a parallel total is identical to the sequential one.
+     */
+    private static void testParallelTotal() {
+        System.out.println("\n--- Testing Parallel Total ---");
+
+        Random random = new Random(11);
+        List<Product> cart = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            cart.add(new Product("Item " + i, random.nextInt(1_000_000) / 100.0, "SKU-" + i));
+        }
+
+        Money sequential = Money.total(cart);
+        boolean identical = true;
+        for (int run = 0; run < 5; run++) {
+            identical &= sequential.equals(Money.parallelTotal(cart));
+        }
+        TestFramework.assertTrue(identical, "Parallel totals should always equal the sequential total");
+    }
+}
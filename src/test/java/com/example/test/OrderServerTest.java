@@ -0,0 +1,281 @@
+package com.example.test;
+
+import com.example.main.OrderServer;
+import com.example.model.DigitalProduct;
+import com.example.model.Product;
+import com.example.model.ProductCatalog;
+import com.example.model.ShoppingCart;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for OrderServer.
+ * This test runs the server on a free localhost port and verifies product lookup,
+ * adding to carts, cart totals, error responses, keep-alive and pipelining, that
+ * cart logs stay bounded and that the cart limit holds under concurrent requests.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class OrderServerTest {
+
+    /**
+     * Run all tests for OrderServer.
+     */
+    public static void runTests() {
+        System.out.println("=== Testing OrderServer ===");
+        TestFramework.reset();
+
+        try (OrderServer server = startServer(3)) {
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            testGetProduct(server, client);
+            testAddToCart(server, client);
+            testErrors(server, client);
+            testCartLimit(server, client);
+            testPipelining(server);
+            testCartLogBounded(server);
+        } catch (IOException e) {
+            TestFramework.assertTrue(false, "Server should start: " + e.getMessage());
+        }
+        testConcurrentCartLimit();
+
+        TestFramework.printSummary();
+    }
+
+    /**
+     * Test looking up products by SKU.
+     */
+    private static void testGetProduct(OrderServer server, HttpClient client) {
+        System.out.println("\n--- Testing Get Product ---");
+
+        Response laptop = send(client, server, "GET", "/products/LAP-001");
+        TestFramework.assertEqual(200, laptop.status, "Known SKU should be found");
+        TestFramework.assertEqual("{\"sku\":\"LAP-001\",\"name\":\"Gaming Laptop\",\"price\":1299.99}", laptop.body,
+                                  "Product should be written as JSON");
+        Response ebook = send(client, server, "GET", "/products/EBOOK-001");
+        TestFramework.assertTrue(ebook.body.contains("\"fileType\":\"PDF\""), "Digital products include their file type");
+        TestFramework.assertEqual(404, send(client, server, "GET", "/products/NOPE").status, "Unknown SKU should be 404");
+    }
+
+    /**
+     * Test adding to a cart and reading its totals.
+     */
+    private static void testAddToCart(OrderServer server, HttpClient client) {
+        System.out.println("\n--- Testing Add to Cart ---");
+
+        send(client, server, "POST", "/carts/cart-1/items?sku=LAP-001");
+        Response added = send(client, server, "POST", "/carts/cart-1/items?sku=EBOOK-001&quantity=2");
+        String totals = "{\"cartId\":\"cart-1\",\"items\":3,\"lines\":2,\"physicalItems\":1,\"digitalItems\":2,"
+            + "\"totalCents\":135997,\"total\":1359.97}";
+        TestFramework.assertEqual(200, added.status, "Adding should succeed");
+        TestFramework.assertEqual(totals, added.body, "Adding should return the cart totals");
+        TestFramework.assertEqual(totals, send(client, server, "GET", "/carts/cart-1").body,
+                                  "Totals should be readable afterwards");
+        TestFramework.assertEqual(2, server.getCart("cart-1").getQuantity("EBOOK-001"), "The cart should hold the items");
+    }
+
+    /**
+     * Test error responses.
+     */
+    private static void testErrors(OrderServer server, HttpClient client) {
+        System.out.println("\n--- Testing Errors ---");
+
+        TestFramework.assertEqual(404, send(client, server, "GET", "/carts/missing").status, "Unknown cart should be 404");
+        TestFramework.assertEqual(404, send(client, server, "POST", "/carts/cart-2/items?sku=NOPE").status,
+                                  "Adding an unknown SKU should be 404");
+        TestFramework.assertEqual(400, send(client, server, "POST", "/carts/cart-2/items?sku=LAP-001&quantity=0").status,
+                                  "Zero quantity should be 400");
+        TestFramework.assertEqual(400, send(client, server, "POST", "/carts/cart-2/items?sku=LAP-001&quantity=x").status,
+                                  "Non-numeric quantity should be 400");
+        TestFramework.assertEqual(400, send(client, server, "POST", "/carts/bad%20id/items?sku=LAP-001").status,
+                                  "Invalid cart IDs should be 400");
+        Response wrongMethod = send(client, server, "POST", "/products/LAP-001");
+        TestFramework.assertEqual(405, wrongMethod.status, "Wrong method should be 405");
+        TestFramework.assertTrue(wrongMethod.body.startsWith("{\"error\":"), "Errors should be JSON");
+        TestFramework.assertEqual(404, send(client, server, "GET", "/nothing/here").status, "Unknown path should be 404");
+    }
+
+    /**
+     * Test that new carts are refused once the limit is reached.
+     */
+    private static void testCartLimit(OrderServer server, HttpClient client) {
+        System.out.println("\n--- Testing Cart Limit ---");
+
+        send(client, server, "POST", "/carts/cart-2/items?sku=MOUSE-001");
+        send(client, server, "POST", "/carts/cart-3/items?sku=MOUSE-001");
+        TestFramework.assertEqual(3, server.getCartCount(), "Three carts should exist");
+        TestFramework.assertEqual(503, send(client, server, "POST", "/carts/cart-4/items?sku=MOUSE-001").status,
+                                  "A fourth cart should be refused");
+        TestFramework.assertEqual(200, send(client, server, "POST", "/carts/cart-3/items?sku=MOUSE-001").status,
+                                  "Existing carts can still be added to");
+    }
+
+    /**
+     * Test several requests written at once on one kept-alive connection.
+     */
+    private static void testPipelining(OrderServer server) {
+        System.out.println("\n--- Testing Pipelining ---");
+
+        String requests = "GET /products/LAP-001 HTTP/1.1\r\nHost: localhost\r\n\r\n"
+            + "POST /carts/cart-3/items?sku=LAP-001 HTTP/1.1\r\nHost: localhost\r\nContent-Length: 0\r\n\r\n"
+            + "GET /carts/cart-3 HTTP/1.1\r\nHost: localhost\r\n\r\n";
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            socket.setSoTimeout(5_000);
+            OutputStream out = socket.getOutputStream();
+            out.write(requests.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            InputStream in = socket.getInputStream();
+            String first = readResponse(in);
+            String second = readResponse(in);
+            String third = readResponse(in);
+            TestFramework.assertTrue(first.contains("\"sku\":\"LAP-001\""), "First response should be the product");
+            TestFramework.assertTrue(second.contains("\"items\":3"), "Second response should be the add");
+            TestFramework.assertTrue(third.contains("\"items\":3") && third.contains("\"lines\":2"),
+                                     "Third response should be the totals");
+
+            out.write("GET /carts/cart-3 HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            TestFramework.assertTrue(readResponse(in).contains("\"cartId\":\"cart-3\""),
+                                     "The connection should stay open afterwards");
+        } catch (IOException e) {
+            TestFramework.assertTrue(false, "Pipelined requests should be answered: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test that a cart's event log is compacted as snapshots are taken.
+     */
+    private static void testCartLogBounded(OrderServer server) {
+        System.out.println("\n--- Testing Cart Log Bounded ---");
+
+        int adds = ShoppingCart.DEFAULT_SNAPSHOT_INTERVAL * 2 + 10;
+        StringBuilder requests = new StringBuilder();
+        for (int i = 0; i < adds; i++) {
+            requests.append("POST /carts/cart-2/items?sku=MOUSE-001 HTTP/1.1\r\nHost: localhost\r\nContent-Length: 0\r\n\r\n");
+        }
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            socket.setSoTimeout(5_000);
+            socket.getOutputStream().write(requests.toString().getBytes(StandardCharsets.US_ASCII));
+            InputStream in = socket.getInputStream();
+            for (int i = 0; i < adds; i++) {
+                readResponse(in);
+            }
+        } catch (IOException e) {
+            TestFramework.assertTrue(false, "Pipelined adds should be answered: " + e.getMessage());
+        }
+        ShoppingCart cart = server.getCart("cart-2");
+        TestFramework.assertEqual(0, cart.compactLog(), "The server should already have compacted the log");
+        TestFramework.assertTrue(cart.getSequence() - cart.getLatestSnapshot().getSequence()
+                                 < ShoppingCart.DEFAULT_SNAPSHOT_INTERVAL, "Only events since the snapshot should be kept");
+    }
+
+    /**
+     * Test that concurrent requests for new carts cannot create more than the limit.
+     */
+    private static void testConcurrentCartLimit() {
+        System.out.println("\n--- Testing Concurrent Cart Limit ---");
+
+        try (OrderServer server = startServer(4)) {
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            AtomicInteger created = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                String path = "/carts/race-" + i + "/items?sku=MOUSE-001";
+                Thread thread = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    if (send(client, server, "POST", path).status == 200) {
+                        created.incrementAndGet();
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            TestFramework.assertEqual(4, created.get(), "Exactly the limit of new carts should be accepted");
+            TestFramework.assertEqual(4, server.getCartCount(), "No more carts than the limit should exist");
+        } catch (IOException e) {
+            TestFramework.assertTrue(false, "Server should start: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static OrderServer startServer(int maxCarts) throws IOException {
+        ProductCatalog catalog = new ProductCatalog();
+        catalog.put(new Product("Gaming Laptop", 1299.99, "LAP-001"));
+        catalog.put(new Product("Mouse", 25.50, "MOUSE-001"));
+        catalog.put(new DigitalProduct("E-Book", 29.99, "EBOOK-001", "https://example.com/ebook", "PDF", 25.5));
+        OrderServer server = new OrderServer(catalog, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                                             null, maxCarts);
+        server.start();
+        return server;
+    }
+
+    private static Response send(HttpClient client, OrderServer server, String method, String path) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+            .method(method, HttpRequest.BodyPublishers.noBody())
+            .build();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            return new Response(response.statusCode(), response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Reads one HTTP response with a Content-Length body and returns it as text. */
+    private static String readResponse(InputStream in) throws IOException {
+        StringBuilder head = new StringBuilder();
+        while (!head.toString().endsWith("\r\n\r\n")) {
+            int b = in.read();
+            if (b < 0) {
+                throw new IOException("Connection closed");
+            }
+            head.append((char) b);
+        }
+        int length = 0;
+        for (String line : head.toString().split("\r\n")) {
+            if (line.toLowerCase().startsWith("content-length:")) {
+                length = Integer.parseInt(line.substring(15).trim());
+            }
+        }
+        return head + new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A response's status and body.
+     */
+    private static final class Response {
+        private final int status;
+        private final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.test;
+
+import com.example.main.PricingEngine;
+import com.example.main.PricingRule;
+import com.example.model.DigitalProduct;
+import com.example.model.Product;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Test class for PricingEngine and PricingRule.
+ * This test verifies each kind of rule, how discounts combine, rule versions and
+ * memoization, and rule validation.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class PricingEngineTest {
+
+    /**
+     * Run all tests for PricingEngine.
+     */
+    public static void runTests() {
+        System.out.println("=== Testing PricingEngine ===");
+        TestFramework.reset();
+
+        testListPrice();
+        testItemDiscounts();
+        testBundleDiscount();
+        testCartSizeTiers();
+        testStackedDiscounts();
+        testRuleVersions();
+        testInvalidRules();
+
+        TestFramework.printSummary();
+    }
+
+    /**
+     * Test that with no rules every item sells at list price.
+     */
+    private static void testListPrice() {
+        System.out.println("\n--- Testing List Price ---");
+
+        PricingEngine engine = new PricingEngine();
+        PricingEngine.PricedCart priced = engine.price(Arrays.asList(laptop(), ebook(), laptop()));
+        TestFramework.assertEqual(3, priced.getItemCount(), "Every item should be priced");
+        TestFramework.assertEqual(129999L + 2999L + 129999L, priced.getTotalCents(), "Total should be the list total");
+        TestFramework.assertEqual(0L, priced.getDiscountCents(), "No discount without rules");
+        TestFramework.assertEqual(0L, engine.price(Collections.emptyList()).getTotalCents(), "Empty cart costs nothing");
+    }
+
+    /**
+     * Test file-type and SKU discounts, and that the larger one wins.
+     */
+    private static void testItemDiscounts() {
+        System.out.println("\n--- Testing Item Discounts ---");
+
+        PricingEngine engine = new PricingEngine(Arrays.asList(
+            PricingRule.fileTypeDiscount("PDF sale", "PDF", 10),
+            PricingRule.fileTypeDiscount("Bigger PDF sale", "PDF", 20),
+            PricingRule.skuDiscount("Laptop deal", "LAP-001", 5),
+            PricingRule.skuDiscount("E-book deal", "EBOOK-001", 50)));
+        PricingEngine.PricedCart priced = engine.price(Arrays.asList(laptop(), ebook(), video(), mouse()));
+        TestFramework.assertEqual(Math.round(129999 * 0.95), priced.getUnitPriceCents(0), "SKU discount applies");
+        TestFramework.assertEqual(Math.round(2999 * 0.5), priced.getUnitPriceCents(1),
+                                  "The larger of SKU and file-type discount wins");
+        TestFramework.assertEqual(4999L, priced.getUnitPriceCents(2), "Other file types pay list price");
+        TestFramework.assertEqual(2550L, priced.getUnitPriceCents(3), "Other SKUs pay list price");
+
+        PricingEngine.PricedCart guide = engine.price(Collections.singletonList(
+            new DigitalProduct("Guide", 10.00, "GUIDE-001", "https://example.com/guide", "PDF", 1)));
+        TestFramework.assertEqual(800L, guide.getUnitPriceCents(0), "The largest file-type discount wins");
+        TestFramework.assertEqual(200L, guide.getDiscountCents(), "Discount should be list minus total");
+    }
+
+    /**
+     * Test that a bundle discount applies only when every member is in the cart.
+     */
+    private static void testBundleDiscount() {
+        System.out.println("\n--- Testing Bundle Discount ---");
+
+        PricingEngine engine = new PricingEngine(Collections.singletonList(
+            PricingRule.bundleDiscount("Desk set", 10, "LAP-001", "MOUSE-001", "KEY-001")));
+        long partial = engine.price(Arrays.asList(laptop(), mouse(), mouse())).getTotalCents();
+        TestFramework.assertEqual(129999L + 2550L * 2, partial, "An incomplete bundle gets no discount");
+
+        PricingEngine.PricedCart complete = engine.price(Arrays.asList(laptop(), mouse(), ebook(), keyboard(), mouse()));
+        TestFramework.assertEqual(Math.round(129999 * 0.9), complete.getUnitPriceCents(0), "Members are discounted");
+        TestFramework.assertEqual(Math.round(2550 * 0.9), complete.getUnitPriceCents(4),
+                                  "Every unit of a member is discounted");
+        TestFramework.assertEqual(2999L, complete.getUnitPriceCents(2), "Non-members pay list price");
+
+        TestFramework.assertEqual(129999L + 2550L * 2, engine.price(Arrays.asList(laptop(), mouse(), mouse())).getTotalCents(),
+                                  "Bundle state should not leak into the next cart");
+
+        PricingEngine pair = new PricingEngine(List.of(PricingRule.bundleDiscount("Pair", 50, "LAP-001", "MOUSE-001")));
+        TestFramework.assertThrows(() -> pair.price(Arrays.asList(laptop(), null)), NullPointerException.class,
+                                   "A null item should fail pricing");
+        TestFramework.assertEqual(2550L, pair.price(Arrays.asList(mouse())).getTotalCents(),
+                                  "Bundle state should not leak out of a failed pricing");
+    }
+
+    /**
+     * Test cart-size tiers, including the thresholds themselves.
+     */
+    private static void testCartSizeTiers() {
+        System.out.println("\n--- Testing Cart Size Tiers ---");
+
+        PricingEngine engine = new PricingEngine(Arrays.asList(
+            PricingRule.cartSizeDiscount("Ten or more", 10, 10),
+            PricingRule.cartSizeDiscount("Three or more", 3, 5),
+            PricingRule.cartSizeDiscount("Small tier", 5, 1)));
+        TestFramework.assertEqual(2550L * 2, engine.price(Collections.nCopies(2, mouse())).getTotalCents(),
+                                  "Below the lowest tier pays list price");
+        TestFramework.assertEqual(Math.round(2550 * 0.95) * 3, engine.price(Collections.nCopies(3, mouse())).getTotalCents(),
+                                  "A tier applies from its threshold");
+        TestFramework.assertEqual(Math.round(2550 * 0.95) * 5, engine.price(Collections.nCopies(5, mouse())).getTotalCents(),
+                                  "A smaller discount at a higher tier does not replace a larger one");
+        TestFramework.assertEqual(Math.round(2550 * 0.9) * 12, engine.price(Collections.nCopies(12, mouse())).getTotalCents(),
+                                  "The highest tier reached applies");
+    }
+
+    /**
+     * Test that discounts of different kinds multiply, rounded once.
+     */
+    private static void testStackedDiscounts() {
+        System.out.println("\n--- Testing Stacked Discounts ---");
+
+        PricingEngine engine = new PricingEngine(Arrays.asList(
+            PricingRule.fileTypeDiscount("PDF sale", "PDF", 10),
+            PricingRule.bundleDiscount("Reading set", 20, "EBOOK-001", "VIDEO-001"),
+            PricingRule.cartSizeDiscount("Two or more", 2, 5)));
+        PricingEngine.PricedCart priced = engine.price(Arrays.asList(ebook(), video()));
+        TestFramework.assertEqual(Math.round(2999 * 0.9 * 0.8 * 0.95), priced.getUnitPriceCents(0),
+                                  "File-type, bundle and tier discounts should multiply");
+        TestFramework.assertEqual(Math.round(4999 * 0.8 * 0.95), priced.getUnitPriceCents(1),
+                                  "Bundle and tier discounts should multiply");
+        TestFramework.assertEqual(priced.getUnitPriceCents(0) + priced.getUnitPriceCents(1), priced.getTotalCents(),
+                                  "Total should be the sum of the items");
+    }
+
+    /**
+     * Test that new rules get a new version and a fresh memo, and see price changes.
+     */
+    private static void testRuleVersions() {
+        System.out.println("\n--- Testing Rule Versions ---");
+
+        PricingEngine engine = new PricingEngine(Collections.singletonList(
+            PricingRule.skuDiscount("Mouse deal", "MOUSE-001", 10)));
+        Product mouse = mouse();
+        List<Product> cart = new ArrayList<>(Arrays.asList(mouse, laptop(), mouse));
+        long first = engine.price(cart).getTotalCents();
+        TestFramework.assertEqual(2, engine.getMemoizedCount(), "One memo entry per distinct SKU");
+        TestFramework.assertEqual(first, engine.price(cart).getTotalCents(), "Memoized pricing should match");
+
+        mouse.setPrice(30.00);
+        TestFramework.assertEqual(129999L + 2700L * 2, engine.price(cart).getTotalCents(),
+                                  "The memo should follow list price changes");
+
+        long version = engine.getRuleVersion();
+        long next = engine.setRules(Collections.singletonList(PricingRule.skuDiscount("Laptop deal", "LAP-001", 50)));
+        TestFramework.assertEqual(version + 1, next, "setRules should bump the version");
+        TestFramework.assertEqual(0, engine.getMemoizedCount(), "A new version starts with an empty memo");
+        PricingEngine.PricedCart priced = engine.price(cart);
+        TestFramework.assertEqual(next, priced.getRuleVersion(), "Carts should be priced under the new version");
+        TestFramework.assertEqual(65000L + 3000L * 2, priced.getTotalCents(), "The new rules should apply");
+    }
+
+    /**
+     * Test that invalid rules are rejected.
+     */
+    private static void testInvalidRules() {
+        System.out.println("\n--- Testing Invalid Rules ---");
+
+        TestFramework.assertThrows(() -> PricingRule.skuDiscount("Too much", "LAP-001", 120),
+                                   IllegalArgumentException.class, "Discounts above 100% should be rejected");
+        TestFramework.assertThrows(() -> PricingRule.fileTypeDiscount("Negative", "PDF", -5),
+                                   IllegalArgumentException.class, "Negative discounts should be rejected");
+        TestFramework.assertThrows(() -> PricingRule.bundleDiscount("Alone", 10, "LAP-001", "LAP-001"),
+                                   IllegalArgumentException.class, "A bundle needs two distinct SKUs");
+        TestFramework.assertThrows(() -> PricingRule.cartSizeDiscount("Empty", 0, 10),
+                                   IllegalArgumentException.class, "A tier needs at least one item");
+        TestFramework.assertThrows(() -> new PricingEngine(Arrays.asList((PricingRule) null)),
+                                   IllegalArgumentException.class, "Null rules should be rejected");
+
+        PricingRule rule = PricingRule.skuDiscount("Sale", "LAP-001", 10);
+        PricingEngine engine = new PricingEngine(List.of(rule));
+        TestFramework.assertEqual(1, engine.getRules().size(), "Immutable lists of rules should be accepted");
+        engine.setRules(Set.of(rule, PricingRule.fileTypeDiscount("PDFs", "PDF", 5)));
+        TestFramework.assertEqual(2, engine.getRules().size(), "Immutable sets of rules should be accepted");
+    }
+
+    private static Product laptop() {
+        return new Product("Laptop", 1299.99, "LAP-001");
+    }
+
+    private static Product mouse() {
+        return new Product("Mouse", 25.50, "MOUSE-001");
+    }
+
+    private static Product keyboard() {
+        return new Product("Keyboard", 89.99, "KEY-001");
+    }
+
+    private static DigitalProduct ebook() {
+        return new DigitalProduct("E-Book", 29.99, "EBOOK-001", "https://example.com/ebook", "PDF", 25.5);
+    }
+
+    private static DigitalProduct video() {
+        return new DigitalProduct("Course", 49.99, "VIDEO-001", "https://example.com/course", "Video Files", 2048);
+    }
+}
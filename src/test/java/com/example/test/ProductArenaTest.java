@@ -0,0 +1,235 @@
+package com.example.test;
+
+import com.example.model.Product;
+import com.example.model.DigitalProduct;
+import com.example.model.OffHeapProduct;
+import com.example.model.ProductArena;
+
+/**
+ * Test class for ProductArena and OffHeapProduct.
+ * This test verifies that products round-trip through off-heap storage, SKU lookup,
+ * freeing and id reuse, replacement, failed writes, compaction and closing.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class ProductArenaTest {
+
+    /**
+     * Run all tests for the product arena.
+     */
+    public static void runTests() {
+        System.out.println("=== Testing ProductArena ===");
+        TestFramework.reset();
+
+        testRoundTrip();
+        testSkuLookup();
+        testFreeAndReuse();
+        testReplace();
+        testFailedWrites();
+        testCompaction();
+        testManyChunks();
+        testClose();
+
+        TestFramework.printSummary();
+    }
+
+    /**
+     * Test that flyweights return the values the products were stored with.
+     */
+    private static void testRoundTrip() {
+        System.out.println("\n--- Testing Round Trip ---");
+
+        try (ProductArena arena = new ProductArena(4096)) {
+            int laptop = arena.add(new Product("Laptop", 999.99, "LAPTOP-001"));
+            int ebook = arena.add(new DigitalProduct("Café Guide", 29.99, "EBOOK-001",
+                                                     "https://example.com/ebook", "PDF", 25.5));
+            int unnamed = arena.add(new Product(null, 0, "BLANK-001"));
+
+            OffHeapProduct view = arena.view(laptop);
+            TestFramework.assertEqual("Laptop", view.getName(), "Name should round-trip");
+            TestFramework.assertEqual(999.99, view.getPrice(), "Price should round-trip exactly");
+            TestFramework.assertEqual("LAPTOP-001", view.getSku(), "SKU should round-trip");
+            TestFramework.assertEqual(99999L, view.getPriceCents(), "Price in cents should match Product");
+            TestFramework.assertFalse(view.isDigital(), "A Product should not be digital");
+            TestFramework.assertEqual(null, view.getDownloadUrl(), "Physical products have no download URL");
+            TestFramework.assertEqual(new Product("Laptop", 999.99, "LAPTOP-001").getProductInfo(), view.getProductInfo(),
+                                      "Product info should match Product's format");
+
+            view.moveTo(ebook);
+            TestFramework.assertEqual("Café Guide", view.getName(), "Non-ASCII names should round-trip");
+            TestFramework.assertTrue(view.isDigital(), "A DigitalProduct should be digital");
+            TestFramework.assertEqual("https://example.com/ebook", view.getDownloadUrl(), "Download URL should round-trip");
+            TestFramework.assertEqual("PDF", view.getFileType(), "File type should round-trip");
+            TestFramework.assertEqual(25.5, view.getFileSizeMB(), "File size should round-trip");
+            TestFramework.assertTrue(view.toProduct() instanceof DigitalProduct, "toProduct should rebuild a DigitalProduct");
+
+            TestFramework.assertEqual(null, arena.view(unnamed).getName(), "A null name should stay null");
+            TestFramework.assertEqual(3, arena.size(), "Arena should hold three products");
+        }
+    }
+
+    /**
+     * Test finding products by SKU and rejecting duplicates.
+     */
+    private static void testSkuLookup() {
+        System.out.println("\n--- Testing SKU Lookup ---");
+
+        try (ProductArena arena = new ProductArena(4096)) {
+            for (int i = 0; i < 1000; i++) {
+                arena.add(new Product("Item " + i, i, "SKU-" + i));
+            }
+            int id = arena.find("SKU-777");
+            TestFramework.assertTrue(id >= 0, "A stored SKU should be found");
+            TestFramework.assertEqual("Item 777", arena.view(id).getName(), "The found id should be the right product");
+            TestFramework.assertEqual(-1, arena.find("SKU-1000"), "A missing SKU should not be found");
+            TestFramework.assertThrows(() -> arena.add(new Product("Copy", 1, "SKU-5")), IllegalArgumentException.class,
+                                       "Duplicate SKUs should be rejected");
+        }
+    }
+
+    /**
+     * Test that freed products disappear and their ids are reused.
+     */
+    private static void testFreeAndReuse() {
+        System.out.println("\n--- Testing Free and Reuse ---");
+
+        try (ProductArena arena = new ProductArena(4096)) {
+            int first = arena.add(new Product("First", 1, "A-1"));
+            int second = arena.add(new Product("Second", 2, "A-2"));
+            OffHeapProduct view = arena.view(first);
+            arena.free(first);
+
+            TestFramework.assertFalse(arena.isLive(first), "A freed id should not be live");
+            TestFramework.assertEqual(-1, arena.find("A-1"), "A freed SKU should not be found");
+            TestFramework.assertThrows(() -> view.getName(), IllegalArgumentException.class,
+                                       "Reading a freed product should fail");
+            TestFramework.assertTrue(arena.getWastedBytes() > 0, "Freeing should leave wasted space");
+            TestFramework.assertEqual(first, arena.add(new Product("Third", 3, "A-1")), "A freed id should be reused");
+            TestFramework.assertEqual(first, arena.find("A-1"), "A reused SKU should find the new product");
+            TestFramework.assertEqual(second, arena.nextLive(second), "nextLive should find live ids");
+        }
+    }
+
+    /**
+     * Test replacing a product's values in place.
+     */
+    private static void testReplace() {
+        System.out.println("\n--- Testing Replace ---");
+
+        try (ProductArena arena = new ProductArena(4096)) {
+            int id = arena.add(new Product("Mouse", 25.50, "MOUSE-001"));
+            arena.add(new Product("Keyboard", 45.00, "KEY-001"));
+            arena.replace(id, new Product("Wireless Mouse", 35.00, "MOUSE-002"));
+
+            TestFramework.assertEqual("Wireless Mouse", arena.view(id).getName(), "Replace should keep the id");
+            TestFramework.assertEqual(-1, arena.find("MOUSE-001"), "The old SKU should no longer be found");
+            TestFramework.assertEqual(id, arena.find("MOUSE-002"), "The new SKU should be found");
+            TestFramework.assertThrows(() -> arena.replace(id, new Product("Clash", 1, "KEY-001")),
+                                       IllegalArgumentException.class, "Replacing with another product's SKU should fail");
+        }
+    }
+
+    /**
+     * Test that an add or replace that cannot be stored leaves the arena unchanged.
+     */
+    private static void testFailedWrites() {
+        System.out.println("\n--- Testing Failed Writes ---");
+
+        try (ProductArena arena = new ProductArena(256 * 1024)) {
+            int id = arena.add(new Product("Mouse", 25.50, "A"));
+            String tooLong = "x".repeat(65_535);
+
+            TestFramework.assertThrows(() -> arena.add(new Product(tooLong, 1, "B")),
+                                       IllegalArgumentException.class, "A string over 65,534 bytes should be rejected");
+            TestFramework.assertEqual(1, arena.size(), "A failed add should not change the size");
+            TestFramework.assertFalse(arena.isLive(id + 1), "A failed add should not leave a live id");
+            TestFramework.assertEqual(-1, arena.nextLive(id + 1), "A failed add should not be iterated");
+            TestFramework.assertEqual(id + 1, arena.add(new Product("Keyboard", 45.00, "B")),
+                                      "The next add should get the id the failed add did not use");
+
+            long liveBytes = arena.getLiveBytes();
+            TestFramework.assertThrows(() -> arena.replace(id, new Product(tooLong, 1, "A")),
+                                       IllegalArgumentException.class, "Replacing with a string over 65,534 bytes should fail");
+            TestFramework.assertEqual(id, arena.find("A"), "A failed replace should keep the old SKU indexed");
+            TestFramework.assertEqual("Mouse", arena.view(id).getName(), "A failed replace should keep the old product");
+            TestFramework.assertEqual(liveBytes, arena.getLiveBytes(), "A failed replace should not change the live bytes");
+            TestFramework.assertEqual(0L, arena.getWastedBytes(), "A failed replace should not waste space");
+        }
+    }
+
+    /**
+     * Test that compaction reclaims space and keeps ids and views valid.
+     */
+    private static void testCompaction() {
+        System.out.println("\n--- Testing Compaction ---");
+
+        try (ProductArena arena = new ProductArena(4096)) {
+            int[] ids = new int[2000];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = arena.add(new Product("Product " + i, i / 100.0, "C-" + i));
+            }
+            for (int i = 0; i < ids.length; i += 2) {
+                arena.free(ids[i]);
+            }
+            OffHeapProduct view = arena.view(ids[1001]);
+            long before = arena.getOffHeapBytes();
+            long reclaimed = arena.compact();
+
+            TestFramework.assertTrue(reclaimed > 0, "Compaction should reclaim the freed records");
+            TestFramework.assertEqual(0L, arena.getWastedBytes(), "No space should be wasted after compaction");
+            TestFramework.assertTrue(arena.getOffHeapBytes() < before, "Compaction should release chunks");
+            TestFramework.assertEqual("Product 1001", view.getName(), "Views should follow their product");
+            boolean allMatch = true;
+            for (int i = 1; i < ids.length; i += 2) {
+                allMatch &= ("C-" + i).equals(arena.view(ids[i]).getSku()) && arena.find("C-" + i) == ids[i];
+            }
+            TestFramework.assertTrue(allMatch, "Every live product should survive compaction");
+        }
+    }
+
+    /**
+     * Test storage across many chunks and records that cannot fit.
+     */
+    private static void testManyChunks() {
+        System.out.println("\n--- Testing Many Chunks ---");
+
+        try (ProductArena arena = new ProductArena(256)) {
+            long totalCents = 0;
+            for (int i = 0; i < 500; i++) {
+                Product product = new DigitalProduct("Track " + i, 0.99, "TRACK-" + i, "https://example.com/t/" + i,
+                                                     i % 2 == 0 ? "MP3" : "FLAC", 4.5);
+                totalCents += product.getPriceCents();
+                arena.add(product);
+            }
+            long storedCents = 0;
+            OffHeapProduct view = arena.view(arena.nextLive(0));
+            for (int id = arena.nextLive(0); id >= 0; id = arena.nextLive(id + 1)) {
+                storedCents += view.moveTo(id).getPriceCents();
+            }
+            TestFramework.assertEqual(totalCents, storedCents, "Every product should be readable across chunks");
+            TestFramework.assertEqual("FLAC", arena.view(arena.find("TRACK-499")).getFileType(),
+                                      "File types should be decoded from the dictionary");
+            TestFramework.assertThrows(() -> arena.add(new Product("x".repeat(300), 1, "BIG-1")),
+                                       IllegalArgumentException.class, "A record larger than a chunk should be rejected");
+        }
+    }
+
+    /**
+     * Test that a closed arena cannot be used.
+     */
+    private static void testClose() {
+        System.out.println("\n--- Testing Close ---");
+
+        ProductArena arena = new ProductArena(4096);
+        int id = arena.add(new Product("Monitor", 199.99, "MON-001"));
+        OffHeapProduct view = arena.view(id);
+        arena.close();
+
+        TestFramework.assertTrue(arena.isClosed(), "Arena should report closed");
+        TestFramework.assertEqual(0L, arena.getOffHeapBytes(), "Closing should drop every chunk");
+        TestFramework.assertThrows(() -> view.getPrice(), IllegalStateException.class, "Views should fail after close");
+        TestFramework.assertThrows(() -> arena.find("MON-001"), IllegalStateException.class,
+                                   "Lookups should fail after close");
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.test;
+
+import com.example.model.Product;
+import com.example.model.DigitalProduct;
+import com.example.model.ProductCache;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for ProductCache.
+ * This test verifies read-through loading, miss coalescing, stale loads, eviction, TTL and counters.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class ProductCacheTest {
+
+    /**
+     * Run all tests for the product cache.
+     */
+    public static void runTests() {
+        System.out.println("=== Testing ProductCache ===");
+        TestFramework.reset();
+
+        testReadThrough();
+        testMissCoalescing();
+        testStaleLoads();
+        testScanResistance();
+        testWeightLimit();
+        testExpiry();
+
+        TestFramework.printSummary();
+    }
+
+    /**
+     * Loader backed by generated products, with injected latency and a call counter.
+     */
+    private static class SlowLoader implements ProductCache.ProductLoader {
+        private final long latencyMillis;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        SlowLoader(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public Product load(String sku) {
+            calls.incrementAndGet();
+            if (latencyMillis > 0) {
+                try {
+                    Thread.sleep(latencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (sku.startsWith("MISSING")) {
+                return null;
+            }
+            return new DigitalProduct("Product " + sku, 9.99, sku, "https://example.com/" + sku, "PDF", 1.0);
+        }
+    }
+
+    /**
+     * Test that misses load once and later reads are hits.
+     */
+    private static void testReadThrough() {
+        System.out.println("\n--- Testing Read Through ---");
+
+        SlowLoader loader = new SlowLoader(0);
+        ProductCache cache = new ProductCache(loader, 100, ProductCache.Weigher.ENTRY_COUNT, 60_000);
+
+        Product first = cache.get("EBOOK-001");
+        Product second = cache.get("EBOOK-001");
+        TestFramework.assertTrue(first == second, "Second read should return the cached instance");
+        TestFramework.assertEqual(1, loader.calls.get(), "Loader should be called once");
+        TestFramework.assertEqual(null, cache.get("MISSING-1"), "Unknown SKU should return null");
+        TestFramework.assertEqual(1L, cache.stats().getHits(), "There should be one hit");
+        TestFramework.assertEqual(2L, cache.stats().getMisses(), "There should be two misses");
+        TestFramework.assertEqual(null, cache.getIfPresent("MISSING-2"), "Uncached SKU should not be loaded");
+        TestFramework.assertEqual(3L, cache.stats().getMisses(), "getIfPresent should count misses too");
+
+        cache.invalidate("EBOOK-001");
+        cache.get("EBOOK-001");
+        TestFramework.assertEqual(3, loader.calls.get(), "Invalidated SKU should be loaded again");
+    }
+
+    /**
+     * Test that concurrent misses for one SKU share a single load.
+     */
+    private static void testMissCoalescing() {
+        System.out.println("\n--- Testing Miss Coalescing ---");
+
+        SlowLoader loader = new SlowLoader(100);
+        ProductCache cache = new ProductCache(loader, 100, ProductCache.Weigher.ENTRY_COUNT, 60_000);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        AtomicInteger found = new AtomicInteger();
+        for (int i = 0; i < 16; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (cache.get("COURSE-001") != null) {
+                    found.incrementAndGet();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        TestFramework.assertEqual(16, found.get(), "Every thread should get the product");
+        TestFramework.assertEqual(1, loader.calls.get(), "Concurrent misses should share one load");
+    }
+
+    /**
+     * Test that a load overtaken by invalidate() or put() does not store its result.
+     */
+    private static void testStaleLoads() {
+        System.out.println("\n--- Testing Stale Loads ---");
+
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        ProductCache cache = new ProductCache(sku -> {
+            if (calls.incrementAndGet() == 1) {
+                loading.countDown();
+                await(release);
+                return new Product("Old Price", 10.0, sku);
+            }
+            return new Product("New Price", 12.0, sku);
+        }, 100, ProductCache.Weigher.ENTRY_COUNT, 60_000);
+
+        Thread reader = new Thread(() -> cache.get("BOOK-001"));
+        reader.start();
+        await(loading);
+        cache.invalidate("BOOK-001");
+        release.countDown();
+        join(reader);
+        TestFramework.assertEqual(null, cache.getIfPresent("BOOK-001"), "Load invalidated midway should not be stored");
+        TestFramework.assertEqual("New Price", cache.get("BOOK-001").getName(), "Next read should load again");
+
+        CountDownLatch loadingAgain = new CountDownLatch(1);
+        CountDownLatch releaseAgain = new CountDownLatch(1);
+        ProductCache putCache = new ProductCache(sku -> {
+            loadingAgain.countDown();
+            await(releaseAgain);
+            return new Product("Loaded", 10.0, sku);
+        }, 100, ProductCache.Weigher.ENTRY_COUNT, 60_000);
+        reader = new Thread(() -> putCache.get("BOOK-002"));
+        reader.start();
+        await(loadingAgain);
+        putCache.put(new Product("Put", 11.0, "BOOK-002"));
+        releaseAgain.countDown();
+        join(reader);
+        TestFramework.assertEqual("Put", putCache.getIfPresent("BOOK-002").getName(), "Load should not overwrite a newer put");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void join(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Test that a scan of one-off SKUs does not evict frequently read ones.
+     */
+    private static void testScanResistance() {
+        System.out.println("\n--- Testing Scan Resistance ---");
+
+        SlowLoader loader = new SlowLoader(0);
+        ProductCache cache = new ProductCache(loader, 10, ProductCache.Weigher.ENTRY_COUNT, 60_000);
+        for (int i = 0; i < 5; i++) {
+            cache.get("HOT-" + i);
+            cache.get("HOT-" + i); // Second read promotes to the protected segment
+        }
+        for (int i = 0; i < 1_000; i++) {
+            cache.get("SCAN-" + i);
+        }
+        boolean hotSurvived = true;
+        for (int i = 0; i < 5; i++) {
+            hotSurvived &= cache.getIfPresent("HOT-" + i) != null;
+        }
+        TestFramework.assertTrue(hotSurvived, "Hot products should survive a scan");
+        TestFramework.assertEqual(10, cache.size(), "Cache should stay at its entry limit");
+        TestFramework.assertTrue(cache.stats().getEvictions() >= 995, "Scanned products should be evicted");
+    }
+
+    /**
+     * Test the estimated-bytes weigher.
+     */
+    private static void testWeightLimit() {
+        System.out.println("\n--- Testing Weight Limit ---");
+
+        SlowLoader loader = new SlowLoader(0);
+        Product sample = loader.load("SKU-00");
+        long perEntry = ProductCache.estimateBytes(sample);
+        ProductCache cache = new ProductCache(loader, perEntry * 5, ProductCache.Weigher.ESTIMATED_BYTES, 60_000);
+        for (int i = 10; i < 30; i++) {
+            cache.get("SKU-" + i);
+        }
+        TestFramework.assertTrue(cache.weight() <= perEntry * 5, "Total weight should stay within the byte budget");
+        TestFramework.assertEqual(5, cache.size(), "Five products of equal size should fit");
+    }
+
+    /**
+     * Test that entries expire after their TTL, and never with the maximum TTL.
+     */
+    private static void testExpiry() {
+        System.out.println("\n--- Testing Expiry ---");
+
+        SlowLoader loader = new SlowLoader(0);
+        ProductCache cache = new ProductCache(loader, 100, ProductCache.Weigher.ENTRY_COUNT, 50);
+        cache.get("SOFT-001");
+        try {
+            Thread.sleep(80);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        TestFramework.assertEqual(null, cache.getIfPresent("SOFT-001"), "Expired product should not be returned");
+        cache.get("SOFT-001");
+        TestFramework.assertEqual(2, loader.calls.get(), "Expired product should be loaded again");
+        TestFramework.assertEqual(1L, cache.stats().getExpirations(), "Expiration should be counted");
+
+        ProductCache forever = new ProductCache(loader, 100, ProductCache.Weigher.ENTRY_COUNT, Long.MAX_VALUE);
+        forever.get("SOFT-002");
+        TestFramework.assertNotNull(forever.getIfPresent("SOFT-002"), "A maximum TTL should never expire");
+    }
+}
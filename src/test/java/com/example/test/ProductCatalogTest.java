@@ -0,0 +1,118 @@
+package com.example.test;
+
+import com.example.model.Product;
+import com.example.model.DigitalProduct;
+import com.example.model.ProductCatalog;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for ProductCatalog.
+ * This test verifies SKU lookups, replacement, removal and concurrent loading.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class ProductCatalogTest {
+
+    /**
+     * Run all tests for the product catalog.
+     */
+    public static void runTests() {
+        System.out.println("=== Testing ProductCatalog ===");
+        TestFramework.reset();
+
+        testPutAndGet();
+        testReplaceAndRemove();
+        testNullSku();
+        testConcurrentLoad();
+
+        TestFramework.printSummary();
+    }
+
+    /**
+     * Test that products can be added and found by SKU.
+     */
+    private static void testPutAndGet() {
+        System.out.println("\n--- Testing Put and Get ---");
+
+        ProductCatalog catalog = new ProductCatalog();
+        Product laptop = new Product("Gaming Laptop", 1299.99, "LAP-001");
+        DigitalProduct ebook = new DigitalProduct("E-Book", 29.99, "EBOOK-001",
+                                                  "https://example.com/ebook", "PDF", 25.5);
+        catalog.put(laptop);
+        catalog.put(ebook);
+
+        TestFramework.assertEqual(2, catalog.size(), "Catalog should contain two products");
+        TestFramework.assertTrue(catalog.get("LAP-001") == laptop, "Lookup should return the laptop");
+        TestFramework.assertTrue(catalog.get("EBOOK-001") == ebook, "Lookup should return the e-book");
+        TestFramework.assertTrue(catalog.get("MISSING") == null, "Unknown SKU should return null");
+        TestFramework.assertTrue(catalog.contains("LAP-001"), "Catalog should contain LAP-001");
+    }
+
+    /**
+     * Test that products with the same SKU replace each other and can be removed.
+     */
+    private static void testReplaceAndRemove() {
+        System.out.println("\n--- Testing Replace and Remove ---");
+
+        ProductCatalog catalog = new ProductCatalog();
+        Product first = new Product("Old Name", 10.0, "SKU-1");
+        Product second = new Product("New Name", 12.0, "SKU-1");
+
+        TestFramework.assertTrue(catalog.put(first) == null, "First put should not replace anything");
+        TestFramework.assertTrue(catalog.putIfAbsent(second) == first, "putIfAbsent should keep the existing product");
+        TestFramework.assertTrue(catalog.put(second) == first, "put should return the replaced product");
+        TestFramework.assertEqual("New Name", catalog.get("SKU-1").getName(), "Catalog should hold the new product");
+        TestFramework.assertTrue(catalog.remove("SKU-1") == second, "remove should return the removed product");
+        TestFramework.assertEqual(0, catalog.size(), "Catalog should be empty after removal");
+    }
+
+    /**
+     * Test that products without a SKU are rejected.
+     */
+    private static void testNullSku() {
+        System.out.println("\n--- Testing Null SKU ---");
+
+        ProductCatalog catalog = new ProductCatalog();
+        TestFramework.assertThrows(() -> catalog.put(new Product()), IllegalArgumentException.class,
+                                   "Product without SKU should be rejected");
+        TestFramework.assertTrue(catalog.get(null) == null, "Null SKU lookup should return null");
+    }
+
+    /**
+     * Test that several threads can load the catalog at the same time.
+     */
+    private static void testConcurrentLoad() {
+        System.out.println("\n--- Testing Concurrent Load ---");
+
+        ProductCatalog catalog = new ProductCatalog(40_000);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int offset = t * 10_000;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    catalog.put(new Product("Product " + (offset + i), 1.0, "SKU-" + (offset + i)));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        TestFramework.assertEqual(40_000, catalog.size(), "All concurrently added products should be present");
+
+        List<Product> bulk = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            bulk.add(new Product("Bulk " + i, 2.0, "BULK-" + i));
+        }
+        catalog.parallelPutAll(bulk);
+        TestFramework.assertEqual(50_000, catalog.size(), "Parallel bulk load should add every product");
+        TestFramework.assertEqual("Bulk 9999", catalog.get("BULK-9999").getName(), "Bulk loaded product should be found");
+    }
+}
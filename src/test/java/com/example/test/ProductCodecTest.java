@@ -0,0 +1,371 @@
+package com.example.test;
+
+import com.example.model.DigitalProduct;
+import com.example.model.Product;
+import com.example.storage.ProductDecoder;
+import com.example.storage.ProductEncoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test class for ProductEncoder and ProductDecoder.
+ * This test verifies round trips, the dictionary, streaming through small buffers,
+ * reading streams from later versions and rejecting corrupt streams.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class ProductCodecTest {
+    private static final String[] FILE_TYPES = {"PDF", "MP4", "EPUB", "ZIP", "", "Ünïcode"};
+    private static final String[] URL_PREFIXES = {
+        "https://cdn.example.com/downloads/", "https://store.example.com/ebooks/", "ftp://files.example.org/", "", "no-slash"
+    };
+
+    /**
+     * Run all tests for the product codec.
+     */
+    public static void runTests() {
+        System.out.println("=== Testing ProductCodec ===");
+        TestFramework.reset();
+
+        testRoundTrip();
+        testDictionary();
+        testFuzzRoundTrip();
+        testStreaming();
+        testLaterVersions();
+        testCorruptStreams();
+
+        TestFramework.printSummary();
+    }
+
+    /**
+     * Test that products are read back with the same values and classes.
+     */
+    private static void testRoundTrip() {
+        System.out.println("\n--- Testing Round Trip ---");
+
+        List<Product> products = new ArrayList<>();
+        products.add(new Product("Gaming Laptop", 1299.99, "LAP-001"));
+        products.add(new DigitalProduct("E-Book: Advanced Java", 29.99, "EBOOK-001",
+                                        "https://store.example.com/download/ebook-001", "PDF", 25.5));
+        products.add(new DigitalProduct("Café Guide 😀", 9.99, "ÉBOOK-002", null, null, 1.0));
+        products.add(new Product(null, 0.1 + 0.2, null));
+        products.add(new DigitalProduct("Odd numbers", -0.0, "ODD-1", "/", "/", Double.NaN));
+
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        ProductEncoder encoder = new ProductEncoder();
+        for (Product product : products) {
+            TestFramework.assertTrue(encoder.encode(product, buffer), "Product should fit in the buffer");
+        }
+        buffer.flip();
+
+        ProductDecoder decoder = new ProductDecoder();
+        for (Product product : products) {
+            assertSame(product, decoder.decode(buffer));
+        }
+        TestFramework.assertEqual(null, decoder.decode(buffer), "Decoder should return null at the end of the stream");
+        TestFramework.assertEqual(1, decoder.getVersion(), "Decoder should read the version");
+        TestFramework.assertEqual(encoder.getDictionarySize(), decoder.getDictionarySize(), "Dictionaries should match");
+        TestFramework.assertThrows(() -> encoder.encode(null, ByteBuffer.allocate(16)),
+                                   IllegalArgumentException.class, "Null product should throw");
+    }
+
+    /**
+     * Test that repeated file types and URL prefixes are sent once.
+     */
+    private static void testDictionary() {
+        System.out.println("\n--- Testing Dictionary ---");
+
+        ProductEncoder withDictionary = new ProductEncoder();
+        ProductEncoder withoutDictionary = new ProductEncoder(false);
+        ByteBuffer small = ByteBuffer.allocate(64 * 1024);
+        ByteBuffer large = ByteBuffer.allocate(64 * 1024);
+        for (int i = 0; i < 100; i++) {
+            DigitalProduct product = new DigitalProduct("Course " + i, 19.99, "CRS-" + i,
+                "https://cdn.example.com/courses/" + i + ".zip", i % 2 == 0 ? "MP4" : "ZIP", 512.0);
+            withDictionary.encode(product, small);
+            withoutDictionary.encode(product, large);
+        }
+        TestFramework.assertEqual(3, withDictionary.getDictionarySize(), "Dictionary should hold one prefix and two file types");
+        TestFramework.assertEqual(0, withoutDictionary.getDictionarySize(), "Dictionary should stay empty when off");
+        TestFramework.assertTrue(small.position() * 2 < large.position(),
+                                 "Dictionary should at least halve the stream (" + small.position() + " vs " + large.position() + ")");
+
+        small.flip();
+        ProductDecoder decoder = new ProductDecoder();
+        DigitalProduct last = null;
+        for (int i = 0; i < 100; i++) {
+            last = (DigitalProduct) decoder.decode(small);
+        }
+        TestFramework.assertEqual("https://cdn.example.com/courses/99.zip", last.getDownloadUrl(), "URL should be rebuilt from its prefix");
+        TestFramework.assertEqual("ZIP", last.getFileType(), "File type should come from the dictionary");
+    }
+
+    /**
+     * Test round trips of random products through heap and direct buffers, with and
+     * without the dictionary.
+     */
+    private static void testFuzzRoundTrip() {
+        System.out.println("\n--- Testing Fuzz Round Trip ---");
+
+        Random random = new Random(42);
+        int mismatches = 0;
+        int checked = 0;
+        for (int run = 0; run < 40; run++) {
+            List<Product> products = randomProducts(random, 250);
+            ByteBuffer buffer = run % 2 == 0 ? ByteBuffer.allocate(256 * 1024) : ByteBuffer.allocateDirect(256 * 1024);
+            ProductEncoder encoder = new ProductEncoder(run % 4 < 2);
+            for (Product product : products) {
+                encoder.encode(product, buffer);
+            }
+            buffer.flip();
+            ProductDecoder decoder = new ProductDecoder();
+            for (Product product : products) {
+                if (!matches(product, decoder.decode(buffer))) {
+                    mismatches++;
+                }
+                checked++;
+            }
+            if (buffer.hasRemaining()) {
+                mismatches++;
+            }
+        }
+        TestFramework.assertEqual(10_000, checked, "Fuzz should check 10,000 products");
+        TestFramework.assertEqual(0, mismatches, "Every random product should round trip");
+    }
+
+    /**
+     * Test encoding and decoding through buffers much smaller than the stream.
+     */
+    private static void testStreaming() {
+        System.out.println("\n--- Testing Streaming ---");
+
+        List<Product> products = randomProducts(new Random(7), 500);
+        ByteBuffer chunk = ByteBuffer.allocateDirect(8192);
+        ByteBuffer stream = ByteBuffer.allocate(512 * 1024);
+        ProductEncoder encoder = new ProductEncoder();
+        int flushes = 0;
+        for (Product product : products) {
+            if (!encoder.encode(product, chunk)) {
+                chunk.flip();
+                stream.put(chunk);
+                chunk.clear();
+                flushes++;
+                TestFramework.assertTrue(encoder.encode(product, chunk), "Product should fit in an empty chunk");
+            }
+        }
+        chunk.flip();
+        stream.put(chunk);
+        stream.flip();
+        TestFramework.assertTrue(flushes >= 5, "Stream should span many chunks");
+
+        // Feed the decoder 37 bytes at a time, as reads from a channel would
+        ProductDecoder decoder = new ProductDecoder();
+        ByteBuffer in = ByteBuffer.allocate(16 * 1024);
+        in.flip();
+        int decoded = 0;
+        int mismatches = 0;
+        while (decoded < products.size()) {
+            Product product = decoder.decode(in);
+            if (product != null) {
+                if (!matches(products.get(decoded++), product)) {
+                    mismatches++;
+                }
+                continue;
+            }
+            if (!stream.hasRemaining()) {
+                break;
+            }
+            in.compact();
+            ByteBuffer slice = stream.duplicate();
+            slice.limit(Math.min(stream.limit(), stream.position() + 37));
+            in.put(slice);
+            stream.position(slice.limit());
+            in.flip();
+        }
+        TestFramework.assertEqual(products.size(), decoded, "Every product should be decoded");
+        TestFramework.assertEqual(0, mismatches, "Streamed products should round trip");
+
+        ByteBuffer tiny = ByteBuffer.allocate(3);
+        TestFramework.assertFalse(new ProductEncoder().encode(products.get(0), tiny), "Product should not fit");
+        TestFramework.assertEqual(0, tiny.position(), "Nothing should be written when it does not fit");
+    }
+
+    /**
+     * Test that fields and records added by a later version are skipped.
+     */
+    private static void testLaterVersions() {
+        System.out.println("\n--- Testing Later Versions ---");
+
+        ByteBuffer original = ByteBuffer.allocate(256);
+        new ProductEncoder(false).encode(new Product("Mouse", 25.5, "MSE-1"), original);
+        original.flip();
+
+        // Header, then an unknown record, then the product with two appended bytes
+        ByteBuffer later = ByteBuffer.allocate(256);
+        later.put(original.get()).put(original.get()).put(original.get()).put(original.get());
+        later.put((byte) 2); // Version 2
+        original.get();
+        later.put((byte) 9).put((byte) 3).put((byte) 1).put((byte) 2).put((byte) 3); // Unknown tag 9
+        later.put(original.get()); // Product tag
+        int length = original.get();
+        later.put((byte) (length + 2));
+        later.put(original).put((byte) 0x7F).put((byte) 0x7F);
+        later.flip();
+
+        ProductDecoder decoder = new ProductDecoder();
+        Product product = decoder.decode(later);
+        TestFramework.assertEqual(2, decoder.getVersion(), "Decoder should report the later version");
+        TestFramework.assertEqual("MSE-1", product.getSku(), "Known fields should be read");
+        TestFramework.assertEqual(25.5, product.getPrice(), "Price should be read");
+        TestFramework.assertFalse(later.hasRemaining(), "Appended fields should be skipped");
+    }
+
+    /**
+     * Test that streams that are not product streams, or are corrupt, are rejected.
+     */
+    private static void testCorruptStreams() {
+        System.out.println("\n--- Testing Corrupt Streams ---");
+
+        TestFramework.assertThrows(() -> new ProductDecoder().decode(ByteBuffer.wrap("JSON{}".getBytes(StandardCharsets.US_ASCII))),
+                                   IllegalArgumentException.class, "Wrong magic should throw");
+        TestFramework.assertThrows(() -> new ProductDecoder().decode(stream(0)),
+                                   IllegalArgumentException.class, "Version 0 should throw");
+        TestFramework.assertThrows(() -> new ProductDecoder().decode(stream(1, 2, 2, 50, 1)),
+                                   IllegalArgumentException.class, "String overrunning its record should throw");
+        TestFramework.assertThrows(() -> new ProductDecoder().decode(stream(1, 1, 2, 5, 2)),
+                                   IllegalArgumentException.class, "Dictionary entry out of order should throw");
+        TestFramework.assertThrows(() -> new ProductDecoder().decode(stream(1, 3, 6, 1, 1, 1, 7, 1, 1)),
+                                   IllegalArgumentException.class, "Unknown dictionary reference should throw");
+        TestFramework.assertThrows(() -> new ProductDecoder().decode(stream(1, 2, 0x80, 0x80, 0x80, 0x80, 0x08)),
+                                   IllegalArgumentException.class, "Oversized record should throw");
+
+        ByteBuffer partial = stream(1, 2, 4, 1);
+        TestFramework.assertEqual(null, new ProductDecoder().decode(partial), "Partial record should return null");
+        TestFramework.assertEqual(5, partial.position(), "Partial record should be left unread after the header");
+
+        Random random = new Random(3);
+        ByteBuffer valid = ByteBuffer.allocate(64 * 1024);
+        ProductEncoder encoder = new ProductEncoder();
+        for (Product product : randomProducts(random, 50)) {
+            encoder.encode(product, valid);
+        }
+        int unexpected = 0;
+        for (int i = 0; i < 2000; i++) {
+            ByteBuffer damaged = ByteBuffer.allocate(valid.position());
+            damaged.put(valid.array(), 0, valid.position()).flip();
+            for (int flips = 1 + random.nextInt(3); flips > 0; flips--) {
+                int at = 5 + random.nextInt(damaged.limit() - 5);
+                damaged.put(at, (byte) random.nextInt(256));
+            }
+            try {
+                ProductDecoder decoder = new ProductDecoder();
+                while (decoder.decode(damaged) != null) {
+                    // Damaged bytes may still decode, but never to anything but products or an error
+                }
+            } catch (IllegalArgumentException e) {
+                // Expected for most damage
+            } catch (RuntimeException e) {
+                unexpected++;
+            }
+        }
+        TestFramework.assertEqual(0, unexpected, "Damaged streams should only ever throw IllegalArgumentException");
+    }
+
+    private static ByteBuffer stream(int... bytes) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + bytes.length);
+        buffer.put((byte) 'P').put((byte) 'C').put((byte) 'D').put((byte) 'C');
+        for (int b : bytes) {
+            buffer.put((byte) b);
+        }
+        return buffer.flip();
+    }
+
+    private static List<Product> randomProducts(Random random, int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String sku = random.nextInt(20) == 0 ? null : "SKU-" + random.nextInt(1_000_000);
+            String name = randomString(random);
+            double price = randomDecimal(random);
+            if (random.nextBoolean()) {
+                products.add(new Product(name, price, sku));
+                continue;
+            }
+            String url = random.nextInt(10) == 0 ? null
+                : URL_PREFIXES[random.nextInt(URL_PREFIXES.length)] + randomString(random);
+            String fileType = random.nextInt(10) == 0 ? null
+                : random.nextInt(10) == 0 ? randomString(random) : FILE_TYPES[random.nextInt(FILE_TYPES.length)];
+            products.add(new DigitalProduct(name, price, sku, url, fileType, randomDecimal(random)));
+        }
+        return products;
+    }
+
+    private static String randomString(Random random) {
+        if (random.nextInt(20) == 0) {
+            return null;
+        }
+        int length = random.nextInt(10) == 0 ? random.nextInt(400) : random.nextInt(30);
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            int kind = random.nextInt(10);
+            if (kind < 6) {
+                text.append((char) (' ' + random.nextInt(95)));
+            } else if (kind < 8) {
+                text.append((char) (0x80 + random.nextInt(0x780)));
+            } else if (kind < 9) {
+                text.append((char) (0x800 + random.nextInt(0xF000)));
+            } else {
+                text.appendCodePoint(0x10000 + random.nextInt(0x100000));
+            }
+        }
+        return text.toString();
+    }
+
+    private static double randomDecimal(Random random) {
+        switch (random.nextInt(6)) {
+            case 0:
+                return random.nextDouble() * 1e6;
+            case 1:
+                return Double.longBitsToDouble(random.nextLong());
+            default:
+                return random.nextInt(10_000_000) / 100.0;
+        }
+    }
+
+    private static void assertSame(Product expected, Product actual) {
+        TestFramework.assertTrue(matches(expected, actual), "Product " + expected.getSku() + " should round trip");
+    }
+
+    /**
+     * Compares field by field; strings are compared after a UTF-8 round trip, which
+     * replaces unpaired surrogates, and doubles by their exact bits.
+     */
+    private static boolean matches(Product expected, Product actual) {
+        if (actual == null || expected.getClass() != actual.getClass()
+            || !same(expected.getSku(), actual.getSku()) || !same(expected.getName(), actual.getName())
+            || !same(expected.getPrice(), actual.getPrice())) {
+            return false;
+        }
+        if (!(expected instanceof DigitalProduct)) {
+            return true;
+        }
+        DigitalProduct digital = (DigitalProduct) expected;
+        DigitalProduct other = (DigitalProduct) actual;
+        return same(digital.getDownloadUrl(), other.getDownloadUrl()) && same(digital.getFileType(), other.getFileType())
+            && same(digital.getFileSizeMB(), other.getFileSizeMB());
+    }
+
+    private static boolean same(String expected, String actual) {
+        if (expected == null) {
+            return actual == null;
+        }
+        return new String(expected.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8).equals(actual);
+    }
+
+    private static boolean same(double expected, double actual) {
+        return Double.doubleToRawLongBits(expected) == Double.doubleToRawLongBits(actual);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.test;
+
+import com.example.model.DigitalProduct;
+import com.example.model.Product;
+import com.example.model.ProductFormatter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Test class for ProductFormatter and the cached getProductInfo().
+ * This test verifies price formatting against String.format, UTF-8 encoding, JSON output and cache invalidation.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class ProductFormatterTest {
+
+    /**
+     * Run all tests for product formatting.
+     */
+    public static void runTests() {
+        System.out.println("=== Testing ProductFormatter ===");
+        TestFramework.reset();
+
+        testPriceFormatting();
+        testUtf8Encoding();
+        testProductInfoCache();
+        testJson();
+
+        TestFramework.printSummary();
+    }
+
+    /**
+     * Test that prices format the same way as String.format("%.2f").
+     */
+    private static void testPriceFormatting() {
+        System.out.println("\n--- Testing Price Formatting ---");
+
+        TestFramework.assertEqual("1704.94", ProductFormatter.formatPrice(1704.9399999999998), "Cart total should format to cents");
+        TestFramework.assertEqual("0.00", ProductFormatter.formatPrice(0), "Zero should format as 0.00");
+        TestFramework.assertEqual("0.05", ProductFormatter.formatPrice(0.05), "Small fractions should be zero padded");
+        TestFramework.assertEqual("-12.50", ProductFormatter.formatPrice(-12.5), "Negative prices should keep their sign");
+        TestFramework.assertEqual(String.format("%.2f", -0.001), ProductFormatter.formatPrice(-0.001),
+                                  "Negative prices that round to zero should keep their sign");
+        TestFramework.assertEqual(String.format("%.2f", -0.0), ProductFormatter.formatPrice(-0.0), "Negative zero should keep its sign");
+
+        double[] halfCents = {0.125, 1.005, 2.675, 1.115, 10.245};
+        boolean halfCentsMatch = true;
+        for (double value : halfCents) {
+            halfCentsMatch &= String.format("%.2f", value).equals(ProductFormatter.formatPrice(value));
+        }
+        TestFramework.assertTrue(halfCentsMatch, "Half-cent values should round like String.format");
+
+        Random random = new Random(7);
+        int mismatches = 0;
+        for (int i = 0; i < 100_000; i++) {
+            double value = (Math.round(random.nextDouble() * 2_000_000) - 1_000_000) / 1000.0;
+            if (!String.format("%.2f", value).equals(ProductFormatter.formatPrice(value))) {
+                mismatches++;
+            }
+        }
+        TestFramework.assertEqual(0, mismatches, "Random three-decimal prices should match String.format");
+    }
+
+    /**
+     * Test that UTF-8 encoding matches String.getBytes.
+     */
+    private static void testUtf8Encoding() {
+        System.out.println("\n--- Testing UTF-8 Encoding ---");
+
+        String text = "Café Crème – 日本語 🚀";
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        int written = ProductFormatter.writeUtf8(text, buffer);
+        byte[] expected = text.getBytes(StandardCharsets.UTF_8);
+
+        TestFramework.assertEqual(expected.length, written, "Encoded length should match String.getBytes");
+        TestFramework.assertTrue(Arrays.equals(expected, Arrays.copyOf(buffer.array(), written)),
+                                 "Encoded bytes should match String.getBytes");
+
+        Product laptop = new Product("Gaming Laptop", 1299.99, "LAP-001");
+        ByteBuffer direct = ByteBuffer.allocateDirect(128);
+        ProductFormatter.writeProductInfo(laptop, direct);
+        direct.flip();
+        byte[] bytes = new byte[direct.remaining()];
+        direct.get(bytes);
+        TestFramework.assertEqual(laptop.getProductInfo(), new String(bytes, StandardCharsets.UTF_8),
+                                  "Product info should be written as UTF-8");
+    }
+
+    /**
+     * Test that the cached product info is rebuilt after a setter is called.
+     */
+    private static void testProductInfoCache() {
+        System.out.println("\n--- Testing Product Info Cache ---");
+
+        Product laptop = new Product("Gaming Laptop", 1299.99, "LAP-001");
+        String first = laptop.getProductInfo();
+        TestFramework.assertTrue(first == laptop.getProductInfo(), "Repeated calls should return the cached string");
+
+        laptop.setPrice(999.99);
+        TestFramework.assertEqual("Product: Gaming Laptop, Price: $999.99, SKU: LAP-001", laptop.getProductInfo(),
+                                  "setPrice should invalidate the cache");
+        laptop.setName("Office Laptop");
+        TestFramework.assertTrue(laptop.getProductInfo().startsWith("Product: Office Laptop"), "setName should invalidate the cache");
+        laptop.setSku("LAP-002");
+        TestFramework.assertTrue(laptop.getProductInfo().endsWith("SKU: LAP-002"), "setSku should invalidate the cache");
+    }
+
+    /**
+     * Test JSON string escaping and product JSON.
+     */
+    private static void testJson() {
+        System.out.println("\n--- Testing JSON ---");
+
+        TestFramework.assertEqual("\"say \\\"hi\\\" \\\\ \\u000a\"",
+                                  ProductFormatter.appendJsonString(new StringBuilder(), "say \"hi\" \\ \n").toString(),
+                                  "Quotes, backslashes and control characters should be escaped");
+        TestFramework.assertEqual("null", ProductFormatter.appendJsonString(new StringBuilder(), null).toString(),
+                                  "A null string should be written as null");
+        TestFramework.assertEqual("null", ProductFormatter.appendJsonNumber(new StringBuilder(), Double.NaN).toString(),
+                                  "NaN should be written as null");
+
+        Product laptop = new Product("Gaming Laptop", 1299.99, "LAP-001");
+        TestFramework.assertEqual("{\"sku\":\"LAP-001\",\"name\":\"Gaming Laptop\",\"price\":1299.99}",
+                                  laptop.appendJson(new StringBuilder()).toString(), "Product JSON");
+        DigitalProduct ebook = new DigitalProduct("E-Book", 29.99, "EBOOK-001", "https://example.com/ebook", "PDF", 25.5);
+        TestFramework.assertEqual("{\"sku\":\"EBOOK-001\",\"name\":\"E-Book\",\"price\":29.99,"
+                                  + "\"downloadUrl\":\"https://example.com/ebook\",\"fileType\":\"PDF\",\"fileSizeMB\":25.5}",
+                                  ebook.appendJson(new StringBuilder()).toString(), "DigitalProduct JSON adds its fields");
+    }
+}
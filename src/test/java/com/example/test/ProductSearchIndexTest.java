@@ -0,0 +1,190 @@
+package com.example.test;
+
+import com.example.model.Product;
+import com.example.model.DigitalProduct;
+import com.example.model.ProductSearchIndex;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for ProductSearchIndex.
+ * This test verifies SKU prefix lookups, ranked name search, incremental updates
+ * through setters and searches running concurrently with writes.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class ProductSearchIndexTest {
+
+    /**
+     * Run all tests for the search index.
+     */
+    public static void runTests() {
+        System.out.println("=== Testing ProductSearchIndex ===");
+        TestFramework.reset();
+
+        testSkuPrefix();
+        testNameSearchRanking();
+        testUpdatesThroughSetters();
+        testRemove();
+        testConcurrentReadersDuringWrites();
+
+        TestFramework.printSummary();
+    }
+
+    private static ProductSearchIndex sampleIndex() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.add(new Product("Laptop", 999.99, "LAPTOP-001"));
+        index.add(new Product("Laptop Stand", 49.99, "LAPTOP-STAND"));
+        index.add(new Product("Gaming Laptop Pro", 1999.99, "LAPTOP-002"));
+        index.add(new Product("Wireless Mouse", 25.50, "MOUSE-001"));
+        index.add(new DigitalProduct("Java Programming Course", 99.99, "COURSE-001",
+                                     "https://example.com/course", "Video", 2048.0));
+        index.add(new DigitalProduct("Java E-Book", 29.99, "EBOOK-001",
+                                     "https://example.com/ebook", "PDF", 25.5));
+        return index;
+    }
+
+    private static List<String> skus(List<Product> products) {
+        List<String> skus = new ArrayList<>();
+        for (Product product : products) {
+            skus.add(product.getSku());
+        }
+        return skus;
+    }
+
+    /**
+     * Test SKU prefix lookups and their ordering and limit.
+     */
+    private static void testSkuPrefix() {
+        System.out.println("\n--- Testing SKU Prefix ---");
+
+        ProductSearchIndex index = sampleIndex();
+        TestFramework.assertEqual(List.of("LAPTOP-001", "LAPTOP-002", "LAPTOP-STAND"),
+                                  skus(index.findBySkuPrefix("LAP", 10)), "Prefix should return SKUs in order");
+        TestFramework.assertEqual(List.of("LAPTOP-001", "LAPTOP-002"),
+                                  skus(index.findBySkuPrefix("LAPTOP-", 2)), "Limit should be applied");
+        TestFramework.assertEqual(List.of("MOUSE-001"), skus(index.findBySkuPrefix("MOUSE-001", 10)),
+                                  "A full SKU should match itself");
+        TestFramework.assertEqual(0, index.findBySkuPrefix("LAPTOPX", 10).size(), "Diverging prefix should match nothing");
+        TestFramework.assertEqual(6, index.findBySkuPrefix("", 10).size(), "Empty prefix should match everything");
+    }
+
+    /**
+     * Test tokenized name search, prefix matching of the last word and ranking.
+     */
+    private static void testNameSearchRanking() {
+        System.out.println("\n--- Testing Name Search Ranking ---");
+
+        ProductSearchIndex index = sampleIndex();
+        TestFramework.assertEqual(List.of("LAPTOP-001", "LAPTOP-STAND", "LAPTOP-002"),
+                                  skus(index.search("laptop", 10)), "Shorter names should rank first");
+        TestFramework.assertEqual(List.of("LAPTOP-001"), skus(index.search("LAPTOP", 1)),
+                                  "Search should be case-insensitive and bounded");
+        TestFramework.assertEqual(List.of("EBOOK-001", "COURSE-001"), skus(index.search("java", 10)),
+                                  "Both Java products should match");
+        TestFramework.assertEqual(List.of("COURSE-001"), skus(index.search("java prog", 10)),
+                                  "Last word should match as a prefix");
+        TestFramework.assertEqual(List.of("LAPTOP-STAND"), skus(index.search("laptop stand", 10)),
+                                  "All words should be required");
+        TestFramework.assertEqual(List.of("LAPTOP-001", "LAPTOP-STAND", "LAPTOP-002"), skus(index.search("lap", 10)),
+                                  "Prefix alone should match");
+        TestFramework.assertEqual(0, index.search("tablet", 10).size(), "Unknown word should match nothing");
+        TestFramework.assertEqual(0, index.search("  ", 10).size(), "Blank query should match nothing");
+    }
+
+    /**
+     * Test that setters re-index a product.
+     */
+    private static void testUpdatesThroughSetters() {
+        System.out.println("\n--- Testing Updates Through Setters ---");
+
+        ProductSearchIndex index = new ProductSearchIndex();
+        Product product = new Product("Desk Lamp", 35.0, "LAMP-001");
+        index.add(product);
+
+        product.setName("Floor Lamp");
+        TestFramework.assertEqual(0, index.search("desk", 10).size(), "Old name should no longer match");
+        TestFramework.assertEqual(1, index.search("floor", 10).size(), "New name should match");
+
+        product.setSku("LIGHT-001");
+        TestFramework.assertEqual(0, index.findBySkuPrefix("LAMP", 10).size(), "Old SKU should no longer match");
+        TestFramework.assertEqual(1, index.findBySkuPrefix("LIGHT", 10).size(), "New SKU should match");
+        TestFramework.assertEqual(1, index.size(), "Index should still hold one product");
+    }
+
+    /**
+     * Test removing a product and that it is no longer watched.
+     */
+    private static void testRemove() {
+        System.out.println("\n--- Testing Remove ---");
+
+        ProductSearchIndex index = sampleIndex();
+        Product mouse = index.findBySkuPrefix("MOUSE", 1).get(0);
+        index.remove(mouse);
+        TestFramework.assertEqual(0, index.findBySkuPrefix("MOUSE", 10).size(), "Removed SKU should be gone");
+        TestFramework.assertEqual(0, index.search("wireless", 10).size(), "Removed name should be gone");
+
+        mouse.setName("Wireless Mouse 2");
+        TestFramework.assertEqual(0, index.search("wireless", 10).size(), "Removed product should not be re-indexed");
+        TestFramework.assertEqual(5, index.size(), "Five products should remain");
+    }
+
+    /**
+     * Test that searches run correctly while another thread adds and renames products.
+     */
+    private static void testConcurrentReadersDuringWrites() {
+        System.out.println("\n--- Testing Concurrent Readers During Writes ---");
+
+        ProductSearchIndex index = new ProductSearchIndex();
+        for (int i = 0; i < 1_000; i++) {
+            index.add(new Product("Stable Widget " + i, 1.0, String.format("STABLE-%05d", i)));
+        }
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger wrongResults = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        Thread[] readers = new Thread[4];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                try {
+                    while (writing.get()) {
+                        if (index.findBySkuPrefix("STABLE-", 2_000).size() != 1_000
+                                || index.search("stable widget", 5).size() != 5) {
+                            wrongResults.incrementAndGet();
+                        }
+                        index.search("gad", 10);
+                    }
+                } catch (RuntimeException e) {
+                    errors.incrementAndGet();
+                }
+            });
+            readers[r].start();
+        }
+
+        List<Product> added = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            Product product = new Product("Gadget " + i, 2.0, "GADGET-" + i);
+            index.add(product);
+            added.add(product);
+            if (i % 3 == 0) {
+                added.get(i / 2).setName("Gizmo " + i);
+            }
+        }
+        writing.set(false);
+        for (Thread reader : readers) {
+            try {
+                reader.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        TestFramework.assertEqual(0, errors.get(), "Readers should never fail during writes");
+        TestFramework.assertEqual(0, wrongResults.get(), "Untouched products should always be found");
+        TestFramework.assertEqual(5_000, index.findBySkuPrefix("GADGET-", 10_000).size(), "All writes should be visible");
+        TestFramework.assertEqual(6_000, index.size(), "Index should hold every product");
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.test;
+
+import com.example.model.Product;
+import com.example.model.DigitalProduct;
+import com.example.model.ProductTable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test class for ProductTable.
+ * This test verifies columnar aggregations and conversion back to model objects.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class ProductTableTest {
+
+    /**
+     * Run all tests for the columnar product table.
+     */
+    public static void runTests() {
+        System.out.println("=== Testing ProductTable ===");
+        TestFramework.reset();
+
+        testAggregates();
+        testGroupByFileType();
+        testRoundTrip();
+
+        TestFramework.printSummary();
+    }
+
+    private static List<Product> sampleCart() {
+        List<Product> cart = new ArrayList<>();
+        cart.add(new Product("Gaming Laptop", 1299.99, "LAP-001"));
+        cart.add(new Product("Java Programming Guide", 49.99, "BOOK-001"));
+        cart.add(new DigitalProduct("E-Book: Advanced Java", 29.99, "EBOOK-001",
+                                    "https://store.example.com/download/ebook-001", "PDF", 25.5));
+        cart.add(new DigitalProduct("Online Course: OOP Mastery", 99.99, "COURSE-001",
+                                    "https://learn.example.com/course-oop-mastery", "Video Files", 2100.0));
+        cart.add(new DigitalProduct("Cheat Sheet", 4.99, "PDF-002",
+                                    "https://store.example.com/download/pdf-002", "PDF", 1.5));
+        return cart;
+    }
+
+    /**
+     * Test sum, count and min/max over the columns.
+     */
+    private static void testAggregates() {
+        System.out.println("\n--- Testing Aggregates ---");
+
+        List<Product> cart = sampleCart();
+        ProductTable table = ProductTable.from(cart);
+
+        double expectedTotal = 0;
+        for (Product item : cart) {
+            expectedTotal += item.getPrice();
+        }
+        TestFramework.assertEqual(5, table.size(), "Table should have one row per product");
+        TestFramework.assertEqual(expectedTotal, table.sumPrice(), "Column sum should match the object loop");
+        TestFramework.assertEqual(3, table.countDigital(), "Table should count three digital products");
+        TestFramework.assertEqual(2, table.countPhysical(), "Table should count two physical products");
+        TestFramework.assertEqual(4.99, table.minPrice(), "Minimum price should be 4.99");
+        TestFramework.assertEqual(1299.99, table.maxPrice(), "Maximum price should be 1299.99");
+        TestFramework.assertEqual(2127.0, table.sumFileSizeMB(), "File sizes should sum over digital rows");
+        TestFramework.assertTrue(Double.isNaN(new ProductTable().minPrice()), "Empty table should have no minimum");
+    }
+
+    /**
+     * Test grouping by dictionary-encoded file type.
+     */
+    private static void testGroupByFileType() {
+        System.out.println("\n--- Testing Group By File Type ---");
+
+        ProductTable table = ProductTable.from(sampleCart());
+        Map<String, Integer> counts = table.countByFileType();
+        Map<String, Double> totals = table.sumPriceByFileType();
+
+        TestFramework.assertEqual(2, counts.size(), "There should be two distinct file types");
+        TestFramework.assertEqual(2, counts.get("PDF"), "There should be two PDF products");
+        TestFramework.assertEqual(29.99 + 4.99, totals.get("PDF"), "PDF revenue should add both PDFs");
+        TestFramework.assertEqual(99.99, totals.get("Video Files"), "Video revenue should be 99.99");
+    }
+
+    /**
+     * Test that rows convert back into equivalent model objects.
+     */
+    private static void testRoundTrip() {
+        System.out.println("\n--- Testing Round Trip ---");
+
+        ProductTable table = ProductTable.from(sampleCart());
+        List<Product> products = table.toProducts();
+
+        TestFramework.assertFalse(products.get(0) instanceof DigitalProduct, "Row 0 should become a Product");
+        TestFramework.assertEqual("LAP-001", products.get(0).getSku(), "Row 0 SKU should be preserved");
+        TestFramework.assertTrue(products.get(3) instanceof DigitalProduct, "Row 3 should become a DigitalProduct");
+        DigitalProduct course = (DigitalProduct) products.get(3);
+        TestFramework.assertEqual("Video Files", course.getFileType(), "File type should be decoded");
+        TestFramework.assertEqual(2100.0, course.getFileSizeMB(), "File size should be preserved");
+        TestFramework.assertEqual("https://learn.example.com/course-oop-mastery", course.getDownloadUrl(),
+                                  "Download URL should be preserved");
+        TestFramework.assertThrows(() -> table.getPrice(5), IndexOutOfBoundsException.class,
+                                   "Reading past the last row should fail");
+    }
+}
@@ -0,0 +1,344 @@
+package com.example.test;
+
+import com.example.main.ShardedStore;
+import com.example.metrics.MetricsRegistry;
+import com.example.model.Product;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for ShardedStore.
+ * This test verifies tenant isolation, single-writer ordering, fairness between a hot
+ * tenant and the others, work stealing, rebalancing, metrics and closing.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class ShardedStoreTest {
+
+    /**
+     * Run all tests for ShardedStore.
+     */
+    public static void runTests() {
+        System.out.println("=== Testing ShardedStore ===");
+        TestFramework.reset();
+
+        testTenants();
+        testSingleWriter();
+        testHotTenant();
+        testWorkStealing();
+        testRebalance();
+        testMetrics();
+        testClose();
+
+        TestFramework.printSummary();
+    }
+
+    /**
+     * Test that each tenant has its own catalog and carts.
+     */
+    private static void testTenants() {
+        System.out.println("\n--- Testing Tenants ---");
+
+        try (ShardedStore store = new ShardedStore(4, ShardedStore.DEFAULT_QUANTUM, new MetricsRegistry(true))) {
+            store.putProduct("acme", new Product("Gaming Laptop", 1299.99, "LAP-001"));
+            store.putProduct("globex", new Product("Budget Laptop", 499.50, "LAP-001"));
+            store.addToCart("acme", "cart-1", "LAP-001", 2);
+            long acme = store.getCartTotalCents("acme", "cart-1").join();
+            long globex = store.addToCart("globex", "cart-1", "LAP-001", 1).join();
+
+            TestFramework.assertEqual(259998L, acme, "Acme's cart should use Acme's price");
+            TestFramework.assertEqual(49950L, globex, "Globex's cart should use Globex's price");
+            TestFramework.assertEqual("Budget Laptop", store.getProduct("globex", "LAP-001").join().getName(),
+                                      "Catalogs should be separate");
+            TestFramework.assertEqual(null, store.getCartTotalCents("initech", "cart-1").join(), "Unknown cart should be null");
+            TestFramework.assertEqual(3, store.getTenantCount(), "Three tenants should exist");
+            TestFramework.assertTrue(store.getHomeShard("acme") >= 0 && store.getHomeShard("acme") < 4,
+                                     "Home shard should be in range");
+            TestFramework.assertEqual(-1, store.getHomeShard("hooli"), "Unknown tenant should have no home");
+
+            CompletableFuture<Long> unknown = store.addToCart("acme", "cart-1", "NOPE", 1);
+            TestFramework.assertThrows(unknown::join, CompletionException.class, "Unknown SKU should fail the future");
+            TestFramework.assertThrows(() -> store.addToCart("acme", "cart-1", "LAP-001", 0),
+                                       IllegalArgumentException.class, "Zero quantity should throw");
+            TestFramework.assertThrows(() -> store.moveTenant("acme", 4), IllegalArgumentException.class,
+                                       "Shard out of range should throw");
+            TestFramework.assertThrows(() -> store.moveTenant("hooli", 0), IllegalArgumentException.class,
+                                       "Unknown tenant should not move");
+        }
+        TestFramework.assertThrows(() -> new ShardedStore(0, 1, new MetricsRegistry(true)),
+                                   IllegalArgumentException.class, "Zero shards should throw");
+    }
+
+    /**
+     * Test that a tenant's operations never overlap and run in submission order,
+     * while many threads submit and the tenants move between shards.
+     */
+    private static void testSingleWriter() {
+        System.out.println("\n--- Testing Single Writer ---");
+
+        int tenants = 8;
+        int perThread = 2_000;
+        int[] lastSeen = new int[tenants * 4];
+        int[] counts = new int[tenants];
+        AtomicInteger[] running = new AtomicInteger[tenants];
+        AtomicInteger overlaps = new AtomicInteger();
+        AtomicInteger outOfOrder = new AtomicInteger();
+        for (int i = 0; i < tenants; i++) {
+            running[i] = new AtomicInteger();
+        }
+
+        try (ShardedStore store = new ShardedStore(4, 16, new MetricsRegistry(true))) {
+            List<Thread> threads = new ArrayList<>();
+            List<CompletableFuture<Integer>> last = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                Thread submitter = new Thread(() -> {
+                    for (int n = 1; n <= perThread; n++) {
+                        int tenant = n % tenants;
+                        int sequence = n;
+                        store.submit("tenant-" + tenant, state -> {
+                            if (running[tenant].incrementAndGet() != 1) {
+                                overlaps.incrementAndGet();
+                            }
+                            int slot = tenant * 4 + thread;
+                            if (lastSeen[slot] >= sequence) {
+                                outOfOrder.incrementAndGet();
+                            }
+                            lastSeen[slot] = sequence;
+                            counts[tenant]++; // Unsynchronized: safe only with a single writer
+                            running[tenant].decrementAndGet();
+                            return counts[tenant];
+                        });
+                        if (n % 500 == 0) {
+                            store.moveTenant("tenant-" + tenant, n / 500 % 4);
+                        }
+                    }
+                });
+                threads.add(submitter);
+                submitter.start();
+            }
+            for (Thread submitter : threads) {
+                join(submitter);
+            }
+            for (int i = 0; i < tenants; i++) {
+                last.add(store.submit("tenant-" + i, state -> counts[state.getId().charAt(7) - '0']));
+            }
+            int total = 0;
+            for (CompletableFuture<Integer> count : last) {
+                total += count.join();
+            }
+            TestFramework.assertEqual(4 * perThread, total, "No operation should be lost");
+        }
+        TestFramework.assertEqual(0, overlaps.get(), "A tenant's operations should never overlap");
+        TestFramework.assertEqual(0, outOfOrder.get(), "A tenant's operations should run in submission order");
+    }
+
+    /**
+     * Test that a tenant with a long backlog does not hold up another on the same shard.
+     */
+    private static void testHotTenant() {
+        System.out.println("\n--- Testing Hot Tenant ---");
+
+        int backlog = 5_000;
+        AtomicInteger hotDone = new AtomicInteger();
+        try (ShardedStore store = new ShardedStore(1, 32, new MetricsRegistry(true))) {
+            CompletableFuture<Integer> hot = null;
+            for (int i = 0; i < backlog; i++) {
+                hot = store.submit("hot", tenant -> {
+                    spin(5_000);
+                    return hotDone.incrementAndGet();
+                });
+            }
+            int seenByCold = store.submit("cold", tenant -> hotDone.get()).join();
+            TestFramework.assertTrue(seenByCold < backlog,
+                                     "Cold tenant should run before the hot backlog drains (ran after " + seenByCold + ")");
+            TestFramework.assertEqual(backlog, hot.join(), "Hot tenant should finish its backlog");
+        }
+    }
+
+    /**
+     * Test that idle shards take queued tenants from a busy one.
+     */
+    private static void testWorkStealing() {
+        System.out.println("\n--- Testing Work Stealing ---");
+
+        try (ShardedStore store = new ShardedStore(2, 8, new MetricsRegistry(true))) {
+            List<CompletableFuture<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < 100; t++) {
+                store.submit("tenant-" + t, tenant -> 0).join();
+                store.moveTenant("tenant-" + t, 0);
+            }
+            for (int round = 0; round < 50; round++) {
+                for (int t = 0; t < 100; t++) {
+                    futures.add(store.submit("tenant-" + t, tenant -> {
+                        spin(20_000);
+                        return 1;
+                    }));
+                }
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+            ShardedStore.ShardStats home = store.getShardStats(0);
+            ShardedStore.ShardStats thief = store.getShardStats(1);
+            TestFramework.assertEqual(100, home.getHomeTenants(), "Every tenant should live on shard 0");
+            TestFramework.assertTrue(thief.getSteals() > 0, "Shard 1 should steal tenants: " + thief);
+            TestFramework.assertTrue(thief.getOperations() > 0, "Shard 1 should run stolen operations: " + thief);
+            TestFramework.assertEqual(5_100L, home.getOperations() + thief.getOperations(),
+                                      "Every operation should run once");
+        }
+    }
+
+    /**
+     * Test that rebalancing spreads tenants by load and leaves a hot tenant on its own.
+     */
+    private static void testRebalance() {
+        System.out.println("\n--- Testing Rebalance ---");
+
+        try (ShardedStore store = new ShardedStore(4, ShardedStore.DEFAULT_QUANTUM, new MetricsRegistry(true))) {
+            List<CompletableFuture<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < 40; t++) {
+                store.submit("tenant-" + t, tenant -> 0).join();
+                store.moveTenant("tenant-" + t, 0);
+            }
+            for (int i = 0; i < 4_000; i++) {
+                futures.add(store.submit("tenant-0", tenant -> 1)); // The hot tenant
+            }
+            for (int t = 1; t < 40; t++) {
+                for (int i = 0; i < 20; i++) {
+                    futures.add(store.submit("tenant-" + t, tenant -> 1));
+                }
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+            int moved = store.rebalance();
+            int hotShard = store.getHomeShard("tenant-0");
+            int sharingHotShard = 0;
+            for (int t = 1; t < 40; t++) {
+                if (store.getHomeShard("tenant-" + t) == hotShard) {
+                    sharingHotShard++;
+                }
+            }
+            TestFramework.assertTrue(moved > 0, "Tenants should move off shard 0");
+            TestFramework.assertEqual(0, sharingHotShard, "Hot tenant should have its shard to itself");
+            for (int shard = 0; shard < 4; shard++) {
+                if (shard != hotShard) {
+                    TestFramework.assertEqual(13, store.getShardStats(shard).getHomeTenants(),
+                                              "Cold tenants should be spread evenly");
+                }
+            }
+            TestFramework.assertEqual(0, store.rebalance(), "Nothing should move without new load");
+        }
+    }
+
+    /**
+     * Test that per-shard metrics are exported.
+     */
+    private static void testMetrics() {
+        System.out.println("\n--- Testing Metrics ---");
+
+        MetricsRegistry registry = new MetricsRegistry(true);
+        try (ShardedStore store = new ShardedStore(2, ShardedStore.DEFAULT_QUANTUM, registry)) {
+            store.submit("acme", tenant -> tenant.getId()).join();
+            store.moveTenant("acme", 1 - store.getHomeShard("acme"));
+            store.submit("acme", tenant -> tenant.getCartCount()).join();
+            StringBuilder text = new StringBuilder();
+            registry.writePrometheus(text);
+            TestFramework.assertTrue(text.indexOf("store_shard_operations_total{shard=\"0\"}") >= 0,
+                                     "Shard 0 operations should be exported");
+            TestFramework.assertTrue(text.indexOf("store_shard_operation_seconds_count{shard=\"1\"}") >= 0,
+                                     "Shard 1 latency should be exported");
+            long operations = store.getShardStats(0).getOperations() + store.getShardStats(1).getOperations();
+            TestFramework.assertEqual(2L, operations, "Both operations should be counted");
+        } catch (IOException e) {
+            TestFramework.assertTrue(false, "Metrics should be written: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test that closing runs the submitted operations, even when a submit races it, and refuses new ones.
+     */
+    private static void testClose() {
+        System.out.println("\n--- Testing Close ---");
+
+        ShardedStore store = new ShardedStore(2, 4, new MetricsRegistry(true));
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            futures.add(store.submit("tenant-" + (i % 10), tenant -> 1));
+        }
+        store.close();
+        boolean allDone = true;
+        for (CompletableFuture<Integer> future : futures) {
+            allDone &= future.isDone() && !future.isCompletedExceptionally();
+        }
+        TestFramework.assertTrue(allDone, "Submitted operations should run before close returns");
+        TestFramework.assertThrows(() -> store.submit("tenant-0", tenant -> 1), IllegalStateException.class,
+                                   "Closed store should refuse operations");
+        // A submit racing close() must not fail operations queued before close() was called
+        boolean earlierRan = true;
+        for (int round = 0; round < 20 && earlierRan; round++) {
+            ShardedStore racing = new ShardedStore(1, 4, new MetricsRegistry(false));
+            List<CompletableFuture<Integer>> beforeClose = new ArrayList<>();
+            AtomicBoolean closing = new AtomicBoolean();
+            Thread submitter = new Thread(() -> {
+                while (true) {
+                    CompletableFuture<Integer> future;
+                    try {
+                        future = racing.submit("tenant-0", tenant -> {
+                            spin(2_000);
+                            return 1;
+                        });
+                    } catch (IllegalStateException e) {
+                        return;
+                    }
+                    if (!closing.get()) { // This submit returned before close() was called
+                        synchronized (beforeClose) {
+                            beforeClose.add(future);
+                        }
+                    }
+                }
+            });
+            submitter.start();
+            spin(2_000_000);
+            closing.set(true);
+            racing.close();
+            join(submitter);
+            synchronized (beforeClose) {
+                for (CompletableFuture<Integer> future : beforeClose) {
+                    earlierRan &= future.isDone() && !future.isCompletedExceptionally();
+                }
+            }
+        }
+        TestFramework.assertTrue(earlierRan, "A submit racing close should not fail earlier operations");
+
+        try (ShardedStore other = new ShardedStore(1, 1, new MetricsRegistry(true))) {
+            CompletableFuture<Integer> failing = other.submit("x", tenant -> {
+                throw new IllegalStateException("boom");
+            });
+            TestFramework.assertThrows(() -> failing.orTimeout(5, TimeUnit.SECONDS).join(), CompletionException.class,
+                                       "A failing operation should fail its future");
+            TestFramework.assertEqual(1, other.submit("x", tenant -> 1).join(), "Shard should survive a failing operation");
+        }
+    }
+
+    private static void spin(long nanos) {
+        long end = System.nanoTime() + nanos;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void join(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.test;
+
+import com.example.model.Product;
+import com.example.model.DigitalProduct;
+import com.example.model.Money;
+import com.example.model.ShoppingCart;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test class for ShoppingCart.
+ * This test verifies incremental totals and counts, validation of events, snapshots
+ * and loading them, replay and restore, and log compaction.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class ShoppingCartTest {
+
+    /**
+     * Run all tests for ShoppingCart.
+     */
+    public static void runTests() {
+        System.out.println("=== Testing ShoppingCart ===");
+        TestFramework.reset();
+
+        testIncrementalTotals();
+        testRemoveAndPriceChange();
+        testInvalidEvents();
+        testSnapshots();
+        testReplayMatchesRecompute();
+        testCompactLog();
+
+        TestFramework.printSummary();
+    }
+
+    /**
+     * Test that totals and counts match the Store demo cart.
+     */
+    private static void testIncrementalTotals() {
+        System.out.println("\n--- Testing Incremental Totals ---");
+
+        List<Product> items = storeCart();
+        ShoppingCart cart = new ShoppingCart();
+        for (Product item : items) {
+            cart.add(item);
+        }
+        TestFramework.assertEqual(Money.total(items), cart.getTotal(), "Total should match Money.total");
+        TestFramework.assertEqual(3, cart.getPhysicalCount(), "Three physical products");
+        TestFramework.assertEqual(3, cart.getDigitalCount(), "Three digital products");
+        TestFramework.assertEqual(6, cart.getItemCount(), "Six items");
+        TestFramework.assertEqual(6L, cart.getSequence(), "One event per add");
+
+        cart.add(items.get(0), 2);
+        TestFramework.assertEqual(3, cart.getQuantity("LAP-001"), "Adding again should increase the quantity");
+        TestFramework.assertEqual(6, cart.getLineCount(), "Adding again should not add a line");
+        TestFramework.assertEqual(Money.total(items).plus(Money.of(1299.99).times(2)), cart.getTotal(),
+                                  "Total should include the extra units");
+    }
+
+    /**
+     * Test removing units and repricing lines.
+     */
+    private static void testRemoveAndPriceChange() {
+        System.out.println("\n--- Testing Remove and Price Change ---");
+
+        ShoppingCart cart = new ShoppingCart();
+        cart.add(new Product("Mouse", 25.50, "MOUSE-001"), 4);
+        cart.add(new DigitalProduct("E-Book", 29.99, "EBOOK-001", "https://example.com/ebook", "PDF", 25.5));
+        cart.changePrice("MOUSE-001", 2000);
+        TestFramework.assertEqual(8000L + 2999L, cart.getTotalCents(), "Repricing should update the whole line");
+
+        cart.remove("MOUSE-001", 3);
+        TestFramework.assertEqual(2000L + 2999L, cart.getTotalCents(), "Removing should use the current price");
+        TestFramework.assertEqual(1, cart.getPhysicalCount(), "One physical unit should remain");
+
+        cart.remove("EBOOK-001", 1);
+        TestFramework.assertEqual(1, cart.getLineCount(), "Removing every unit should drop the line");
+        TestFramework.assertEqual(0, cart.getDigitalCount(), "No digital units should remain");
+
+        cart.add(new Product("Mouse", 19.99, "MOUSE-001"));
+        TestFramework.assertEqual(3998L, cart.getTotalCents(), "Adding at a new price should reprice the line");
+    }
+
+    /**
+     * Test that invalid changes are rejected without touching the log.
+     */
+    private static void testInvalidEvents() {
+        System.out.println("\n--- Testing Invalid Events ---");
+
+        ShoppingCart cart = new ShoppingCart();
+        cart.add(new Product("Cable", 9.99, "CABLE-001"));
+        TestFramework.assertThrows(() -> cart.remove("CABLE-001", 2), IllegalArgumentException.class,
+                                   "Removing more than the cart holds should fail");
+        TestFramework.assertThrows(() -> cart.remove("NONE-001", 1), IllegalArgumentException.class,
+                                   "Removing a missing product should fail");
+        TestFramework.assertThrows(() -> cart.changePrice("CABLE-001", -1), IllegalArgumentException.class,
+                                   "Negative prices should fail");
+        TestFramework.assertThrows(() -> cart.add(new Product("No SKU", 1, null)), IllegalArgumentException.class,
+                                   "Products without a SKU should fail");
+        TestFramework.assertEqual(1L, cart.getSequence(), "Rejected changes should not be logged");
+
+        List<ShoppingCart.Event> gap = new ArrayList<>(cart.getEventsSince(0));
+        gap.add(new ShoppingCart.Event(3, ShoppingCart.EventType.REMOVED, "CABLE-001", "Cable", false, 999, 1));
+        TestFramework.assertThrows(() -> ShoppingCart.replay(gap), IllegalArgumentException.class,
+                                   "Replaying a log with a gap should fail");
+    }
+
+    /**
+     * Test that snapshots are taken on schedule and restore the same cart.
+     */
+    private static void testSnapshots() {
+        System.out.println("\n--- Testing Snapshots ---");
+
+        ShoppingCart cart = new ShoppingCart(10);
+        for (int i = 0; i < 25; i++) {
+            cart.add(new Product("Item " + i, i + 0.5, "ITEM-" + (i % 7)));
+        }
+        ShoppingCart.Snapshot snapshot = cart.getLatestSnapshot();
+        TestFramework.assertEqual(20L, snapshot.getSequence(), "The latest snapshot should be after event 20");
+
+        ShoppingCart restored = ShoppingCart.restore(snapshot, cart.getEventsSince(snapshot.getSequence()));
+        TestFramework.assertEqual(cart.getTotalCents(), restored.getTotalCents(), "Restore should give the same total");
+        TestFramework.assertEqual(cart.getItemCount(), restored.getItemCount(), "Restore should give the same counts");
+        TestFramework.assertEqual(cart.getSequence(), restored.getSequence(), "Restore should reach the same event");
+        TestFramework.assertEqual(5, restored.getEventsSince(20).size(), "A restored cart's log starts after the snapshot");
+        TestFramework.assertThrows(() -> restored.getEventsSince(0), IllegalArgumentException.class,
+                                   "Events before a restored snapshot should not be silently skipped");
+
+        ShoppingCart fromFullLog = ShoppingCart.restore(snapshot, cart.getEventsSince(0));
+        TestFramework.assertEqual(cart.getTotalCents(), fromFullLog.getTotalCents(),
+                                  "Events before the snapshot should be skipped");
+
+        ShoppingCart keepsInterval = ShoppingCart.restore(snapshot, cart.getEventsSince(0), 10);
+        for (int i = 0; i < 5; i++) {
+            keepsInterval.add(new Product("Item", 1.0, "ITEM-0"));
+        }
+        TestFramework.assertEqual(30L, keepsInterval.getLatestSnapshot().getSequence(),
+                                  "A restored cart should snapshot at the given interval");
+
+        ShoppingCart.Snapshot loaded = new ShoppingCart.Snapshot(snapshot.getSequence(), snapshot.getLines());
+        TestFramework.assertEqual(snapshot.getTotalCents(), loaded.getTotalCents(), "A loaded snapshot should recompute its total");
+        ShoppingCart fromLoaded = ShoppingCart.restore(loaded, cart.getEventsSince(20), 10);
+        TestFramework.assertEqual(cart.getTotalCents(), fromLoaded.getTotalCents(), "A loaded snapshot should restore the cart");
+        TestFramework.assertEqual(cart.getItemCount(), fromLoaded.getItemCount(), "A loaded snapshot should restore the counts");
+        ShoppingCart.Line line = new ShoppingCart.Line("ITEM-0", "Item", false, 100, 1);
+        TestFramework.assertThrows(() -> new ShoppingCart.Snapshot(1, List.of(line, line)), IllegalArgumentException.class,
+                                   "Snapshots with two lines for one SKU should be rejected");
+    }
+
+    /**
+     * Test that replaying a random log matches a total recomputed from the lines.
+     */
+    private static void testReplayMatchesRecompute() {
+        System.out.println("\n--- Testing Replay Matches Recompute ---");
+
+        Random random = new Random(7);
+        ShoppingCart cart = new ShoppingCart(16);
+        for (int i = 0; i < 5_000; i++) {
+            String sku = "SKU-" + random.nextInt(50);
+            int quantity = cart.getQuantity(sku);
+            int action = random.nextInt(3);
+            if (action == 0 || quantity == 0) {
+                Product product = random.nextBoolean()
+                    ? new Product("P", random.nextInt(10_000) / 100.0, sku)
+                    : new DigitalProduct("D", random.nextInt(10_000) / 100.0, sku, "https://example.com", "PDF", 1);
+                cart.add(product, 1 + random.nextInt(3));
+            } else if (action == 1) {
+                cart.remove(sku, 1 + random.nextInt(quantity));
+            } else {
+                cart.changePrice(sku, random.nextInt(10_000));
+            }
+        }
+
+        long recomputed = 0;
+        int units = 0;
+        for (ShoppingCart.Line line : cart.getLines()) {
+            recomputed += line.getUnitPriceCents() * line.getQuantity();
+            units += line.getQuantity();
+        }
+        ShoppingCart replayed = ShoppingCart.replay(cart.getEventsSince(0));
+        TestFramework.assertEqual(recomputed, cart.getTotalCents(), "The running total should match a recompute");
+        TestFramework.assertEqual(units, cart.getItemCount(), "The running counts should match a recompute");
+        TestFramework.assertEqual(cart.getTotalCents(), replayed.getTotalCents(), "Replay should give the same total");
+        TestFramework.assertEqual(cart.getDigitalCount(), replayed.getDigitalCount(),
+                                  "Replay should give the same digital count");
+    }
+
+    /**
+     * Test that compacting the log keeps the cart rebuildable.
+     */
+    private static void testCompactLog() {
+        System.out.println("\n--- Testing Compact Log ---");
+
+        ShoppingCart cart = new ShoppingCart(8);
+        for (int i = 0; i < 20; i++) {
+            cart.add(new Product("Item", 1.25, "ITEM-" + (i % 4)));
+        }
+        TestFramework.assertEqual(16, cart.compactLog(), "Events up to the snapshot should be dropped");
+        TestFramework.assertEqual(4, cart.getEventsSince(16).size(), "Events after the snapshot should be kept");
+        TestFramework.assertEqual(2, cart.getEventsSince(18).size(), "Events since a sequence should still be found");
+        TestFramework.assertThrows(() -> cart.getEventsSince(10), IllegalArgumentException.class,
+                                   "Asking for compacted events should fail, not return part of the log");
+        ShoppingCart rebuilt = ShoppingCart.restore(cart.getLatestSnapshot(), cart.getEventsSince(16));
+        TestFramework.assertEqual(2500L, rebuilt.getTotalCents(), "The snapshot and kept events should rebuild the cart");
+
+        ShoppingCart large = new ShoppingCart(8);
+        for (int i = 0; i < 16; i++) {
+            large.add(new Product("Item", 1.25, "ITEM-" + i));
+        }
+        for (int i = 0; i < 16; i++) {
+            large.changePrice("ITEM-" + i, 100);
+        }
+        TestFramework.assertEqual(24L, large.getLatestSnapshot().getSequence(),
+                                  "A cart with more lines than the interval should snapshot less often");
+    }
+
+    private static List<Product> storeCart() {
+        List<Product> items = new ArrayList<>();
+        items.add(new Product("Gaming Laptop", 1299.99, "LAP-001"));
+        items.add(new Product("Java Programming Guide", 49.99, "BOOK-001"));
+        items.add(new Product("Developer T-Shirt", 24.99, "SHIRT-001"));
+        items.add(new DigitalProduct("E-Book: Advanced Java", 29.99, "EBOOK-001",
+                                     "https://store.example.com/download/ebook-001", "PDF", 25.5));
+        items.add(new DigitalProduct("Online Course: OOP Mastery", 99.99, "COURSE-001",
+                                     "https://learn.example.com/course-oop-mastery", "Video Files", 2100.0));
+        items.add(new DigitalProduct("IDE Software License", 199.99, "SOFT-001",
+                                     "https://download.example.com/ide-license", "License Key", 0.1));
+        return items;
+    }
+}
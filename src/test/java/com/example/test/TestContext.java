@@ -0,0 +1,161 @@
+package com.example.test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test context for one test class run.
+ * Holds that run's pass/fail counters, the output it printed and the wall-clock time
+ * of each of its tests, so that test classes can run in parallel without sharing
+ * anything. Counters are atomic because a test may assert from threads it starts.
+ *
+ * A test is the section of output that starts with a "--- Testing X ---" header line,
+ * which every test method prints first; it ends at the next header or at the summary.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class TestContext {
+    private static final String TEST_HEADER_PREFIX = "--- Testing ";
+    private static final String TEST_HEADER_SUFFIX = " ---";
+
+    private final String name;
+    private final AtomicInteger testsRun = new AtomicInteger();
+    private final AtomicInteger testsPassed = new AtomicInteger();
+    private final AtomicInteger testsFailed = new AtomicInteger();
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream currentLine = new ByteArrayOutputStream();
+    private final List<TestTiming> timings = new ArrayList<>();
+    private String currentTest;
+    private long currentTestStart;
+
+    /**
+     * Constructor for TestContext.
+     *
+     * @param name The name of the test class, used in timing reports.
+     */
+    public TestContext(String name) {
+        this.name = name;
+    }
+
+    // Counters, updated by TestFramework
+    void recordPass() {
+        testsRun.incrementAndGet();
+        testsPassed.incrementAndGet();
+    }
+
+    void recordFailure() {
+        testsRun.incrementAndGet();
+        testsFailed.incrementAndGet();
+    }
+
+    void reset() {
+        testsRun.set(0);
+        testsPassed.set(0);
+        testsFailed.set(0);
+    }
+
+    // Getters
+    public String getName() {
+        return name;
+    }
+
+    public int getTestsRun() {
+        return testsRun.get();
+    }
+
+    public int getTestsPassed() {
+        return testsPassed.get();
+    }
+
+    public int getTestsFailed() {
+        return testsFailed.get();
+    }
+
+    /**
+     * Gets everything printed while this context was bound, as raw bytes in the
+     * platform encoding.
+     *
+     * @return The captured output.
+     */
+    public synchronized byte[] getOutput() {
+        return output.toByteArray();
+    }
+
+    /**
+     * Gets the timings of the tests that have finished.
+     *
+     * @return A copy of the timings, in the order the tests ran.
+     */
+    public synchronized List<TestTiming> getTimings() {
+        return new ArrayList<>(timings);
+    }
+
+    /**
+     * Captures printed output and watches it for test header lines.
+     *
+     * @param bytes The bytes printed.
+     * @param offset Where the bytes start.
+     * @param length How many bytes were printed.
+     */
+    synchronized void write(byte[] bytes, int offset, int length) {
+        output.write(bytes, offset, length);
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] == '\n') {
+                lineFinished(new String(currentLine.toByteArray(), Charset.defaultCharset()));
+                currentLine.reset();
+            } else if (bytes[i] != '\r') {
+                currentLine.write(bytes[i]);
+            }
+        }
+    }
+
+    /**
+     * Ends the current test, if one is running, and records its time.
+     */
+    synchronized void finishCurrentTest() {
+        if (currentTest != null) {
+            timings.add(new TestTiming(name, currentTest, System.nanoTime() - currentTestStart));
+            currentTest = null;
+        }
+    }
+
+    private void lineFinished(String line) {
+        if (line.startsWith(TEST_HEADER_PREFIX) && line.endsWith(TEST_HEADER_SUFFIX)) {
+            finishCurrentTest();
+            currentTest = line.substring(TEST_HEADER_PREFIX.length(), line.length() - TEST_HEADER_SUFFIX.length());
+            currentTestStart = System.nanoTime();
+        }
+    }
+
+    /**
+     * Test timing class - The wall-clock time of one test.
+     */
+    public static class TestTiming {
+        private final String testClass;
+        private final String test;
+        private final long nanos;
+
+        TestTiming(String testClass, String test, long nanos) {
+            this.testClass = testClass;
+            this.test = test;
+            this.nanos = nanos;
+        }
+
+        // Getters
+        public String getTestClass() {
+            return testClass;
+        }
+
+        public String getTest() {
+            return test;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+}
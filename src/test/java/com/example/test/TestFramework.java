@@ -3,14 +3,44 @@ package com.example.test;
 /**
  * Simple test framework for Unit 4 testing.
  * This framework provides basic assertion methods for testing Java concepts.
+ *
+ * Results are counted in the TestContext bound to the current thread, so several test
+ * classes can run at once. Threads a test starts inherit its context. Without a bound
+ * context, as when a test class is run on its own, a shared default context is used.
  * 
  * @author Test Framework
  * @version 1.0.0
  */
 public class TestFramework {
-    private static int testsRun = 0;
-    private static int testsPassed = 0;
-    private static int testsFailed = 0;
+    private static final TestContext DEFAULT_CONTEXT = new TestContext("default");
+    private static final InheritableThreadLocal<TestContext> CONTEXT = new InheritableThreadLocal<>();
+
+    /**
+     * Binds a context to the current thread, and to the threads it starts from now on.
+     *
+     * @param context The context to count results in, or null to use the default context
+     */
+    public static void bind(TestContext context) {
+        if (context == null) {
+            CONTEXT.remove();
+        } else {
+            CONTEXT.set(context);
+        }
+    }
+
+    /**
+     * Gets the context bound to the current thread.
+     *
+     * @return The bound context, or null if none is bound
+     */
+    public static TestContext boundContext() {
+        return CONTEXT.get();
+    }
+
+    private static TestContext context() {
+        TestContext context = CONTEXT.get();
+        return context != null ? context : DEFAULT_CONTEXT;
+    }
 
     /**
      * Assert that two objects are equal.
@@ -20,15 +50,14 @@ public class TestFramework {
      * @param message The test message
      */
     public static void assertEqual(Object expected, Object actual, String message) {
-        testsRun++;
         if (expected == null && actual == null) {
-            testsPassed++;
+            context().recordPass();
             System.out.println("✅ PASS: " + message);
         } else if (expected != null && expected.equals(actual)) {
-            testsPassed++;
+            context().recordPass();
             System.out.println("✅ PASS: " + message);
         } else {
-            testsFailed++;
+            context().recordFailure();
             System.out.println("❌ FAIL: " + message);
             System.out.println("   Expected: " + expected);
             System.out.println("   Actual: " + actual);
@@ -52,12 +81,11 @@ public class TestFramework {
      * @param message The test message
      */
     public static void assertTrue(boolean condition, String message) {
-        testsRun++;
         if (condition) {
-            testsPassed++;
+            context().recordPass();
             System.out.println("✅ PASS: " + message);
         } else {
-            testsFailed++;
+            context().recordFailure();
             System.out.println("❌ FAIL: " + message);
         }
     }
@@ -78,12 +106,11 @@ public class TestFramework {
      * @param message The test message
      */
     public static void assertFalse(boolean condition, String message) {
-        testsRun++;
         if (!condition) {
-            testsPassed++;
+            context().recordPass();
             System.out.println("✅ PASS: " + message);
         } else {
-            testsFailed++;
+            context().recordFailure();
             System.out.println("❌ FAIL: " + message);
         }
     }
@@ -105,19 +132,18 @@ public class TestFramework {
      * @param message The test message
      */
     public static void assertThrows(Runnable runnable, Class<? extends Exception> expectedException, String message) {
-        testsRun++;
         try {
             runnable.run();
-            testsFailed++;
+            context().recordFailure();
             System.out.println("❌ FAIL: " + message);
             System.out.println("   Expected exception: " + expectedException.getSimpleName());
             System.out.println("   But no exception was thrown");
         } catch (Exception e) {
             if (expectedException.isInstance(e)) {
-                testsPassed++;
+                context().recordPass();
                 System.out.println("✅ PASS: " + message);
             } else {
-                testsFailed++;
+                context().recordFailure();
                 System.out.println("❌ FAIL: " + message);
                 System.out.println("   Expected exception: " + expectedException.getSimpleName());
                 System.out.println("   Actual exception: " + e.getClass().getSimpleName());
@@ -142,12 +168,11 @@ public class TestFramework {
      * @param message The test message
      */
     public static void assertNotNull(Object object, String message) {
-        testsRun++;
         if (object != null) {
-            testsPassed++;
+            context().recordPass();
             System.out.println("✅ PASS: " + message);
         } else {
-            testsFailed++;
+            context().recordFailure();
             System.out.println("❌ FAIL: " + message);
         }
     }
@@ -165,6 +190,19 @@ public class TestFramework {
      * Print test summary.
      */
     public static void printSummary() {
+        TestContext context = context();
+        context.finishCurrentTest();
+        printSummary(context.getTestsRun(), context.getTestsPassed(), context.getTestsFailed());
+    }
+
+    /**
+     * Print a test summary for the given counts.
+     * 
+     * @param testsRun The number of assertions run
+     * @param testsPassed The number that passed
+     * @param testsFailed The number that failed
+     */
+    public static void printSummary(int testsRun, int testsPassed, int testsFailed) {
         System.out.println("\n=== Test Summary ===");
         System.out.println("Tests run: " + testsRun);
         System.out.println("Tests passed: " + testsPassed);
@@ -181,8 +219,6 @@ public class TestFramework {
      * Reset test counters.
      */
     public static void reset() {
-        testsRun = 0;
-        testsPassed = 0;
-        testsFailed = 0;
+        context().reset();
     }
 }
@@ -1,42 +1,200 @@
 package com.example.test;
 
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 /**
  * Test runner for Unit 4 tests.
  * This class provides a simple way to run specific test classes.
- * 
+ *
+ * Test classes run concurrently, each with its own TestContext, on a fixed pool of
+ * threads: by default one per processor, or set it with --threads=N or
+ * -Dtest.threads=N (1 runs them one after another). Each class's output is captured
+ * and printed whole, in the order the classes were given, followed by the combined
+ * summary and the slowest tests.
+ *
  * @author Test Framework
  * @version 1.0.0
  */
 public class TestRunner {
-    
+    private static final int SLOWEST_TESTS_SHOWN = 10;
+
     /**
      * Main method to run tests.
-     * 
-     * @param args command line arguments (test class names)
+     *
+     * @param args command line arguments (test class names, and optionally --threads=N)
      */
     public static void main(String[] args) {
+        int threads = Integer.getInteger("test.threads", Runtime.getRuntime().availableProcessors());
+        List<String> testClasses = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(arg.substring("--threads=".length()));
+            } else {
+                testClasses.add(arg);
+            }
+        }
+
         System.out.println("=== Unit 4 Test Runner ===");
-        System.out.println("Running tests for: " + String.join(", ", args));
+        System.out.println("Running tests for: " + String.join(", ", testClasses));
         System.out.println();
-        
-        if (args.length == 0) {
-            System.out.println("Usage: java TestRunner <TestClass1> [TestClass2] ...");
+
+        if (testClasses.isEmpty()) {
+            System.out.println("Usage: java TestRunner [--threads=N] <TestClass1> [TestClass2] ...");
             System.out.println("Example: java TestRunner ModuleSystemTest");
             return;
         }
-        
-        for (String testClass : args) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1");
+        }
+
+        List<TestContext> contexts = runAll(testClasses, threads);
+
+        int testsRun = 0;
+        int testsPassed = 0;
+        int testsFailed = 0;
+        List<TestContext.TestTiming> timings = new ArrayList<>();
+        for (TestContext context : contexts) {
+            testsRun += context.getTestsRun();
+            testsPassed += context.getTestsPassed();
+            testsFailed += context.getTestsFailed();
+            timings.addAll(context.getTimings());
+        }
+        TestFramework.printSummary(testsRun, testsPassed, testsFailed);
+        printSlowestTests(timings);
+
+        // Totals for run-tests.sh, which reads the first "Total Tests:", "Passed:" and "Failed:" lines
+        System.out.println();
+        System.out.println("Total Tests: " + testsRun);
+        System.out.println("Passed: " + testsPassed);
+        System.out.println("Failed: " + testsFailed);
+    }
+
+    /**
+     * Runs test classes on a pool of threads and prints their output in order.
+     *
+     * @param testClasses The simple names of the test classes
+     * @param threads The number of classes to run at once
+     * @return The context of each class, in the same order
+     */
+    private static List<TestContext> runAll(List<String> testClasses, int threads) {
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(new ContextRoutingOutputStream(console), true));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "test-runner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<TestContext> contexts = new ArrayList<>();
+            List<Future<?>> results = new ArrayList<>();
+            for (String testClass : testClasses) {
+                TestContext context = new TestContext(testClass);
+                contexts.add(context);
+                results.add(executor.submit(() -> runTestClass(testClass, context)));
+            }
+            for (int i = 0; i < contexts.size(); i++) {
+                await(results.get(i));
+                byte[] output = contexts.get(i).getOutput();
+                console.write(output, 0, output.length);
+                console.flush();
+            }
+            return contexts;
+        } finally {
+            executor.shutdownNow();
+            System.setOut(console);
+        }
+    }
+
+    /**
+     * Runs one test class with its context bound to the current thread.
+     *
+     * @param testClass The simple name of the test class
+     * @param context The context to count its results in
+     */
+    private static void runTestClass(String testClass, TestContext context) {
+        TestFramework.bind(context);
+        try {
+            System.out.println("Running " + testClass + "...");
+            Class<?> clazz = Class.forName("com.example.test." + testClass);
+            clazz.getMethod("runTests").invoke(null);
+            System.out.println();
+        } catch (Exception e) {
+            System.out.println("❌ Error running " + testClass + ": " + e.getMessage());
+            System.out.println();
+        } finally {
+            context.finishCurrentTest();
+            TestFramework.bind(null);
+        }
+    }
+
+    private static void await(Future<?> result) {
+        boolean interrupted = false;
+        while (true) {
             try {
-                System.out.println("Running " + testClass + "...");
-                Class<?> clazz = Class.forName("com.example.test." + testClass);
-                clazz.getMethod("runTests").invoke(null);
-                System.out.println();
-            } catch (Exception e) {
-                System.out.println("❌ Error running " + testClass + ": " + e.getMessage());
-                System.out.println();
+                result.get();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Test runner failed", e.getCause());
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void printSlowestTests(List<TestContext.TestTiming> timings) {
+        if (timings.isEmpty()) {
+            return;
+        }
+        timings.sort(Comparator.comparingLong(TestContext.TestTiming::getNanos).reversed());
+        System.out.println("\n=== Slowest Tests ===");
+        for (int i = 0; i < Math.min(SLOWEST_TESTS_SHOWN, timings.size()); i++) {
+            TestContext.TestTiming timing = timings.get(i);
+            System.out.println(String.format(Locale.ROOT, "%10.1f ms  %s > %s", timing.getNanos() / 1e6,
+                                             timing.getTestClass(), timing.getTest()));
+        }
+    }
+
+    /**
+     * Sends System.out output to the context bound to the printing thread, or to the
+     * console when none is bound.
+     */
+    private static final class ContextRoutingOutputStream extends OutputStream {
+        private final PrintStream console;
+
+        ContextRoutingOutputStream(PrintStream console) {
+            this.console = console;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            TestContext context = TestFramework.boundContext();
+            if (context != null) {
+                context.write(bytes, offset, length);
+            } else {
+                console.write(bytes, offset, length);
             }
         }
-        
-        TestFramework.printSummary();
+
+        @Override
+        public void flush() {
+            console.flush();
+        }
     }
 }
@@ -0,0 +1,171 @@
+package com.example.test;
+
+import com.example.model.DigitalProduct;
+import com.example.model.Money;
+import com.example.model.Product;
+import com.example.model.TypedCart;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test class for TypedCart.
+ * This test verifies partitioning by concrete class, totals and counts, rendering,
+ * per-class access and clearing.
+ *
+ * @author Test Framework
+ * @version 1.0.0
+ */
+public class TypedCartTest {
+
+    /**
+     * Run all tests for TypedCart.
+     */
+    public static void runTests() {
+        System.out.println("=== Testing TypedCart ===");
+        TestFramework.reset();
+
+        testPartitions();
+        testTotalsAndCounts();
+        testAppendInfo();
+        testPerClassAccess();
+        testManySubclasses();
+        testClearAndValidation();
+
+        TestFramework.printSummary();
+    }
+
+    /**
+     * Test that products are grouped by their exact class.
+     */
+    private static void testPartitions() {
+        System.out.println("\n--- Testing Partitions ---");
+
+        TypedCart cart = new TypedCart(storeCart());
+        TestFramework.assertEqual(6, cart.size(), "Every product should be added");
+        TestFramework.assertEqual(2, cart.getPartitionCount(), "One partition per concrete class");
+        TestFramework.assertEqual(Arrays.asList(Product.class, DigitalProduct.class), cart.getTypes(),
+                                  "Partitions should be in first-added order");
+        TestFramework.assertEqual(3, cart.getItems(Product.class).size(),
+                                  "The Product partition should hold only exact Products");
+    }
+
+    /**
+     * Test that totals and counts match the mixed-list versions.
+     */
+    private static void testTotalsAndCounts() {
+        System.out.println("\n--- Testing Totals and Counts ---");
+
+        List<Product> items = storeCart();
+        TypedCart cart = new TypedCart(items);
+        TestFramework.assertEqual(Money.total(items), cart.getTotal(), "Total should match Money.total");
+        TestFramework.assertEqual(Money.total(items).getCents(), cart.getTotalCents(), "Total cents should match");
+        TestFramework.assertEqual(3, cart.getPhysicalCount(), "Three physical products");
+        TestFramework.assertEqual(3, cart.getDigitalCount(), "Three digital products");
+        TestFramework.assertEqual(6, cart.count(Product.class), "Counting a superclass includes subclasses");
+    }
+
+    /**
+     * Test rendering, grouped by class.
+     */
+    private static void testAppendInfo() {
+        System.out.println("\n--- Testing Append Info ---");
+
+        List<Product> items = storeCart();
+        TypedCart cart = new TypedCart(items);
+        StringBuilder expected = new StringBuilder();
+        for (Product product : items) {
+            if (product.getClass() == Product.class) {
+                product.appendInfo(expected).append(System.lineSeparator());
+            }
+        }
+        for (Product product : items) {
+            if (product.getClass() == DigitalProduct.class) {
+                product.appendInfo(expected).append(System.lineSeparator());
+            }
+        }
+        TestFramework.assertEqual(expected.toString(), cart.appendInfo(new StringBuilder()).toString(),
+                                  "Products should render partition by partition");
+    }
+
+    /**
+     * Test typed access to one partition.
+     */
+    private static void testPerClassAccess() {
+        System.out.println("\n--- Testing Per-Class Access ---");
+
+        TypedCart cart = new TypedCart(storeCart());
+        double[] downloadMB = {0};
+        cart.forEach(DigitalProduct.class, product -> downloadMB[0] += product.getFileSizeMB());
+        TestFramework.assertEqual(25.5 + 2100.0 + 0.1, downloadMB[0], "forEach should visit every digital product");
+        TestFramework.assertEqual("EBOOK-001", cart.getItems(DigitalProduct.class).get(0).getSku(),
+                                  "getItems should keep the order of addition");
+        TestFramework.assertTrue(cart.getItems(Subtype.class).isEmpty(), "An absent class has no items");
+
+        List<String> skus = new ArrayList<>();
+        cart.forEach(product -> skus.add(product.getSku()));
+        TestFramework.assertEqual(Arrays.asList("LAP-001", "BOOK-001", "SHIRT-001", "EBOOK-001", "COURSE-001", "SOFT-001"),
+                                  skus, "forEach should visit every partition in turn");
+    }
+
+    /**
+     * Test a cart holding more classes than the JIT would inline at one call site.
+     */
+    private static void testManySubclasses() {
+        System.out.println("\n--- Testing Many Subclasses ---");
+
+        List<Product> items = new ArrayList<>(storeCart());
+        items.add(new Subtype("Sticker", 1.25, "STICK-001"));
+        items.add(new Product("Mug", 9.99, "MUG-001") {
+            @Override
+            public double getPrice() {
+                return super.getPrice() * 2; // Two for the price of two
+            }
+        });
+        items.add(new Subtype("Badge", 2.50, "BADGE-001"));
+        TypedCart cart = new TypedCart(items);
+        TestFramework.assertEqual(4, cart.getPartitionCount(), "Each subclass should get its own partition");
+        TestFramework.assertEqual(Money.total(items).getCents(), cart.getTotalCents(),
+                                  "Overridden prices should be used");
+        TestFramework.assertEqual(2, cart.getItems(Subtype.class).size(), "Both Subtype products should be grouped");
+    }
+
+    /**
+     * Test clearing the cart and rejecting nulls.
+     */
+    private static void testClearAndValidation() {
+        System.out.println("\n--- Testing Clear and Validation ---");
+
+        TypedCart cart = new TypedCart(storeCart());
+        cart.clear();
+        TestFramework.assertTrue(cart.isEmpty(), "Cart should be empty after clear");
+        TestFramework.assertEqual(0, cart.getPartitionCount(), "Clear should drop the partitions");
+        TestFramework.assertEqual(0L, cart.getTotalCents(), "Empty cart costs nothing");
+        cart.add(new Product("Mouse", 25.50, "MOUSE-001"));
+        TestFramework.assertEqual(2550L, cart.getTotalCents(), "Cart should be reusable after clear");
+        TestFramework.assertThrows(() -> cart.add(null), IllegalArgumentException.class,
+                                   "Null products should be rejected");
+    }
+
+    private static List<Product> storeCart() {
+        return Arrays.asList(
+            new Product("Gaming Laptop", 1299.99, "LAP-001"),
+            new Product("Java Programming Guide", 49.99, "BOOK-001"),
+            new Product("Developer T-Shirt", 24.99, "SHIRT-001"),
+            new DigitalProduct("E-Book: Advanced Java", 29.99, "EBOOK-001",
+                               "https://store.example.com/download/ebook-001", "PDF", 25.5),
+            new DigitalProduct("Online Course: OOP Mastery", 99.99, "COURSE-001",
+                               "https://learn.example.com/course-oop-mastery", "Video Files", 2100.0),
+            new DigitalProduct("IDE Software License", 199.99, "SOFT-001",
+                               "https://download.example.com/ide-license", "License Key", 0.1));
+    }
+
+    /**
+     * A third product class.
+     */
+    private static final class Subtype extends Product {
+        Subtype(String name, double price, String sku) {
+            super(name, price, sku);
+        }
+    }
+}